@@ -30,11 +30,30 @@ import java.util.concurrent.TimeUnit;
  * <pre>
  * Caches.forResource(Account.class)
  *     .{@link #withTimeToLive(long, java.util.concurrent.TimeUnit) withTimeToLive(1, TimeUnit.DAYS)}
- *     .{@link #withTimeToIdle(long, java.util.concurrent.TimeUnit) withTimeToIdle(2, TimeUnit.HOURS)};
+ *     .{@link #withTimeToIdle(long, java.util.concurrent.TimeUnit) withTimeToIdle(2, TimeUnit.HOURS)}
+ *     .{@link #withMaxEntries(long) withMaxEntries(10000)};
+ * </pre>
+ * or, to avoid latency spikes when frequently used entries expire:
+ * <pre>
+ * Caches.forResource(Account.class)
+ *     .{@link #withTimeToLive(long, java.util.concurrent.TimeUnit) withTimeToLive(1, TimeUnit.HOURS)}
+ *     .{@link #withRefreshAhead(long, java.util.concurrent.TimeUnit) withRefreshAhead(5, TimeUnit.MINUTES)}
+ *     .{@link #withStaleWhileRevalidate(long, java.util.concurrent.TimeUnit) withStaleWhileRevalidate(30, TimeUnit.SECONDS)};
+ * </pre>
+ * or, to keep a very large region out of the Java heap:
+ * <pre>
+ * Caches.forResource(Account.class)
+ *     .{@link #withMaxWeight(long) withMaxWeight(512 * 1024 * 1024)}
+ *     .{@link #withOffHeapStorage(boolean) withOffHeapStorage(true)};
  * </pre>
  *
  * @see #withTimeToLive(long, java.util.concurrent.TimeUnit)
  * @see #withTimeToIdle(long, java.util.concurrent.TimeUnit)
+ * @see #withMaxEntries(long)
+ * @see #withMaxWeight(long)
+ * @see #withRefreshAhead(long, java.util.concurrent.TimeUnit)
+ * @see #withStaleWhileRevalidate(long, java.util.concurrent.TimeUnit)
+ * @see #withOffHeapStorage(boolean)
  * @see Caches#forResource(Class)
  * @see Caches#named(String)
  * @since 0.8
@@ -85,4 +104,110 @@ public interface CacheConfigurationBuilder {
      */
     CacheConfigurationBuilder withTimeToIdle(long tti, TimeUnit ttiTimeUnit);
 
+    /**
+     * Sets the maximum number of entries the associated {@code Cache} region may retain.
+     * <p/>
+     * When a region is bounded (by this setting and/or {@link #withMaxWeight(long) maxWeight}), its entries are kept in
+     * a bounded store that evicts the least valuable entries first once the bound is reached.  Frequently accessed
+     * entries are favored over entries that were only accessed once, so large one-off reads do not flush the hot set.
+     * <p/>
+     * If neither this value nor {@code maxWeight} is configured, the region is unbounded and entries are only
+     * expunged due to memory constraints, Time to Live and Time to Idle settings.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withMaxEntries(10000)...
+     * </pre>
+     *
+     * @param maxEntries the maximum number of entries to retain.  Zero or a negative value indicates no limit.
+     * @return this instance for method chaining.
+     * @since 1.6.0
+     */
+    CacheConfigurationBuilder withMaxEntries(long maxEntries);
+
+    /**
+     * Sets the maximum total weight of the entries the associated {@code Cache} region may retain, where the weight
+     * of an entry is the approximate size in bytes of the cached resource data.
+     * <p/>
+     * This is useful to cap the memory used by regions whose entries vary a lot in size (for example, resources with
+     * large custom data).  It may be combined with {@link #withMaxEntries(long) maxEntries}, in which case entries are
+     * evicted as soon as either bound is exceeded.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withMaxWeight(64 * 1024 * 1024) //~64 MB
+     * </pre>
+     *
+     * @param maxWeight the approximate maximum number of bytes to retain.  Zero or a negative value indicates no
+     *                  limit.
+     * @return this instance for method chaining.
+     * @since 1.6.0
+     */
+    CacheConfigurationBuilder withMaxWeight(long maxWeight);
+
+    /**
+     * Sets the associated {@code Cache} region's refresh-ahead window.
+     * <p/>
+     * When an entry is read within this amount of time before its {@link #withTimeToLive(long, TimeUnit) Time to Live}
+     * expires, the entry is returned as usual and, at the same time, reloaded from the Stormpath API server in the
+     * background.  A frequently used entry is therefore replaced before it expires and readers never have to wait for
+     * it to be retrieved again.
+     * <p/>
+     * This setting only has an effect if the region has a Time to Live and the SDK's default {@code CacheManager} is
+     * used.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withRefreshAhead(5, TimeUnit.MINUTES)...
+     * </pre>
+     *
+     * @param window         refresh-ahead window scalar value.  Zero or a negative value disables refresh-ahead.
+     * @param windowTimeUnit refresh-ahead window unit of time
+     * @return this instance for method chaining.
+     * @since 1.6.0
+     */
+    CacheConfigurationBuilder withRefreshAhead(long window, TimeUnit windowTimeUnit);
+
+    /**
+     * Sets the associated {@code Cache} region's stale-while-revalidate grace period.
+     * <p/>
+     * When an entry is read after its {@link #withTimeToLive(long, TimeUnit) Time to Live} has expired, but within
+     * this amount of time after the expiration, the expired (stale) entry is still returned while it is reloaded from
+     * the Stormpath API server in the background.  Once the grace period elapses as well, the entry is removed and the
+     * next read retrieves it from the server as usual.
+     * <p/>
+     * This setting only has an effect if the region has a Time to Live and the SDK's default {@code CacheManager} is
+     * used.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withStaleWhileRevalidate(30, TimeUnit.SECONDS)...
+     * </pre>
+     *
+     * @param gracePeriod         grace period scalar value.  Zero or a negative value disables stale-while-revalidate.
+     * @param gracePeriodTimeUnit grace period unit of time
+     * @return this instance for method chaining.
+     * @since 1.6.0
+     */
+    CacheConfigurationBuilder withStaleWhileRevalidate(long gracePeriod, TimeUnit gracePeriodTimeUnit);
+
+    /**
+     * Sets whether the associated {@code Cache} region stores its entries outside of the Java heap.
+     * <p/>
+     * An off-heap region keeps the cached resource data in a compact binary form in native memory, and only an index
+     * of its entries on the heap.  This greatly reduces the heap used by (and the garbage collection pauses caused by)
+     * regions holding a very large number of resources, at the cost of decoding an entry every time it is read.  The
+     * {@link #withMaxWeight(long) maxWeight} of an off-heap region is the maximum number of bytes of encoded data it
+     * may retain, and defaults to 64 MB if it is not specified.  Since native memory is allocated in 1 MB slabs, which
+     * also hold the unused space left by removed entries until they are compacted, a region may allocate up to a
+     * quarter more than its {@code maxWeight}, plus 2 MB.
+     * <p/>
+     * This setting only has an effect if the SDK's default {@code CacheManager} is used.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withOffHeapStorage(true)...
+     * </pre>
+     *
+     * @param offHeap {@code true} to store the region's entries outside of the Java heap, {@code false} otherwise.
+     * @return this instance for method chaining.
+     * @since 1.6.0
+     */
+    CacheConfigurationBuilder withOffHeapStorage(boolean offHeap);
+
 }
@@ -15,6 +15,9 @@
  */
 package com.stormpath.sdk.resource;
 
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * A {@code CollectionResource} is a first-class {@link Resource} that has its own properties (such as
  * {@link #getOffset() offset} and {@link #getLimit() limit}, but also contains other {@link Resource} instances.
@@ -73,4 +76,39 @@ public interface CollectionResource<T extends Resource> extends Resource, Iterab
      */
     public T single();
 
+    /**
+     * Returns an iterator over the entire collection that retrieves upcoming pages concurrently while the current page
+     * is being consumed.
+     * <p/>
+     * The {@link #iterator() default iterator} only requests page N+1 once page N has been fully consumed, which
+     * results in one sequential round trip per {@link #getLimit() limit} items.  The iterator returned by this method
+     * instead uses the {@link #getSize() size}, {@link #getOffset() offset} and {@link #getLimit() limit} of the first
+     * page to request up to {@code readAhead} subsequent pages concurrently, significantly reducing the time needed to
+     * traverse large collections.  Items are still returned in collection order.
+     * <p/>
+     * Because the offsets of the upcoming pages are computed up front, items added to or removed from the collection
+     * on the server while it is being iterated may be skipped or returned twice.
+     *
+     * @param readAhead the maximum number of pages to request ahead of the page currently being consumed.  Must be
+     *                  greater than zero.
+     * @return an iterator over the entire collection that retrieves upcoming pages concurrently.
+     * @since 1.6.0
+     */
+    public Iterator<T> iterator(int readAhead);
+
+    /**
+     * Splits this collection into at most {@code partitions} contiguous, non-overlapping ranges of pages, each of
+     * which may be iterated independently (and concurrently, for example by submitting each one to an
+     * {@code ExecutorService}).  Together, the returned {@code Iterable}s cover the entire collection in order.
+     * <p/>
+     * The ranges are computed from the {@link #getSize() size}, {@link #getOffset() offset} and
+     * {@link #getLimit() limit} of the first page, so the same consistency caveats as for {@link #iterator(int)}
+     * apply.
+     *
+     * @param partitions the maximum number of ranges to split this collection into.  Must be greater than zero.
+     * @return the ranges of this collection, in collection order.  Empty if the collection is empty.
+     * @since 1.6.0
+     */
+    public List<Iterable<T>> partition(int partitions);
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks.authz;
+
+import com.stormpath.spring.security.authz.permission.Permission;
+import com.stormpath.spring.security.authz.permission.WildcardPermission;
+import com.stormpath.spring.security.authz.permission.WildcardPermissionSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a {@code hasPermission} check against the custom data permissions of an account, comparing the compiled
+ * {@link WildcardPermissionSet} with the linear evaluation of every {@link WildcardPermission} that
+ * {@code WildcardPermissionEvaluator} performed before 1.6.0.  Permissions are spread over 20 domains and 10 actions,
+ * with one instance each.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WildcardPermissionSetBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int permissionCount;
+
+    private List<GrantedAuthority> authorities;
+    private WildcardPermissionSet permissionSet;
+    private Permission granted;
+    private Permission denied;
+
+    @Setup
+    public void setUp() {
+        authorities = new ArrayList<GrantedAuthority>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            authorities.add(new WildcardPermission("domain" + (i % 20) + ":action" + (i % 10) + ":" + i));
+        }
+        permissionSet = WildcardPermissionSet.of(authorities);
+
+        int last = permissionCount - 1;
+        granted = new WildcardPermission("DOMAIN" + (last % 20) + ":action" + (last % 10) + ":" + last);
+        denied = new WildcardPermission("domain0:action0:unknown");
+    }
+
+    @Benchmark
+    public boolean compiledGranted() {
+        return permissionSet.implies(granted);
+    }
+
+    @Benchmark
+    public boolean compiledDenied() {
+        return permissionSet.implies(denied);
+    }
+
+    @Benchmark
+    public boolean legacyGranted() {
+        return legacyImplies(authorities, granted);
+    }
+
+    @Benchmark
+    public boolean legacyDenied() {
+        return legacyImplies(authorities, denied);
+    }
+
+    /**
+     * The cost of compiling the permissions, paid once per authenticated account.
+     */
+    @Benchmark
+    public WildcardPermissionSet compile() {
+        return WildcardPermissionSet.of(authorities);
+    }
+
+    /**
+     * The evaluation performed by {@code WildcardPermissionEvaluator} before 1.6.0, retained here as the baseline.
+     */
+    private static boolean legacyImplies(List<GrantedAuthority> authorities, Permission toMatch) {
+        for (GrantedAuthority authority : authorities) {
+            if (authority instanceof WildcardPermission && ((WildcardPermission) authority).implies(toMatch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
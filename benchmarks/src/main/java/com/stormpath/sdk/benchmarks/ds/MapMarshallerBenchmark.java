@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks.ds;
+
+import com.stormpath.sdk.impl.ds.JacksonMapMarshaller;
+import com.stormpath.sdk.impl.ds.StreamingMapMarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures unmarshalling a page of an account collection response body with the {@link StreamingMapMarshaller},
+ * comparing it with the {@link JacksonMapMarshaller} it extends.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MapMarshallerBenchmark {
+
+    private static final String BASE_URL = "https://api.stormpath.com/v1";
+
+    @Param({"25", "100"})
+    private int pageSize;
+
+    private JacksonMapMarshaller jacksonMarshaller;
+    private StreamingMapMarshaller streamingMarshaller;
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        jacksonMarshaller = new JacksonMapMarshaller();
+        streamingMarshaller = new StreamingMapMarshaller();
+        page = jacksonMarshaller.marshal(createAccountPage(pageSize)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> createAccountPage(int pageSize) {
+        String directory = BASE_URL + "/directories/benchmark";
+
+        List<Object> accounts = new ArrayList<Object>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            String href = BASE_URL + "/accounts/account" + i;
+            Map<String, Object> account = new LinkedHashMap<String, Object>();
+            account.put("href", href);
+            account.put("username", "user" + i);
+            account.put("email", "user" + i + "@example.com");
+            account.put("givenName", "Given" + i);
+            account.put("middleName", null);
+            account.put("surname", "Surname" + i);
+            account.put("fullName", "Given" + i + " Surname" + i);
+            account.put("status", "ENABLED");
+            account.put("createdAt", "2017-01-01T00:00:00.000Z");
+            account.put("modifiedAt", "2017-02-01T12:34:56.789Z");
+            account.put("passwordModifiedAt", "2017-01-01T00:00:00.000Z");
+            account.put("emailVerificationStatus", "VERIFIED");
+            account.put("emailVerificationToken", null);
+            account.put("customData", ref(href + "/customData"));
+            account.put("providerData", ref(href + "/providerData"));
+            account.put("directory", ref(directory));
+            account.put("tenant", ref(BASE_URL + "/tenants/benchmark"));
+            account.put("groups", ref(href + "/groups"));
+            account.put("applications", ref(href + "/applications"));
+            account.put("groupMemberships", ref(href + "/groupMemberships"));
+            account.put("apiKeys", ref(href + "/apiKeys"));
+            account.put("accessTokens", ref(href + "/accessTokens"));
+            account.put("refreshTokens", ref(href + "/refreshTokens"));
+            account.put("linkedAccounts", ref(href + "/linkedAccounts"));
+            account.put("accountLinks", ref(href + "/accountLinks"));
+            account.put("phones", ref(href + "/phones"));
+            account.put("factors", ref(href + "/factors"));
+            accounts.add(account);
+        }
+
+        Map<String, Object> page = new LinkedHashMap<String, Object>();
+        page.put("href", directory + "/accounts");
+        page.put("offset", 0);
+        page.put("limit", pageSize);
+        page.put("size", 1000);
+        page.put("items", accounts);
+        return page;
+    }
+
+    private static Map<String, Object> ref(String href) {
+        Map<String, Object> ref = new LinkedHashMap<String, Object>(1);
+        ref.put("href", href);
+        return ref;
+    }
+
+    @Benchmark
+    public Map<String, Object> jacksonUnmarshall() {
+        return jacksonMarshaller.unmarshall(new ByteArrayInputStream(page));
+    }
+
+    @Benchmark
+    public Map<String, Object> streamingUnmarshall() {
+        return streamingMarshaller.unmarshall(new ByteArrayInputStream(page));
+    }
+}
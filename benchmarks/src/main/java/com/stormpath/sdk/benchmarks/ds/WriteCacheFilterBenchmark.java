@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks.ds;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.impl.cache.DefaultCacheManager;
+import com.stormpath.sdk.impl.ds.DefaultCacheRegionNameResolver;
+import com.stormpath.sdk.impl.ds.DefaultResourceDataRequest;
+import com.stormpath.sdk.impl.ds.DefaultResourceDataResult;
+import com.stormpath.sdk.impl.ds.DefaultResourceFactory;
+import com.stormpath.sdk.impl.ds.FilterChain;
+import com.stormpath.sdk.impl.ds.ResourceAction;
+import com.stormpath.sdk.impl.ds.ResourceDataRequest;
+import com.stormpath.sdk.impl.ds.ResourceDataResult;
+import com.stormpath.sdk.impl.ds.ResourceDescriptor;
+import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver;
+import com.stormpath.sdk.impl.ds.cache.WriteCacheFilter;
+import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri;
+import com.stormpath.sdk.impl.resource.Property;
+import com.stormpath.sdk.impl.resource.ReferenceFactory;
+import com.stormpath.sdk.impl.util.DefaultBaseUrlResolver;
+import com.stormpath.sdk.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures caching an expanded account (with its groups and custom data) via the {@link WriteCacheFilter}, and the
+ * property descriptor lookup the filter performs for every nested materialized resource, comparing the
+ * {@link ResourceDescriptor} registry with the reflective lookup it replaced.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WriteCacheFilterBenchmark {
+
+    private static final String BASE_URL = "https://api.stormpath.com/v1";
+    private static final int GROUP_COUNT = 25;
+
+    private WriteCacheFilter filter;
+    private ResourceDataRequest request;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        DefaultCacheResolver cacheResolver =
+                new DefaultCacheResolver(new DefaultCacheManager(), new DefaultCacheRegionNameResolver());
+        filter = new WriteCacheFilter(new DefaultBaseUrlResolver(BASE_URL), cacheResolver, false, new ReferenceFactory());
+
+        final Map<String, Object> account = createExpandedAccount("https://api.stormpath.com/v1/accounts/benchmark");
+
+        request = new DefaultResourceDataRequest(ResourceAction.READ,
+                DefaultCanonicalUri.create((String) account.get("href"), null), Account.class,
+                new LinkedHashMap<String, Object>());
+
+        chain = new FilterChain() {
+            @Override
+            public ResourceDataResult filter(ResourceDataRequest req) {
+                return new DefaultResourceDataResult(req.getAction(), req.getUri(), req.getResourceClass(), account);
+            }
+        };
+    }
+
+    private static Map<String, Object> createExpandedAccount(String href) {
+        Map<String, Object> customData = new LinkedHashMap<String, Object>();
+        customData.put("href", href + "/customData");
+        customData.put("createdAt", "2017-01-01T00:00:00.000Z");
+        customData.put("modifiedAt", "2017-01-01T00:00:00.000Z");
+        customData.put("favoriteColor", "blue");
+        customData.put("rank", 42);
+
+        List<Object> groups = new ArrayList<Object>(GROUP_COUNT);
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            Map<String, Object> group = new LinkedHashMap<String, Object>();
+            group.put("href", BASE_URL + "/groups/group" + i);
+            group.put("name", "Group " + i);
+            group.put("description", "Benchmark group " + i);
+            group.put("status", "ENABLED");
+            group.put("directory", ref(BASE_URL + "/directories/benchmark"));
+            group.put("customData", ref(BASE_URL + "/groups/group" + i + "/customData"));
+            group.put("accounts", ref(BASE_URL + "/groups/group" + i + "/accounts"));
+            groups.add(group);
+        }
+
+        Map<String, Object> groupList = new LinkedHashMap<String, Object>();
+        groupList.put("href", href + "/groups");
+        groupList.put("offset", 0);
+        groupList.put("limit", GROUP_COUNT);
+        groupList.put("size", GROUP_COUNT);
+        groupList.put("items", groups);
+
+        Map<String, Object> account = new LinkedHashMap<String, Object>();
+        account.put("href", href);
+        account.put("username", "jlpicard");
+        account.put("email", "capt@enterprise.com");
+        account.put("givenName", "Jean-Luc");
+        account.put("surname", "Picard");
+        account.put("status", "ENABLED");
+        account.put("customData", customData);
+        account.put("groups", groupList);
+        account.put("directory", ref(BASE_URL + "/directories/benchmark"));
+        account.put("tenant", ref(BASE_URL + "/tenants/benchmark"));
+        return account;
+    }
+
+    private static Map<String, Object> ref(String href) {
+        Map<String, Object> ref = new LinkedHashMap<String, Object>(1);
+        ref.put("href", href);
+        return ref;
+    }
+
+    @Benchmark
+    public ResourceDataResult cacheExpandedAccount() {
+        return filter.filter(request, chain);
+    }
+
+    @Benchmark
+    public Property registryPropertyDescriptorLookup() {
+        return ResourceDescriptor.forClass(Group.class).getPropertyDescriptor("directory");
+    }
+
+    @Benchmark
+    public Property reflectivePropertyDescriptorLookup() {
+        return getPropertyDescriptorsReflectively(Group.class).get("directory");
+    }
+
+    /**
+     * The lookup performed by {@code WriteCacheFilter} before the {@link ResourceDescriptor} registry was introduced,
+     * retained here as the baseline.  Unlike the original, it copies the declared descriptors instead of adding the
+     * inherited ones to the implementation class' static map.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Resource> Map<String, Property> getPropertyDescriptorsReflectively(Class<T> clazz) {
+        Class<T> implClass = DefaultResourceFactory.getImplementationClass(clazz);
+        String propertyDescriptors = "PROPERTY_DESCRIPTORS";
+        try {
+            Field field = implClass.getDeclaredField(propertyDescriptors);
+            field.setAccessible(true);
+            Map<String, Property> returnValue = new LinkedHashMap<String, Property>((Map<String, Property>) field.get(null));
+            while (implClass.getSuperclass() != null && Resource.class.isAssignableFrom(implClass)) {
+                implClass = (Class<T>) implClass.getSuperclass();
+                try {
+                    field = implClass.getDeclaredField(propertyDescriptors);
+                    field.setAccessible(true);
+                    returnValue.putAll((Map<String, Property>) field.get(null));
+                } catch (NoSuchFieldException ignored) {
+                    //not every superclass declares property descriptors
+                }
+            }
+            return returnValue;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
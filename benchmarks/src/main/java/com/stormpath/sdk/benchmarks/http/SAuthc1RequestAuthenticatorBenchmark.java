@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks.http;
+
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.api.ClientApiKey;
+import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.authc.SAuthc1RequestAuthenticator;
+import com.stormpath.sdk.impl.http.support.DefaultRequest;
+import com.stormpath.sdk.impl.util.RequestUtils;
+import com.stormpath.sdk.impl.util.StringInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing a typical API request with {@link SAuthc1RequestAuthenticator}, comparing it with the
+ * implementation it replaced.  Run with {@code -prof gc} to compare the bytes allocated per signature
+ * ({@code gc.alloc.rate.norm}) in addition to throughput.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class SAuthc1RequestAuthenticatorBenchmark {
+
+    private static final String ID = "2EV70AHRTYF0JOA7OEFO3SM29";
+    private static final String SECRET = "goPUHQMkS4dlKwl5wtbNd91I+UrRehCsEDJrIrMruK8";
+
+    private ApiKeyCredentials credentials;
+    private SAuthc1RequestAuthenticator authenticator;
+
+    @Setup
+    public void setUp() {
+        credentials = new ApiKeyCredentials(new ClientApiKey(ID, SECRET));
+        authenticator = new SAuthc1RequestAuthenticator(credentials);
+    }
+
+    private static Request createRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Accept", "application/json");
+        headers.set("Content-Type", "application/json");
+        headers.set("User-Agent", "stormpath-sdk-java/1.6.0 java/1.8.0 Linux/4.4.0");
+
+        Map<String, Object> query = new LinkedHashMap<String, Object>();
+        query.put("expand", "groups(offset:0,limit:25),customData");
+        query.put("orderBy", "surname asc");
+
+        return new DefaultRequest(HttpMethod.POST, "https://api.stormpath.com/v1/applications/3TqbyZ1qo74eDM4gTo2H94/accounts",
+                new QueryString(query), headers,
+                new StringInputStream("{\"email\":\"jlpicard@enterprise.com\",\"givenName\":\"Jean-Luc\",\"surname\":\"Picard\"}"), 76);
+    }
+
+    @Benchmark
+    public Request sign() {
+        Request request = createRequest();
+        authenticator.authenticate(request);
+        return request;
+    }
+
+    @Benchmark
+    public Request legacySign() throws Exception {
+        Request request = createRequest();
+        legacyAuthenticate(credentials, request, new Date(), UUID.randomUUID().toString());
+        return request;
+    }
+
+    /**
+     * The signing implementation used before 1.6.0, retained here as the baseline.
+     */
+    private static void legacyAuthenticate(ApiKeyCredentials credentials, Request request, Date date, String nonce) throws Exception {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(SAuthc1RequestAuthenticator.DATE_FORMAT);
+        dateFormat.setTimeZone(new SimpleTimeZone(0, SAuthc1RequestAuthenticator.TIME_ZONE));
+        SimpleDateFormat timestampFormat = new SimpleDateFormat(SAuthc1RequestAuthenticator.TIMESTAMP_FORMAT);
+        timestampFormat.setTimeZone(new SimpleTimeZone(0, SAuthc1RequestAuthenticator.TIME_ZONE));
+
+        URI uri = request.getResourceUrl();
+        String hostHeader = uri.getHost();
+        if (!RequestUtils.isDefaultPort(uri)) {
+            hostHeader += ":" + uri.getPort();
+        }
+        request.getHeaders().set(SAuthc1RequestAuthenticator.HOST_HEADER, hostHeader);
+
+        String timestamp = timestampFormat.format(date);
+        String dateStamp = dateFormat.format(date);
+        request.getHeaders().set(SAuthc1RequestAuthenticator.STORMPATH_DATE_HEADER, timestamp);
+
+        List<String> sortedHeaders = new ArrayList<String>(request.getHeaders().keySet());
+        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        StringBuilder canonicalHeaders = new StringBuilder();
+        StringBuilder signedHeaders = new StringBuilder();
+        for (String header : sortedHeaders) {
+            canonicalHeaders.append(header.toLowerCase()).append(":");
+            boolean first = true;
+            for (String value : request.getHeaders().get(header)) {
+                if (!first) {
+                    canonicalHeaders.append(",");
+                }
+                canonicalHeaders.append(value);
+                first = false;
+            }
+            canonicalHeaders.append("\n");
+            if (signedHeaders.length() > 0) {
+                signedHeaders.append(";");
+            }
+            signedHeaders.append(header.toLowerCase());
+        }
+
+        String canonicalRequest = request.getMethod().toString() + "\n" +
+                RequestUtils.encodeUrl(uri.getPath(), true, true) + "\n" +
+                request.getQueryString().toString(true) + "\n" +
+                canonicalHeaders + "\n" +
+                signedHeaders + "\n" +
+                legacyToHex(legacyHash(request.getBody().toString()));
+
+        String id = credentials.getId() + "/" + dateStamp + "/" + nonce + "/" + SAuthc1RequestAuthenticator.ID_TERMINATOR;
+
+        String stringToSign = SAuthc1RequestAuthenticator.ALGORITHM + "\n" + timestamp + "\n" + id + "\n" +
+                legacyToHex(legacyHash(canonicalRequest));
+
+        byte[] kSecret = (SAuthc1RequestAuthenticator.AUTHENTICATION_SCHEME + credentials.getSecret()).getBytes("UTF-8");
+        byte[] kDate = legacySign(dateStamp.getBytes("UTF-8"), kSecret);
+        byte[] kNonce = legacySign(nonce.getBytes("UTF-8"), kDate);
+        byte[] kSigning = legacySign(SAuthc1RequestAuthenticator.ID_TERMINATOR.getBytes("UTF-8"), kNonce);
+        byte[] signature = legacySign(stringToSign.getBytes("UTF-8"), kSigning);
+
+        request.getHeaders().set("Authorization", SAuthc1RequestAuthenticator.AUTHENTICATION_SCHEME + " " +
+                SAuthc1RequestAuthenticator.SAUTHC1_ID + "=" + id + ", " +
+                SAuthc1RequestAuthenticator.SAUTHC1_SIGNED_HEADERS + "=" + signedHeaders + ", " +
+                SAuthc1RequestAuthenticator.SAUTHC1_SIGNATURE + "=" + legacyToHex(signature));
+    }
+
+    private static byte[] legacyHash(String text) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(text.getBytes("UTF-8"));
+        return md.digest();
+    }
+
+    private static byte[] legacySign(byte[] data, byte[] key) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data);
+    }
+
+    private static String legacyToHex(byte[] data) {
+        StringBuilder sb = new StringBuilder(data.length * 2);
+        for (byte b : data) {
+            String hex = Integer.toHexString(b);
+            if (hex.length() == 1) {
+                sb.append("0");
+            } else if (hex.length() == 8) {
+                hex = hex.substring(6);
+            }
+            sb.append(hex);
+        }
+        return sb.toString().toLowerCase(Locale.getDefault());
+    }
+}
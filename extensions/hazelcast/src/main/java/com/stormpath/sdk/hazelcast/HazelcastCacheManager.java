@@ -16,10 +16,13 @@
 package com.stormpath.sdk.hazelcast;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -79,12 +82,30 @@ import java.util.concurrent.ConcurrentMap;
  * Client stormpathClient = {@link com.stormpath.sdk.client.Clients Clients}.builder()<b>.setCacheManager(cacheManager)</b>.build();
  * </pre>
  *
+ * <h3>Near Caches</h3>
+ *
+ * <p>Every read from a Hazelcast map may require a network round trip to the cluster member owning the entry, as well
+ * as deserializing the cached resource.  Frequently read regions can be fronted by a bounded local
+ * {@link HazelcastNearCache near cache}, which is kept coherent with the cluster by entry listeners.  For
+ * example:</p>
+ *
+ * <pre>
+ * HazelcastCacheManager cacheManager = new HazelcastCacheManager(hazelcast);
+ * <b>cacheManager.setNearCacheConfigurations(Arrays.asList(
+ *     new NearCacheConfiguration(Account.class.getName(), 10000, new Duration(5, TimeUnit.MINUTES))));</b>
+ * </pre>
+ *
  * @since 1.0.RC3
  */
 public class HazelcastCacheManager implements CacheManager {
 
     private HazelcastInstance hazelcastInstance;
 
+    private final ConcurrentMap<String, NearCacheConfiguration> nearCacheConfigs =
+            new ConcurrentHashMap<String, NearCacheConfiguration>();
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<String, Cache>();
+
     /**
      * Creates a new {@code HazelcastCacheManager} that, after creation, must be configured with a
      * {@link HazelcastInstance} via the
@@ -117,12 +138,78 @@ public class HazelcastCacheManager implements CacheManager {
     public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
         Assert.notNull(hazelcastInstance, "HazelcastInstance argument cannot be null.");
         this.hazelcastInstance = hazelcastInstance;
+        destroyCaches();
     }
 
+    /**
+     * Sets the regions that are fronted by a local {@link HazelcastNearCache near cache}, and how their near caches
+     * are configured.  Caches already returned by this manager are not affected.
+     *
+     * @param configs the near cache configuration of each region that should be near cached.
+     * @since 1.6.0
+     */
+    public void setNearCacheConfigurations(Collection<NearCacheConfiguration> configs) {
+        this.nearCacheConfigs.clear();
+        if (configs != null) {
+            for (NearCacheConfiguration config : configs) {
+                this.nearCacheConfigs.put(config.getName(), config);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache with the specified {@code name}.  The cache is created on first access and then retained, so
+     * that subsequent calls return the same instance.
+     *
+     * @param name the name of the cache to acquire.
+     * @return the cache with the specified {@code name}.
+     */
+    @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getCache(String name) {
         Assert.hasText(name, "name argument cannot be null or empty.");
-        ConcurrentMap<K, V> hazelcastMap = hazelcastInstance.getMap(name);
+
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            cache = createCache(name);
+            Cache existing = caches.putIfAbsent(name, cache);
+            if (existing != null) {
+                destroy(cache);
+                cache = existing;
+            }
+        }
+
+        return cache;
+    }
+
+    /**
+     * Creates a new {@code Cache} instance backed by the Hazelcast map with the specified {@code name}: a
+     * {@link HazelcastNearCache} if a {@link NearCacheConfiguration} was specified for the region, a
+     * {@link HazelcastCache} otherwise.
+     *
+     * @param name the name of the cache to create
+     * @return a new {@code Cache} instance associated with the specified {@code name}.
+     * @since 1.6.0
+     */
+    protected <K, V> Cache<K, V> createCache(String name) {
+        IMap<K, V> hazelcastMap = hazelcastInstance.getMap(name);
+        NearCacheConfiguration config = nearCacheConfigs.get(name);
+        if (config != null) {
+            return new HazelcastNearCache<K, V>(hazelcastMap, config.getMaxEntries(), config.getTimeToLive());
+        }
         return new HazelcastCache<K, V>(hazelcastMap);
     }
+
+    private void destroyCaches() {
+        for (Cache cache : caches.values()) {
+            destroy(cache);
+        }
+        caches.clear();
+    }
+
+    private static void destroy(Cache cache) {
+        if (cache instanceof HazelcastNearCache) {
+            ((HazelcastNearCache) cache).destroy();
+        }
+    }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@code Cache} that keeps a bounded local copy of the most recently used entries of a Hazelcast {@link IMap}, so
+ * that reading a hot entry does not require a network round trip to the cluster nor deserializing the entry again.
+ * <p/>
+ * The near cache registers an entry listener on the {@code IMap} and discards its local copy of an entry as soon as
+ * the entry is added, updated, removed, evicted or expires on any member of the cluster, and discards all of its
+ * local entries when the map is cleared or evicted.  Writes and removals are always applied to the {@code IMap}
+ * first.  As Hazelcast delivers events asynchronously, the near caches of other nodes are <em>eventually</em>
+ * consistent: they may return the previous value of an entry for the short time it takes for the invalidation event
+ * to reach them.  An entry read from the cluster while an invalidation of its key is received is not retained
+ * locally, so that a late event never leaves a stale entry behind.
+ * <p/>
+ * Call {@link #destroy()} to deregister the entry listener once the near cache is no longer used.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ * @see NearCacheConfiguration
+ * @since 1.6.0
+ */
+public class HazelcastNearCache<K, V> implements Cache<K, V> {
+
+    /**
+     * The number of invalidation counters keys are hashed to.  A read is only discarded if an invalidation of a key
+     * sharing its counter is received while the read is in progress.
+     */
+    private static final int INVALIDATION_STRIPES = 64;
+
+    private final IMap<K, V> map;
+    private final long timeToLiveMillis;
+    private final Map<K, LocalEntry<V>> local;
+    private final AtomicLongArray invalidations;
+    private final String listenerId;
+
+    /**
+     * Creates a new near cache in front of the specified {@code IMap}, retaining at most {@code maxEntries} entries.
+     *
+     * @param map        the backing Hazelcast map
+     * @param maxEntries the maximum number of entries retained locally
+     * @param timeToLive the maximum amount of time an entry is retained locally, or {@code null} to retain entries
+     *                   until they are invalidated or evicted.
+     */
+    public HazelcastNearCache(IMap<K, V> map, final int maxEntries, Duration timeToLive) {
+        Assert.notNull(map, "map argument cannot be null.");
+        Assert.isTrue(maxEntries > 0, "maxEntries must be greater than zero.");
+        this.map = map;
+        this.timeToLiveMillis = timeToLive != null ?
+                TimeUnit.MILLISECONDS.convert(timeToLive.getValue(), timeToLive.getTimeUnit()) : 0;
+        this.local = new LinkedHashMap<K, LocalEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, LocalEntry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+        this.listenerId = map.addEntryListener(new InvalidationListener(), false);
+    }
+
+    @Override
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        synchronized (local) {
+            LocalEntry<V> entry = local.get(key);
+            if (entry != null) {
+                if (timeToLiveMillis <= 0 || now - entry.creationTimeMillis < timeToLiveMillis) {
+                    return entry.value;
+                }
+                local.remove(key);
+            }
+        }
+
+        int stripe = stripe(key);
+        long stamp = invalidations.get(stripe);
+        V value = map.get(key);
+        if (value != null) {
+            synchronized (local) {
+                //only retain the value if it cannot have been invalidated while it was being read:
+                if (invalidations.get(stripe) == stamp) {
+                    local.put(key, new LocalEntry<V>(value, now));
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        invalidate(key);
+        try {
+            return map.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        invalidate(key);
+        try {
+            return map.remove(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Deregisters the entry listener of this near cache and discards all of its local entries.
+     */
+    public void destroy() {
+        map.removeEntryListener(listenerId);
+        invalidateAll();
+    }
+
+    /**
+     * Returns the number of entries currently retained locally.
+     *
+     * @return the number of entries currently retained locally.
+     */
+    public int getLocalSize() {
+        synchronized (local) {
+            return local.size();
+        }
+    }
+
+    private int stripe(Object key) {
+        int h = key != null ? key.hashCode() : 0;
+        h ^= (h >>> 16);
+        return h & (INVALIDATION_STRIPES - 1);
+    }
+
+    private void invalidate(Object key) {
+        //the counter is incremented before the entry is discarded, so that a concurrent read cannot retain it again:
+        invalidations.incrementAndGet(stripe(key));
+        synchronized (local) {
+            local.remove(key);
+        }
+    }
+
+    private void invalidateAll() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        synchronized (local) {
+            local.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HazelcastNearCache{" +
+                "map=" + map.getName() +
+                ", localSize=" + getLocalSize() +
+                '}';
+    }
+
+    private static final class LocalEntry<V> {
+
+        private final V value;
+        private final long creationTimeMillis;
+
+        private LocalEntry(V value, long creationTimeMillis) {
+            this.value = value;
+            this.creationTimeMillis = creationTimeMillis;
+        }
+    }
+
+    private class InvalidationListener implements EntryAddedListener<K, V>, EntryUpdatedListener<K, V>,
+            EntryRemovedListener<K, V>, EntryEvictedListener<K, V>, EntryExpiredListener<K, V>, MapClearedListener,
+            MapEvictedListener {
+
+        @Override
+        public void entryAdded(EntryEvent<K, V> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<K, V> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<K, V> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<K, V> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<K, V> event) {
+            invalidate(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            invalidateAll();
+        }
+
+        @Override
+        public void mapEvicted(MapEvent event) {
+            invalidateAll();
+        }
+    }
+}
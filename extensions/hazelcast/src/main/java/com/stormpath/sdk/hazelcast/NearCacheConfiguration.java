@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+
+/**
+ * Configures the local near cache kept in front of a Hazelcast cache region by the {@link HazelcastCacheManager}.
+ *
+ * @see HazelcastCacheManager#setNearCacheConfigurations(java.util.Collection)
+ * @see HazelcastNearCache
+ * @since 1.6.0
+ */
+public class NearCacheConfiguration {
+
+    /**
+     * The default maximum number of entries retained by a near cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final String name;
+    private final int maxEntries;
+    private final Duration timeToLive;
+
+    /**
+     * Creates a new configuration for the near cache of the specified region, retaining at most
+     * {@link #DEFAULT_MAX_ENTRIES} entries until they are invalidated.
+     *
+     * @param name the name of the cache region
+     */
+    public NearCacheConfiguration(String name) {
+        this(name, DEFAULT_MAX_ENTRIES, null);
+    }
+
+    /**
+     * Creates a new configuration for the near cache of the specified region.
+     *
+     * @param name       the name of the cache region
+     * @param maxEntries the maximum number of entries retained by the near cache
+     * @param timeToLive the maximum amount of time an entry is retained by the near cache, or {@code null} to retain
+     *                   entries until they are invalidated or evicted.  This bounds how long a near cache may return a
+     *                   stale entry if an invalidation event is lost (for example, while a client reconnects to the
+     *                   cluster).
+     */
+    public NearCacheConfiguration(String name, int maxEntries, Duration timeToLive) {
+        Assert.hasText(name, "Cache Region name cannot be null or empty.");
+        Assert.isTrue(maxEntries > 0, "maxEntries must be greater than zero.");
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the name of the cache region for which this configuration applies.
+     *
+     * @return the name of the cache region for which this configuration applies.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the maximum number of entries retained by the near cache.
+     *
+     * @return the maximum number of entries retained by the near cache.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the maximum amount of time an entry is retained by the near cache, or {@code null} if entries are
+     * retained until they are invalidated or evicted.
+     *
+     * @return the maximum amount of time an entry is retained by the near cache, or {@code null} if entries are
+     * retained until they are invalidated or evicted.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfiguration{" +
+                "name='" + name + '\'' +
+                ", maxEntries=" + maxEntries +
+                ", timeToLive=" + timeToLive +
+                '}';
+    }
+}
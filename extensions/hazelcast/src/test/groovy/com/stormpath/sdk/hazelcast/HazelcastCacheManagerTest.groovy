@@ -17,8 +17,12 @@ package com.stormpath.sdk.hazelcast
 
 import com.hazelcast.core.HazelcastInstance
 import com.hazelcast.core.IMap
+import com.hazelcast.map.listener.MapListener
+import com.stormpath.sdk.lang.Duration
 import org.testng.annotations.Test
 
+import java.util.concurrent.TimeUnit
+
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.*
 
@@ -85,4 +89,66 @@ class HazelcastCacheManagerTest {
 
         verify hz, imap
     }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetCacheReturnsSameInstance() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        assertSame cm.getCache('foo'), cm.getCache('foo')
+
+        verify hz, imap
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetNearCache() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setNearCacheConfigurations([new NearCacheConfiguration('foo', 100, new Duration(1, TimeUnit.MINUTES))])
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+        expect(imap.addEntryListener(anyObject() as MapListener, eq(false))).andReturn('listenerId')
+
+        replay hz, imap
+
+        def cache = cm.getCache('foo')
+
+        assertTrue cache instanceof HazelcastNearCache
+
+        verify hz, imap
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testSetHazelcastInstanceDestroysNearCaches() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setNearCacheConfigurations([new NearCacheConfiguration('foo')])
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+        expect(imap.addEntryListener(anyObject() as MapListener, eq(false))).andReturn('listenerId')
+        expect(imap.removeEntryListener('listenerId')).andReturn(true)
+
+        replay hz, imap
+
+        cm.getCache('foo')
+        cm.setHazelcastInstance(createStrictMock(HazelcastInstance))
+
+        verify hz, imap
+    }
 }
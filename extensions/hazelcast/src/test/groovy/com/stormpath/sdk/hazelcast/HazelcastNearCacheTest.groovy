@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast
+
+import com.hazelcast.core.EntryEvent
+import com.hazelcast.core.IMap
+import com.hazelcast.core.MapEvent
+import com.hazelcast.map.listener.MapListener
+import com.stormpath.sdk.lang.Duration
+import org.easymock.Capture
+import org.easymock.IAnswer
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class HazelcastNearCacheTest {
+
+    IMap map
+    Capture<MapListener> listener
+
+    @BeforeMethod
+    void setUp() {
+        map = createStrictMock(IMap)
+        listener = newCapture()
+        expect(map.addEntryListener(capture(listener) as MapListener, eq(false))).andReturn('listenerId')
+    }
+
+    static EntryEvent event(String key) {
+        def event = createNiceMock(EntryEvent)
+        expect(event.getKey()).andReturn(key).anyTimes()
+        replay event
+        return event
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullMap() {
+        new HazelcastNearCache(null, 10, null)
+    }
+
+    @Test
+    void testGetRetainsEntryLocally() {
+        expect(map.get('foo')).andReturn('bar')
+        expect(map.get('missing')).andReturn(null).times(2)
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, null)
+
+        assertEquals cache.get('foo'), 'bar'
+        assertEquals cache.get('foo'), 'bar'
+        assertNull cache.get('missing')
+        assertNull cache.get('missing')
+        assertEquals cache.localSize, 1
+
+        verify map
+    }
+
+    @Test
+    void testMaxEntries() {
+        expect(map.get(anyObject())).andReturn('value').times(3)
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 2, null)
+        cache.get('a')
+        cache.get('b')
+        cache.get('c')
+
+        assertEquals cache.localSize, 2
+
+        verify map
+    }
+
+    @Test
+    void testInvalidationEvents() {
+        expect(map.get('foo')).andReturn('bar')
+        expect(map.get('foo')).andReturn('baz')
+        expect(map.get('foo')).andReturn('qux')
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, null)
+
+        assertEquals cache.get('foo'), 'bar'
+        listener.value.entryUpdated(event('foo'))
+        assertEquals cache.localSize, 0
+        assertEquals cache.get('foo'), 'baz'
+        listener.value.mapCleared(createNiceMock(MapEvent))
+        assertEquals cache.get('foo'), 'qux'
+
+        verify map
+    }
+
+    @Test
+    void testReadRacingInvalidationIsNotRetained() {
+        expect(map.get('foo')).andAnswer(new IAnswer<Object>() {
+            @Override
+            Object answer() throws Throwable {
+                //the entry is updated on another member while it is being read:
+                listener.value.entryUpdated(event('foo'))
+                return 'stale'
+            }
+        })
+        expect(map.get('foo')).andReturn('bar')
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, null)
+
+        assertEquals cache.get('foo'), 'stale'
+        assertEquals cache.localSize, 0
+        assertEquals cache.get('foo'), 'bar'
+
+        verify map
+    }
+
+    @Test
+    void testPutAndRemoveInvalidate() {
+        expect(map.get('foo')).andReturn('bar')
+        expect(map.put('foo', 'baz')).andReturn('bar')
+        expect(map.get('foo')).andReturn('baz')
+        expect(map.remove('foo')).andReturn('baz')
+        expect(map.get('foo')).andReturn(null)
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, null)
+
+        assertEquals cache.get('foo'), 'bar'
+        assertEquals cache.put('foo', 'baz'), 'bar'
+        assertEquals cache.get('foo'), 'baz'
+        assertEquals cache.remove('foo'), 'baz'
+        assertNull cache.get('foo')
+
+        verify map
+    }
+
+    @Test
+    void testTimeToLive() {
+        expect(map.get('foo')).andReturn('bar').times(2)
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, new Duration(1, TimeUnit.MILLISECONDS))
+
+        assertEquals cache.get('foo'), 'bar'
+        Thread.sleep(5)
+        assertEquals cache.get('foo'), 'bar'
+
+        verify map
+    }
+
+    @Test
+    void testDestroy() {
+        expect(map.get('foo')).andReturn('bar')
+        expect(map.removeEntryListener('listenerId')).andReturn(true)
+
+        replay map
+
+        def cache = new HazelcastNearCache<String, String>(map, 10, null)
+        cache.get('foo')
+        cache.destroy()
+
+        assertEquals cache.localSize, 0
+
+        verify map
+    }
+}
@@ -18,11 +18,12 @@ package com.stormpath.sdk.impl.http.httpclient;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Proxy;
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials;
+import com.stormpath.sdk.impl.http.AsyncRequestExecutor;
 import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.InstrumentedRequestExecutor;
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.Request;
-import com.stormpath.sdk.impl.http.RequestExecutor;
 import com.stormpath.sdk.impl.http.Response;
 import com.stormpath.sdk.impl.http.RestException;
 import com.stormpath.sdk.impl.http.authc.DefaultRequestAuthenticatorFactory;
@@ -31,6 +32,12 @@ import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
 import com.stormpath.sdk.impl.http.support.BackoffStrategy;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.DefaultResponse;
+import com.stormpath.sdk.impl.metrics.ConnectionPoolStatistics;
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.impl.util.AsyncCallback;
+import com.stormpath.sdk.impl.util.CallbackFuture;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
 import com.stormpath.sdk.lang.Assert;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -39,6 +46,11 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.http.Consts;
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
@@ -61,6 +73,7 @@ import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,7 +85,7 @@ import org.slf4j.LoggerFactory;
  *
  * @since 0.1
  */
-public class HttpClientRequestExecutor implements RequestExecutor {
+public class HttpClientRequestExecutor implements AsyncRequestExecutor, InstrumentedRequestExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(HttpClientRequestExecutor.class);
 
@@ -83,6 +96,8 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
     private static final int DEFAULT_MAX_RETRIES = 4;
 
+    private static final int DEFAULT_ASYNC_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
     private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = Integer.MAX_VALUE/2;
     private static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY_KEY = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.connPoolControl.maxPerRoute";
     private static final int MAX_CONNECTIONS_PER_ROUTE;
@@ -104,6 +119,12 @@ public class HttpClientRequestExecutor implements RequestExecutor {
     //doesn't need to be SecureRandom: only used in backoff strategy, not for crypto:
     private final Random random = new Random();
 
+    private volatile ScheduledExecutorService asyncScheduler;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private volatile MetricsRecorder metricsRecorder = new DisabledMetricsRecorder();
+
     static {
         int connectionMaxPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
         String connectionMaxPerRouteString = System.getProperty(MAX_CONNECTIONS_PER_ROUTE_PROPERTY_KEY);
@@ -153,6 +174,7 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.requestAuthenticator = factory.create(authenticationScheme, clientCredentials);
 
         PoolingHttpClientConnectionManager connMgr = new PoolingHttpClientConnectionManager();
+        this.connectionManager = connMgr;
 
         if (MAX_CONNECTIONS_TOTAL >= MAX_CONNECTIONS_PER_ROUTE) {
             connMgr.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
@@ -224,113 +246,120 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.httpClient = httpClient;
     }
 
-    @Override
-    public Response executeRequest(Request request) throws RestException {
+    /**
+     * Returns the scheduler used to run {@link #executeRequestAsync(Request, AsyncCallback) asynchronous} requests and
+     * to schedule their retries.  If one was not {@link #setAsyncScheduler(ScheduledExecutorService) configured}, a
+     * default scheduler backed by daemon threads is created on first use.
+     *
+     * @return the scheduler used to run asynchronous requests and to schedule their retries.
+     * @since 1.6.0
+     */
+    public ScheduledExecutorService getAsyncScheduler() {
+        ScheduledExecutorService scheduler = this.asyncScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = this.asyncScheduler;
+                if (scheduler == null) {
+                    scheduler = Executors.newScheduledThreadPool(DEFAULT_ASYNC_POOL_SIZE, new DaemonThreadFactory("stormpath-http-async"));
+                    this.asyncScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
 
-        Assert.notNull(request, "Request argument cannot be null.");
+    /**
+     * Sets the scheduler used to run {@link #executeRequestAsync(Request, AsyncCallback) asynchronous} requests and
+     * to schedule their retries.
+     *
+     * @param asyncScheduler the scheduler used to run asynchronous requests and to schedule their retries.
+     * @since 1.6.0
+     */
+    public void setAsyncScheduler(ScheduledExecutorService asyncScheduler) {
+        this.asyncScheduler = asyncScheduler;
+    }
 
-        int retryCount = 0;
-        URI redirectUri = null;
-        HttpEntity entity = null;
-        RestException exception = null;
+    /**
+     * @since 1.6.0
+     */
+    public MetricsRecorder getMetricsRecorder() {
+        return this.metricsRecorder;
+    }
 
-        // Make a copy of the original request params and headers so that we can
-        // permute them in the loop and start over with the original every time.
-        QueryString originalQuery = new QueryString();
-        originalQuery.putAll(request.getQueryString());
+    /**
+     * Sets the recorder that HTTP round trips and retries are reported to, and registers the connection pool of this
+     * executor with it.  The pool is no longer reported accurately if a different {@link #setHttpClient(HttpClient)
+     * httpClient} is set.
+     *
+     * @param metricsRecorder the recorder that HTTP round trips and retries are reported to.
+     * @since 1.6.0
+     */
+    @Override
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Assert.notNull(metricsRecorder, "metricsRecorder cannot be null.");
+        this.metricsRecorder = metricsRecorder;
+        metricsRecorder.registerConnectionPool(new ConnectionManagerStatistics(this.connectionManager));
+    }
 
-        HttpHeaders originalHeaders = new HttpHeaders();
-        originalHeaders.putAll(request.getHeaders());
+    @Override
+    public Response executeRequest(Request request) throws RestException {
 
-        while (true) {
+        Assert.notNull(request, "Request argument cannot be null.");
 
-            if (redirectUri != null) {
-                request = new DefaultRequest(
-                        request.getMethod(),
-                        redirectUri.toString(),
-                        null,
-                        null,
-                        request.getBody(),
-                        request.getHeaders().getContentLength()
-                );
-            }
+        Execution execution = new Execution(request);
 
-            if (retryCount > 0) {
-                request.setQueryString(originalQuery);
-                request.setHeaders(originalHeaders);
+        while (true) {
+            long delay = execution.getDelayMillis();
+            if (delay > 0) {
+                pause(delay);
             }
-
-
-            // Sign the request
-            this.requestAuthenticator.authenticate(request);
-
-            HttpRequestBase httpRequest = this.httpClientRequestFactory.createHttpClientRequest(request, entity);
-
-            if (httpRequest instanceof HttpEntityEnclosingRequest) {
-                entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+            Response response = execution.attempt();
+            if (response != null) {
+                return response;
             }
+        }
+    }
 
+    /**
+     * Executes the request on the {@link #getAsyncScheduler() asyncScheduler} using the same retry and redirect rules
+     * as {@link #executeRequest(Request)}.  The difference is that the back-off delay before a retry is implemented by
+     * scheduling the next attempt on the scheduler, so no thread is held while waiting.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Future<Response> executeRequestAsync(Request request, AsyncCallback<Response> callback) {
 
-            HttpResponse httpResponse = null;
-            try {
-                // We don't want to treat a redirect like a retry,
-                // so if redirectUri is not null, we won't pause
-                // before executing the request below.
-                if (retryCount > 0 && redirectUri == null) {
-                    pauseExponentially(retryCount, exception);
-                    if (entity != null) {
-                        InputStream content = entity.getContent();
-                        if (content.markSupported()) {
-                            content.reset();
-                        }
-                    }
-                }
-
-                // reset redirectUri so that if there is an exception, we will pause on retry
-                redirectUri = null;
-                exception = null;
-                retryCount++;
-
-                httpResponse = httpClient.execute(httpRequest);
-
-                if (isRedirect(httpResponse)) {
-                    Header[] locationHeaders = httpResponse.getHeaders("Location");
-                    String location = locationHeaders[0].getValue();
-                    log.debug("Redirecting to: {}", location);
-                    redirectUri = request.getResourceUrl().resolve(location);
-                    httpRequest.setURI(redirectUri);
-                } else {
-
-                    Response response = toSdkResponse(httpResponse);
-
-                    int httpStatus = response.getHttpStatus();
-
-                    if (httpStatus == 429) {
-                        throw new RestException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.");
-                    }
-                    if ((httpStatus == 503 || httpStatus == 504) && retryCount <= this.numRetries) {
-                        //allow the loop to continue to execute a retry request
-                        continue;
-                    }
-
-                    return response;
-                }
-            } catch (Throwable t) {
-                log.warn("Unable to execute HTTP request: ", t.getMessage(), t);
+        Assert.notNull(request, "Request argument cannot be null.");
 
-                if (t instanceof RestException) {
-                    exception = (RestException)t;
-                }
+        CallbackFuture<Response> future = new CallbackFuture<Response>(callback);
+        schedule(new Execution(request), future, 0);
+        return future;
+    }
 
-                if (!shouldRetry(httpRequest, t, retryCount)) {
-                    throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
+    private void schedule(final Execution execution, final CallbackFuture<Response> future, long delayMillis) {
+        Runnable attempt = new Runnable() {
+            @Override
+            public void run() {
+                if (future.isDone()) { //cancelled
+                    return;
                 }
-            } finally {
                 try {
-                    httpResponse.getEntity().getContent().close();
-                } catch (Throwable ignored) {
+                    Response response = execution.attempt();
+                    if (response != null) {
+                        future.complete(response);
+                    } else {
+                        schedule(execution, future, execution.getDelayMillis());
+                    }
+                } catch (Throwable t) {
+                    future.fail(t);
                 }
             }
+        };
+        try {
+            getAsyncScheduler().schedule(attempt, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            future.fail(new RestException("Unable to schedule HTTP request: " + e.getMessage(), e));
         }
     }
 
@@ -344,13 +373,15 @@ public class HttpClientRequestExecutor implements RequestExecutor {
     }
 
     /**
-     * Exponential sleep on failed request to avoid flooding a service with
-     * retries.
+     * Returns the exponential back-off delay to wait before retrying a failed request, to avoid flooding a service
+     * with retries.
      *
      * @param retries           Current retry count.
      * @param previousException Exception information for the previous attempt, if any.
+     * @return the number of milliseconds to wait before retrying the request.
+     * @since 1.6.0
      */
-    private void pauseExponentially(int retries, RestException previousException) {
+    protected long getRetryDelayMillis(int retries, RestException previousException) {
         long delay;
         if (backoffStrategy != null) {
             delay = this.backoffStrategy.getDelayMillis(retries);
@@ -364,7 +395,10 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
         delay = Math.min(delay, MAX_BACKOFF_IN_MILLISECONDS);
         log.debug("Retryable condition detected, will retry in {}ms, attempt number: {}", delay, retries);
+        return delay;
+    }
 
+    private void pause(long delay) {
         try {
             Thread.sleep(delay);
         } catch (InterruptedException e) {
@@ -491,4 +525,183 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
         return headers;
     }
+
+    /**
+     * The state of a single logical request across its redirects and retries.  Each call to {@link #attempt()}
+     * performs exactly one HTTP round trip, which allows the same logic to be driven by a blocking loop or by a
+     * timer.
+     */
+    private class Execution {
+
+        private Request request;
+        private final QueryString originalQuery;
+        private final HttpHeaders originalHeaders;
+
+        private int retryCount = 0;
+        private URI redirectUri = null;
+        private HttpEntity entity = null;
+        private RestException exception = null;
+
+        private Execution(Request request) {
+            this.request = request;
+
+            // Make a copy of the original request params and headers so that we can
+            // permute them in each attempt and start over with the original every time.
+            this.originalQuery = new QueryString();
+            this.originalQuery.putAll(request.getQueryString());
+
+            this.originalHeaders = new HttpHeaders();
+            this.originalHeaders.putAll(request.getHeaders());
+        }
+
+        /**
+         * Returns the delay to wait before the next {@link #attempt()}.  We don't want to treat a redirect like a
+         * retry, so there is no delay before following a redirect.
+         */
+        private long getDelayMillis() {
+            if (retryCount > 0 && redirectUri == null) {
+                return getRetryDelayMillis(retryCount, exception);
+            }
+            return 0;
+        }
+
+        /**
+         * Performs a single HTTP round trip, returning the final response, or {@code null} if the request must be
+         * attempted again (i.e. it was redirected or a retryable condition was detected).
+         */
+        private Response attempt() throws RestException {
+
+            if (redirectUri != null) {
+                request = new DefaultRequest(
+                        request.getMethod(),
+                        redirectUri.toString(),
+                        null,
+                        null,
+                        request.getBody(),
+                        request.getHeaders().getContentLength()
+                );
+            }
+
+            if (retryCount > 0) {
+                request.setQueryString(originalQuery);
+                request.setHeaders(originalHeaders);
+            }
+
+            MetricsRecorder recorder = metricsRecorder;
+            String method = request.getMethod().name();
+
+            if (retryCount > 0 && redirectUri == null) {
+                recorder.recordHttpRetry(method);
+            }
+
+            // Sign the request
+            requestAuthenticator.authenticate(request);
+
+            HttpRequestBase httpRequest = httpClientRequestFactory.createHttpClientRequest(request, entity);
+
+            if (httpRequest instanceof HttpEntityEnclosingRequest) {
+                entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+            }
+
+            HttpResponse httpResponse = null;
+            long start = System.nanoTime();
+            try {
+                if (retryCount > 0 && redirectUri == null) {
+                    if (entity != null) {
+                        InputStream content = entity.getContent();
+                        if (content.markSupported()) {
+                            content.reset();
+                        }
+                    }
+                }
+
+                // reset redirectUri so that if there is an exception, we will pause on retry
+                redirectUri = null;
+                exception = null;
+                retryCount++;
+
+                httpResponse = httpClient.execute(httpRequest);
+
+                if (isRedirect(httpResponse)) {
+                    Header[] locationHeaders = httpResponse.getHeaders("Location");
+                    String location = locationHeaders[0].getValue();
+                    log.debug("Redirecting to: {}", location);
+                    redirectUri = request.getResourceUrl().resolve(location);
+                    httpRequest.setURI(redirectUri);
+                    return null;
+                }
+
+                Response response = toSdkResponse(httpResponse);
+
+                int httpStatus = response.getHttpStatus();
+
+                if (httpStatus == 429) {
+                    throw new RestException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.");
+                }
+                if ((httpStatus == 503 || httpStatus == 504) && retryCount <= numRetries) {
+                    //allow another attempt to execute a retry request
+                    return null;
+                }
+
+                return response;
+
+            } catch (Throwable t) {
+                log.warn("Unable to execute HTTP request: ", t.getMessage(), t);
+
+                if (t instanceof RestException) {
+                    exception = (RestException) t;
+                }
+
+                if (!shouldRetry(httpRequest, t, retryCount)) {
+                    throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
+                }
+                return null;
+            } finally {
+                int status = httpResponse != null ? httpResponse.getStatusLine().getStatusCode() : 0;
+                recorder.recordHttpRequest(method, status, System.nanoTime() - start);
+                try {
+                    httpResponse.getEntity().getContent().close();
+                } catch (Throwable ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * The statistics of all the routes of a connection manager.
+     *
+     * @since 1.6.0
+     */
+    private static class ConnectionManagerStatistics implements ConnectionPoolStatistics {
+
+        private final PoolingHttpClientConnectionManager connectionManager;
+
+        private ConnectionManagerStatistics(PoolingHttpClientConnectionManager connectionManager) {
+            this.connectionManager = connectionManager;
+        }
+
+        private PoolStats getTotalStats() {
+            return connectionManager.getTotalStats();
+        }
+
+        @Override
+        public int getLeased() {
+            return getTotalStats().getLeased();
+        }
+
+        @Override
+        public int getPending() {
+            return getTotalStats().getPending();
+        }
+
+        @Override
+        public int getAvailable() {
+            return getTotalStats().getAvailable();
+        }
+
+        @Override
+        public int getMax() {
+            return getTotalStats().getMax();
+        }
+    }
 }
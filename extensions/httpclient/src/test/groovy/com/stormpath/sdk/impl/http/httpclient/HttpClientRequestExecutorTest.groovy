@@ -18,14 +18,31 @@
 package com.stormpath.sdk.impl.http.httpclient
 
 import com.stormpath.sdk.client.AuthenticationScheme
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.http.Response
+import com.stormpath.sdk.impl.http.RestException
+import com.stormpath.sdk.impl.http.support.BackoffStrategy
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.AsyncCallback
 import org.apache.http.HttpEntity
 import org.apache.http.HttpResponse
+import org.apache.http.HttpVersion
 import org.apache.http.StatusLine
+import org.apache.http.client.HttpClient
+import org.apache.http.entity.StringEntity
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.message.BasicStatusLine
 import org.testng.annotations.Test
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 import static org.easymock.EasyMock.*
-import static org.testng.Assert.assertNull
+import static org.testng.Assert.*
 
 class HttpClientRequestExecutorTest {
 
@@ -63,4 +80,116 @@ class HttpClientRequestExecutorTest {
         verify apiKeyCredentials, httpResponse, statusLine, entity, entityContent
 
     }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testExecuteRequestAsyncRetriesUnavailableResponses() {
+
+        def statuses = [503, 504, 200]
+        def attempts = 0
+        def retries = []
+        def callbackResults = []
+        def done = new CountDownLatch(1)
+
+        def e = newExecutor()
+        e.setHttpClient([execute: { Object[] args -> toHttpResponse(statuses[attempts++]) }] as HttpClient)
+        e.setBackoffStrategy({ int retryCount -> retries << retryCount; return 0L } as BackoffStrategy)
+        def scheduler = Executors.newSingleThreadScheduledExecutor()
+        e.setAsyncScheduler(scheduler)
+
+        try {
+            def future = e.executeRequestAsync(newRequest(), new AsyncCallback<Response>() {
+                void onSuccess(Response result) {
+                    callbackResults << result
+                    done.countDown()
+                }
+
+                void onFailure(Throwable t) {
+                    callbackResults << t
+                    done.countDown()
+                }
+            })
+
+            assertEquals future.get(5, TimeUnit.SECONDS).httpStatus, 200
+            assertTrue done.await(5, TimeUnit.SECONDS)
+            assertEquals attempts, 3
+            assertEquals retries, [1, 2]
+            assertEquals callbackResults.size(), 1
+            assertSame callbackResults[0], future.get()
+        } finally {
+            scheduler.shutdownNow()
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testExecuteRequestAsyncReturnsUnavailableResponseWhenRetriesAreExhausted() {
+
+        def attempts = 0
+
+        def e = newExecutor()
+        e.setNumRetries(1)
+        e.setHttpClient([execute: { Object[] args -> attempts++; toHttpResponse(503) }] as HttpClient)
+        e.setBackoffStrategy({ int retryCount -> 0L } as BackoffStrategy)
+        def scheduler = Executors.newSingleThreadScheduledExecutor()
+        e.setAsyncScheduler(scheduler)
+
+        try {
+            def future = e.executeRequestAsync(newRequest(), null)
+
+            assertEquals future.get(5, TimeUnit.SECONDS).httpStatus, 503
+            assertEquals attempts, 2
+        } finally {
+            scheduler.shutdownNow()
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testExecuteRequestAsyncFailure() {
+
+        def attempts = 0
+
+        def e = newExecutor()
+        e.setNumRetries(1)
+        e.setHttpClient([execute: { Object[] args -> attempts++; throw new SocketException('reset') }] as HttpClient)
+        e.setBackoffStrategy({ int retryCount -> 0L } as BackoffStrategy)
+        def scheduler = Executors.newSingleThreadScheduledExecutor()
+        e.setAsyncScheduler(scheduler)
+
+        try {
+            def future = e.executeRequestAsync(newRequest(), null)
+            try {
+                future.get(5, TimeUnit.SECONDS)
+                fail 'Expected an ExecutionException'
+            } catch (ExecutionException expected) {
+                assertTrue expected.cause instanceof RestException
+                assertTrue expected.cause.cause instanceof SocketException
+            }
+            assertEquals attempts, 2
+        } finally {
+            scheduler.shutdownNow()
+        }
+    }
+
+    private static HttpClientRequestExecutor newExecutor() {
+        def credentials = new ApiKeyCredentials(new ClientApiKey('id', 'secret'))
+        return new HttpClientRequestExecutor(credentials, null, AuthenticationScheme.BASIC, null, 20000)
+    }
+
+    private static DefaultRequest newRequest() {
+        return new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/accounts/foo')
+    }
+
+    private static HttpResponse toHttpResponse(int status) {
+        def response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, status, 'status ' + status))
+        response.setEntity(new StringEntity('{"href":"https://api.stormpath.com/v1/accounts/foo"}'))
+        return response
+    }
 }
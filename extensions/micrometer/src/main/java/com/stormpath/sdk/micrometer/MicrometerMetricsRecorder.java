@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.micrometer;
+
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.ds.ResourceAction;
+import com.stormpath.sdk.impl.metrics.ConnectionPoolStatistics;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MetricsRecorder} that publishes the SDK's measurements to a <a href="http://micrometer.io">Micrometer</a>
+ * {@link MeterRegistry}, and from there to any monitoring system supported by Micrometer.
+ *
+ * <h3>Usage</h3>
+ *
+ * <p>Specify the recorder when building your Stormpath SDK Client.  For example:</p>
+ *
+ * <pre>
+ * MeterRegistry registry = ...;
+ *
+ * Client client = {@link com.stormpath.sdk.client.Clients Clients}.builder()
+ *     <b>.setMetricsRecorder(new MicrometerMetricsRecorder(registry))</b>
+ *     .build();
+ * </pre>
+ *
+ * <p>(the {@code setMetricsRecorder} method is available on the
+ * {@link com.stormpath.sdk.impl.client.DefaultClientBuilder DefaultClientBuilder}).  With the Stormpath Spring Boot
+ * starter, the recorder is configured automatically whenever a {@code MeterRegistry} bean exists.</p>
+ *
+ * <h3>Meters</h3>
+ *
+ * <table>
+ *     <tr><th>Name</th><th>Type</th><th>Tags</th></tr>
+ *     <tr><td>{@code stormpath.datastore.operations}</td><td>Timer (with percentile histogram)</td>
+ *         <td>{@code operation}, {@code resource}, {@code outcome}</td></tr>
+ *     <tr><td>{@code stormpath.cache.gets}</td><td>Function counter</td><td>{@code region}, {@code result}
+ *         ({@code hit} or {@code miss})</td></tr>
+ *     <tr><td>{@code stormpath.cache.evictions}</td><td>Function counter</td><td>{@code region}</td></tr>
+ *     <tr><td>{@code stormpath.cache.size}</td><td>Gauge</td><td>{@code region}</td></tr>
+ *     <tr><td>{@code stormpath.cache.loads}</td><td>Timer</td><td>{@code region}, {@code outcome}</td></tr>
+ *     <tr><td>{@code stormpath.http.requests}</td><td>Timer</td><td>{@code method}, {@code status} ({@code none}
+ *         if no response was received)</td></tr>
+ *     <tr><td>{@code stormpath.http.retries}</td><td>Counter</td><td>{@code method}</td></tr>
+ *     <tr><td>{@code stormpath.http.connections.leased}, {@code .pending}, {@code .available}, {@code .max}</td>
+ *         <td>Gauge</td><td></td></tr>
+ *     <tr><td>{@code stormpath.jwt.verifications}</td><td>Timer</td><td>{@code verifier}, {@code outcome}</td></tr>
+ * </table>
+ *
+ * <p>The {@code outcome} tag is either {@code success} or {@code error} ({@code invalid} for JWT verifications).
+ * Cache counters are only published for the regions of the SDK's default, in-memory {@code CacheManager}.</p>
+ *
+ * @since 1.6.0
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+
+    public static final String DATASTORE_OPERATIONS = "stormpath.datastore.operations";
+    public static final String CACHE_GETS = "stormpath.cache.gets";
+    public static final String CACHE_EVICTIONS = "stormpath.cache.evictions";
+    public static final String CACHE_SIZE = "stormpath.cache.size";
+    public static final String CACHE_LOADS = "stormpath.cache.loads";
+    public static final String HTTP_REQUESTS = "stormpath.http.requests";
+    public static final String HTTP_RETRIES = "stormpath.http.retries";
+    public static final String HTTP_CONNECTIONS = "stormpath.http.connections";
+    public static final String JWT_VERIFICATIONS = "stormpath.jwt.verifications";
+
+    private final MeterRegistry registry;
+
+    //gauges and function counters only hold weak references to the objects they observe:
+    private final List<ConnectionPoolStatistics> connectionPools = new CopyOnWriteArrayList<>();
+
+    public MicrometerMetricsRecorder(MeterRegistry registry) {
+        Assert.notNull(registry, "MeterRegistry cannot be null.");
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void recordDataStoreOperation(ResourceAction action, Class<? extends Resource> resourceClass,
+                                         long durationNanos, boolean successful) {
+        Timer.builder(DATASTORE_OPERATIONS)
+            .tags("operation", action.name().toLowerCase(Locale.ENGLISH),
+                  "resource", resourceClass.getSimpleName(),
+                  "outcome", outcome(successful))
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheLoad(String region, long durationNanos, boolean successful) {
+        registry.timer(CACHE_LOADS, "region", region, "outcome", outcome(successful))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHttpRequest(String method, int status, long durationNanos) {
+        registry.timer(HTTP_REQUESTS, "method", method, "status", status > 0 ? String.valueOf(status) : "none")
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHttpRetry(String method) {
+        Counter.builder(HTTP_RETRIES).tags("method", method).register(registry).increment();
+    }
+
+    @Override
+    public void recordJwtVerification(String verifier, long durationNanos, boolean valid) {
+        registry.timer(JWT_VERIFICATIONS, "verifier", verifier, "outcome", valid ? "success" : "invalid")
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registerCache(DefaultCache<?, ?> cache) {
+        Tags tags = Tags.of("region", cache.getName());
+
+        FunctionCounter.builder(CACHE_GETS, cache, DefaultCache::getHitCount)
+            .tags(tags).tags("result", "hit")
+            .register(registry);
+        FunctionCounter.builder(CACHE_GETS, cache, DefaultCache::getMissCount)
+            .tags(tags).tags("result", "miss")
+            .register(registry);
+        FunctionCounter.builder(CACHE_EVICTIONS, cache, DefaultCache::getEvictionCount)
+            .tags(tags)
+            .register(registry);
+        Gauge.builder(CACHE_SIZE, cache, DefaultCache::size)
+            .tags(tags)
+            .register(registry);
+    }
+
+    @Override
+    public void registerConnectionPool(ConnectionPoolStatistics pool) {
+        connectionPools.add(pool);
+
+        Gauge.builder(HTTP_CONNECTIONS + ".leased", pool, ConnectionPoolStatistics::getLeased).register(registry);
+        Gauge.builder(HTTP_CONNECTIONS + ".pending", pool, ConnectionPoolStatistics::getPending).register(registry);
+        Gauge.builder(HTTP_CONNECTIONS + ".available", pool, ConnectionPoolStatistics::getAvailable).register(registry);
+        Gauge.builder(HTTP_CONNECTIONS + ".max", pool, ConnectionPoolStatistics::getMax).register(registry);
+    }
+
+    private static String outcome(boolean successful) {
+        return successful ? "success" : "error";
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.micrometer
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.ds.ResourceAction
+import com.stormpath.sdk.impl.metrics.ConnectionPoolStatistics
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class MicrometerMetricsRecorderTest {
+
+    MeterRegistry registry
+    MicrometerMetricsRecorder recorder
+
+    @BeforeMethod
+    void setUp() {
+        registry = new SimpleMeterRegistry()
+        recorder = new MicrometerMetricsRecorder(registry)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullCtorArg() {
+        new MicrometerMetricsRecorder(null)
+    }
+
+    @Test
+    void testRecordDataStoreOperation() {
+        recorder.recordDataStoreOperation(ResourceAction.READ, Account, TimeUnit.MILLISECONDS.toNanos(3), true)
+        recorder.recordDataStoreOperation(ResourceAction.READ, Account, TimeUnit.MILLISECONDS.toNanos(5), true)
+        recorder.recordDataStoreOperation(ResourceAction.DELETE, Account, 1, false)
+
+        def timer = registry.get(MicrometerMetricsRecorder.DATASTORE_OPERATIONS)
+                .tags('operation', 'read', 'resource', 'Account', 'outcome', 'success').timer()
+        assertEquals timer.count(), 2L
+        assertEquals timer.totalTime(TimeUnit.MILLISECONDS), 8d, 0.001d
+
+        timer = registry.get(MicrometerMetricsRecorder.DATASTORE_OPERATIONS)
+                .tags('operation', 'delete', 'resource', 'Account', 'outcome', 'error').timer()
+        assertEquals timer.count(), 1L
+    }
+
+    @Test
+    void testRecordCacheLoad() {
+        recorder.recordCacheLoad('com.stormpath.sdk.account.Account', 10, true)
+        recorder.recordCacheLoad('com.stormpath.sdk.account.Account', 10, false)
+
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_LOADS)
+                .tags('region', 'com.stormpath.sdk.account.Account', 'outcome', 'success').timer().count(), 1L
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_LOADS)
+                .tags('region', 'com.stormpath.sdk.account.Account', 'outcome', 'error').timer().count(), 1L
+    }
+
+    @Test
+    void testRecordHttpRequestsAndRetries() {
+        recorder.recordHttpRequest('GET', 200, 10)
+        recorder.recordHttpRequest('GET', 200, 10)
+        recorder.recordHttpRequest('POST', 0, 10)
+        recorder.recordHttpRetry('POST')
+
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_REQUESTS)
+                .tags('method', 'GET', 'status', '200').timer().count(), 2L
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_REQUESTS)
+                .tags('method', 'POST', 'status', 'none').timer().count(), 1L
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_RETRIES)
+                .tags('method', 'POST').counter().count(), 1d, 0d
+    }
+
+    @Test
+    void testRecordJwtVerification() {
+        recorder.recordJwtVerification('JwtAccountResolver', 10, true)
+        recorder.recordJwtVerification('JwtAccountResolver', 10, false)
+
+        assertEquals registry.get(MicrometerMetricsRecorder.JWT_VERIFICATIONS)
+                .tags('verifier', 'JwtAccountResolver', 'outcome', 'success').timer().count(), 1L
+        assertEquals registry.get(MicrometerMetricsRecorder.JWT_VERIFICATIONS)
+                .tags('verifier', 'JwtAccountResolver', 'outcome', 'invalid').timer().count(), 1L
+    }
+
+    @Test
+    void testRegisterCache() {
+        def cache = new DefaultCache<String, String>('accounts')
+        recorder.registerCache(cache)
+
+        cache.put('a', 'b')
+        cache.get('a')
+        cache.get('c')
+        cache.get('d')
+
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_GETS)
+                .tags('region', 'accounts', 'result', 'hit').functionCounter().count(), 1d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_GETS)
+                .tags('region', 'accounts', 'result', 'miss').functionCounter().count(), 2d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_EVICTIONS)
+                .tags('region', 'accounts').functionCounter().count(), 0d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.CACHE_SIZE)
+                .tags('region', 'accounts').gauge().value(), 1d, 0d
+    }
+
+    @Test
+    void testRegisterConnectionPool() {
+        recorder.registerConnectionPool(new ConnectionPoolStatistics() {
+            int getLeased() { 3 }
+            int getPending() { 2 }
+            int getAvailable() { 1 }
+            int getMax() { 20 }
+        })
+
+        //the pool is retained by the recorder, as gauges only hold weak references:
+        System.gc()
+
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_CONNECTIONS + '.leased').gauge().value(), 3d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_CONNECTIONS + '.pending').gauge().value(), 2d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_CONNECTIONS + '.available').gauge().value(), 1d, 0d
+        assertEquals registry.get(MicrometerMetricsRecorder.HTTP_CONNECTIONS + '.max').gauge().value(), 20d, 0d
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.redis;
+
+import com.stormpath.sdk.impl.cache.BulkCache;
+import com.stormpath.sdk.impl.cache.ResourceDataCodec;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.Pool;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code Cache} implementation that stores its entries in a Redis server, under keys made of the cache's key prefix
+ * and the {@code String} representation of each cache key.
+ * <p/>
+ * Values are stored with a compact binary encoding of the cached resource data (see {@link ResourceDataCodec}).  As
+ * the Redis server may be written to by other processes, the codec only decodes JDK value types with Java
+ * serialization, and fails to decode any other serialized class instead of instantiating it.  Values that the codec
+ * cannot encode are not cached: writing one removes the entry instead.
+ * <p/>
+ * Values expire according to the cache's Time to Live and Time to Idle:
+ * <ul>
+ * <li>entries are written with a Redis expiration of the Time to Live, or of the Time to Idle if it is shorter;</li>
+ * <li>if the cache has a Time to Idle, reading an entry extends its expiration by the Time to Idle (in the same
+ * round trip), but never beyond its Time to Live.</li>
+ * </ul>
+ * Operations that involve several Redis commands, such as {@link #put(Object, Object) put} (which returns the
+ * previous value) or {@link #putAll(Map) putAll}, are pipelined so that they only require a single network round
+ * trip.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ * @see RedisCacheManager
+ * @since 1.6.0
+ */
+public class RedisCache<K, V> implements BulkCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCache.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Identifies the format of the stored values, so that entries written in a different format are ignored.
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * The format version followed by the creation time of the entry.
+     */
+    private static final int HEADER_LENGTH = 1 + 8;
+
+    private final Pool<Jedis> pool;
+    private final byte[] keyPrefix;
+    private final long timeToLiveMillis;
+    private final long timeToIdleMillis;
+    private final ResourceDataCodec codec;
+
+    /**
+     * Creates a new {@code RedisCache}.
+     *
+     * @param pool       the pool of connections to the Redis server
+     * @param keyPrefix  the prefix of the Redis keys of all entries of this cache
+     * @param timeToLive the maximum amount of time entries may be retained since they were written, or {@code null}
+     *                   if entries do not expire based on their age
+     * @param timeToIdle the maximum amount of time entries may be retained since they were last read or written, or
+     *                   {@code null} if entries do not expire based on their use
+     */
+    public RedisCache(Pool<Jedis> pool, String keyPrefix, Duration timeToLive, Duration timeToIdle) {
+        Assert.notNull(pool, "pool argument cannot be null.");
+        Assert.hasText(keyPrefix, "keyPrefix argument cannot be null or empty.");
+        this.pool = pool;
+        this.keyPrefix = keyPrefix.getBytes(UTF_8);
+        this.timeToLiveMillis = toMillis(timeToLive);
+        this.timeToIdleMillis = toMillis(timeToIdle);
+        this.codec = new ResourceDataCodec(true);
+    }
+
+    private static long toMillis(Duration duration) {
+        return duration != null ? TimeUnit.MILLISECONDS.convert(duration.getValue(), duration.getTimeUnit()) : 0;
+    }
+
+    @Override
+    public V get(K key) {
+        byte[] redisKey = toRedisKey(key);
+        Jedis jedis = pool.getResource();
+        try {
+            byte[] bytes;
+            if (timeToIdleMillis > 0) {
+                Pipeline pipeline = jedis.pipelined();
+                Response<byte[]> response = pipeline.get(redisKey);
+                pipeline.pexpire(redisKey, timeToIdleMillis);
+                pipeline.sync();
+                bytes = response.get();
+            } else {
+                bytes = jedis.get(redisKey);
+            }
+
+            if (!isValid(bytes)) {
+                return null;
+            }
+
+            if (timeToIdleMillis > 0 && timeToLiveMillis > 0) {
+                //the entry may not be retained beyond its Time to Live, regardless of its last access:
+                long remaining = timeToLiveMillis - (System.currentTimeMillis() - getCreationTimeMillis(bytes));
+                if (remaining <= 0) {
+                    jedis.del(redisKey);
+                    return null;
+                }
+                if (remaining < timeToIdleMillis) {
+                    jedis.pexpire(redisKey, remaining);
+                }
+            }
+
+            return decode(bytes);
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        byte[] redisKey = toRedisKey(key);
+        byte[] bytes = encode(key, value);
+        if (bytes == null) {
+            return remove(key);
+        }
+        Jedis jedis = pool.getResource();
+        try {
+            Pipeline pipeline = jedis.pipelined();
+            Response<byte[]> previous = pipeline.get(redisKey);
+            write(pipeline, redisKey, bytes);
+            pipeline.sync();
+            return isValid(previous.get()) ? decode(previous.get()) : null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Jedis jedis = pool.getResource();
+        try {
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+                byte[] redisKey = toRedisKey(entry.getKey());
+                byte[] bytes = encode(entry.getKey(), entry.getValue());
+                if (bytes != null) {
+                    write(pipeline, redisKey, bytes);
+                } else {
+                    pipeline.del(redisKey);
+                }
+            }
+            pipeline.sync();
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        byte[] redisKey = toRedisKey(key);
+        Jedis jedis = pool.getResource();
+        try {
+            Pipeline pipeline = jedis.pipelined();
+            Response<byte[]> previous = pipeline.get(redisKey);
+            pipeline.del(redisKey);
+            pipeline.sync();
+            return isValid(previous.get()) ? decode(previous.get()) : null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    private void write(Pipeline pipeline, byte[] redisKey, byte[] bytes) {
+        long expiration = timeToLiveMillis > 0 && timeToIdleMillis > 0 ?
+                Math.min(timeToLiveMillis, timeToIdleMillis) : Math.max(timeToLiveMillis, timeToIdleMillis);
+        if (expiration > 0) {
+            pipeline.psetex(redisKey, expiration, bytes);
+        } else {
+            pipeline.set(redisKey, bytes);
+        }
+    }
+
+    private byte[] toRedisKey(K key) {
+        Assert.notNull(key, "key argument cannot be null.");
+        byte[] suffix = key.toString().getBytes(UTF_8);
+        byte[] redisKey = Arrays.copyOf(keyPrefix, keyPrefix.length + suffix.length);
+        System.arraycopy(suffix, 0, redisKey, keyPrefix.length, suffix.length);
+        return redisKey;
+    }
+
+    /**
+     * Returns the bytes to store for the specified value, or {@code null} if the value cannot be encoded.
+     */
+    private byte[] encode(K key, V value) {
+        Assert.notNull(value, "value argument cannot be null.");
+        byte[] encoded;
+        try {
+            encoded = codec.encode(value);
+        } catch (IllegalArgumentException e) {
+            log.debug("Unable to encode the value of key [{}] of type [{}], it is not cached.", key,
+                      value.getClass().getName(), e);
+            return null;
+        }
+        return ByteBuffer.allocate(HEADER_LENGTH + encoded.length)
+                .put(FORMAT_VERSION)
+                .putLong(System.currentTimeMillis())
+                .put(encoded)
+                .array();
+    }
+
+    private static boolean isValid(byte[] bytes) {
+        return bytes != null && bytes.length > HEADER_LENGTH && bytes[0] == FORMAT_VERSION;
+    }
+
+    private static long getCreationTimeMillis(byte[] bytes) {
+        return ByteBuffer.wrap(bytes, 1, 8).getLong();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V decode(byte[] bytes) {
+        return (V) codec.decode(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCache{" +
+                "keyPrefix='" + new String(keyPrefix, UTF_8) + '\'' +
+                ", timeToLiveMillis=" + timeToLiveMillis +
+                ", timeToIdleMillis=" + timeToIdleMillis +
+                '}';
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.redis;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.impl.cache.CacheConfiguration;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code CacheManager} implementation that manages and returns {@link RedisCache} instances, which store their
+ * entries in a <a href="https://redis.io">Redis</a> server.  Each cache region is a distinct key space within the
+ * server: the Redis key of an entry is made of the manager's {@link #setKeyPrefix(String) key prefix}, the name of
+ * its region (by default, the fully qualified interface name of the resource cached, for example,
+ * {@code com.stormpath.sdk.account.Account}) and the cache key (the resource's href).
+ *
+ * <h3>Usage</h3>
+ *
+ * <p>Setting up and configuring a Redis server is outside the scope of this SDK and its documentation.  Once your
+ * Redis server is accessible, create a Jedis connection pool (a {@code JedisPool}, or a {@code JedisSentinelPool} for
+ * a highly-available setup) and specify it when constructing your Stormpath SDK Client.  For example:</p>
+ *
+ * <pre>
+ * JedisPool pool = new JedisPool(new JedisPoolConfig(), "redis.example.com", 6379);
+ *
+ * <b>RedisCacheManager cacheManager = new RedisCacheManager(pool);</b>
+ * cacheManager.setDefaultTimeToLive(new Duration(1, TimeUnit.HOURS));
+ *
+ * Client client = {@link com.stormpath.sdk.client.Clients Clients}.builder()<b>.setCacheManager(cacheManager)</b>.build();
+ * </pre>
+ *
+ * <h3>Expiration</h3>
+ *
+ * <p>Unlike Hazelcast, Redis does not provide region-level expiration settings: each region's Time to Live and Time to
+ * Idle are applied by the {@link RedisCache} to every entry it writes or reads.  They may be configured per region
+ * with {@link #setCacheConfigurations(Collection)}, and default to the manager's
+ * {@link #setDefaultTimeToLive(Duration) defaultTimeToLive} (one hour, unless specified otherwise) and
+ * {@link #setDefaultTimeToIdle(Duration) defaultTimeToIdle} (none, unless specified otherwise).</p>
+ *
+ * @since 1.6.0
+ */
+public class RedisCacheManager implements CacheManager {
+
+    /**
+     * The default prefix of the Redis keys of all cache entries.
+     */
+    public static final String DEFAULT_KEY_PREFIX = "stormpath:";
+
+    private final ConcurrentMap<String, CacheConfiguration> configs =
+            new ConcurrentHashMap<String, CacheConfiguration>();
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<String, Cache>();
+
+    private volatile Pool<Jedis> pool;
+    private volatile String keyPrefix = DEFAULT_KEY_PREFIX;
+    private volatile Duration defaultTimeToLive = new Duration(1, TimeUnit.HOURS);
+    private volatile Duration defaultTimeToIdle;
+
+    /**
+     * Creates a new {@code RedisCacheManager} that, after creation, must be configured with a Jedis connection pool
+     * via the {@link #setPool(Pool) setPool} method.
+     */
+    public RedisCacheManager() {
+    }
+
+    /**
+     * Creates a new {@code RedisCacheManager} that uses the specified Jedis connection pool for all caching
+     * operations.
+     *
+     * @param pool the pool of connections to the Redis server
+     */
+    public RedisCacheManager(Pool<Jedis> pool) {
+        setPool(pool);
+    }
+
+    /**
+     * Sets the pool of connections to the Redis server used for all caching operations.  Caches already returned by
+     * this manager are not affected.
+     *
+     * @param pool the pool of connections to the Redis server
+     */
+    public void setPool(Pool<Jedis> pool) {
+        Assert.notNull(pool, "pool argument cannot be null.");
+        this.pool = pool;
+        this.caches.clear();
+    }
+
+    /**
+     * Sets the prefix of the Redis keys of all cache entries, {@link #DEFAULT_KEY_PREFIX} by default.  This allows
+     * several applications (or environments) to share the same Redis server without sharing cache entries.  Caches
+     * already returned by this manager are not affected.
+     *
+     * @param keyPrefix the prefix of the Redis keys of all cache entries
+     */
+    public void setKeyPrefix(String keyPrefix) {
+        Assert.hasText(keyPrefix, "keyPrefix argument cannot be null or empty.");
+        this.keyPrefix = keyPrefix;
+        this.caches.clear();
+    }
+
+    /**
+     * Sets the default Time to Live of the entries of regions that do not specify one.  Caches already returned by
+     * this manager are not affected.
+     *
+     * @param defaultTimeToLive the default Time to Live, or {@code null} if entries should not expire based on their
+     *                          age by default.
+     */
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.caches.clear();
+    }
+
+    /**
+     * Sets the default Time to Idle of the entries of regions that do not specify one.  Caches already returned by
+     * this manager are not affected.
+     *
+     * @param defaultTimeToIdle the default Time to Idle, or {@code null} if entries should not expire based on their
+     *                          use by default.
+     */
+    public void setDefaultTimeToIdle(Duration defaultTimeToIdle) {
+        this.defaultTimeToIdle = defaultTimeToIdle;
+        this.caches.clear();
+    }
+
+    /**
+     * Sets cache-specific configuration entries, to be utilized when creating cache instances.  Only the
+     * {@link CacheConfiguration#getTimeToLive() timeToLive} and {@link CacheConfiguration#getTimeToIdle() timeToIdle}
+     * settings are applicable to Redis caches.
+     *
+     * @param configs cache-specific configuration entries, to be utilized when creating cache instances.
+     */
+    public void setCacheConfigurations(Collection<CacheConfiguration> configs) {
+        Assert.notNull(configs, "Argument cannot be null.  To remove all configuration, set an empty collection.");
+        this.configs.clear();
+        for (CacheConfiguration config : configs) {
+            this.configs.put(config.getName(), config);
+        }
+        this.caches.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> Cache<K, V> getCache(String name) {
+        Assert.hasText(name, "name argument cannot be null or empty.");
+
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            cache = createCache(name);
+            Cache existing = caches.putIfAbsent(name, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+
+        return cache;
+    }
+
+    /**
+     * Creates a new {@code Cache} instance associated with the specified {@code name}.
+     *
+     * @param name the name of the cache to create
+     * @return a new {@code Cache} instance associated with the specified {@code name}.
+     */
+    protected <K, V> Cache<K, V> createCache(String name) {
+        Assert.state(pool != null, "A Jedis pool must be configured.");
+
+        Duration ttl = defaultTimeToLive;
+        Duration tti = defaultTimeToIdle;
+
+        CacheConfiguration config = configs.get(name);
+        if (config != null) {
+            if (config.getTimeToLive() != null) {
+                ttl = config.getTimeToLive();
+            }
+            if (config.getTimeToIdle() != null) {
+                tti = config.getTimeToIdle();
+            }
+        }
+
+        return new RedisCache<K, V>(pool, keyPrefix + name + ":", ttl, tti);
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCacheManager{" +
+                "keyPrefix='" + keyPrefix + '\'' +
+                ", defaultTimeToLive=" + defaultTimeToLive +
+                ", defaultTimeToIdle=" + defaultTimeToIdle +
+                ", cacheCount=" + caches.size() +
+                '}';
+    }
+}
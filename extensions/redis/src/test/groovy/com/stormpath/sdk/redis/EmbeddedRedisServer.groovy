@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.redis
+
+import java.nio.charset.Charset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * A minimal in-process server speaking the Redis protocol (RESP), supporting the string commands used by the
+ * {@link RedisCache}, so that it can be tested without an external Redis server.
+ *
+ * @since 1.6.0
+ */
+class EmbeddedRedisServer implements Closeable {
+
+    private static final Charset BINARY = Charset.forName('ISO-8859-1')
+
+    private final ServerSocket serverSocket
+    private final ExecutorService executor = Executors.newCachedThreadPool()
+    private final ConcurrentMap<String, Entry> data = new ConcurrentHashMap<String, Entry>()
+
+    /**
+     * The number of commands received.
+     */
+    final AtomicInteger commandCount = new AtomicInteger()
+
+    /**
+     * The number of times the server had to wait for the next command from a client, i.e. the number of network round
+     * trips.
+     */
+    final AtomicInteger roundTripCount = new AtomicInteger()
+
+    EmbeddedRedisServer() {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName('127.0.0.1'))
+        executor.execute {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept()
+                    executor.execute { serve(socket) }
+                } catch (IOException ignored) {
+                    //closed
+                }
+            }
+        }
+    }
+
+    String getHost() {
+        return '127.0.0.1'
+    }
+
+    int getPort() {
+        return serverSocket.localPort
+    }
+
+    Set<String> keys() {
+        return data.findAll { !it.value.expired }.keySet().collect { new String(it.getBytes(BINARY), 'UTF-8') } as Set
+    }
+
+    byte[] getValue(String key) {
+        Entry entry = get(toKey(key))
+        return entry != null ? entry.value : null
+    }
+
+    void setValue(String key, byte[] value) {
+        data.put(toKey(key), new Entry(value, 0))
+    }
+
+    /**
+     * Returns the remaining time to live of the specified key in milliseconds, or {@code -1} if the key does not
+     * expire, or {@code -2} if the key does not exist.
+     */
+    long pttl(String key) {
+        return remainingTimeToLive(get(toKey(key)))
+    }
+
+    void pexpire(String key, long millis) {
+        Entry entry = get(toKey(key))
+        entry.expiresAt = System.currentTimeMillis() + millis
+    }
+
+    @Override
+    void close() {
+        serverSocket.close()
+        executor.shutdownNow()
+    }
+
+    private static String toKey(String key) {
+        return new String(key.getBytes('UTF-8'), BINARY)
+    }
+
+    private Entry get(String key) {
+        Entry entry = data.get(key)
+        if (entry != null && entry.expired) {
+            data.remove(key, entry)
+            return null
+        }
+        return entry
+    }
+
+    private static long remainingTimeToLive(Entry entry) {
+        if (entry == null) {
+            return -2
+        }
+        return entry.expiresAt > 0 ? Math.max(0, entry.expiresAt - System.currentTimeMillis()) : -1
+    }
+
+    private void serve(Socket socket) {
+        socket.withCloseable {
+            InputStream input = new BufferedInputStream(socket.inputStream)
+            OutputStream output = new BufferedOutputStream(socket.outputStream)
+            while (true) {
+                if (input.available() == 0) {
+                    output.flush()
+                    roundTripCount.incrementAndGet()
+                }
+                List<byte[]> command = readCommand(input)
+                if (command == null) {
+                    return
+                }
+                commandCount.incrementAndGet()
+                execute(command, output)
+            }
+        }
+    }
+
+    private static List<byte[]> readCommand(InputStream input) {
+        int type = input.read()
+        if (type < 0) {
+            return null
+        }
+        if (type != (int) ('*' as char)) {
+            throw new IOException("Unsupported request type: " + (char) type)
+        }
+        int count = Integer.parseInt(readLine(input))
+        List<byte[]> args = new ArrayList<byte[]>(count)
+        for (int i = 0; i < count; i++) {
+            if (input.read() != (int) ('$' as char)) {
+                throw new IOException("Expected a bulk string.")
+            }
+            byte[] arg = new byte[Integer.parseInt(readLine(input))]
+            new DataInputStream(input).readFully(arg)
+            readLine(input)
+            args.add(arg)
+        }
+        return args
+    }
+
+    private static String readLine(InputStream input) {
+        StringBuilder sb = new StringBuilder()
+        for (int c = input.read(); c != (int) ('\r' as char); c = input.read()) {
+            if (c < 0) {
+                throw new EOFException()
+            }
+            sb.append((char) c)
+        }
+        input.read() //'\n'
+        return sb.toString()
+    }
+
+    private void execute(List<byte[]> command, OutputStream output) {
+        String name = new String(command[0], BINARY).toUpperCase()
+        List<String> keys = command.drop(1).collect { new String(it, BINARY) }
+        switch (name) {
+            case 'PING':
+                writeSimple(output, 'PONG')
+                break
+            case 'GET':
+                Entry entry = get(keys[0])
+                writeBulk(output, entry != null ? entry.value : null)
+                break
+            case 'SET':
+                long expiresAt = 0
+                if (command.size() == 5 && new String(command[3], BINARY).equalsIgnoreCase('PX')) {
+                    expiresAt = System.currentTimeMillis() + Long.parseLong(keys[3])
+                }
+                data.put(keys[0], new Entry(command[2], expiresAt))
+                writeSimple(output, 'OK')
+                break
+            case 'PSETEX':
+                data.put(keys[0], new Entry(command[3], System.currentTimeMillis() + Long.parseLong(keys[1])))
+                writeSimple(output, 'OK')
+                break
+            case 'DEL':
+                writeInteger(output, keys.count { get(it) != null && data.remove(it) != null })
+                break
+            case 'PEXPIRE':
+                Entry entry = get(keys[0])
+                if (entry != null) {
+                    entry.expiresAt = System.currentTimeMillis() + Long.parseLong(keys[1])
+                }
+                writeInteger(output, entry != null ? 1 : 0)
+                break
+            case 'PTTL':
+                writeInteger(output, remainingTimeToLive(get(keys[0])))
+                break
+            case 'MGET':
+                output.write("*${keys.size()}\r\n".getBytes(BINARY))
+                keys.each { Entry entry = get(it); writeBulk(output, entry != null ? entry.value : null) }
+                break
+            case 'FLUSHDB':
+            case 'FLUSHALL':
+                data.clear()
+                writeSimple(output, 'OK')
+                break
+            default:
+                output.write("-ERR unknown command '${name}'\r\n".getBytes(BINARY))
+        }
+    }
+
+    private static void writeSimple(OutputStream output, String value) {
+        output.write("+${value}\r\n".getBytes(BINARY))
+    }
+
+    private static void writeInteger(OutputStream output, long value) {
+        output.write(":${value}\r\n".getBytes(BINARY))
+    }
+
+    private static void writeBulk(OutputStream output, byte[] value) {
+        if (value == null) {
+            output.write('$-1\r\n'.getBytes(BINARY))
+        } else {
+            output.write("\$${value.length}\r\n".getBytes(BINARY))
+            output.write(value)
+            output.write('\r\n'.getBytes(BINARY))
+        }
+    }
+
+    private static class Entry {
+
+        final byte[] value
+        volatile long expiresAt
+
+        Entry(byte[] value, long expiresAt) {
+            this.value = value
+            this.expiresAt = expiresAt
+        }
+
+        boolean isExpired() {
+            return expiresAt > 0 && System.currentTimeMillis() >= expiresAt
+        }
+    }
+}
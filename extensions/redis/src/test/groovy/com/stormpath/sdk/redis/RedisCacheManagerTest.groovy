@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.redis
+
+import com.stormpath.sdk.impl.cache.DefaultCacheConfiguration
+import com.stormpath.sdk.lang.Duration
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+import redis.clients.jedis.JedisPool
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class RedisCacheManagerTest {
+
+    static final String HREF = 'https://api.stormpath.com/v1/accounts/a1'
+
+    EmbeddedRedisServer server
+    JedisPool pool
+
+    @BeforeMethod
+    void setUp() {
+        server = new EmbeddedRedisServer()
+        pool = new JedisPool(server.host, server.port)
+    }
+
+    @AfterMethod
+    void tearDown() {
+        pool.close()
+        server.close()
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullCtorArg() {
+        new RedisCacheManager(null)
+    }
+
+    @Test(expectedExceptions = IllegalStateException)
+    void testGetCacheWithoutPool() {
+        new RedisCacheManager().getCache('accounts')
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testGetCacheWithEmptyName() {
+        new RedisCacheManager(pool).getCache('')
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testSetEmptyKeyPrefix() {
+        new RedisCacheManager(pool).setKeyPrefix('')
+    }
+
+    @Test
+    void testGetCacheReturnsSameInstance() {
+        def cm = new RedisCacheManager(pool)
+        def cache = cm.getCache('accounts')
+
+        assertTrue cache instanceof RedisCache
+        assertSame cm.getCache('accounts'), cache
+        assertNotSame cm.getCache('groups'), cache
+    }
+
+    @Test
+    void testKeys() {
+        def cm = new RedisCacheManager(pool)
+        cm.getCache('accounts').put(HREF, [href: HREF])
+
+        cm.setKeyPrefix('myapp:')
+        cm.getCache('accounts').put(HREF, [href: HREF])
+
+        assertEquals server.keys(), ['stormpath:accounts:' + HREF, 'myapp:accounts:' + HREF] as Set
+    }
+
+    @Test
+    void testDefaultTimeToLive() {
+        def cm = new RedisCacheManager(pool)
+        cm.getCache('accounts').put(HREF, [href: HREF])
+
+        long pttl = server.pttl('stormpath:accounts:' + HREF)
+        assertTrue pttl > TimeUnit.MINUTES.toMillis(59) && pttl <= TimeUnit.HOURS.toMillis(1)
+    }
+
+    @Test
+    void testNoDefaultTimeToLive() {
+        def cm = new RedisCacheManager(pool)
+        cm.setDefaultTimeToLive(null)
+        cm.getCache('accounts').put(HREF, [href: HREF])
+
+        assertEquals server.pttl('stormpath:accounts:' + HREF), -1L
+    }
+
+    @Test
+    void testCacheConfigurations() {
+        def cm = new RedisCacheManager(pool)
+        def accounts = cm.getCache('accounts')
+        cm.setDefaultTimeToIdle(new Duration(10, TimeUnit.MINUTES))
+        cm.setCacheConfigurations([new DefaultCacheConfiguration('accounts', new Duration(5, TimeUnit.MINUTES), null)])
+
+        assertNotSame cm.getCache('accounts'), accounts
+        cm.getCache('accounts').put(HREF, [href: HREF])
+        cm.getCache('groups').put(HREF, [href: HREF])
+
+        long pttl = server.pttl('stormpath:accounts:' + HREF)
+        assertTrue pttl > TimeUnit.MINUTES.toMillis(4) && pttl <= TimeUnit.MINUTES.toMillis(5)
+
+        //default time to live (1 hour) and time to idle (10 minutes):
+        pttl = server.pttl('stormpath:groups:' + HREF)
+        assertTrue pttl > TimeUnit.MINUTES.toMillis(9) && pttl <= TimeUnit.MINUTES.toMillis(10)
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.redis
+
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.GroupMembership
+import com.stormpath.sdk.impl.cache.ResourceDataCodec
+import com.stormpath.sdk.impl.group.GroupMembershipIndex
+import com.stormpath.sdk.lang.Duration
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+import redis.clients.jedis.JedisPool
+
+import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class RedisCacheTest {
+
+    static final String HREF = 'https://api.stormpath.com/v1/accounts/a1'
+
+    EmbeddedRedisServer server
+    JedisPool pool
+
+    @BeforeMethod
+    void setUp() {
+        server = new EmbeddedRedisServer()
+        pool = new JedisPool(server.host, server.port)
+    }
+
+    @AfterMethod
+    void tearDown() {
+        pool.close()
+        server.close()
+    }
+
+    static Map<String, ?> account(String href) {
+        return [href: href, username: 'jsmith', email: 'jsmith@example.com', status: 'ENABLED',
+                customData: [href: href + '/customData'], groups: [size: 2, items: []]]
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullPool() {
+        new RedisCache(null, 'stormpath:accounts:', null, null)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testEmptyKeyPrefix() {
+        new RedisCache(pool, '', null, null)
+    }
+
+    @Test
+    void testPutGetRemove() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        def value = account(HREF)
+
+        assertNull cache.get(HREF)
+        assertNull cache.put(HREF, value)
+        assertEquals server.keys(), ['stormpath:accounts:' + HREF] as Set
+        assertEquals server.pttl('stormpath:accounts:' + HREF), -1L
+        assertEquals cache.get(HREF), value
+
+        def updated = account(HREF) + [username: 'jdoe']
+        assertEquals cache.put(HREF, updated), value
+        assertEquals cache.get(HREF), updated
+
+        assertEquals cache.remove(HREF), updated
+        assertNull cache.get(HREF)
+        assertNull cache.remove(HREF)
+        assertTrue server.keys().isEmpty()
+    }
+
+    @Test
+    void testPutIsPipelined() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        int roundTrips = server.roundTripCount.get()
+
+        cache.put(HREF, account(HREF))
+
+        //connection + GET/SET
+        assertTrue server.roundTripCount.get() - roundTrips <= 2
+    }
+
+    @Test
+    void testPutAll() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        def entries = [:]
+        for (int i = 0; i < 25; i++) {
+            entries.put(HREF + i, account(HREF + i))
+        }
+        int roundTrips = server.roundTripCount.get()
+        int commands = server.commandCount.get()
+
+        cache.putAll(entries)
+
+        assertEquals server.commandCount.get() - commands, 25
+        assertTrue server.roundTripCount.get() - roundTrips <= 2
+        entries.each { k, v -> assertEquals cache.get(k), v }
+    }
+
+    @Test
+    void testPutAllWithNoEntries() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        int commands = server.commandCount.get()
+
+        cache.putAll([:])
+
+        assertEquals server.commandCount.get(), commands
+    }
+
+    @Test
+    void testGetIgnoresEntriesOfUnknownFormat() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        server.setValue('stormpath:accounts:' + HREF, 'not a cache entry'.getBytes('UTF-8'))
+
+        assertNull cache.get(HREF)
+        assertNull cache.put(HREF, account(HREF))
+    }
+
+    @Test
+    void testGetDoesNotDecodeSerializedClassesOtherThanJdkValueTypes() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:', null, null)
+        byte[] encoded = new ResourceDataCodec().encode([href: HREF, buffer: new StringBuilder('foo')])
+        server.setValue('stormpath:accounts:' + HREF,
+                ByteBuffer.allocate(9 + encoded.length).put((byte) 1).putLong(System.currentTimeMillis()).put(encoded)
+                        .array())
+
+        try {
+            cache.get(HREF)
+            fail()
+        } catch (IllegalArgumentException e) {
+            assertTrue e.cause instanceof InvalidClassException
+        }
+    }
+
+    @Test
+    void testPutGetGroupMembershipIndex() {
+        def cache = new RedisCache<String, GroupMembershipIndex>(pool, 'stormpath:groupMembershipIndexes:', null, null)
+        def group = [getHref: { 'https://api.stormpath.com/v1/groups/g1' }, getName: { 'admins' }] as Group
+        def membership = [getHref: { 'https://api.stormpath.com/v1/groupMemberships/m1' }, getGroup: { group }] as GroupMembership
+
+        cache.put(HREF, new GroupMembershipIndex([membership]))
+        def index = cache.get(HREF)
+
+        assertEquals index.size(), 1
+        assertTrue index.containsGroup('Admins')
+        assertEquals index.getMembershipHref('https://api.stormpath.com/v1/groups/g1', false),
+                'https://api.stormpath.com/v1/groupMemberships/m1'
+    }
+
+    @Test
+    void testPutValueThatCannotBeEncoded() {
+        def cache = new RedisCache<String, Object>(pool, 'stormpath:accounts:', null, null)
+        cache.put(HREF, account(HREF))
+
+        //the value is not cached, and the previous value must not be served anymore:
+        assertEquals cache.put(HREF, new StringBuilder('foo')), account(HREF)
+        assertNull cache.get(HREF)
+
+        cache.putAll([(HREF): new StringBuilder('foo'), (HREF + '2'): account(HREF + '2')])
+        assertNull cache.get(HREF)
+        assertEquals cache.get(HREF + '2'), account(HREF + '2')
+    }
+
+    @Test
+    void testTimeToLive() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:',
+                new Duration(1, TimeUnit.HOURS), null)
+
+        cache.put(HREF, account(HREF))
+
+        long pttl = server.pttl('stormpath:accounts:' + HREF)
+        assertTrue pttl > TimeUnit.MINUTES.toMillis(59) && pttl <= TimeUnit.HOURS.toMillis(1)
+
+        //reads do not extend the expiration:
+        server.pexpire('stormpath:accounts:' + HREF, 5000)
+        assertNotNull cache.get(HREF)
+        assertTrue server.pttl('stormpath:accounts:' + HREF) <= 5000
+    }
+
+    @Test
+    void testTimeToIdle() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:',
+                new Duration(1, TimeUnit.HOURS), new Duration(1, TimeUnit.MINUTES))
+
+        cache.put(HREF, account(HREF))
+
+        //written with the shortest of the two:
+        long pttl = server.pttl('stormpath:accounts:' + HREF)
+        assertTrue pttl > 0 && pttl <= TimeUnit.MINUTES.toMillis(1)
+
+        //reads extend the expiration:
+        server.pexpire('stormpath:accounts:' + HREF, 5000)
+        assertNotNull cache.get(HREF)
+        assertTrue server.pttl('stormpath:accounts:' + HREF) > 5000
+    }
+
+    @Test
+    void testTimeToIdleDoesNotExtendBeyondTimeToLive() {
+        def cache = new RedisCache<String, Map<String, ?>>(pool, 'stormpath:accounts:',
+                new Duration(400, TimeUnit.MILLISECONDS), new Duration(300, TimeUnit.MILLISECONDS))
+
+        cache.put(HREF, account(HREF))
+        Thread.sleep(200)
+
+        assertNotNull cache.get(HREF)
+        //only ~200 ms left to live, not the full 300 ms time to idle:
+        assertTrue server.pttl('stormpath:accounts:' + HREF) <= 200
+
+        Thread.sleep(250)
+        assertNull cache.get(HREF)
+    }
+
+    @Test
+    void testToString() {
+        def cache = new RedisCache(pool, 'stormpath:accounts:', new Duration(1, TimeUnit.SECONDS), null)
+        assertEquals cache.toString(),
+                "RedisCache{keyPrefix='stormpath:accounts:', timeToLiveMillis=1000, timeToIdleMillis=0}"
+    }
+}
@@ -16,6 +16,7 @@
 package com.stormpath.sdk.servlet.client;
 
 import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
 import com.stormpath.sdk.lang.Classes;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.lang.UnknownClassException;
@@ -225,12 +226,17 @@ public class ClientLoader {
     }
 
     /**
-     * Destroys the {@link Client} for the given servlet context.
+     * Destroys the {@link Client} for the given servlet context, shutting down the background executor of its data
+     * store.
      *
      * @param servletContext the ServletContext attributed to the WebSecurityManager
      */
     public void destroyClient(ServletContext servletContext) {
         servletContext.log("Cleaning up Stormpath client.");
+        Object client = servletContext.getAttribute(CLIENT_ATTRIBUTE_KEY);
+        if (client instanceof Client && ((Client) client).getDataStore() instanceof DefaultDataStore) {
+            ((DefaultDataStore) ((Client) client).getDataStore()).shutdown();
+        }
         servletContext.removeAttribute(CLIENT_ATTRIBUTE_KEY);
     }
 }
@@ -210,4 +210,12 @@ public interface Config extends Map<String, String> {
      * @since 1.2.0
      */
     GrantTypeValidator getGrantTypeStatusValidator();
+
+    /**
+     * Returns {@code true} if Stormpath controllers run their work on an executor, using Servlet 3 asynchronous
+     * request processing, instead of on the container thread.
+     *
+     * @since 1.6.0
+     */
+    boolean isAsyncEnabled();
 }
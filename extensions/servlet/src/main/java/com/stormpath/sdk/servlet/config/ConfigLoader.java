@@ -19,6 +19,7 @@ import com.stormpath.sdk.lang.Classes;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.lang.UnknownClassException;
 import com.stormpath.sdk.servlet.config.impl.DefaultConfigFactory;
+import com.stormpath.sdk.servlet.filter.mvc.config.ControllerExecutorFactory;
 import com.stormpath.sdk.servlet.i18n.MessageContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -197,6 +198,7 @@ public class ConfigLoader {
      */
     public void destroyConfig(ServletContext servletContext) {
         servletContext.log("Cleaning up Stormpath config.");
+        ControllerExecutorFactory.shutdown(servletContext);
         servletContext.removeAttribute(CONFIG_ATTRIBUTE_NAME);
         servletContext.removeAttribute(MessageContext.class.getName());
     }
@@ -17,9 +17,11 @@ package com.stormpath.sdk.servlet.config.filter;
 
 import com.stormpath.sdk.servlet.config.Config;
 import com.stormpath.sdk.servlet.filter.mvc.ControllerFilter;
+import com.stormpath.sdk.servlet.filter.mvc.config.ControllerExecutorFactory;
 import com.stormpath.sdk.servlet.mvc.AbstractController;
 
 import javax.servlet.ServletContext;
+import java.util.concurrent.Executor;
 
 /**
  * @since 1.0.0
@@ -46,6 +48,10 @@ public abstract class ControllerFilterFactory<T extends AbstractController> exte
         filter.setProducedMediaTypes(config.getProducedMediaTypes());
         filter.setController(controller);
 
+        if (config.isAsyncEnabled()) {
+            filter.setAsyncExecutor(config.<Executor>getInstance(ControllerExecutorFactory.CONTROLLER_EXECUTOR));
+        }
+
         return filter;
     }
 
@@ -16,6 +16,8 @@
 package com.stormpath.sdk.servlet.config.filter;
 
 import com.stormpath.sdk.servlet.config.Config;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
+import com.stormpath.sdk.servlet.filter.account.config.VerifiedSessionCacheFactory;
 import com.stormpath.sdk.servlet.mvc.LogoutController;
 
 /**
@@ -36,5 +38,7 @@ public class LogoutFilterFactory extends ControllerFilterFactory<LogoutControlle
          */
         controller.setInvalidateHttpSession(config.isLogoutInvalidateHttpSession());
         controller.setProduces(config.getProducedMediaTypes());
+        controller.setVerifiedSessionCache(
+                config.<VerifiedSessionCache>getInstance(VerifiedSessionCacheFactory.VERIFIED_SESSION_CACHE));
     }
 }
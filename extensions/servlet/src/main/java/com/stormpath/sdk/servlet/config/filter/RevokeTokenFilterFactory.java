@@ -16,6 +16,8 @@
 package com.stormpath.sdk.servlet.config.filter;
 
 import com.stormpath.sdk.servlet.config.Config;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
+import com.stormpath.sdk.servlet.filter.account.config.VerifiedSessionCacheFactory;
 import com.stormpath.sdk.servlet.mvc.RevokeTokenController;
 
 /**
@@ -34,5 +36,7 @@ public class RevokeTokenFilterFactory extends ControllerFilterFactory<RevokeToke
     protected void configure(RevokeTokenController controller, Config config) throws Exception {
         controller.setApplicationResolver(config.getApplicationResolver());
         controller.setAuthenticationResultSaver(config.getAuthenticationResultSaver());
+        controller.setVerifiedSessionCache(
+                config.<VerifiedSessionCache>getInstance(VerifiedSessionCacheFactory.VERIFIED_SESSION_CACHE));
     }
 }
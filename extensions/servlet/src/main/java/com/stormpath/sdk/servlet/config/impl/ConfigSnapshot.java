@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.config.impl;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.servlet.config.Config;
+import com.stormpath.sdk.servlet.config.CookieConfig;
+import com.stormpath.sdk.servlet.filter.ChangePasswordConfig;
+import com.stormpath.sdk.servlet.filter.ChangePasswordServletControllerConfig;
+import com.stormpath.sdk.servlet.filter.ControllerConfig;
+import com.stormpath.sdk.servlet.filter.ServletControllerConfig;
+import com.stormpath.sdk.servlet.http.InvalidMediaTypeException;
+import com.stormpath.sdk.servlet.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ACCESS_TOKEN_URL;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ACCESS_TOKEN_VALIDATION_STRATEGY;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ASYNC_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.CALLBACK_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.CALLBACK_URI;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.CLIENT_CREDENTIALS_GRANT_TYPE_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ID_SITE_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.LOGOUT_INVALIDATE_HTTP_SESSION;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ME_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.ME_URL;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.OAUTH_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.PASSWORD_GRANT_TYPE_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.PRODUCES_MEDIA_TYPES;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.REVOKE_TOKEN_URL;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_WEB_CORS_ALLOWED_HEADERS;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_WEB_CORS_ALLOWED_METHODS;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_WEB_CORS_ALLOWED_ORIGINS;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_WEB_CORS_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.STORMPATH_WEB_ENABLED;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.UNAUTHORIZED_URL;
+import static com.stormpath.sdk.servlet.config.impl.DefaultConfig.WEB_APPLICATION_DOMAIN;
+
+/**
+ * An immutable, typed view of the {@code stormpath.web.*} configuration read by the {@link DefaultConfig} on every
+ * request: all property expressions are evaluated and all controller and cookie configurations are built once, when
+ * the snapshot is created.
+ *
+ * @since 1.6.0
+ */
+final class ConfigSnapshot {
+
+    private static final Pattern ME_EXPAND_PATTERN = Pattern.compile("^stormpath\\.web\\.me\\.expand\\.(\\w+)$");
+
+    final ControllerConfig loginConfig;
+    final ControllerConfig logoutConfig;
+    final ControllerConfig registerConfig;
+    final ControllerConfig forgotPasswordConfig;
+    final ControllerConfig verifyConfig;
+    final ControllerConfig samlConfig;
+    final ChangePasswordConfig changePasswordConfig;
+
+    final CookieConfig accessTokenCookieConfig;
+    final CookieConfig refreshTokenCookieConfig;
+
+    final boolean stormpathEnabled;
+    final boolean stormpathWebEnabled;
+    final boolean registerAutoLoginEnabled;
+    final boolean logoutInvalidateHttpSession;
+    final boolean meEnabled;
+    final boolean oauthEnabled;
+    final boolean idSiteEnabled;
+    final boolean callbackEnabled;
+    final boolean corsEnabled;
+    final boolean clientCredentialsGrantTypeEnabled;
+    final boolean passwordGrantTypeEnabled;
+    final boolean asyncEnabled;
+
+    final String accessTokenUrl;
+    final String revokeTokenUrl;
+    final String unauthorizedUrl;
+    final String meUrl;
+    final String accessTokenValidationStrategy;
+    final String callbackUri;
+    final String webApplicationDomain;
+    final String producesMediaTypes;
+
+    final List<String> meExpandedProperties;
+    final List<MediaType> producedMediaTypes;
+    final List<String> allowedCorsOrigins;
+    final List<String> allowedCorsHeaders;
+    final List<String> allowedCorsMethods;
+
+    ConfigSnapshot(Config config, ConfigReader reader) {
+        Assert.notNull(config, "config argument cannot be null.");
+        Assert.notNull(reader, "reader argument cannot be null.");
+
+        this.loginConfig = new ServletControllerConfig("login", config);
+        this.logoutConfig = new ServletControllerConfig("logout", config);
+        this.registerConfig = new ServletControllerConfig("register", config);
+        this.forgotPasswordConfig = new ServletControllerConfig("forgotPassword", config);
+        this.verifyConfig = new ServletControllerConfig("verifyEmail", config);
+        this.samlConfig = new ServletControllerConfig("saml", config);
+        this.changePasswordConfig = new ChangePasswordServletControllerConfig(config, "changePassword");
+
+        this.accessTokenCookieConfig = new AccessTokenCookieConfig(reader);
+        this.refreshTokenCookieConfig = new RefreshTokenCookieConfig(reader);
+
+        this.stormpathEnabled = getBoolean(reader, STORMPATH_ENABLED, true);
+        this.stormpathWebEnabled = getBoolean(reader, STORMPATH_WEB_ENABLED, true);
+        this.registerAutoLoginEnabled = reader.getBoolean("stormpath.web.register.autoLogin");
+        this.logoutInvalidateHttpSession = reader.getBoolean(LOGOUT_INVALIDATE_HTTP_SESSION);
+        this.meEnabled = reader.getBoolean(ME_ENABLED);
+        this.oauthEnabled = reader.getBoolean(OAUTH_ENABLED);
+        this.idSiteEnabled = reader.getBoolean(ID_SITE_ENABLED);
+        this.callbackEnabled = reader.getBoolean(CALLBACK_ENABLED);
+        this.corsEnabled = reader.getBoolean(STORMPATH_WEB_CORS_ENABLED);
+        this.clientCredentialsGrantTypeEnabled = getBoolean(reader, CLIENT_CREDENTIALS_GRANT_TYPE_ENABLED, true);
+        this.passwordGrantTypeEnabled = getBoolean(reader, PASSWORD_GRANT_TYPE_ENABLED, true);
+        this.asyncEnabled = getBoolean(reader, ASYNC_ENABLED, false);
+
+        this.accessTokenUrl = reader.getString(ACCESS_TOKEN_URL);
+        this.revokeTokenUrl = reader.getString(REVOKE_TOKEN_URL);
+        this.unauthorizedUrl = reader.getString(UNAUTHORIZED_URL);
+        this.meUrl = reader.getString(ME_URL);
+        this.accessTokenValidationStrategy = reader.getString(ACCESS_TOKEN_VALIDATION_STRATEGY);
+        this.callbackUri = reader.getString(CALLBACK_URI);
+        this.webApplicationDomain = reader.getString(WEB_APPLICATION_DOMAIN);
+        this.producesMediaTypes = Strings.collectionToCommaDelimitedString(reader.getList(PRODUCES_MEDIA_TYPES));
+
+        List<String> expands = new ArrayList<>();
+        for (String key : config.keySet()) {
+            Matcher matcher = ME_EXPAND_PATTERN.matcher(key);
+            if (matcher.find() && reader.getBoolean(key)) {
+                expands.add(matcher.group(1));
+            }
+        }
+        this.meExpandedProperties = Collections.unmodifiableList(expands);
+
+        this.producedMediaTypes = parseMediaTypes(this.producesMediaTypes);
+        this.allowedCorsOrigins = split(config.get(STORMPATH_WEB_CORS_ALLOWED_ORIGINS));
+        this.allowedCorsHeaders = split(config.get(STORMPATH_WEB_CORS_ALLOWED_HEADERS));
+        this.allowedCorsMethods = split(config.get(STORMPATH_WEB_CORS_ALLOWED_METHODS));
+    }
+
+    private static boolean getBoolean(ConfigReader reader, String name, boolean defaultValue) {
+        // get as String in case property not defined
+        return reader.getString(name) == null ? defaultValue : reader.getBoolean(name);
+    }
+
+    private static List<MediaType> parseMediaTypes(String value) {
+        String mediaTypes = Strings.clean(value);
+        Assert.notNull(mediaTypes, "stormpath.web.produces property value cannot be null or empty.");
+        try {
+            return Collections.unmodifiableList(MediaType.parseMediaTypes(mediaTypes));
+        } catch (InvalidMediaTypeException e) {
+            String msg = "Unable to parse value in stormpath.web.produces property: " + e.getMessage();
+            throw new IllegalArgumentException(msg, e);
+        }
+    }
+
+    private static List<String> split(String value) {
+        if (Strings.hasText(value)) {
+            return Collections.unmodifiableList(Arrays.asList(Strings.split(value)));
+        }
+        return Collections.emptyList();
+    }
+}
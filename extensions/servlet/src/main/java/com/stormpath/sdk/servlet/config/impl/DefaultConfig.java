@@ -22,7 +22,6 @@ import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.BiPredicate;
 import com.stormpath.sdk.lang.Classes;
-import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.account.AccountResolver;
 import com.stormpath.sdk.servlet.application.ApplicationResolver;
 import com.stormpath.sdk.servlet.client.ClientResolver;
@@ -35,14 +34,11 @@ import com.stormpath.sdk.servlet.csrf.CsrfTokenManager;
 import com.stormpath.sdk.servlet.event.RequestEvent;
 import com.stormpath.sdk.servlet.event.impl.Publisher;
 import com.stormpath.sdk.servlet.filter.ChangePasswordConfig;
-import com.stormpath.sdk.servlet.filter.ChangePasswordServletControllerConfig;
 import com.stormpath.sdk.servlet.filter.ContentNegotiationResolver;
 import com.stormpath.sdk.servlet.filter.ControllerConfig;
 import com.stormpath.sdk.servlet.filter.FilterChainManager;
 import com.stormpath.sdk.servlet.filter.FilterChainResolver;
 import com.stormpath.sdk.servlet.filter.ServerUriResolver;
-import com.stormpath.sdk.servlet.filter.ServletControllerConfig;
-import com.stormpath.sdk.servlet.http.InvalidMediaTypeException;
 import com.stormpath.sdk.servlet.http.MediaType;
 import com.stormpath.sdk.servlet.http.Resolver;
 import com.stormpath.sdk.servlet.http.Saver;
@@ -59,8 +55,6 @@ import com.stormpath.sdk.servlet.util.ServletContextInitializable;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,8 +63,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * @since 1.0.RC3
@@ -106,16 +98,19 @@ public class DefaultConfig implements Config {
     public static final String STORMPATH_WEB_CORS_ALLOWED_HEADERS = "stormpath.web.cors.allowed.headers";
     public static final String STORMPATH_WEB_CORS_ALLOWED_METHODS = "stormpath.web.cors.allowed.methods";
     public static final String STORMPATH_WEB_CORS_ENABLED = "stormpath.web.cors.enabled";
+    public static final String ASYNC_ENABLED = "stormpath.web.async.enabled";
 
     private final ServletContext servletContext;
     private final ConfigReader CFG;
     private final Map<String, String> props;
 
-    private final CookieConfig ACCESS_TOKEN_COOKIE_CONFIG;
-    private final CookieConfig REFRESH_TOKEN_COOKIE_CONFIG;
-
     private final Map<String, Object> SINGLETONS;
 
+    /**
+     * @since 1.6.0
+     */
+    private volatile ConfigSnapshot snapshot;
+
     public DefaultConfig(final ServletContext servletContext, Map<String, String> configProps) {
         Assert.notNull(servletContext, "servletContext argument cannot be null.");
         Assert.notNull(configProps, "Properties argument cannot be null.");
@@ -124,15 +119,39 @@ public class DefaultConfig implements Config {
         this.CFG = new ExpressionConfigReader(servletContext, Collections.unmodifiableMap(this.props));
         this.SINGLETONS = new LinkedHashMap<>();
 
-        this.ACCESS_TOKEN_COOKIE_CONFIG = new AccessTokenCookieConfig(CFG);
-        this.REFRESH_TOKEN_COOKIE_CONFIG = new RefreshTokenCookieConfig(CFG);
+        this.snapshot = createSnapshot();
+    }
+
+    /**
+     * Re-reads the configuration properties, for example after they have been modified via {@link #put(String, String)
+     * put}, and atomically replaces the typed configuration (controller configs, cookie configs, flags, URIs, etc)
+     * returned by this instance.  Until this method is called, property modifications are only visible via the
+     * {@code Map} methods of this instance.
+     * <p/>
+     * If the modified properties are not a valid configuration, an {@code IllegalArgumentException} is thrown and the
+     * current typed configuration remains in use.
+     *
+     * @throws IllegalArgumentException if the modified properties are not a valid configuration.
+     * @since 1.6.0
+     */
+    public void reload() throws IllegalArgumentException {
+        this.snapshot = createSnapshot();
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private ConfigSnapshot createSnapshot() {
+        ConfigSnapshot snapshot = new ConfigSnapshot(this, CFG);
 
         // 748: If stormpath.web.idSite.enabled property is true and the stormpath.web.callback.enabled is false,
         // this is a config error that should be caught on startup.
-        if (isIdSiteEnabled() && !isCallbackEnabled()) {
+        if (snapshot.idSiteEnabled && !snapshot.callbackEnabled) {
             throw new IllegalArgumentException("Cannot enable ID Site without having callback enabled. Please change 'stormpath.web.callback.enabled' to true " +
                 "or disable ID Site by setting 'stormpath.web.idSite.enabled` to false.");
         }
+
+        return snapshot;
     }
 
     @Override
@@ -193,37 +212,37 @@ public class DefaultConfig implements Config {
 
     @Override
     public ControllerConfig getLoginConfig() {
-        return new ServletControllerConfig("login", this);
+        return snapshot.loginConfig;
     }
 
     @Override
     public ControllerConfig getLogoutConfig() {
-        return new ServletControllerConfig("logout", this);
+        return snapshot.logoutConfig;
     }
 
     @Override
     public ControllerConfig getRegisterConfig() {
-        return new ServletControllerConfig("register", this);
+        return snapshot.registerConfig;
     }
 
     @Override
     public ControllerConfig getForgotPasswordConfig() {
-        return new ServletControllerConfig("forgotPassword", this);
+        return snapshot.forgotPasswordConfig;
     }
 
     @Override
     public ControllerConfig getVerifyConfig() {
-        return new ServletControllerConfig("verifyEmail", this);
+        return snapshot.verifyConfig;
     }
 
     @Override
     public ControllerConfig getSamlConfig() {
-        return new ServletControllerConfig("saml", this);
+        return snapshot.samlConfig;
     }
 
     @Override
     public ChangePasswordConfig getChangePasswordConfig() {
-        return new ChangePasswordServletControllerConfig(this, "changePassword");
+        return snapshot.changePasswordConfig;
     }
 
     @Override
@@ -253,83 +272,67 @@ public class DefaultConfig implements Config {
 
     @Override
     public boolean isStormpathEnabled() {
-        // get as String in case property not defined
-        String isEnabled = CFG.getString(STORMPATH_ENABLED);
-        return isEnabled == null || CFG.getBoolean(STORMPATH_ENABLED);
+        return snapshot.stormpathEnabled;
     }
 
     @Override
     public boolean isStormpathWebEnabled() {
-        // get as String in case property not defined
-        String isWebEnabled = CFG.getString(STORMPATH_WEB_ENABLED);
-        return isWebEnabled == null || CFG.getBoolean(STORMPATH_WEB_ENABLED);
+        return snapshot.stormpathWebEnabled;
     }
 
     @Override
     public boolean isRegisterAutoLoginEnabled() {
-        return CFG.getBoolean("stormpath.web.register.autoLogin");
+        return snapshot.registerAutoLoginEnabled;
     }
 
     @Override
     public boolean isLogoutInvalidateHttpSession() {
-        return CFG.getBoolean(LOGOUT_INVALIDATE_HTTP_SESSION);
+        return snapshot.logoutInvalidateHttpSession;
     }
 
     @Override
     public String getAccessTokenUrl() {
-        return CFG.getString(ACCESS_TOKEN_URL);
+        return snapshot.accessTokenUrl;
     }
 
     @Override
     public String getRevokeTokenUrl() {
-        return CFG.getString(REVOKE_TOKEN_URL);
+        return snapshot.revokeTokenUrl;
     }
 
     @Override
     public String getUnauthorizedUrl() {
-        return CFG.getString(UNAUTHORIZED_URL);
+        return snapshot.unauthorizedUrl;
     }
 
     @Override
     public boolean isMeEnabled() {
-        return CFG.getBoolean(ME_ENABLED);
+        return snapshot.meEnabled;
     }
 
     @Override
     public String getMeUrl() {
-        return CFG.getString(ME_URL);
+        return snapshot.meUrl;
     }
 
     @Override
     public List<String> getMeExpandedProperties() {
-        List<String> results = new ArrayList<>();
-
-        Pattern pattern = Pattern.compile("^stormpath\\.web\\.me\\.expand\\.(\\w+)$");
-
-        for (String key : keySet()) {
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find()) {
-                if (CFG.getBoolean(key)) {
-                    results.add(matcher.group(1));
-                }
-            }
-        }
-        return results;
+        return snapshot.meExpandedProperties;
     }
 
     @Override
     public CookieConfig getRefreshTokenCookieConfig() {
-        return this.REFRESH_TOKEN_COOKIE_CONFIG;
+        return snapshot.refreshTokenCookieConfig;
     }
 
     @Override
     public CookieConfig getAccessTokenCookieConfig() {
-        return this.ACCESS_TOKEN_COOKIE_CONFIG;
+        return snapshot.accessTokenCookieConfig;
     }
 
     @Override
     public String getAccessTokenValidationStrategy() {
-        return CFG.getString(ACCESS_TOKEN_VALIDATION_STRATEGY);
+        return snapshot.accessTokenValidationStrategy;
     }
 
     @Override
@@ -439,43 +442,33 @@ public class DefaultConfig implements Config {
      * @since 1.0.0
      */
     @Override
-    @SuppressWarnings("unchecked")
     public String getProducesMediaTypes() {
-        List<String> mediaTypes = CFG.getList(PRODUCES_MEDIA_TYPES);
-        return Strings.collectionToCommaDelimitedString(mediaTypes);
+        return snapshot.producesMediaTypes;
     }
 
     @Override
     public List<MediaType> getProducedMediaTypes() {
-        String mediaTypes = Strings.clean(getProducesMediaTypes());
-        Assert.notNull(mediaTypes, "stormpath.web.produces property value cannot be null or empty.");
-
-        try {
-            return MediaType.parseMediaTypes(mediaTypes);
-        } catch (InvalidMediaTypeException e) {
-            String msg = "Unable to parse value in stormpath.web.produces property: " + e.getMessage();
-            throw new IllegalArgumentException(msg, e);
-        }
+        return snapshot.producedMediaTypes;
     }
 
     @Override
     public boolean isOAuthEnabled() {
-        return CFG.getBoolean(OAUTH_ENABLED);
+        return snapshot.oauthEnabled;
     }
 
     @Override
     public boolean isIdSiteEnabled() {
-        return CFG.getBoolean(ID_SITE_ENABLED);
+        return snapshot.idSiteEnabled;
     }
 
     @Override
     public boolean isCallbackEnabled() {
-        return CFG.getBoolean(CALLBACK_ENABLED);
+        return snapshot.callbackEnabled;
     }
 
     @Override
     public String getCallbackUri() {
-        return CFG.getString(CALLBACK_URI);
+        return snapshot.callbackUri;
     }
 
     @Override
@@ -588,7 +581,7 @@ public class DefaultConfig implements Config {
 
     @Override
     public String getWebApplicationDomain() {
-        return CFG.getString(WEB_APPLICATION_DOMAIN);
+        return snapshot.webApplicationDomain;
     }
 
     @Override
@@ -601,13 +594,7 @@ public class DefaultConfig implements Config {
      */
     @Override
     public List<String> getAllowedCorsOrigins() {
-        String allowedOrigins = get(STORMPATH_WEB_CORS_ALLOWED_ORIGINS);
-
-        if(Strings.hasText(allowedOrigins)) {
-            return Arrays.asList(Strings.split(allowedOrigins));
-        }
-
-        return Collections.emptyList();
+        return snapshot.allowedCorsOrigins;
     }
 
     /**
@@ -615,13 +602,7 @@ public class DefaultConfig implements Config {
      */
     @Override
     public List<String> getAllowedCorsHaders() {
-        String allowedHeaders = get(STORMPATH_WEB_CORS_ALLOWED_HEADERS);
-
-        if(Strings.hasText(allowedHeaders)) {
-            return Arrays.asList(Strings.split(allowedHeaders));
-        }
-
-        return Collections.emptyList();
+        return snapshot.allowedCorsHeaders;
     }
 
     /**
@@ -629,13 +610,7 @@ public class DefaultConfig implements Config {
      */
     @Override
     public List<String> getAllowedCorsMethods() {
-        String allowedMethods = get(STORMPATH_WEB_CORS_ALLOWED_METHODS);
-
-        if(Strings.hasText(allowedMethods)) {
-            return Arrays.asList(Strings.split(allowedMethods));
-        }
-
-        return Collections.emptyList();
+        return snapshot.allowedCorsMethods;
     }
 
     /**
@@ -643,17 +618,24 @@ public class DefaultConfig implements Config {
      */
     @Override
     public boolean isCorsEnabled() {
-        return CFG.getBoolean(STORMPATH_WEB_CORS_ENABLED);
+        return snapshot.corsEnabled;
     }
 
     @Override
     public GrantTypeValidator getGrantTypeStatusValidator() {
-        boolean clientCredentialsEnabled = CFG.getString(CLIENT_CREDENTIALS_GRANT_TYPE_ENABLED) == null || CFG.getBoolean(CLIENT_CREDENTIALS_GRANT_TYPE_ENABLED);
-        boolean passwordEnabled = CFG.getString(PASSWORD_GRANT_TYPE_ENABLED) == null || CFG.getBoolean(PASSWORD_GRANT_TYPE_ENABLED);
+        ConfigSnapshot snapshot = this.snapshot;
 
         DefaultGrantTypeValidator validator = new DefaultGrantTypeValidator();
-        validator.setClientCredentialsGrantTypeEnabled(clientCredentialsEnabled);
-        validator.setPasswordGrantTypeEnabled(passwordEnabled);
+        validator.setClientCredentialsGrantTypeEnabled(snapshot.clientCredentialsGrantTypeEnabled);
+        validator.setPasswordGrantTypeEnabled(snapshot.passwordGrantTypeEnabled);
         return validator;
     }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public boolean isAsyncEnabled() {
+        return snapshot.asyncEnabled;
+    }
 }
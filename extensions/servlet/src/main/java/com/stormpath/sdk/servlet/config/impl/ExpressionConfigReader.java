@@ -28,6 +28,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 1.0.RC3
@@ -55,6 +57,14 @@ public class ExpressionConfigReader implements ConfigReader {
     private final Map<String, String> PROPS;
     private final StandardEvaluationContext EXPR_CONTEXT;
 
+    /**
+     * Parsed expressions, keyed by their template text, so that each expression is only parsed once regardless of how
+     * often its property is read.
+     *
+     * @since 1.6.0
+     */
+    private final ConcurrentMap<String, Expression> EXPRESSIONS = new ConcurrentHashMap<>();
+
     private static SpelExpressionParser createExpressionParser() {
         SpelCompilerMode mode = SpelCompilerMode.MIXED;
         ClassLoader cl = DefaultConfig.class.getClassLoader();
@@ -77,8 +87,7 @@ public class ExpressionConfigReader implements ConfigReader {
     public String getString(String name) {
         String val = PROPS.get(name);
         if (isExpression(val)) {
-            Expression exp = EXPR_PARSER.parseExpression(val, PARSER_CONTEXT);
-            Object o = exp.getValue(EXPR_CONTEXT);
+            Object o = evaluate(val);
             return o != null ? String.valueOf(o) : null;
         }
         return val;
@@ -89,8 +98,7 @@ public class ExpressionConfigReader implements ConfigReader {
         String val = PROPS.get(name);
         try {
             if (isExpression(val)) {
-                Expression exp = EXPR_PARSER.parseExpression(val, PARSER_CONTEXT);
-                Object o = exp.getValue(EXPR_CONTEXT);
+                Object o = evaluate(val);
                 if (o instanceof Integer) {
                     return (Integer) o;
                 }
@@ -110,8 +118,7 @@ public class ExpressionConfigReader implements ConfigReader {
         String val = PROPS.get(name);
         try {
             if (isExpression(val)) {
-                Expression exp = EXPR_PARSER.parseExpression(val, PARSER_CONTEXT);
-                Object o = exp.getValue(EXPR_CONTEXT);
+                Object o = evaluate(val);
                 if (o instanceof Long) {
                     return (Long) o;
                 }
@@ -131,8 +138,7 @@ public class ExpressionConfigReader implements ConfigReader {
         String val = PROPS.get(name);
         try {
             if (isExpression(val)) {
-                Expression exp = EXPR_PARSER.parseExpression(val, PARSER_CONTEXT);
-                Object o = exp.getValue(EXPR_CONTEXT);
+                Object o = evaluate(val);
                 if (!(o instanceof Boolean)) {
                     String msg = "The " + name + " property expression must evaluate to a boolean.";
                     throw new IllegalArgumentException(msg);
@@ -162,6 +168,21 @@ public class ExpressionConfigReader implements ConfigReader {
         return list;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    private Object evaluate(String expressionString) {
+        Expression exp = EXPRESSIONS.get(expressionString);
+        if (exp == null) {
+            exp = EXPR_PARSER.parseExpression(expressionString, PARSER_CONTEXT);
+            Expression existing = EXPRESSIONS.putIfAbsent(expressionString, exp);
+            if (existing != null) {
+                exp = existing;
+            }
+        }
+        return exp.getValue(EXPR_CONTEXT);
+    }
+
     private boolean isExpression(String val) {
         return val != null &&
                 val.contains(PARSER_CONTEXT.getExpressionPrefix()) &&
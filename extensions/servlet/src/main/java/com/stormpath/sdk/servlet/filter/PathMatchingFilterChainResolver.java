@@ -16,6 +16,7 @@
 package com.stormpath.sdk.servlet.filter;
 
 import com.stormpath.sdk.servlet.util.AntPathMatcher;
+import com.stormpath.sdk.servlet.util.AntPathPatternIndex;
 import com.stormpath.sdk.servlet.util.PatternMatcher;
 import com.stormpath.sdk.servlet.util.ServletUtils;
 import org.slf4j.Logger;
@@ -25,8 +26,19 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
 
 /**
+ * A {@link FilterChainResolver} that resolves the filter chain of a request by matching its context-relative URI
+ * against the chain names of a {@link FilterChainManager}, which are path patterns, in order.
+ * <p/>
+ * When the default {@link AntPathMatcher} and {@link DefaultFilterChainManager} are used (and
+ * {@link #pathMatches(String, String)} is not overridden), the chain patterns are compiled once into an
+ * {@link AntPathPatternIndex}, so that a request only matches the patterns that share its literal path prefix, and
+ * frequently requested URIs are resolved with a single lookup.  The index is rebuilt whenever a chain is added, the
+ * filter chain manager is replaced or the path separator is changed.  Any other configuration matches each pattern in
+ * turn.
+ *
  * @since 1.0.RC3
  */
 public class PathMatchingFilterChainResolver implements FilterChainResolver {
@@ -37,9 +49,26 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
 
     private PatternMatcher pathMatcher;
 
+    private final boolean pathMatchesOverridden;
+
+    private volatile CompiledChains compiledChains;
+
     public PathMatchingFilterChainResolver(ServletContext servletContext) {
         this.pathMatcher = new AntPathMatcher();
         this.filterChainManager = new DefaultFilterChainManager(servletContext);
+        this.pathMatchesOverridden = isPathMatchesOverridden(getClass());
+    }
+
+    private static boolean isPathMatchesOverridden(Class<?> clazz) {
+        for (Class<?> c = clazz; c != PathMatchingFilterChainResolver.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("pathMatches", String.class, String.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                //not overridden by this class, check its superclass
+            }
+        }
+        return false;
     }
 
     /**
@@ -64,6 +93,7 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
      */
     public void setPathMatcher(PatternMatcher pathMatcher) {
         this.pathMatcher = pathMatcher;
+        this.compiledChains = null;
     }
 
     public FilterChainManager getFilterChainManager() {
@@ -72,6 +102,7 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
 
     public void setFilterChainManager(FilterChainManager filterChainManager) {
         this.filterChainManager = filterChainManager;
+        this.compiledChains = null;
     }
 
     public FilterChain getChain(HttpServletRequest request, HttpServletResponse response, FilterChain originalChain) {
@@ -83,6 +114,19 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
 
         String requestUri = getContextRelativeUri(request);
 
+        AntPathPatternIndex index = getCompiledChains(filterChainManager);
+        if (index != null) {
+            String pathPattern = index.match(requestUri);
+            if (pathPattern == null) {
+                return originalChain;
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Matched path pattern [" + pathPattern + "] for requestUri [" + requestUri + "].  " +
+                    "Utilizing corresponding filter chain...");
+            }
+            return filterChainManager.proxy(originalChain, pathPattern);
+        }
+
         //the 'chain names' in this implementation are actually path patterns defined by the user.  We just use them
         //as the chain name for the FilterChainManager's requirements
         for (String pathPattern : filterChainManager.getChainNames()) {
@@ -100,6 +144,31 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
         return originalChain;
     }
 
+    /**
+     * Returns the compiled chain patterns of the specified filter chain manager, or {@code null} if the chain patterns
+     * must be matched one at a time because a custom path matcher, filter chain manager or
+     * {@link #pathMatches(String, String)} implementation is used.
+     */
+    private AntPathPatternIndex getCompiledChains(FilterChainManager filterChainManager) {
+        PatternMatcher pathMatcher = getPathMatcher();
+        if (pathMatchesOverridden || pathMatcher == null || pathMatcher.getClass() != AntPathMatcher.class ||
+            filterChainManager.getClass() != DefaultFilterChainManager.class) {
+            return null;
+        }
+
+        Set<String> chainNames = filterChainManager.getChainNames();
+        String pathSeparator = ((AntPathMatcher) pathMatcher).getPathSeparator();
+        CompiledChains compiled = this.compiledChains;
+        //chains can only be added to a DefaultFilterChainManager, so a change in their number means they changed:
+        if (compiled == null || compiled.filterChainManager != filterChainManager ||
+            !compiled.pathSeparator.equals(pathSeparator) || compiled.chainCount != chainNames.size()) {
+            compiled = new CompiledChains(filterChainManager, pathSeparator, chainNames.size(),
+                new AntPathPatternIndex(chainNames, pathSeparator, AntPathPatternIndex.DEFAULT_CACHE_SIZE));
+            this.compiledChains = compiled;
+        }
+        return compiled.index;
+    }
+
     /**
      * Returns {@code true} if an incoming request path (the {@code path} argument)
      * matches a configured filter chain path (the {@code pattern} argument), {@code false} otherwise.
@@ -134,4 +203,20 @@ public class PathMatchingFilterChainResolver implements FilterChainResolver {
     protected String getContextRelativeUri(HttpServletRequest request) {
         return ServletUtils.getContextRelativeUri(request);
     }
+
+    private static final class CompiledChains {
+
+        private final FilterChainManager filterChainManager;
+        private final String pathSeparator;
+        private final int chainCount;
+        private final AntPathPatternIndex index;
+
+        private CompiledChains(FilterChainManager filterChainManager, String pathSeparator, int chainCount,
+                               AntPathPatternIndex index) {
+            this.filterChainManager = filterChainManager;
+            this.pathSeparator = pathSeparator;
+            this.chainCount = chainCount;
+            this.index = index;
+        }
+    }
 }
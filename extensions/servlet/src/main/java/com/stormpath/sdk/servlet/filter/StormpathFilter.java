@@ -19,7 +19,9 @@ import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.impl.http.HttpHeadersHolder;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.servlet.filter.mvc.ControllerFilter;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -101,6 +103,17 @@ public class StormpathFilter extends HttpFilter {
         Assert.notNull(resolver, "Filter has not yet been configured. Explicitly call setFilterChainResolver or " +
                 "init(FilterConfig).");
 
+        //the only asynchronous dispatches Stormpath handles are those rendering its own asynchronous controllers.  The
+        //request was already filtered before its controller was invoked, so the outcome is rendered directly:
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (ControllerFilter.isAsyncResultDispatch(request)) {
+                ControllerFilter.renderAsyncResult(request, response, chain);
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+
         setRequestAttributes(request);
 
         //wrap:
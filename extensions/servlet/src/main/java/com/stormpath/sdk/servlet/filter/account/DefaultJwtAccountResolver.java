@@ -17,6 +17,10 @@ package com.stormpath.sdk.servlet.filter.account;
 
 import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
 import com.stormpath.sdk.lang.Assert;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
@@ -37,20 +41,74 @@ import java.security.Key;
  */
 public class DefaultJwtAccountResolver implements JwtAccountResolver {
 
+    private static final String JWT_VERIFIER_NAME = "JwtAccountResolver"; //@since 1.6.0
+
+    private static final MetricsRecorder DISABLED_METRICS_RECORDER = new DisabledMetricsRecorder(); //@since 1.6.0
+
     private final JwtSigningKeyResolver jwtSigningKeyResolver;
+    private final VerifiedSessionCache verifiedSessionCache;
 
     public DefaultJwtAccountResolver(JwtSigningKeyResolver jwtSigningKeyResolver) {
+        this(jwtSigningKeyResolver, new VerifiedSessionCache(0));
+    }
+
+    /**
+     * Creates a new {@code DefaultJwtAccountResolver} that retains the claims of each verified access token in the
+     * specified cache until the token expires, so that the token is not parsed and verified again.
+     *
+     * @param jwtSigningKeyResolver the resolver of the key used to verify the tokens
+     * @param verifiedSessionCache  the cache of verified access token sessions
+     * @since 1.6.0
+     */
+    public DefaultJwtAccountResolver(JwtSigningKeyResolver jwtSigningKeyResolver,
+                                     VerifiedSessionCache verifiedSessionCache) {
         Assert.notNull(jwtSigningKeyResolver, "JwtSigningKeyResolver cannot be null.");
+        Assert.notNull(verifiedSessionCache, "VerifiedSessionCache cannot be null.");
         this.jwtSigningKeyResolver = jwtSigningKeyResolver;
+        this.verifiedSessionCache = verifiedSessionCache;
     }
 
     protected JwtSigningKeyResolver getJwtSigningKeyResolver() {
         return this.jwtSigningKeyResolver;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    protected VerifiedSessionCache getVerifiedSessionCache() {
+        return this.verifiedSessionCache;
+    }
+
     @Override
     public Account getAccountByJwt(final HttpServletRequest request, final HttpServletResponse response, String jwt) {
 
+        VerifiedSessionCache cache = getVerifiedSessionCache();
+        Client client = getClient(request);
+
+        //a token already verified by this node does not need to be parsed and verified again until it expires:
+        Claims claims = cache.get(jwt);
+        if (claims == null) {
+            claims = verify(request, response, client, jwt);
+            if (claims == null) {
+                return null;
+            }
+            cache.put(jwt, claims);
+        }
+
+        String accountHref = claims.getSubject();
+
+        //will hit the cache:
+        return client.getResource(accountHref, Account.class);
+    }
+
+    /**
+     * Parses and verifies the specified access token, and returns its claims, or {@code null} if it is a refresh token.
+     *
+     * @since 1.6.0
+     */
+    private Claims verify(final HttpServletRequest request, final HttpServletResponse response, Client client,
+                          String jwt) {
+
         final JwtSigningKeyResolver resolver = getJwtSigningKeyResolver();
 
         SigningKeyResolver signingKeyResolver = new SigningKeyResolverAdapter() {
@@ -61,8 +119,15 @@ public class DefaultJwtAccountResolver implements JwtAccountResolver {
             }
         };
 
-        Jws<Claims> jws = Jwts.parser().setSigningKeyResolver(signingKeyResolver).parseClaimsJws(jwt);
-        Claims claims = jws.getBody();
+        MetricsRecorder metricsRecorder = getMetricsRecorder(client);
+
+        Jws<Claims> jws = null;
+        long start = System.nanoTime();
+        try {
+            jws = Jwts.parser().setSigningKeyResolver(signingKeyResolver).parseClaimsJws(jwt);
+        } finally {
+            metricsRecorder.recordJwtVerification(JWT_VERIFIER_NAME, System.nanoTime() - start, jws != null);
+        }
 
         if ("refresh".equals(jws.getHeader().get("stt"))) {
             //Fix for https://github.com/stormpath/stormpath-sdk-java/issues/674
@@ -70,14 +135,19 @@ public class DefaultJwtAccountResolver implements JwtAccountResolver {
             return null;
         }
 
-        String accountHref = claims.getSubject();
-
-        //will hit the cache:
-        Client client = getClient(request);
-        return client.getResource(accountHref, Account.class);
+        return jws.getBody();
     }
 
     protected Client getClient(HttpServletRequest request) {
         return (Client)request.getAttribute(Client.class.getName());
     }
+
+    /**
+     * @since 1.6.0
+     */
+    private static MetricsRecorder getMetricsRecorder(Client client) {
+        DataStore dataStore = client != null ? client.getDataStore() : null;
+        return dataStore instanceof InternalDataStore ?
+            ((InternalDataStore) dataStore).getMetricsRecorder() : DISABLED_METRICS_RECORDER;
+    }
 }
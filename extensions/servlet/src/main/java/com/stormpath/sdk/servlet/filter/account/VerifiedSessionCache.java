@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A per-node cache of verified access token sessions: for each access token JWT that was successfully verified, its
+ * claims are retained until the token expires, so that subsequent requests presenting the same token do not need to
+ * parse and verify the JWT again.  Only the claims are retained: the account of a session is still obtained from the
+ * SDK {@code Client} (and its cache) on every request, so that it reflects any change made to the account.
+ * <p/>
+ * Sessions are looked up by the exact compact JWT string, never by a claim of an unverified token, so a forged token
+ * cannot obtain cached claims.  Each session is also indexed by the token's id ({@code jti}) and by the id of the
+ * refresh token it was issued with ({@code rti}), so that {@link #invalidate(String) revoking} either token invalidates
+ * the session.
+ * <p/>
+ * This implementation is thread-safe.  It retains at most a configured number of sessions, evicting the least
+ * recently used ones first; a maximum of zero disables caching entirely.
+ *
+ * @since 1.6.0
+ */
+public class VerifiedSessionCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final String REFRESH_TOKEN_ID_CLAIM = "rti";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Session> sessions;
+
+    public VerifiedSessionCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a new {@code VerifiedSessionCache} retaining at most {@code maxEntries} sessions.
+     *
+     * @param maxEntries the maximum number of sessions retained, or {@code 0} to disable caching.
+     */
+    public VerifiedSessionCache(int maxEntries) {
+        Assert.isTrue(maxEntries >= 0, "maxEntries cannot be negative.");
+        this.sessions = maxEntries > 0 ? new SegmentedLruMap<String, Session>(maxEntries) : null;
+    }
+
+    /**
+     * Returns {@code true} if this cache retains sessions, {@code false} if it was created with a maximum of zero
+     * entries.
+     *
+     * @return {@code true} if this cache retains sessions, {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return sessions != null;
+    }
+
+    /**
+     * Returns the verified claims of the specified access token, or {@code null} if the token was not verified by this
+     * node, has expired or has been invalidated.
+     *
+     * @param jwt the compact access token JWT
+     * @return the verified claims of the specified access token, or {@code null} if there are none.
+     */
+    public Claims get(String jwt) {
+        if (sessions == null || jwt == null) {
+            return null;
+        }
+
+        Session session = sessions.get(jwt);
+        if (session == null) {
+            return null;
+        }
+
+        if (session.expiration <= System.currentTimeMillis()) {
+            sessions.remove(jwt);
+            return null;
+        }
+
+        return session.claims;
+    }
+
+    /**
+     * Retains the claims of the specified access token, which must have been successfully verified, until the token
+     * expires.  Tokens without an expiration are not retained.
+     *
+     * @param jwt    the compact access token JWT
+     * @param claims the verified claims of the token
+     */
+    public void put(String jwt, Claims claims) {
+        Assert.hasText(jwt, "jwt argument cannot be null or empty.");
+        Assert.notNull(claims, "claims argument cannot be null.");
+
+        Date expiration = claims.getExpiration();
+        if (sessions == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        String refreshTokenId = claims.get(REFRESH_TOKEN_ID_CLAIM, String.class);
+        sessions.put(jwt, new Session(claims, refreshTokenId, expiration.getTime()));
+    }
+
+    /**
+     * Invalidates the session of the specified token, or the sessions of the access tokens issued with it if it is a
+     * refresh token.  The token's signature is not verified: it is only used to identify the sessions to remove.
+     *
+     * @param token a compact access token or refresh token JWT
+     */
+    public void invalidate(String token) {
+        if (sessions == null || !Strings.hasText(token)) {
+            return;
+        }
+
+        sessions.remove(token);
+
+        String tokenId = getTokenId(token);
+        if (tokenId == null) {
+            return;
+        }
+
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            Session session = entry.getValue();
+            if (tokenId.equals(session.claims.getId()) || tokenId.equals(session.refreshTokenId)) {
+                sessions.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Invalidates all of the sessions of the specified account, for example when the account logs out.
+     *
+     * @param accountHref the href of the account
+     */
+    public void invalidateAccount(String accountHref) {
+        if (sessions == null || accountHref == null) {
+            return;
+        }
+
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (accountHref.equals(entry.getValue().claims.getSubject())) {
+                sessions.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code jti} claim of the specified token without verifying it, or {@code null} if the token is not a
+     * JWT or does not have an id.
+     */
+    private static String getTokenId(String token) {
+        String[] segments = token.split("\\.");
+        if (segments.length < 2) {
+            return null;
+        }
+        try {
+            Map<?, ?> claims = objectMapper.readValue(Base64.decodeBase64(segments[1]), Map.class);
+            Object id = claims.get(Claims.ID);
+            return id != null ? id.toString() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static class Session {
+
+        private final Claims claims;
+        private final String refreshTokenId;
+        private final long expiration;
+
+        private Session(Claims claims, String refreshTokenId, long expiration) {
+            this.claims = claims;
+            this.refreshTokenId = refreshTokenId;
+            this.expiration = expiration;
+        }
+    }
+}
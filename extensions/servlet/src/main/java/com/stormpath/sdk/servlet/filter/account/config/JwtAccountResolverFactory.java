@@ -19,6 +19,7 @@ import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
 import com.stormpath.sdk.servlet.filter.account.DefaultJwtAccountResolver;
 import com.stormpath.sdk.servlet.filter.account.JwtAccountResolver;
 import com.stormpath.sdk.servlet.filter.account.JwtSigningKeyResolver;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
 import com.stormpath.sdk.servlet.oauth.impl.JwtTokenSigningKeyResolver;
 
 import javax.servlet.ServletContext;
@@ -31,6 +32,7 @@ public class JwtAccountResolverFactory extends ConfigSingletonFactory<JwtAccount
     @Override
     protected JwtAccountResolver createInstance(ServletContext servletContext) throws Exception {
         JwtSigningKeyResolver resolver = new JwtTokenSigningKeyResolver();
-        return new DefaultJwtAccountResolver(resolver);
+        VerifiedSessionCache cache = getConfig().getInstance(VerifiedSessionCacheFactory.VERIFIED_SESSION_CACHE);
+        return new DefaultJwtAccountResolver(resolver, cache);
     }
 }
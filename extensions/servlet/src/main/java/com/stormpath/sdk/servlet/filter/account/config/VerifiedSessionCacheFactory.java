@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.account.config;
+
+import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
+
+import javax.servlet.ServletContext;
+
+/**
+ * @since 1.6.0
+ */
+public class VerifiedSessionCacheFactory extends ConfigSingletonFactory<VerifiedSessionCache> {
+
+    public static final String VERIFIED_SESSION_CACHE = "stormpath.web.account.jwt.cache";
+    public static final String MAX_ENTRIES = "stormpath.web.account.jwt.cache.maxEntries";
+
+    @Override
+    protected VerifiedSessionCache createInstance(ServletContext servletContext) throws Exception {
+
+        String maxEntriesString = Strings.clean(getConfig().get(MAX_ENTRIES));
+        if (maxEntriesString == null) {
+            return new VerifiedSessionCache();
+        }
+
+        int maxEntries;
+        try {
+            maxEntries = Integer.parseInt(maxEntriesString);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(MAX_ENTRIES + " config value must be an integer.", e);
+        }
+
+        return new VerifiedSessionCache(maxEntries);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.servlet.filter.mvc;
 
+import com.stormpath.sdk.impl.http.HttpHeadersHolder;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.servlet.filter.HttpFilter;
 import com.stormpath.sdk.servlet.http.MediaType;
@@ -29,17 +30,33 @@ import com.stormpath.sdk.servlet.util.ServletUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A Servlet Filter that acts as an MVC {@link com.stormpath.sdk.servlet.mvc.Controller Controller} by delegating to an
  * internal Controller instance.  Because it acts as a controller and not a filter, requests will never proceed past
  * this one in the filter chain - it always handles the response directly.  This implies that when configured as part of
  * a filter chain, it must always be the last filter in the chain.
+ * <p/>
+ * If an {@link #setAsyncExecutor(Executor) async executor} is configured and the request supports asynchronous
+ * processing, the controller is invoked on the executor instead of on the container thread, which is released while
+ * the controller waits on the Stormpath API.  The resulting view is then rendered on a container thread, after the
+ * request is {@link AsyncContext#dispatch() dispatched} again: the {@code StormpathFilter} must therefore also be mapped
+ * to {@code ASYNC} dispatches, which it {@link #renderAsyncResult(HttpServletRequest, HttpServletResponse, FilterChain)
+ * renders} without running its filter chain again.  Requests that do not support asynchronous processing are always
+ * handled synchronously.
  *
  * @since 1.0.RC4
  */
@@ -47,12 +64,21 @@ public class ControllerFilter extends HttpFilter {
 
     private static final Logger log = LoggerFactory.getLogger(ControllerFilter.class);
 
+    /**
+     * The name of the request attribute holding the outcome of a controller invoked on the
+     * {@link #setAsyncExecutor(Executor) async executor}, until it is rendered.
+     *
+     * @since 1.6.0
+     */
+    public static final String ASYNC_RESULT_REQUEST_ATTRIBUTE_NAME = ControllerFilter.class.getName() + ".ASYNC_RESULT";
+
     private Controller controller;
 
     private String prefix = "/WEB-INF/jsp/stormpath/";
     private String suffix = ".jsp";
     private List<MediaType> producedMediaTypes;
     private ViewResolver viewResolver;
+    private Executor asyncExecutor;
 
     public Controller getController() {
         return controller;
@@ -90,6 +116,57 @@ public class ControllerFilter extends HttpFilter {
         this.viewResolver = viewResolver;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets the executor the controller is invoked on for requests that support asynchronous processing, or
+     * {@code null} (the default) to always invoke the controller on the container thread.
+     *
+     * @param asyncExecutor the executor the controller is invoked on, or {@code null}
+     * @since 1.6.0
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Returns {@code true} if the specified request is dispatched to render the outcome of a controller that was
+     * invoked on an async executor, {@code false} otherwise.
+     *
+     * @param request the request
+     * @return {@code true} if the specified request is dispatched to render the outcome of an asynchronous controller
+     * invocation, {@code false} otherwise.
+     * @since 1.6.0
+     */
+    public static boolean isAsyncResultDispatch(ServletRequest request) {
+        return request.getAttribute(ASYNC_RESULT_REQUEST_ATTRIBUTE_NAME) != null;
+    }
+
+    /**
+     * Renders the outcome of the controller that was invoked on an async executor for the specified request, using the
+     * {@code ControllerFilter} and the request that invoked it.  This allows the {@code StormpathFilter} to handle an
+     * {@link #isAsyncResultDispatch(ServletRequest) async result dispatch} without resolving and running its filter
+     * chain again.
+     *
+     * @param request  the dispatched request
+     * @param response the dispatched response
+     * @param chain    the chain to continue if no view can render the outcome
+     * @throws Exception if the controller failed, or if its outcome cannot be rendered
+     * @since 1.6.0
+     */
+    public static void renderAsyncResult(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws Exception {
+        AsyncResult asyncResult = (AsyncResult) request.getAttribute(ASYNC_RESULT_REQUEST_ATTRIBUTE_NAME);
+        Assert.notNull(asyncResult, "The request is not an async result dispatch.");
+        request.removeAttribute(ASYNC_RESULT_REQUEST_ATTRIBUTE_NAME);
+        asyncResult.filter.render(asyncResult.request, response, chain, asyncResult.getViewModel());
+    }
+
     @Override
     protected void onInit() throws Exception {
         Assert.notNull(controller, "Controller instance must be configured.");
@@ -106,12 +183,84 @@ public class ControllerFilter extends HttpFilter {
     @Override
     protected void filter(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws Exception {
 
-        ViewModel vm;
+        if (isAsyncResultDispatch(request)) {
+            //the controller has already been invoked on the async executor, only its outcome remains to be rendered:
+            renderAsyncResult(request, response, chain);
+            return;
+        }
+
+        if (asyncExecutor != null && request.isAsyncSupported()) {
+            handleRequestAsync(request, response);
+            return;
+        }
+
+        render(request, response, chain, handleRequest(request, response));
+    }
+
+    private ViewModel handleRequest(HttpServletRequest request, HttpServletResponse response) {
         try {
-            vm = controller.handleRequest(request, response);
+            return controller.handleRequest(request, response);
         } catch (Exception e) {
             throw new RuntimeException("Unable to invoke Stormpath controller: " + e.getMessage(), e);
         }
+    }
+
+    /**
+     * Invokes the controller on the async executor and dispatches the request again to render its outcome, unless the
+     * controller rendered the response directly, or the request timed out or failed in the meantime.
+     */
+    private void handleRequestAsync(final HttpServletRequest request, final HttpServletResponse response) {
+
+        final AsyncContext asyncContext = request.startAsync();
+        final AsyncCompletion completion = new AsyncCompletion();
+        asyncContext.addListener(completion);
+        //the client request headers forwarded by the DataStore are bound to the container thread:
+        final Map<String, List<String>> headers = HttpHeadersHolder.get();
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                AsyncResult result;
+                HttpHeadersHolder.set(headers);
+                try {
+                    result = new AsyncResult(ControllerFilter.this, request, handleRequest(request, response), null);
+                } catch (Throwable t) {
+                    result = new AsyncResult(ControllerFilter.this, request, null, t);
+                } finally {
+                    HttpHeadersHolder.clear();
+                }
+
+                //once the request has timed out or failed, the container owns it and it can no longer be dispatched:
+                if (!completion.finish()) {
+                    log.debug("Stormpath controller finished after request URI [{}] timed out or failed, its " +
+                              "outcome is discarded.", request.getRequestURI(), result.exception);
+                    return;
+                }
+
+                try {
+                    if (result.isEmpty()) { //controller rendered the response directly
+                        asyncContext.complete();
+                    } else {
+                        request.setAttribute(ASYNC_RESULT_REQUEST_ATTRIBUTE_NAME, result);
+                        asyncContext.dispatch();
+                    }
+                } catch (IllegalStateException e) {
+                    log.debug("Unable to complete or dispatch request URI [{}].", request.getRequestURI(), e);
+                }
+            }
+        };
+
+        try {
+            asyncExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Stormpath controller executor rejected request URI [{}], invoking the controller on the " +
+                      "container thread.", request.getRequestURI());
+            task.run();
+        }
+    }
+
+    private void render(HttpServletRequest request, HttpServletResponse response, FilterChain chain, ViewModel vm)
+        throws Exception {
 
         if (vm == null) { //controller rendered the response directly, so just return
             return;
@@ -148,4 +297,77 @@ public class ControllerFilter extends HttpFilter {
         View view = this.viewResolver.getView(vm, request);
         view.render(request, response, vm);
     }
+
+    /**
+     * Tracks whether an async request has been finished, either by the controller task completing or dispatching it,
+     * or by the container after a timeout or an error, so that only the first of them finishes it.
+     */
+    private static class AsyncCompletion implements AsyncListener {
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        /**
+         * Returns {@code true} if the caller may complete or dispatch the request, {@code false} if it was already
+         * finished.
+         */
+        private boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finished.set(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finished.set(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finished.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * The outcome of a controller invoked on the async executor: its view model, or the exception or error it threw,
+     * which is rethrown on the container thread like for a synchronous invocation.
+     */
+    private static class AsyncResult {
+
+        private final ControllerFilter filter;
+        private final HttpServletRequest request;
+        private final ViewModel viewModel;
+        private final Throwable exception;
+
+        private AsyncResult(ControllerFilter filter, HttpServletRequest request, ViewModel viewModel,
+                            Throwable exception) {
+            this.filter = filter;
+            this.request = request;
+            this.viewModel = viewModel;
+            this.exception = exception;
+        }
+
+        private boolean isEmpty() {
+            return viewModel == null && exception == null;
+        }
+
+        private ViewModel getViewModel() {
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            }
+            if (exception instanceof Error) {
+                throw (Error) exception;
+            }
+            if (exception != null) {
+                throw new RuntimeException("Unable to invoke Stormpath controller: " + exception.getMessage(), exception);
+            }
+            return viewModel;
+        }
+    }
 }
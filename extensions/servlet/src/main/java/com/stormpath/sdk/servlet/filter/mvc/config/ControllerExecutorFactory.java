@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.mvc.config;
+
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.servlet.config.Config;
+import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContext;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executor that Stormpath controllers run on when {@code stormpath.web.async.enabled} is {@code true}.
+ * <p/>
+ * On JDK 21 and later, each controller invocation runs on its own virtual thread, so that waiting on the Stormpath API
+ * does not hold a platform thread.  On earlier JDKs, controller invocations run on a pool of at most
+ * {@code stormpath.web.async.maxThreads} daemon threads, and at most {@code stormpath.web.async.queueCapacity}
+ * invocations wait for one of them: further requests are handled on the container thread.  Applications may configure
+ * any other {@link java.util.concurrent.Executor Executor} by setting the {@code stormpath.web.async.executor} property
+ * to its factory.
+ * <p/>
+ * The executor created by this factory is shut down along with the Stormpath {@link Config Config}, see
+ * {@link #shutdown(ServletContext)}.
+ *
+ * @since 1.6.0
+ */
+public class ControllerExecutorFactory extends ConfigSingletonFactory<ExecutorService> {
+
+    private static final Logger log = LoggerFactory.getLogger(ControllerExecutorFactory.class);
+
+    public static final String CONTROLLER_EXECUTOR = "stormpath.web.async.executor";
+    public static final String MAX_THREADS = "stormpath.web.async.maxThreads";
+    public static final String QUEUE_CAPACITY = "stormpath.web.async.queueCapacity";
+
+    private static final String EXECUTOR_ATTRIBUTE_NAME = ControllerExecutorFactory.class.getName() + ".EXECUTOR";
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_METHOD_NAME = "newVirtualThreadPerTaskExecutor";
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    @Override
+    protected ExecutorService createInstance(ServletContext servletContext) throws Exception {
+
+        ExecutorService executor = newVirtualThreadExecutor();
+
+        if (executor == null) {
+            Config config = getConfig();
+            int maxThreads = parseInt(MAX_THREADS, config.get(MAX_THREADS));
+            int queueCapacity = parseInt(QUEUE_CAPACITY, config.get(QUEUE_CAPACITY));
+            Assert.isTrue(maxThreads > 0, MAX_THREADS + " must be greater than zero.");
+            Assert.isTrue(queueCapacity > 0, QUEUE_CAPACITY + " must be greater than zero.");
+
+            log.debug("Virtual threads are not available, Stormpath controllers will run on a pool of at most {} " +
+                      "threads.", maxThreads);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(queueCapacity),
+                    new DaemonThreadFactory("stormpath-controller"));
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+
+        servletContext.setAttribute(EXECUTOR_ATTRIBUTE_NAME, executor);
+
+        return executor;
+    }
+
+    /**
+     * Shuts down the executor created by this factory for the specified servlet context, if any.  Controller
+     * invocations that are already running are allowed to finish.
+     *
+     * @param servletContext the servlet context being destroyed
+     */
+    public static void shutdown(ServletContext servletContext) {
+        Object executor = servletContext.getAttribute(EXECUTOR_ATTRIBUTE_NAME);
+        if (executor instanceof ExecutorService) {
+            servletContext.removeAttribute(EXECUTOR_ATTRIBUTE_NAME);
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    protected int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            String msg = "Unable to parse " + key + " value to an integer.";
+            throw new IllegalArgumentException(msg, e);
+        }
+    }
+    /**
+     * Returns a new virtual thread per task executor, or {@code null} if the JDK does not support virtual threads.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_METHOD_NAME);
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (Exception e) {
+            log.debug("Unable to create a virtual thread executor: {}", e.getMessage());
+            return null;
+        }
+    }
+}
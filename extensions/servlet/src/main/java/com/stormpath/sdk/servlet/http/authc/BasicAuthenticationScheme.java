@@ -22,6 +22,12 @@ import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.authc.AuthenticationRequest;
 import com.stormpath.sdk.authc.AuthenticationResult;
 import com.stormpath.sdk.authc.AuthenticationResultVisitor;
+import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache;
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache.VerifiedApiKey;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.impl.util.Base64;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
@@ -31,6 +37,8 @@ import com.stormpath.sdk.servlet.http.impl.StormpathHttpServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * @since 1.0.RC3
@@ -164,13 +172,34 @@ public class BasicAuthenticationScheme extends AbstractAuthenticationScheme {
             request = attempt.getRequest();
             response = attempt.getResponse();
 
-            final ApiKey apiKey = getEnabledApiKey(request, submittedApiKeyId);
+            final ApiKey apiKey;
+            final Account account;
 
-            if (!submittedApiKeySecret.equals(apiKey.getSecret())) {
-                throw new HttpAuthenticationException("Submitted API Key secret does not match stored API Key secret.");
-            }
+            InternalDataStore dataStore = getInternalDataStore(request);
+            VerifiedApiKeyCache verifiedApiKeys = dataStore != null ? dataStore.getVerifiedApiKeyCache() : null;
+            String applicationHref = getApplication(request).getHref();
+
+            //a key verified moments ago needs neither to be retrieved nor decrypted again:
+            VerifiedApiKey verified = verifiedApiKeys != null ?
+                verifiedApiKeys.get(submittedApiKeyId, submittedApiKeySecret, applicationHref) : null;
 
-            final Account account = apiKey.getAccount();
+            if (verified != null) {
+                apiKey = dataStore.instantiate(ApiKey.class, toHrefProperties(verified.getApiKeyHref()));
+                account = dataStore.instantiate(Account.class, toHrefProperties(verified.getAccountHref()));
+            } else {
+                apiKey = getEnabledApiKey(request, submittedApiKeyId);
+
+                if (!submittedApiKeySecret.equals(apiKey.getSecret())) {
+                    throw new HttpAuthenticationException("Submitted API Key secret does not match stored API Key secret.");
+                }
+
+                account = apiKey.getAccount();
+
+                if (verifiedApiKeys != null) {
+                    verifiedApiKeys.put(submittedApiKeyId, submittedApiKeySecret, applicationHref, apiKey.getHref(),
+                                        account.getHref());
+                }
+            }
 
             authcResult = new ApiAuthenticationResult() {
                 @Override
@@ -209,5 +238,25 @@ public class BasicAuthenticationScheme extends AbstractAuthenticationScheme {
         return new DefaultHttpAuthenticationResult(request, response, authcResult);
     }
 
+    /**
+     * @since 1.6.0
+     */
+    protected Client getClient(HttpServletRequest request) {
+        return (Client) request.getAttribute(Client.class.getName());
+    }
+
+    /**
+     * Returns the data store of the request's client if it records verified API Keys, {@code null} otherwise.
+     *
+     * @since 1.6.0
+     */
+    private InternalDataStore getInternalDataStore(HttpServletRequest request) {
+        Client client = getClient(request);
+        DataStore dataStore = client != null ? client.getDataStore() : null;
+        return dataStore instanceof InternalDataStore ? (InternalDataStore) dataStore : null;
+    }
 
+    private static Map<String, Object> toHrefProperties(String href) {
+        return Collections.<String, Object>singletonMap(AbstractResource.HREF_PROP_NAME, href);
+    }
 }
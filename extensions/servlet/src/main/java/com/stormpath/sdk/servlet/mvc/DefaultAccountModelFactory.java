@@ -20,6 +20,11 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @since 1.0.0
@@ -28,50 +33,130 @@ public class DefaultAccountModelFactory implements AccountModelFactory {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultAccountModelFactory.class);
 
+    private ExecutorService executorService;
+
+    /**
+     * Returns the {@code ExecutorService} used to materialize the expanded properties of an account concurrently, or
+     * {@code null} if they are materialized one at a time (the default).
+     *
+     * @return the {@code ExecutorService} used to materialize expanded properties concurrently, or {@code null}.
+     * @since 1.6.0
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets the {@code ExecutorService} used to materialize the expanded properties of an account concurrently.  Each
+     * property that has not already been retrieved along with the account (as done by the {@link MeController}) then
+     * costs a concurrent request to Stormpath instead of a sequential one.  Tasks rejected by the executor run in the calling thread.
+     *
+     * @param executorService the {@code ExecutorService} used to materialize expanded properties concurrently, or
+     *                        {@code null} to materialize them one at a time.
+     * @since 1.6.0
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
     @Override
-    public Map<String, Object> toMap(Account account, List<String> expands) {
+    public Map<String, Object> toMap(final Account account, List<String> expands) {
         Assert.notNull(account, "account cannot be null");
-        DefaultAccount defaultAccount = (DefaultAccount) account;
+        final DefaultAccount defaultAccount = (DefaultAccount) account;
 
         Map<String, Object> accountMap = getResourceProperties(defaultAccount);
 
-        for (String property : expands) {
-            if (defaultAccount.getPropertyDescriptors().containsKey(property)) {
-                try {
-                    Method method = defaultAccount.getClass().getMethod("get" + Strings.capitalize(property));
-                    Object propertyValue = method.invoke(account);
-
-                    if (propertyValue instanceof CollectionResource) {
-                        List<Map<String, Object>> resourcesMap = new ArrayList<>();
-
-                        CollectionResource collectionResource = (CollectionResource) propertyValue;
-                        Iterator iterator = collectionResource.iterator();
-                        while (iterator.hasNext()) {
-                            resourcesMap.add(getResourceProperties((AbstractResource) iterator.next()));
-                        }
-
-                        // Return "propertyName.items" instead of "propertyName" for expands
-                        // https://github.com/stormpath/stormpath-sdk-java/issues/1044
-                        Map<String, Object> items = new LinkedHashMap<>();
-                        items.put("items", resourcesMap);
-
-                        accountMap.put(property, items);
-                    } else if (propertyValue instanceof AbstractResource) {
-                        if ("customData".equals(property)) {
-                            accountMap.put(property, account.getCustomData());
-                        } else {
-                            accountMap.put(property, getResourceProperties((AbstractResource) propertyValue));
-                        }
-                    }
-                } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                    log.error("Error expanding account property", e);
+        ExecutorService executor = this.executorService;
+        if (executor == null || expands.size() < 2) {
+            for (String property : expands) {
+                putExpandedProperty(accountMap, property, expand(defaultAccount, property));
+            }
+            return accountMap;
+        }
+
+        Map<String, FutureTask<Object>> tasks = new LinkedHashMap<>();
+        for (final String property : expands) {
+            FutureTask<Object> task = new FutureTask<>(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return expand(defaultAccount, property);
                 }
+            });
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+            tasks.put(property, task);
+        }
+
+        for (Map.Entry<String, FutureTask<Object>> task : tasks.entrySet()) {
+            try {
+                putExpandedProperty(accountMap, task.getKey(), task.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while expanding account property " + task.getKey(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Unable to expand account property " + task.getKey(), cause);
             }
         }
 
         return accountMap;
     }
 
+    private void putExpandedProperty(Map<String, Object> accountMap, String property, Object value) {
+        if (value != null) {
+            accountMap.put(property, value);
+        }
+    }
+
+    /**
+     * Returns the model of the specified expanded account property, or {@code null} if the account has no such
+     * property or it cannot be expanded.
+     */
+    private Object expand(DefaultAccount account, String property) {
+        if (!account.getPropertyDescriptors().containsKey(property)) {
+            return null;
+        }
+        try {
+            Method method = account.getClass().getMethod("get" + Strings.capitalize(property));
+            Object propertyValue = method.invoke(account);
+
+            if (propertyValue instanceof CollectionResource) {
+                List<Map<String, Object>> resourcesMap = new ArrayList<>();
+
+                CollectionResource collectionResource = (CollectionResource) propertyValue;
+                Iterator iterator = collectionResource.iterator();
+                while (iterator.hasNext()) {
+                    resourcesMap.add(getResourceProperties((AbstractResource) iterator.next()));
+                }
+
+                // Return "propertyName.items" instead of "propertyName" for expands
+                // https://github.com/stormpath/stormpath-sdk-java/issues/1044
+                Map<String, Object> items = new LinkedHashMap<>();
+                items.put("items", resourcesMap);
+
+                return items;
+            } else if (propertyValue instanceof AbstractResource) {
+                if ("customData".equals(property)) {
+                    return account.getCustomData();
+                } else {
+                    return getResourceProperties((AbstractResource) propertyValue);
+                }
+            }
+        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+            log.error("Error expanding account property", e);
+        }
+        return null;
+    }
+
     public Map<String, Object> getResourceProperties(AbstractResource resource) {
         Map<String, Object> resourceProperties = new LinkedHashMap<String, Object>();
 
@@ -15,7 +15,9 @@
  */
 package com.stormpath.sdk.servlet.mvc;
 
+import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -28,6 +30,8 @@ public class LogoutController extends AbstractController {
 
     private boolean invalidateHttpSession = true;
 
+    private VerifiedSessionCache verifiedSessionCache;
+
     public boolean isInvalidateHttpSession() {
         return invalidateHttpSession;
     }
@@ -36,6 +40,23 @@ public class LogoutController extends AbstractController {
         this.invalidateHttpSession = invalidateHttpSession;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    public VerifiedSessionCache getVerifiedSessionCache() {
+        return verifiedSessionCache;
+    }
+
+    /**
+     * Sets the cache of verified access token sessions, whose sessions of the account logging out are invalidated.
+     *
+     * @param verifiedSessionCache the cache of verified access token sessions
+     * @since 1.6.0
+     */
+    public void setVerifiedSessionCache(VerifiedSessionCache verifiedSessionCache) {
+        this.verifiedSessionCache = verifiedSessionCache;
+    }
+
     public void init() {
         Assert.hasText(nextUri, "nextUri must be configured.");
         Assert.notNull(produces, "produces cannot be null.");
@@ -64,6 +85,12 @@ public class LogoutController extends AbstractController {
     }
 
     protected ViewModel processRequest(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        //the account's access tokens must not be resolved from this node's verified sessions anymore:
+        Account account = getAccountResolver().getAccount(request);
+        if (account != null && verifiedSessionCache != null) {
+            verifiedSessionCache.invalidateAccount(account.getHref());
+        }
+
         //clear out any authentication/account state:
         request.logout();
 
@@ -17,7 +17,10 @@ package com.stormpath.sdk.servlet.mvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.account.AccountOptions;
+import com.stormpath.sdk.account.Accounts;
 import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.servlet.account.AccountResolver;
 import com.stormpath.sdk.servlet.filter.LoginPageRedirector;
@@ -25,12 +28,18 @@ import com.stormpath.sdk.servlet.http.MediaType;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.List;
 
 /**
  * @since 1.0.0
  */
 public class MeController extends AbstractController {
 
+    /**
+     * The maximum number of items of an expanded collection that Stormpath returns with the account.
+     */
+    private static final int EXPANDED_COLLECTION_LIMIT = 100;
+
     private ExpandsResolver expandsResolver;
     private AccountModelFactory accountModelFactory;
     private ObjectMapper objectMapper;
@@ -64,6 +73,20 @@ public class MeController extends AbstractController {
         this.expandsResolver = expandsResolver;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    public AccountModelFactory getAccountModelFactory() {
+        return accountModelFactory;
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public void setAccountModelFactory(AccountModelFactory accountModelFactory) {
+        this.accountModelFactory = accountModelFactory;
+    }
+
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
@@ -116,7 +139,80 @@ public class MeController extends AbstractController {
         //for example if the user goes to the /me in a browser it would try to render a thymeleaf view, so instead of returning a view
         //we write directly to the response since no matter what we always return JSON for this controller.
         //This way we don't introduce any custom view resolver that might have issues with the user application.
-        objectMapper.writeValue(response.getOutputStream(), java.util.Collections.singletonMap("account", accountModelFactory.toMap(account, expandsResolver.getExpands())));
+        List<String> expands = expandsResolver.getExpands();
+        account = getExpandedAccount(request, account, expands);
+
+        objectMapper.writeValue(response.getOutputStream(), java.util.Collections.singletonMap("account", accountModelFactory.toMap(account, expands)));
         return null;
     }
+
+    /**
+     * Returns the specified account along with all of its expandable properties among the specified ones, retrieved
+     * from Stormpath in a single request with {@link AccountOptions}, so that rendering them does not cost one request
+     * per property (and per page of each collection).  Properties that cannot be expanded this way are left for the
+     * {@link AccountModelFactory} to retrieve.
+     * <p/>
+     * The specified account is returned as is if none of the specified properties can be expanded or the
+     * {@code Client} is not available as a request attribute.
+     *
+     * @param request  the inbound request
+     * @param account  the authenticated account
+     * @param expands  the names of the account properties to expand
+     * @return the account with its expandable properties retrieved.
+     * @since 1.6.0
+     */
+    protected Account getExpandedAccount(HttpServletRequest request, Account account, List<String> expands) {
+        AccountOptions<AccountOptions> options = Accounts.options();
+        boolean expanded = false;
+        for (String property : expands) {
+            expanded |= expand(options, property);
+        }
+        if (!expanded || account.getHref() == null) {
+            return account;
+        }
+
+        Client client = (Client) request.getAttribute(Client.class.getName());
+        if (client == null) {
+            return account;
+        }
+        return client.getResource(account.getHref(), Account.class, options);
+    }
+
+    /**
+     * Adds the specified account property to the specified options and returns {@code true} if it can be expanded,
+     * returns {@code false} otherwise.
+     */
+    private static boolean expand(AccountOptions<AccountOptions> options, String property) {
+        switch (property) {
+            case "customData":
+                options.withCustomData();
+                return true;
+            case "directory":
+                options.withDirectory();
+                return true;
+            case "tenant":
+                options.withTenant();
+                return true;
+            case "groups":
+                options.withGroups(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            case "groupMemberships":
+                options.withGroupMemberships(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            case "factors":
+                options.withFactors(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            case "phones":
+                options.withPhones(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            case "linkedAccounts":
+                options.withLinkedAccounts(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            case "accountLinks":
+                options.withAccountLinks(EXPANDED_COLLECTION_LIMIT);
+                return true;
+            default:
+                return false;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.stormpath.sdk.oauth.OAuthRevocationRequestBuilder;
 import com.stormpath.sdk.oauth.OAuthTokenRevocators;
 import com.stormpath.sdk.oauth.TokenTypeHint;
 import com.stormpath.sdk.resource.ResourceException;
+import com.stormpath.sdk.servlet.filter.account.VerifiedSessionCache;
 import com.stormpath.sdk.servlet.filter.oauth.OAuthErrorCode;
 import com.stormpath.sdk.servlet.filter.oauth.OAuthException;
 import com.stormpath.sdk.servlet.http.MediaType;
@@ -50,6 +51,8 @@ public class RevokeTokenController extends AbstractController {
 
     private Saver<AuthenticationResult> authenticationResultSaver;
 
+    private VerifiedSessionCache verifiedSessionCache;
+
     public void init() {
     }
 
@@ -62,6 +65,16 @@ public class RevokeTokenController extends AbstractController {
         this.authenticationResultSaver = authenticationResultSaver;
     }
 
+    /**
+     * Sets the cache of verified access token sessions, whose sessions of revoked tokens are invalidated.
+     *
+     * @param verifiedSessionCache the cache of verified access token sessions
+     * @since 1.6.0
+     */
+    public void setVerifiedSessionCache(VerifiedSessionCache verifiedSessionCache) {
+        this.verifiedSessionCache = verifiedSessionCache;
+    }
+
     @Override
     public ViewModel handleRequest(HttpServletRequest request, HttpServletResponse response) throws Exception {
         String method = request.getMethod();
@@ -104,6 +117,10 @@ public class RevokeTokenController extends AbstractController {
 
             this.revoke(getApplication(request), builder.setToken(token).build());
 
+            if (verifiedSessionCache != null) {
+                verifiedSessionCache.invalidate(token);
+            }
+
             authenticationResultSaver.set(request, response, null);
 
             response.setStatus(HttpServletResponse.SC_OK);
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.util;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+
+/**
+ * An Ant-style path pattern that has been tokenized once, so that it can be matched against any number of paths
+ * without parsing it again.  Matching is identical to {@link AntPathMatcher#match(String, String)}, which delegates
+ * to this class.
+ * <p/>
+ * Paths can be {@link Path tokenized} once as well and matched against several patterns, as done by
+ * {@link AntPathPatternIndex}.
+ *
+ * @since 1.6.0
+ */
+public final class AntPathPattern {
+
+    private final String pattern;
+    private final boolean startsWithSeparator;
+    private final boolean endsWithSeparator;
+    private final Segment[] segments;
+    private final int literalPrefixLength;
+
+    public AntPathPattern(String pattern) {
+        this(pattern, AntPathMatcher.DEFAULT_PATH_SEPARATOR);
+    }
+
+    public AntPathPattern(String pattern, String pathSeparator) {
+        Assert.notNull(pattern, "pattern cannot be null.");
+        Assert.notNull(pathSeparator, "pathSeparator cannot be null.");
+        this.pattern = pattern;
+        this.startsWithSeparator = pattern.startsWith(pathSeparator);
+        this.endsWithSeparator = pattern.endsWith(pathSeparator);
+
+        String[] dirs = Strings.tokenizeToStringArray(pattern, pathSeparator);
+        this.segments = new Segment[dirs.length];
+        int literalPrefixLength = -1;
+        for (int i = 0; i < dirs.length; i++) {
+            segments[i] = new Segment(dirs[i]);
+            if (literalPrefixLength < 0 && !segments[i].literal) {
+                literalPrefixLength = i;
+            }
+        }
+        this.literalPrefixLength = literalPrefixLength < 0 ? dirs.length : literalPrefixLength;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the number of leading path elements of this pattern that do not contain any wildcard: a path can only
+     * match this pattern if its leading elements are equal to them.
+     *
+     * @return the number of leading path elements of this pattern that do not contain any wildcard.
+     */
+    public int getLiteralPrefixLength() {
+        return literalPrefixLength;
+    }
+
+    /**
+     * Returns the path element of this pattern at the specified index.
+     *
+     * @param index the index of the path element
+     * @return the path element of this pattern at the specified index.
+     */
+    public String getElement(int index) {
+        return segments[index].value;
+    }
+
+    /**
+     * Returns {@code true} if the specified path matches this pattern, {@code false} otherwise.
+     *
+     * @param path the path to test
+     * @return {@code true} if the specified path matches this pattern, {@code false} otherwise.
+     */
+    public boolean matches(Path path) {
+        return matches(path, true);
+    }
+
+    /**
+     * Actually match the given <code>path</code> against this pattern.
+     *
+     * @param path      the path to test
+     * @param fullMatch whether a full pattern match is required
+     *                  (else a pattern match as far as the given base path goes is sufficient)
+     * @return <code>true</code> if the supplied <code>path</code> matched,
+     *         <code>false</code> if it didn't
+     */
+    public boolean matches(Path path, boolean fullMatch) {
+        if (path.startsWithSeparator != this.startsWithSeparator) {
+            return false;
+        }
+
+        Segment[] pattDirs = this.segments;
+        String[] pathDirs = path.elements;
+
+        int pattIdxStart = 0;
+        int pattIdxEnd = pattDirs.length - 1;
+        int pathIdxStart = 0;
+        int pathIdxEnd = pathDirs.length - 1;
+
+        // Match all elements up to the first **
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            Segment patDir = pattDirs[pattIdxStart];
+            if (patDir.doubleWildcard) {
+                break;
+            }
+            if (!patDir.matches(pathDirs[pathIdxStart])) {
+                return false;
+            }
+            pattIdxStart++;
+            pathIdxStart++;
+        }
+
+        if (pathIdxStart > pathIdxEnd) {
+            // Path is exhausted, only match if rest of pattern is * or **'s
+            if (pattIdxStart > pattIdxEnd) {
+                return this.endsWithSeparator ? path.endsWithSeparator : !path.endsWithSeparator;
+            }
+            if (!fullMatch) {
+                return true;
+            }
+            if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].singleWildcard && path.endsWithSeparator) {
+                return true;
+            }
+            for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
+                if (!pattDirs[i].doubleWildcard) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (pattIdxStart > pattIdxEnd) {
+            // String not exhausted, but pattern is. Failure.
+            return false;
+        } else if (!fullMatch && pattDirs[pattIdxStart].doubleWildcard) {
+            // Path start definitely matches due to "**" part in pattern.
+            return true;
+        }
+
+        // up to last '**'
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            Segment patDir = pattDirs[pattIdxEnd];
+            if (patDir.doubleWildcard) {
+                break;
+            }
+            if (!patDir.matches(pathDirs[pathIdxEnd])) {
+                return false;
+            }
+            pattIdxEnd--;
+            pathIdxEnd--;
+        }
+        if (pathIdxStart > pathIdxEnd) {
+            // String is exhausted
+            for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
+                if (!pattDirs[i].doubleWildcard) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            int patIdxTmp = -1;
+            for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+                if (pattDirs[i].doubleWildcard) {
+                    patIdxTmp = i;
+                    break;
+                }
+            }
+            if (patIdxTmp == pattIdxStart + 1) {
+                // '**/**' situation, so skip one
+                pattIdxStart++;
+                continue;
+            }
+            // Find the pattern between padIdxStart & padIdxTmp in str between
+            // strIdxStart & strIdxEnd
+            int patLength = (patIdxTmp - pattIdxStart - 1);
+            int strLength = (pathIdxEnd - pathIdxStart + 1);
+            int foundIdx = -1;
+
+            strLoop:
+            for (int i = 0; i <= strLength - patLength; i++) {
+                for (int j = 0; j < patLength; j++) {
+                    Segment subPat = pattDirs[pattIdxStart + j + 1];
+                    String subStr = pathDirs[pathIdxStart + i + j];
+                    if (!subPat.matches(subStr)) {
+                        continue strLoop;
+                    }
+                }
+                foundIdx = pathIdxStart + i;
+                break;
+            }
+
+            if (foundIdx == -1) {
+                return false;
+            }
+
+            pattIdxStart = patIdxTmp;
+            pathIdxStart = foundIdx + patLength;
+        }
+
+        for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
+            if (!pattDirs[i].doubleWildcard) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * A path tokenized into its elements, which can be matched against any number of {@link AntPathPattern}s.
+     */
+    public static final class Path {
+
+        private final String path;
+        private final String[] elements;
+        private final boolean startsWithSeparator;
+        private final boolean endsWithSeparator;
+
+        public Path(String path) {
+            this(path, AntPathMatcher.DEFAULT_PATH_SEPARATOR);
+        }
+
+        public Path(String path, String pathSeparator) {
+            Assert.notNull(path, "path cannot be null.");
+            Assert.notNull(pathSeparator, "pathSeparator cannot be null.");
+            this.path = path;
+            this.elements = Strings.tokenizeToStringArray(path, pathSeparator);
+            this.startsWithSeparator = path.startsWith(pathSeparator);
+            this.endsWithSeparator = path.endsWith(pathSeparator);
+        }
+
+        public int getElementCount() {
+            return elements.length;
+        }
+
+        public String getElement(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
+
+    /**
+     * A path element of a pattern, whose characters are retained so that matching does not copy them.
+     */
+    private static final class Segment {
+
+        private final String value;
+        private final char[] chars;
+        private final boolean containsStar;
+        private final boolean literal;
+        private final boolean singleWildcard;
+        private final boolean doubleWildcard;
+
+        private Segment(String value) {
+            this.value = value;
+            this.chars = value.toCharArray();
+            this.containsStar = value.indexOf('*') != -1;
+            this.literal = !containsStar && value.indexOf('?') == -1;
+            this.singleWildcard = "*".equals(value);
+            this.doubleWildcard = "**".equals(value);
+        }
+
+        /**
+         * Tests whether or not a string matches against this segment.
+         * The segment may contain two special characters:<br>
+         * '*' means zero or more characters<br>
+         * '?' means one and only one character
+         *
+         * @param str string which must be matched against the pattern.
+         *            Must not be <code>null</code>.
+         * @return <code>true</code> if the string matches against the
+         * pattern, or <code>false</code> otherwise.
+         */
+        private boolean matches(String str) {
+            if (literal) {
+                return value.equals(str);
+            }
+
+            char[] patArr = this.chars;
+            int patIdxStart = 0;
+            int patIdxEnd = patArr.length - 1;
+            int strIdxStart = 0;
+            int strIdxEnd = str.length() - 1;
+            char ch;
+
+            if (!containsStar) {
+                // No '*'s, so we make a shortcut
+                if (patIdxEnd != strIdxEnd) {
+                    return false; // Pattern and string do not have the same size
+                }
+                for (int i = 0; i <= patIdxEnd; i++) {
+                    ch = patArr[i];
+                    if (ch != '?') {
+                        if (ch != str.charAt(i)) {
+                            return false;// Character mismatch
+                        }
+                    }
+                }
+                return true; // String matches against pattern
+            }
+
+            if (patIdxEnd == 0) {
+                return true; // Pattern contains only '*', which matches anything
+            }
+
+            // Process characters before first star
+            while ((ch = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
+                if (ch != '?') {
+                    if (ch != str.charAt(strIdxStart)) {
+                        return false;// Character mismatch
+                    }
+                }
+                patIdxStart++;
+                strIdxStart++;
+            }
+            if (strIdxStart > strIdxEnd) {
+                // All characters in the string are used. Check if only '*'s are
+                // left in the pattern. If so, we succeeded. Otherwise failure.
+                for (int i = patIdxStart; i <= patIdxEnd; i++) {
+                    if (patArr[i] != '*') {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // Process characters after last star
+            while ((ch = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
+                if (ch != '?') {
+                    if (ch != str.charAt(strIdxEnd)) {
+                        return false;// Character mismatch
+                    }
+                }
+                patIdxEnd--;
+                strIdxEnd--;
+            }
+            if (strIdxStart > strIdxEnd) {
+                // All characters in the string are used. Check if only '*'s are
+                // left in the pattern. If so, we succeeded. Otherwise failure.
+                for (int i = patIdxStart; i <= patIdxEnd; i++) {
+                    if (patArr[i] != '*') {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // process pattern between stars. padIdxStart and patIdxEnd point
+            // always to a '*'.
+            while (patIdxStart != patIdxEnd && strIdxStart <= strIdxEnd) {
+                int patIdxTmp = -1;
+                for (int i = patIdxStart + 1; i <= patIdxEnd; i++) {
+                    if (patArr[i] == '*') {
+                        patIdxTmp = i;
+                        break;
+                    }
+                }
+                if (patIdxTmp == patIdxStart + 1) {
+                    // Two stars next to each other, skip the first one.
+                    patIdxStart++;
+                    continue;
+                }
+                // Find the pattern between padIdxStart & padIdxTmp in str between
+                // strIdxStart & strIdxEnd
+                int patLength = (patIdxTmp - patIdxStart - 1);
+                int strLength = (strIdxEnd - strIdxStart + 1);
+                int foundIdx = -1;
+                strLoop:
+                for (int i = 0; i <= strLength - patLength; i++) {
+                    for (int j = 0; j < patLength; j++) {
+                        ch = patArr[patIdxStart + j + 1];
+                        if (ch != '?') {
+                            if (ch != str.charAt(strIdxStart + i + j)) {
+                                continue strLoop;
+                            }
+                        }
+                    }
+
+                    foundIdx = strIdxStart + i;
+                    break;
+                }
+
+                if (foundIdx == -1) {
+                    return false;
+                }
+
+                patIdxStart = patIdxTmp;
+                strIdxStart = foundIdx + patLength;
+            }
+
+            // All characters in the string are used. Check if only '*'s are left
+            // in the pattern. If so, we succeeded. Otherwise failure.
+            for (int i = patIdxStart; i <= patIdxEnd; i++) {
+                if (patArr[i] != '*') {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An ordered list of Ant-style path patterns compiled into a single matcher that returns the first pattern matching a
+ * path, with the same result as testing each pattern in order with {@link AntPathMatcher#match(String, String)}.
+ * <p/>
+ * Patterns are indexed in a trie by their {@link AntPathPattern#getLiteralPrefixLength() literal prefix}, the leading
+ * path elements without wildcards.  A path is tokenized once and walks the trie along its own elements, so that only
+ * the patterns whose literal prefix it starts with are matched - with their already {@link AntPathPattern compiled}
+ * wildcard elements.  Each pattern is matched at most once, in order, until the first match.
+ * <p/>
+ * Resolved paths are retained in a {@link ConcurrentHashMap}, so that frequently requested paths are resolved with a
+ * single lookup that never blocks.  The map is cleared when it is full: the paths of an application are usually few,
+ * and the cost of resolving them again is small, so recency is not worth tracking on every request.
+ *
+ * @since 1.6.0
+ */
+public class AntPathPatternIndex {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final Integer NO_MATCH = -1;
+
+    private final String pathSeparator;
+    private final AntPathPattern[] patterns;
+    private final Node root;
+    private final ConcurrentMap<String, Integer> resolved;
+    private final int cacheSize;
+
+    public AntPathPatternIndex(Collection<String> patterns) {
+        this(patterns, AntPathMatcher.DEFAULT_PATH_SEPARATOR, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new index of the specified patterns.
+     *
+     * @param patterns      the patterns, in order of precedence
+     * @param pathSeparator the path separator
+     * @param cacheSize     the maximum number of resolved paths to retain, or {@code 0} to retain none
+     */
+    public AntPathPatternIndex(Collection<String> patterns, String pathSeparator, int cacheSize) {
+        Assert.notNull(patterns, "patterns cannot be null.");
+        Assert.isTrue(cacheSize >= 0, "cacheSize cannot be negative.");
+        this.pathSeparator = pathSeparator;
+        this.patterns = new AntPathPattern[patterns.size()];
+        this.root = new Node();
+
+        int i = 0;
+        for (String pattern : patterns) {
+            AntPathPattern compiled = new AntPathPattern(pattern, pathSeparator);
+            this.patterns[i] = compiled;
+            Node node = root;
+            for (int j = 0; j < compiled.getLiteralPrefixLength(); j++) {
+                node = node.getOrAddChild(compiled.getElement(j));
+            }
+            node.patternIndexes.add(i);
+            i++;
+        }
+
+        this.cacheSize = cacheSize;
+        this.resolved = cacheSize > 0 ? new ConcurrentHashMap<String, Integer>() : null;
+    }
+
+    /**
+     * Returns the first pattern matching the specified path, or {@code null} if none matches.
+     *
+     * @param path the path to match, for example a request URI
+     * @return the first pattern matching the specified path, or {@code null} if none matches.
+     */
+    public String match(String path) {
+        Integer index = resolved != null ? resolved.get(path) : null;
+        if (index == null) {
+            index = resolve(new AntPathPattern.Path(path, pathSeparator));
+            if (resolved != null) {
+                if (resolved.size() >= cacheSize) {
+                    resolved.clear();
+                }
+                resolved.put(path, index);
+            }
+        }
+        return index.equals(NO_MATCH) ? null : patterns[index].getPattern();
+    }
+
+    private Integer resolve(AntPathPattern.Path path) {
+        int first = Integer.MAX_VALUE;
+
+        Node node = root;
+        int depth = 0;
+        while (node != null) {
+            for (Integer i : node.patternIndexes) {
+                if (i >= first) {
+                    break; //indexes are ascending: a preceding pattern already matches
+                }
+                if (patterns[i].matches(path)) {
+                    first = i;
+                    break;
+                }
+            }
+            if (depth == path.getElementCount()) {
+                break;
+            }
+            node = node.children.get(path.getElement(depth++));
+        }
+
+        return first == Integer.MAX_VALUE ? NO_MATCH : first;
+    }
+
+    /**
+     * Returns the number of patterns in this index.
+     *
+     * @return the number of patterns in this index.
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<String, Node>();
+        private final List<Integer> patternIndexes = new ArrayList<Integer>(1);
+
+        private Node getOrAddChild(String element) {
+            Node child = children.get(element);
+            if (child == null) {
+                child = new Node();
+                children.put(element, child);
+            }
+            return child;
+        }
+    }
+}
@@ -245,6 +245,60 @@ class DefaultConfigFactoryTest {
         assertEquals config.get(key2), value2
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testTypedConfigIsBuiltOnce() {
+        assertSame config.getLoginConfig(), config.getLoginConfig()
+        assertSame config.getChangePasswordConfig(), config.getChangePasswordConfig()
+        assertSame config.getProducedMediaTypes(), config.getProducedMediaTypes()
+        assertSame config.getMeExpandedProperties(), config.getMeExpandedProperties()
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testReloadAppliesModifiedProperties() {
+        def loginConfig = config.getLoginConfig()
+
+        config.put('stormpath.web.login.uri', '/signin')
+        config.put('stormpath.web.me.expand.customData', 'true')
+
+        // modifications are applied explicitly:
+        assertSame config.getLoginConfig(), loginConfig
+        assertEquals config.getLoginConfig().getUri(), '/login'
+        assertTrue config.getMeExpandedProperties().isEmpty()
+
+        ((DefaultConfig) config).reload()
+
+        assertNotSame config.getLoginConfig(), loginConfig
+        assertEquals config.getLoginConfig().getUri(), '/signin'
+        assertEquals config.getMeExpandedProperties(), ['customData']
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testReloadWithInvalidPropertiesKeepsCurrentConfig() {
+        def loginConfig = config.getLoginConfig()
+
+        config.put('stormpath.web.idSite.enabled', 'true')
+        config.put('stormpath.web.callback.enabled', 'false')
+
+        try {
+            ((DefaultConfig) config).reload()
+            fail("IllegalArgumentException expected")
+        } catch (IllegalArgumentException expected) {
+        }
+
+        assertFalse config.isIdSiteEnabled()
+        assertTrue config.isCallbackEnabled()
+        assertSame config.getLoginConfig(), loginConfig
+    }
+
     @AfterTest
     public void after() {
         // reset idsite and callback back to defaults
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.account
+
+import io.jsonwebtoken.Claims
+import io.jsonwebtoken.Jwts
+import io.jsonwebtoken.SignatureAlgorithm
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class VerifiedSessionCacheTest {
+
+    static final String HREF = 'https://api.stormpath.com/v1/accounts/a1'
+
+    static final byte[] KEY = 'a-signing-key-of-at-least-256-bits-long'.getBytes('UTF-8')
+
+    static Claims newClaims(String id, String accountHref, long ttlMillis) {
+        return Jwts.claims().setId(id).setSubject(accountHref).setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+    }
+
+    static String jwt(Claims claims) {
+        return Jwts.builder().setClaims(claims).signWith(SignatureAlgorithm.HS256, KEY).compact()
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNegativeMaxEntries() {
+        new VerifiedSessionCache(-1)
+    }
+
+    @Test
+    void testPutAndGet() {
+        def cache = new VerifiedSessionCache()
+        def claims = newClaims('at1', HREF, 60000)
+        def token = jwt(claims)
+
+        assertTrue cache.isEnabled()
+        assertNull cache.get(token)
+
+        cache.put(token, claims)
+
+        assertSame cache.get(token), claims
+        assertNull cache.get(token + 'x')
+        assertNull cache.get(null)
+    }
+
+    @Test
+    void testDisabled() {
+        def cache = new VerifiedSessionCache(0)
+        def claims = newClaims('at1', HREF, 60000)
+        def token = jwt(claims)
+
+        assertFalse cache.isEnabled()
+
+        cache.put(token, claims)
+        cache.invalidate(token)
+        cache.invalidateAccount(HREF)
+
+        assertNull cache.get(token)
+    }
+
+    @Test
+    void testTokenWithoutExpirationIsNotRetained() {
+        def cache = new VerifiedSessionCache()
+        def claims = Jwts.claims().setId('at1').setSubject(HREF)
+        def token = jwt(claims)
+
+        cache.put(token, claims)
+
+        assertNull cache.get(token)
+    }
+
+    @Test
+    void testExpiredSessionIsNotReturned() {
+        def cache = new VerifiedSessionCache()
+        def claims = newClaims('at1', HREF, 1000)
+        def token = jwt(claims)
+
+        cache.put(token, claims)
+        assertNotNull cache.get(token)
+
+        Thread.sleep(1100)
+
+        assertNull cache.get(token)
+    }
+
+    @Test
+    void testMaxEntries() {
+        def cache = new VerifiedSessionCache(10)
+        def tokens = []
+        for (int i = 0; i < 50; i++) {
+            def claims = newClaims('at' + i, HREF + i, 60000)
+            def token = jwt(claims)
+            cache.put(token, claims)
+            tokens << token
+        }
+
+        assertTrue tokens.count { cache.get(it) != null } <= 10
+        assertNotNull cache.get(tokens[-1])
+    }
+
+    @Test
+    void testInvalidateAccessToken() {
+        def cache = new VerifiedSessionCache()
+        def claims1 = newClaims('at1', HREF, 60000)
+        def claims2 = newClaims('at2', HREF, 60000)
+        def token1 = jwt(claims1)
+        def token2 = jwt(claims2)
+        cache.put(token1, claims1)
+        cache.put(token2, claims2)
+
+        cache.invalidate(token1)
+
+        assertNull cache.get(token1)
+        assertNotNull cache.get(token2)
+    }
+
+    @Test
+    void testInvalidateByTokenId() {
+        def cache = new VerifiedSessionCache()
+        def claims = newClaims('at1', HREF, 60000)
+        def token = jwt(claims)
+        cache.put(token, claims)
+
+        //a different token string carrying the same id, e.g. signed with another key:
+        cache.invalidate(jwt(newClaims('at1', HREF, 120000)))
+
+        assertNull cache.get(token)
+    }
+
+    @Test
+    void testInvalidateRefreshToken() {
+        def cache = new VerifiedSessionCache()
+        def claims1 = newClaims('at1', HREF, 60000)
+        claims1.put('rti', 'rt1')
+        def claims2 = newClaims('at2', HREF, 60000)
+        claims2.put('rti', 'rt2')
+        def token1 = jwt(claims1)
+        def token2 = jwt(claims2)
+        cache.put(token1, claims1)
+        cache.put(token2, claims2)
+
+        cache.invalidate(jwt(newClaims('rt1', HREF, 60000)))
+
+        assertNull cache.get(token1)
+        assertNotNull cache.get(token2)
+    }
+
+    @Test
+    void testInvalidateIgnoresInvalidTokens() {
+        def cache = new VerifiedSessionCache()
+        def claims = newClaims('at1', HREF, 60000)
+        def token = jwt(claims)
+        cache.put(token, claims)
+
+        cache.invalidate(null)
+        cache.invalidate('')
+        cache.invalidate('not-a-jwt')
+        cache.invalidate('not.a.jwt')
+
+        assertNotNull cache.get(token)
+    }
+
+    @Test
+    void testInvalidateAccount() {
+        def cache = new VerifiedSessionCache()
+        def claims1 = newClaims('at1', HREF, 60000)
+        def claims2 = newClaims('at2', HREF, 60000)
+        def claims3 = newClaims('at3', HREF + '2', 60000)
+        def token1 = jwt(claims1)
+        def token2 = jwt(claims2)
+        def token3 = jwt(claims3)
+        cache.put(token1, claims1)
+        cache.put(token2, claims2)
+        cache.put(token3, claims3)
+
+        cache.invalidateAccount(HREF)
+
+        assertNull cache.get(token1)
+        assertNull cache.get(token2)
+        assertNotNull cache.get(token3)
+    }
+}
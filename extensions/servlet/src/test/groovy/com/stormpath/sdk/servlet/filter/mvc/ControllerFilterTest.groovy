@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.mvc
+
+import com.stormpath.sdk.impl.http.HttpHeadersHolder
+import com.stormpath.sdk.servlet.mvc.Controller
+import com.stormpath.sdk.servlet.mvc.DefaultViewModel
+import com.stormpath.sdk.servlet.mvc.View
+import com.stormpath.sdk.servlet.mvc.ViewModel
+import com.stormpath.sdk.servlet.mvc.ViewResolver
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import javax.servlet.AsyncEvent
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletRequestWrapper
+import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class ControllerFilterTest {
+
+    MockHttpServletRequest request
+    MockHttpServletResponse response
+    FilterChain chain
+    ControllerFilter filter
+
+    List<Runnable> tasks
+    List<Thread> controllerThreads
+    ViewModel rendered
+
+    @BeforeMethod
+    void setUp() {
+        request = new MockHttpServletRequest('GET', '/me')
+        response = new MockHttpServletResponse()
+        chain = { req, resp -> fail('The filter chain must not continue.') } as FilterChain
+        tasks = []
+        controllerThreads = []
+        rendered = null
+
+        filter = new ControllerFilter()
+        filter.setViewResolver({ ViewModel vm, HttpServletRequest req ->
+            return { HttpServletRequest r, HttpServletResponse resp, ViewModel m -> rendered = m } as View
+        } as ViewResolver)
+    }
+
+    @AfterMethod
+    void tearDown() {
+        HttpHeadersHolder.clear()
+    }
+
+    void setController(ViewModel vm) {
+        filter.setController({ HttpServletRequest req, HttpServletResponse resp ->
+            controllerThreads << Thread.currentThread()
+            return vm
+        } as Controller)
+    }
+
+    void setAsyncExecutor() {
+        filter.setAsyncExecutor({ Runnable task -> tasks << task } as Executor)
+    }
+
+    void runTask() {
+        assertEquals tasks.size(), 1
+        Thread thread = new Thread(tasks.remove(0))
+        thread.start()
+        thread.join()
+    }
+
+    @Test
+    void testSynchronousByDefault() {
+        def vm = new DefaultViewModel('me')
+        setController(vm)
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+
+        assertEquals controllerThreads, [Thread.currentThread()]
+        assertSame rendered, vm
+        assertFalse request.isAsyncStarted()
+    }
+
+    @Test
+    void testSynchronousWhenAsyncIsNotSupported() {
+        def vm = new DefaultViewModel('me')
+        setController(vm)
+        setAsyncExecutor()
+        request.setAsyncSupported(false)
+
+        filter.filter(request, response, chain)
+
+        assertTrue tasks.isEmpty()
+        assertEquals controllerThreads, [Thread.currentThread()]
+        assertSame rendered, vm
+    }
+
+    @Test
+    void testAsync() {
+        def vm = new DefaultViewModel('me')
+        setController(vm)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+
+        //the container thread is released before the controller is invoked:
+        assertTrue request.isAsyncStarted()
+        assertTrue controllerThreads.isEmpty()
+        assertNull rendered
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+
+        runTask()
+
+        assertEquals controllerThreads.size(), 1
+        assertNotSame controllerThreads[0], Thread.currentThread()
+        assertNull rendered
+        assertEquals request.getAsyncContext().dispatchedPath, '/me'
+        assertTrue ControllerFilter.isAsyncResultDispatch(request)
+
+        //the dispatch renders the controller's view without invoking it again:
+        filter.filter(request, response, chain)
+
+        assertSame rendered, vm
+        assertEquals controllerThreads.size(), 1
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+    }
+
+    @Test
+    void testRenderAsyncResult() {
+        def vm = new DefaultViewModel('me')
+        setController(vm)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        HttpServletRequest viewRequest = null
+        filter.setViewResolver({ ViewModel m, HttpServletRequest req ->
+            return { HttpServletRequest r, HttpServletResponse resp, ViewModel model ->
+                viewRequest = r
+                rendered = model
+            } as View
+        } as ViewResolver)
+
+        def wrapped = new HttpServletRequestWrapper(request)
+        filter.filter(wrapped, response, chain)
+        runTask()
+
+        //the dispatch is rendered without a ControllerFilter, with the request the controller was invoked with:
+        ControllerFilter.renderAsyncResult(request, response, chain)
+
+        assertSame rendered, vm
+        assertSame viewRequest, wrapped
+        assertEquals controllerThreads.size(), 1
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+    }
+
+    @Test
+    void testAsyncControllerRendersResponseDirectly() {
+        setController(null)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+        runTask()
+
+        assertEquals controllerThreads.size(), 1
+        assertFalse request.isAsyncStarted() //completed
+        assertNull request.getAsyncContext().dispatchedPath
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+    }
+
+    @Test
+    void testAsyncControllerException() {
+        filter.setController({ HttpServletRequest req, HttpServletResponse resp ->
+            throw new IllegalStateException('boom')
+        } as Controller)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+        runTask()
+
+        assertEquals request.getAsyncContext().dispatchedPath, '/me'
+
+        try {
+            filter.filter(request, response, chain)
+            fail('The controller exception must be rethrown on the container thread.')
+        } catch (RuntimeException e) {
+            assertEquals e.message, 'Unable to invoke Stormpath controller: boom'
+            assertTrue e.cause instanceof IllegalStateException
+        }
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+    }
+
+    @Test
+    void testAsyncControllerError() {
+        def error = new AssertionError('boom')
+        filter.setController({ HttpServletRequest req, HttpServletResponse resp -> throw error } as Controller)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+        runTask()
+
+        //an Error must not leave the request hanging until it times out:
+        assertEquals request.getAsyncContext().dispatchedPath, '/me'
+
+        try {
+            filter.filter(request, response, chain)
+            fail('The controller error must be rethrown on the container thread.')
+        } catch (AssertionError e) {
+            assertSame e, error
+        }
+    }
+
+    @Test
+    void testAsyncTimeoutPreventsDispatch() {
+        setController(new DefaultViewModel('me'))
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+
+        def asyncContext = request.getAsyncContext()
+        assertEquals asyncContext.listeners.size(), 1
+        asyncContext.listeners[0].onTimeout(new AsyncEvent(asyncContext))
+
+        runTask()
+
+        assertEquals controllerThreads.size(), 1
+        assertNull asyncContext.dispatchedPath
+        assertFalse ControllerFilter.isAsyncResultDispatch(request)
+    }
+
+    @Test
+    void testAsyncErrorPreventsCompletion() {
+        setController(null)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+
+        def asyncContext = request.getAsyncContext()
+        asyncContext.listeners[0].onError(new AsyncEvent(asyncContext, new IOException('connection reset')))
+
+        runTask()
+
+        assertEquals controllerThreads.size(), 1
+        assertTrue request.isAsyncStarted() //not completed by the filter
+        assertNull asyncContext.dispatchedPath
+    }
+
+    @Test
+    void testAsyncRequestHeadersAreAvailableToTheController() {
+        def headers = ['x-stormpath-agent': ['test']]
+        HttpHeadersHolder.set(headers)
+        def controllerHeaders = null
+        filter.setController({ HttpServletRequest req, HttpServletResponse resp ->
+            controllerHeaders = HttpHeadersHolder.get()
+            return null
+        } as Controller)
+        setAsyncExecutor()
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+        runTask()
+
+        assertEquals controllerHeaders, headers
+    }
+
+    @Test
+    void testRejectedExecutionInvokesControllerOnContainerThread() {
+        def vm = new DefaultViewModel('me')
+        setController(vm)
+        filter.setAsyncExecutor({ Runnable task -> throw new RejectedExecutionException() } as Executor)
+        request.setAsyncSupported(true)
+
+        filter.filter(request, response, chain)
+
+        assertEquals controllerThreads, [Thread.currentThread()]
+        assertEquals request.getAsyncContext().dispatchedPath, '/me'
+
+        filter.filter(request, response, chain)
+
+        assertSame rendered, vm
+    }
+}
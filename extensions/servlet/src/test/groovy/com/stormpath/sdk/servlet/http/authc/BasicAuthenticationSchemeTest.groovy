@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.http.authc
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountStatus
+import com.stormpath.sdk.api.ApiAuthenticationResult
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.api.ApiKeyStatus
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.client.Client
+import com.stormpath.sdk.error.authc.DisabledApiKeyException
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.impl.util.Base64
+import com.stormpath.sdk.servlet.filter.UsernamePasswordRequestFactory
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class BasicAuthenticationSchemeTest {
+
+    static final String APP_HREF = 'https://api.stormpath.com/v1/applications/app'
+    static final String API_KEY_HREF = 'https://api.stormpath.com/v1/apiKeys/key'
+    static final String ACCOUNT_HREF = 'https://api.stormpath.com/v1/accounts/account'
+
+    //Stormpath-generated API Key ids are 25 characters long and secrets 43 characters long:
+    static final String API_KEY_ID = '1234567890ABCDEFGHIJKLMNO'
+    static final String API_KEY_SECRET = 'kB2ZNB1cZ1W2Yb7nqJt8fbx2QkkkUNP/7VkCvnQKoCw'
+
+    VerifiedApiKeyCache verifiedApiKeys
+    BasicAuthenticationScheme scheme
+    MockHttpServletRequest request
+
+    ApiKeyStatus apiKeyStatus
+    int apiKeyLookups
+    List<Map> instantiated
+
+    @BeforeMethod
+    void setUp() {
+        verifiedApiKeys = new VerifiedApiKeyCache()
+        apiKeyStatus = ApiKeyStatus.ENABLED
+        apiKeyLookups = 0
+        instantiated = []
+
+        def account = [getHref: { ACCOUNT_HREF }, getStatus: { AccountStatus.ENABLED }] as Account
+        def apiKey = [
+                getHref  : { API_KEY_HREF },
+                getSecret: { API_KEY_SECRET },
+                getStatus: { apiKeyStatus },
+                getAccount: { account }
+        ] as ApiKey
+        def application = [
+                getHref  : { APP_HREF },
+                getApiKey: { String id ->
+                    apiKeyLookups++
+                    return id == API_KEY_ID ? apiKey : null
+                }
+        ] as Application
+        def dataStore = [
+                getVerifiedApiKeyCache: { verifiedApiKeys },
+                instantiate           : { Class clazz, Map properties ->
+                    instantiated << [type: clazz, properties: properties]
+                    return clazz == ApiKey ? [getHref: { properties.href }] as ApiKey :
+                            [getHref: { properties.href }] as Account
+                }
+        ] as InternalDataStore
+        def client = [getDataStore: { dataStore }] as Client
+
+        scheme = new BasicAuthenticationScheme([:] as UsernamePasswordRequestFactory)
+        request = new MockHttpServletRequest('GET', '/me')
+        request.setAttribute(Client.class.name, client)
+        request.setAttribute(Application.class.name, application)
+    }
+
+    HttpAuthenticationResult authenticate(String secret) {
+        def value = Base64.encodeBase64String("$API_KEY_ID:$secret".getBytes('UTF-8'))
+        def attempt = new DefaultHttpAuthenticationAttempt(request, new MockHttpServletResponse(),
+                new DefaultHttpCredentials('Basic', value))
+        return scheme.authenticate(attempt)
+    }
+
+    @Test
+    void testVerifiedApiKeyIsRecorded() {
+        def result = authenticate(API_KEY_SECRET).authenticationResult as ApiAuthenticationResult
+
+        assertEquals result.apiKey.href, API_KEY_HREF
+        assertEquals result.account.href, ACCOUNT_HREF
+        assertEquals apiKeyLookups, 1
+        assertTrue instantiated.isEmpty()
+
+        def verified = verifiedApiKeys.get(API_KEY_ID, API_KEY_SECRET, APP_HREF)
+        assertEquals verified.apiKeyHref, API_KEY_HREF
+        assertEquals verified.accountHref, ACCOUNT_HREF
+    }
+
+    @Test
+    void testVerifiedApiKeyHit() {
+        verifiedApiKeys.put(API_KEY_ID, API_KEY_SECRET, APP_HREF, API_KEY_HREF, ACCOUNT_HREF)
+
+        def result = authenticate(API_KEY_SECRET).authenticationResult as ApiAuthenticationResult
+
+        //neither the key nor its account are retrieved: only href references are instantiated
+        assertEquals apiKeyLookups, 0
+        assertEquals instantiated, [
+                [type: ApiKey, properties: [href: API_KEY_HREF]],
+                [type: Account, properties: [href: ACCOUNT_HREF]]
+        ]
+        assertEquals result.apiKey.href, API_KEY_HREF
+        assertEquals result.account.href, ACCOUNT_HREF
+        assertSame request.getAttribute(ApiKey.class.name), result.apiKey
+    }
+
+    @Test
+    void testVerifiedApiKeyWithMismatchingSecret() {
+        verifiedApiKeys.put(API_KEY_ID, API_KEY_SECRET, APP_HREF, API_KEY_HREF, ACCOUNT_HREF)
+
+        try {
+            authenticate(API_KEY_SECRET.reverse())
+            fail()
+        } catch (HttpAuthenticationException expected) {
+        }
+
+        //the full lookup was performed, and the verified key is still trusted with the right secret:
+        assertEquals apiKeyLookups, 1
+        assertNotNull verifiedApiKeys.get(API_KEY_ID, API_KEY_SECRET, APP_HREF)
+    }
+
+    @Test
+    void testRevokedApiKey() {
+        authenticate(API_KEY_SECRET)
+        assertEquals apiKeyLookups, 1
+
+        //disabling the key saves it, and the WriteCacheFilter then invalidates its verification:
+        apiKeyStatus = ApiKeyStatus.DISABLED
+        verifiedApiKeys.invalidateApiKey(API_KEY_HREF)
+
+        try {
+            authenticate(API_KEY_SECRET)
+            fail()
+        } catch (HttpAuthenticationException expected) {
+            assertTrue expected.cause instanceof DisabledApiKeyException
+        }
+
+        assertEquals apiKeyLookups, 2
+        assertTrue instantiated.isEmpty()
+        assertNull verifiedApiKeys.get(API_KEY_ID, API_KEY_SECRET, APP_HREF)
+    }
+}
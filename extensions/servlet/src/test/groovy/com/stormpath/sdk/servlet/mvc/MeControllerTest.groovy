@@ -18,7 +18,11 @@ package com.stormpath.sdk.servlet.mvc
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountOptions
+import com.stormpath.sdk.client.Client
 import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.query.CollectionExpansion
+import com.stormpath.sdk.impl.query.DefaultOptions
 import com.stormpath.sdk.impl.resource.Property
 import com.stormpath.sdk.servlet.application.ApplicationResolver
 import com.stormpath.sdk.servlet.filter.LoginPageRedirector
@@ -29,6 +33,7 @@ import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
 
 import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
 
 /**
  * @since 1.2.0
@@ -77,4 +82,68 @@ public class MeControllerTest {
         verify(objectMapper, loginPageRedirector, applicationResolver, expandsResolver, request, response, account)
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testExpandablePropertiesRetrievedInSingleRequest() {
+        def href = 'https://api.stormpath.com/v1/accounts/foo'
+        def account = createStrictMock(Account)
+        def expandedAccount = createStrictMock(Account)
+        def client = createStrictMock(Client)
+        def request = createStrictMock(HttpServletRequest)
+        def options = newCapture()
+
+        expect(account.getHref()).andReturn(href)
+        expect(request.getAttribute(Client.class.getName())).andReturn(client)
+        expect(client.getResource(eq(href), same(Account), capture(options) as AccountOptions)).andReturn(expandedAccount)
+
+        replay account, expandedAccount, client, request
+
+        def result = new MeController().getExpandedAccount(request, account, ['customData', 'groups', 'providerData'])
+
+        assertSame result, expandedAccount
+        def expansions = ((DefaultOptions) options.value).expansions
+        assertEquals expansions*.name, ['customData', 'groups']
+        assertEquals ((CollectionExpansion) expansions[1]).limit, 100
+
+        verify account, expandedAccount, client, request
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testNoRequestWithoutExpandableProperties() {
+        def account = createStrictMock(Account)
+        def request = createStrictMock(HttpServletRequest)
+
+        replay account, request
+
+        def result = new MeController().getExpandedAccount(request, account, ['providerData', 'apiKeys'])
+
+        assertSame result, account
+
+        verify account, request
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testNoRequestWithoutClient() {
+        def account = createStrictMock(Account)
+        def request = createStrictMock(HttpServletRequest)
+
+        expect(account.getHref()).andReturn('https://api.stormpath.com/v1/accounts/foo')
+        expect(request.getAttribute(Client.class.getName())).andReturn(null)
+
+        replay account, request
+
+        def result = new MeController().getExpandedAccount(request, account, ['directory'])
+
+        assertSame result, account
+
+        verify account, request
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.util
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class AntPathPatternIndexTest {
+
+    @Test
+    void testFirstMatchingPatternWins() {
+        def index = new AntPathPatternIndex(['/login', '/me/**', '/**'])
+        assertEquals index.size(), 3
+        assertEquals index.match('/login'), '/login'
+        assertEquals index.match('/me'), '/me/**'
+        assertEquals index.match('/me/settings'), '/me/**'
+        assertEquals index.match('/logout'), '/**'
+        assertEquals index.match('/'), '/**'
+    }
+
+    @Test
+    void testPrecedenceIsIndependentOfLiteralPrefix() {
+        def index = new AntPathPatternIndex(['/**', '/login'])
+        assertEquals index.match('/login'), '/**'
+    }
+
+    @Test
+    void testNoMatch() {
+        def index = new AntPathPatternIndex(['/login', '/register/*'])
+        assertNull index.match('/logout')
+        assertNull index.match('/register')
+        assertNull index.match('/register/a/b')
+        //a cached miss is still a miss:
+        assertNull index.match('/logout')
+    }
+
+    @Test
+    void testWildcardElements() {
+        def index = new AntPathPatternIndex(['/api/v?/users/*.json', '/api/*/groups/**', '/static/{file}'])
+        assertEquals index.match('/api/v1/users/me.json'), '/api/v?/users/*.json'
+        assertNull index.match('/api/v10/users/me.json')
+        assertEquals index.match('/api/v10/groups/a/b'), '/api/*/groups/**'
+        assertEquals index.match('/static/{file}'), '/static/{file}'
+        assertNull index.match('/static/app.js')
+    }
+
+    @Test
+    void testResolvedPathsAreBounded() {
+        def index = new AntPathPatternIndex(['/login', '/me/**'], '/', 2)
+        (1..10).each { i ->
+            assertEquals index.match("/me/$i" as String), '/me/**'
+            assertTrue index.resolved.size() <= 2
+        }
+        assertEquals index.match('/login'), '/login'
+        assertNull index.match('/logout')
+    }
+
+    @Test
+    void testCustomPathSeparator() {
+        def index = new AntPathPatternIndex(['com.stormpath.*', 'com.**'], '.', 0)
+        assertEquals index.match('com.stormpath.sdk'), 'com.stormpath.*'
+        assertEquals index.match('com.example.sdk'), 'com.**'
+    }
+
+    //the matching itself is covered by AntPathPatternTest: this asserts that the index finds the same first match as
+    //a linear scan of the patterns
+    @Test
+    void testSameResultAsLinearScan() {
+        def tokens = ['a', 'b', 'ab', '*', '**', 'a*', '*b', '?', 'a?b', '']
+        def random = new Random(42)
+        def generate = {
+            def elements = (0..<random.nextInt(5)).collect { tokens[random.nextInt(tokens.size())] }
+            return (random.nextInt(4) != 0 ? '/' : '') + elements.join('/') + (random.nextInt(4) == 0 ? '/' : '')
+        }
+        def matcher = new AntPathMatcher()
+
+        200.times { i ->
+            def patterns = (0..random.nextInt(10)).collect { generate() }
+            def index = new AntPathPatternIndex(patterns, '/', i % 2 == 0 ? 0 : 8)
+            50.times {
+                String path = generate()
+                def expected = patterns.find { matcher.match(it, path) }
+                assertEquals index.match(path), expected, "patterns: $patterns, path: $path"
+                assertEquals index.match(path), expected, "patterns: $patterns, path: $path"
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.util
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class AntPathPatternTest {
+
+    static boolean match(String pattern, String path) {
+        return new AntPathPattern(pattern).matches(new AntPathPattern.Path(path))
+    }
+
+    static boolean matchStart(String pattern, String path) {
+        return new AntPathPattern(pattern).matches(new AntPathPattern.Path(path), false)
+    }
+
+    @Test
+    void testLiterals() {
+        assertTrue match('test', 'test')
+        assertTrue match('/test', '/test')
+        assertTrue match('', '')
+        assertFalse match('/test.jpg', 'test.jpg')
+        assertFalse match('test', '/test')
+        assertFalse match('/test', 'test')
+        assertFalse match('test', 'testing')
+        assertFalse match('/test', '/Test')
+    }
+
+    @Test
+    void testQuestionMark() {
+        assertTrue match('t?st', 'test')
+        assertTrue match('??st', 'test')
+        assertTrue match('tes?', 'test')
+        assertTrue match('te??', 'test')
+        assertTrue match('?es?', 'test')
+        assertFalse match('tes?', 'tes')
+        assertFalse match('tes?', 'testt')
+        assertFalse match('tes?', 'tsst')
+        assertFalse match('/api/v?', '/api/v10')
+    }
+
+    @Test
+    void testSingleStar() {
+        assertTrue match('*', 'test')
+        assertTrue match('test*', 'test')
+        assertTrue match('test*', 'testTest')
+        assertTrue match('test/*', 'test/Test')
+        assertTrue match('test/*', 'test/t')
+        assertTrue match('*test*', 'AnothertestTest')
+        assertTrue match('*test', 'Anothertest')
+        assertTrue match('*.*', 'test.')
+        assertTrue match('*.*', 'test.test')
+        assertTrue match('*.*', 'test.test.test')
+        assertTrue match('test*aaa', 'testblaaaa')
+        assertTrue match('/*bla/test', '/XXXbla/test')
+        assertFalse match('test*', 'tst')
+        assertFalse match('test*', 'tsttest')
+        assertFalse match('test*', 'test/t')
+        assertFalse match('test/*', 'test')
+        assertFalse match('*test*', 'tsst')
+        assertFalse match('*.*', 'tsttst')
+        assertFalse match('test*aaa', 'testblaaab')
+        assertFalse match('/*', '/a/b')
+        assertFalse match('/*bla/test', 'XXXbla/test')
+    }
+
+    @Test
+    void testDoubleStar() {
+        assertTrue match('/**', '/')
+        assertTrue match('/**', '/testing/testing')
+        assertTrue match('/*bla/**/bla', '/XXXbla/testing/testing/bla')
+        assertTrue match('/**/test', '/bla/bla/test')
+        assertTrue match('/bla/**/**/bla', '/bla/bla/bla/bla/bla/bla')
+        assertTrue match('/bla/**/bla', '/bla/bla')
+        assertTrue match('/bla*bla/test', '/blaXXXbla/test')
+        assertTrue match('/*bla*/**/bla/**', '/XXXblaXXXX/testing/testing/bla/testing/testing/')
+        assertTrue match('/*bla*/**/bla/*', '/XXXblaXXXX/testing/testing/bla/testing')
+        assertTrue match('/x/x/**/bla', '/x/x/x/x/x/bla')
+        assertTrue match('/foo/bar/**', '/foo/bar')
+        assertTrue match('/me/**', '/me')
+        assertTrue match('**/test', 'bla/bla/test')
+        assertFalse match('/bla/**/bla', '/bla/bla/bla/bbb')
+        assertFalse match('/*bla*/**/bla/*', '/XXXblaXXXX/testing/testing/bla/testing/testing')
+        assertFalse match('/x/x/**/bla', '/x/x/x/')
+        assertFalse match('/**', 'test')
+    }
+
+    @Test
+    void testTrailingSeparator() {
+        assertTrue match('/test/', '/test/')
+        assertTrue match('test/*', 'test/')
+        assertTrue match('/**', '/test/')
+        assertFalse match('/test/', '/test')
+        assertFalse match('/test', '/test/')
+        assertFalse match('/test/*', '/test/a/')
+    }
+
+    @Test
+    void testMatchStart() {
+        assertTrue matchStart('test', 'test')
+        assertTrue matchStart('test/*', 'test')
+        assertTrue matchStart('test/t?st', 'test')
+        assertTrue matchStart('/x/x/**/bla', '/x/x/x/')
+        assertTrue matchStart('/bla*bla/test', '/blaXXXbla')
+        assertTrue matchStart('/**/test', '/bla/bla')
+        assertTrue matchStart('/*bla*/**/bla/**', '/XXXblaXXXX/testing/testing/bla/testing/testing/')
+        assertFalse matchStart('/????', '/bala/bla')
+        assertFalse matchStart('/test', '/test/bla')
+        assertFalse matchStart('test/*', '/test')
+        assertFalse matchStart('/x/y/**', '/x/x')
+    }
+
+    @Test
+    void testCustomPathSeparator() {
+        def pattern = new AntPathPattern('com.stormpath.*', '.')
+        assertTrue pattern.matches(new AntPathPattern.Path('com.stormpath.sdk', '.'))
+        assertFalse pattern.matches(new AntPathPattern.Path('com.stormpath.sdk.impl', '.'))
+        assertFalse pattern.matches(new AntPathPattern.Path('com/stormpath/sdk', '.'))
+    }
+
+    @Test
+    void testLiteralPrefix() {
+        def pattern = new AntPathPattern('/api/v1/*/groups/**')
+        assertEquals pattern.literalPrefixLength, 2
+        assertEquals pattern.getElement(0), 'api'
+        assertEquals pattern.getElement(1), 'v1'
+        assertEquals new AntPathPattern('/api/v1').literalPrefixLength, 2
+        assertEquals new AntPathPattern('/**').literalPrefixLength, 0
+    }
+
+    @Test
+    void testAntPathMatcherDelegates() {
+        def matcher = new AntPathMatcher()
+        assertTrue matcher.match('/me/**', '/me/settings')
+        assertFalse matcher.match('/me/*', '/me/a/b')
+        assertTrue matcher.matchStart('/me/*/b', '/me/a')
+        assertFalse matcher.matchStart('/me/*/b', '/you/a')
+    }
+}
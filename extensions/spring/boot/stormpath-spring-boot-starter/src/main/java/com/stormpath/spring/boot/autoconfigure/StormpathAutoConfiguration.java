@@ -18,7 +18,12 @@ package com.stormpath.spring.boot.autoconfigure;
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
 import com.stormpath.spring.config.AbstractStormpathConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -30,8 +35,18 @@ import org.springframework.context.annotation.Configuration;
 @SuppressWarnings("SpringFacetCodeInspection")
 @Configuration
 @ConditionalOnProperty(name = "stormpath.enabled", matchIfMissing = true)
+@AutoConfigureAfter(StormpathMetricsAutoConfiguration.class)
 public class StormpathAutoConfiguration extends AbstractStormpathConfiguration {
 
+    /**
+     * Resolved when the client is created rather than when this configuration is, so that the recorder (and the
+     * {@code MeterRegistry} it depends on) are not instantiated early.
+     *
+     * @since 1.6.0
+     */
+    @Autowired
+    protected ObjectProvider<MetricsRecorder> stormpathMetricsRecorder;
+
     @Bean
     @ConditionalOnMissingBean(name = "stormpathClientApiKey")
     public ApiKey stormpathClientApiKey() {
@@ -53,7 +68,12 @@ public class StormpathAutoConfiguration extends AbstractStormpathConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public Client stormpathClient() {
-        return super.stormpathClient();
+        Client client = super.stormpathClient();
+        MetricsRecorder metricsRecorder = stormpathMetricsRecorder.getIfAvailable();
+        if (metricsRecorder != null && client.getDataStore() instanceof DefaultDataStore) {
+            ((DefaultDataStore) client.getDataStore()).setMetricsRecorder(metricsRecorder);
+        }
+        return client;
     }
 
 }
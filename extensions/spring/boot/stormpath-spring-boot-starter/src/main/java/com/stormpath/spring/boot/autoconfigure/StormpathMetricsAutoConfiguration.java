@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.boot.autoconfigure;
+
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.micrometer.MicrometerMetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the Stormpath client's data store, cache, HTTP and JWT verification metrics to the application's
+ * Micrometer {@link MeterRegistry}, when both {@code stormpath-sdk-micrometer} and a {@code MeterRegistry} bean are
+ * available.  The {@link MetricsRecorder} is applied to the client by the {@link StormpathAutoConfiguration}, which is
+ * ordered after this configuration.
+ *
+ * @since 1.6.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "stormpath.enabled", matchIfMissing = true)
+@ConditionalOnClass({MeterRegistry.class, MicrometerMetricsRecorder.class})
+@AutoConfigureAfter(name = {
+    "io.micrometer.spring.autoconfigure.MetricsAutoConfiguration",
+    "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+    "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+})
+public class StormpathMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnMissingBean
+    public MetricsRecorder stormpathMetricsRecorder(MeterRegistry meterRegistry) {
+        return new MicrometerMetricsRecorder(meterRegistry);
+    }
+}
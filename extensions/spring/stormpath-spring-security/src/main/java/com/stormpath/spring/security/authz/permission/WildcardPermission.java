@@ -161,7 +161,8 @@ public class WildcardPermission implements Permission, Serializable {
         }
     }
 
-    private boolean isCaseSensitive() {
+    //package-private since 1.6.0 for WildcardPermissionSet
+    boolean isCaseSensitive() {
         return this.caseSensitive;
     }
 
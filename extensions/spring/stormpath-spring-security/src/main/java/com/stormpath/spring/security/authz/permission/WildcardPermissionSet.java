@@ -0,0 +1,356 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.security.authz.permission;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, compiled set of {@link WildcardPermission}s that determines whether <em>any</em> of them
+ * {@link WildcardPermission#implies(Permission) implies} a given permission without evaluating each of them in turn.
+ * <p/>
+ * The permissions are compiled into a trie with one level per permission part (domain, action, instance, ...): each
+ * node represents a part of one or more permissions, and is indexed under each of its subpart tokens.  Parts containing
+ * the {@link WildcardPermission#WILDCARD_TOKEN wildcard token} are kept apart as wildcard nodes that match any token.
+ * Tokens and parts are interned, so that permissions sharing a prefix (e.g. {@code "newsletter:edit:12"} and
+ * {@code "newsletter:edit:13"}) share the nodes of that prefix.  A query therefore only visits the nodes matching
+ * its own parts, and its cost is proportional to its depth rather than to the number of permissions in the set.
+ * <p/>
+ * Case insensitive permissions (the default) are compiled into their own trie of case-folded tokens, so the set
+ * preserves the case sensitivity of every permission.  Permissions whose class overrides {@code implies} cannot be
+ * compiled and are evaluated individually, after the trie.  Authorities that are not {@code WildcardPermission}s are
+ * ignored.
+ *
+ * @see com.stormpath.spring.security.authz.permission.evaluator.WildcardPermissionEvaluator
+ * @since 1.6.0
+ */
+public final class WildcardPermissionSet {
+
+    private final Node caseInsensitiveRoot;
+    private final Node caseSensitiveRoot;
+    private final List<WildcardPermission> uncompiled;
+    private final int size;
+
+    private WildcardPermissionSet(Node caseInsensitiveRoot, Node caseSensitiveRoot, List<WildcardPermission> uncompiled,
+                                  int size) {
+        this.caseInsensitiveRoot = caseInsensitiveRoot;
+        this.caseSensitiveRoot = caseSensitiveRoot;
+        this.uncompiled = uncompiled;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the {@link WildcardPermission}s among the specified authorities into a new {@code WildcardPermissionSet}.
+     *
+     * @param authorities the granted authorities to compile, usually {@code Authentication.getAuthorities()}
+     * @return a new {@code WildcardPermissionSet} of the wildcard permissions among the specified authorities.
+     */
+    public static WildcardPermissionSet of(Collection<? extends GrantedAuthority> authorities) {
+        Builder caseInsensitive = new Builder(false);
+        Builder caseSensitive = new Builder(true);
+        List<WildcardPermission> uncompiled = new ArrayList<WildcardPermission>();
+        Map<Class<?>, Boolean> compilableClasses = new HashMap<Class<?>, Boolean>();
+        int size = 0;
+
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                if (!(authority instanceof WildcardPermission)) {
+                    continue;
+                }
+                size++;
+                WildcardPermission wp = (WildcardPermission) authority;
+                if (wp.getParts() != null && isCompilable(wp.getClass(), compilableClasses)) {
+                    Builder builder = wp.isCaseSensitive() ? caseSensitive : caseInsensitive;
+                    builder.add(wp.getParts());
+                } else {
+                    uncompiled.add(wp);
+                }
+            }
+        }
+
+        return new WildcardPermissionSet(caseInsensitive.build(), caseSensitive.build(),
+                Collections.unmodifiableList(uncompiled), size);
+    }
+
+    /**
+     * Returns {@code true} if instances of the specified class use {@link WildcardPermission#implies(Permission)},
+     * whose semantics the trie reproduces, {@code false} otherwise.
+     */
+    private static boolean isCompilable(Class<?> clazz, Map<Class<?>, Boolean> compilableClasses) {
+        Boolean compilable = compilableClasses.get(clazz);
+        if (compilable == null) {
+            try {
+                compilable = clazz.getMethod("implies", Permission.class).getDeclaringClass() == WildcardPermission.class;
+            } catch (NoSuchMethodException e) {
+                compilable = Boolean.FALSE;
+            }
+            compilableClasses.put(clazz, compilable);
+        }
+        return compilable;
+    }
+
+    /**
+     * Returns {@code true} if any permission in this set implies the specified permission, {@code false} otherwise.
+     *
+     * @param permission the permission to check
+     * @return {@code true} if any permission in this set implies the specified permission, {@code false} otherwise.
+     */
+    public boolean implies(Permission permission) {
+        if (permission instanceof WildcardPermission) {
+            List<Set<String>> parts = ((WildcardPermission) permission).getParts();
+            if (parts != null) {
+                if (caseInsensitiveRoot != null && caseInsensitiveRoot.implies(fold(parts), 0)) {
+                    return true;
+                }
+                if (caseSensitiveRoot != null && caseSensitiveRoot.implies(parts, 0)) {
+                    return true;
+                }
+            }
+        }
+        for (WildcardPermission p : uncompiled) {
+            if (p.implies(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of permissions in this set.
+     *
+     * @return the number of permissions in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static List<Set<String>> fold(List<Set<String>> parts) {
+        List<Set<String>> folded = null;
+        for (int i = 0; i < parts.size(); i++) {
+            Set<String> part = parts.get(i);
+            Set<String> foldedPart = fold(part);
+            if (foldedPart != part && folded == null) {
+                folded = new ArrayList<Set<String>>(parts.subList(0, i));
+            }
+            if (folded != null) {
+                folded.add(foldedPart);
+            }
+        }
+        return folded != null ? folded : parts;
+    }
+
+    private static Set<String> fold(Set<String> part) {
+        Set<String> folded = null;
+        for (String token : part) {
+            String foldedToken = fold(token);
+            if (foldedToken != token && folded == null) {
+                folded = new LinkedHashSet<String>(part.size() * 2);
+                for (String t : part) {
+                    if (t == token) {
+                        break;
+                    }
+                    folded.add(t);
+                }
+            }
+            if (folded != null) {
+                folded.add(foldedToken);
+            }
+        }
+        return folded != null ? folded : part;
+    }
+
+    /**
+     * Folds the case of the specified token, such that two tokens are equal once folded if and only if they are
+     * {@link String#equalsIgnoreCase(String) equal ignoring case}.
+     */
+    private static String fold(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (fold(c) != c) {
+                char[] chars = token.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = fold(chars[j]);
+                }
+                return new String(chars);
+            }
+        }
+        return token;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Builder {
+
+        private final boolean caseSensitive;
+        private final Map<String, String> tokens = new HashMap<String, String>();
+        private final Map<Set<String>, Set<String>> parts = new HashMap<Set<String>, Set<String>>();
+        private Node root;
+
+        private Builder(boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+        }
+
+        private void add(List<Set<String>> permissionParts) {
+            if (root == null) {
+                root = new Node(null);
+            }
+            Node node = root;
+            for (Set<String> part : permissionParts) {
+                node = node.getOrAddChild(intern(part));
+            }
+            node.terminal = true;
+        }
+
+        private Set<String> intern(Set<String> part) {
+            Set<String> interned = parts.get(part);
+            if (interned == null) {
+                interned = new LinkedHashSet<String>(part.size() * 2);
+                for (String token : part) {
+                    interned.add(intern(caseSensitive ? token : fold(token)));
+                }
+                interned = Collections.unmodifiableSet(interned);
+                parts.put(part, interned);
+            }
+            return interned;
+        }
+
+        private String intern(String token) {
+            String interned = tokens.get(token);
+            if (interned == null) {
+                interned = token;
+                tokens.put(token, interned);
+            }
+            return interned;
+        }
+
+        private Node build() {
+            if (root != null) {
+                root.freeze();
+            }
+            return root;
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_NODES = new Node[0];
+
+        private final Set<String> part;
+        private final boolean wildcard;
+
+        private boolean terminal;
+
+        //whether a permission ends at this node or at a descendant reachable only through wildcard nodes:
+        private boolean impliesAnyRemainder;
+
+        private Map<Set<String>, Node> children = new HashMap<Set<String>, Node>();
+        private Map<String, Node[]> childrenByToken;
+        private Node[] wildcardChildren;
+
+        private Node(Set<String> part) {
+            this.part = part;
+            this.wildcard = part != null && part.contains(WildcardPermission.WILDCARD_TOKEN);
+        }
+
+        private Node getOrAddChild(Set<String> part) {
+            Node child = children.get(part);
+            if (child == null) {
+                child = new Node(part);
+                children.put(part, child);
+            }
+            return child;
+        }
+
+        private void freeze() {
+            Map<String, List<Node>> byToken = new HashMap<String, List<Node>>();
+            List<Node> wildcards = new ArrayList<Node>();
+            impliesAnyRemainder = terminal;
+
+            for (Node child : children.values()) {
+                child.freeze();
+                if (child.wildcard) {
+                    wildcards.add(child);
+                    impliesAnyRemainder = impliesAnyRemainder || child.impliesAnyRemainder;
+                } else {
+                    for (String token : child.part) {
+                        List<Node> nodes = byToken.get(token);
+                        if (nodes == null) {
+                            nodes = new ArrayList<Node>(1);
+                            byToken.put(token, nodes);
+                        }
+                        nodes.add(child);
+                    }
+                }
+            }
+
+            childrenByToken = new HashMap<String, Node[]>(byToken.size() * 2);
+            for (Map.Entry<String, List<Node>> entry : byToken.entrySet()) {
+                childrenByToken.put(entry.getKey(), entry.getValue().toArray(new Node[entry.getValue().size()]));
+            }
+            wildcardChildren = wildcards.isEmpty() ? NO_NODES : wildcards.toArray(new Node[wildcards.size()]);
+            children = null; //only needed to build the trie
+        }
+
+        /**
+         * Returns {@code true} if a permission that ends at this node or at one of its descendants implies the
+         * specified permission parts, starting with the part at {@code index}, {@code false} otherwise.
+         */
+        private boolean implies(List<Set<String>> parts, int index) {
+            if (terminal) {
+                //everything after the parts of a permission is implied:
+                return true;
+            }
+            if (index == parts.size()) {
+                //a longer permission only implies the specified one if all of its remaining parts are wildcards:
+                return impliesAnyRemainder;
+            }
+
+            Set<String> part = parts.get(index);
+
+            for (Node child : wildcardChildren) {
+                if (child.implies(parts, index + 1)) {
+                    return true;
+                }
+            }
+
+            //a non-wildcard part implies the specified part if it contains all of its tokens:
+            Node[] candidates = childrenByToken.get(part.iterator().next());
+            if (candidates != null) {
+                for (Node child : candidates) {
+                    if (child.part.containsAll(part) && child.implies(parts, index + 1)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+}
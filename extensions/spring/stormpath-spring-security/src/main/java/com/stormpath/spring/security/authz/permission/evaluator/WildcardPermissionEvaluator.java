@@ -18,12 +18,18 @@ package com.stormpath.spring.security.authz.permission.evaluator;
 
 import com.stormpath.spring.security.authz.permission.Permission;
 import com.stormpath.spring.security.authz.permission.WildcardPermission;
+import com.stormpath.spring.security.authz.permission.WildcardPermissionSet;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link PermissionEvaluator} that determines if a {@link WildcardPermission} matches a given permission.
@@ -51,11 +57,28 @@ import java.util.Collection;
  *      <sec:authorize access="hasPermission(...)" />
  *      }
  * </pre>
+ * <h3>Performance</h3>
+ * When an {@code Authentication} has more than {@link #COMPILE_THRESHOLD} granted authorities, its permissions are
+ * compiled into a {@link WildcardPermissionSet} the first time they are evaluated, so that each check costs the same
+ * regardless of the number of permissions.  Compiled sets are retained for as long as the (immutable) authorities collection of the
+ * {@code Authentication} is reachable.
  *
  * @since 0.2.0
  */
 public class WildcardPermissionEvaluator implements PermissionEvaluator {
 
+    /**
+     * The number of granted authorities up to which permissions are evaluated one by one instead of being compiled.
+     *
+     * @since 1.6.0
+     */
+    public static final int COMPILE_THRESHOLD = 16;
+
+    //keyed by the identity of the authorities collection, which is immutable for Spring Security's tokens:
+    private final ConcurrentMap<IdentityKey, WildcardPermissionSet> permissionSets =
+            new ConcurrentHashMap<IdentityKey, WildcardPermissionSet>();
+    private final ReferenceQueue<Object> collectedAuthorities = new ReferenceQueue<Object>();
+
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
 
@@ -68,6 +91,9 @@ public class WildcardPermissionEvaluator implements PermissionEvaluator {
         Permission toMatch = new WildcardPermission( domainObjectString + permission);
 
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (authorities.size() > COMPILE_THRESHOLD) {
+            return getPermissionSet(authorities).implies(toMatch);
+        }
         for(GrantedAuthority authority : authorities) {
             //This evaluator only compares WildcardPermissions
             if (authority instanceof WildcardPermission) {
@@ -92,4 +118,58 @@ public class WildcardPermissionEvaluator implements PermissionEvaluator {
         return hasPermission(authentication, targetType + targetIdString, permission);
     }
 
+    /**
+     * Returns the compiled permissions among the specified authorities, compiling them if necessary.
+     *
+     * @since 1.6.0
+     */
+    private WildcardPermissionSet getPermissionSet(Collection<? extends GrantedAuthority> authorities) {
+        expungeCollectedAuthorities();
+        WildcardPermissionSet permissionSet = permissionSets.get(new IdentityKey(authorities, null));
+        if (permissionSet == null) {
+            permissionSet = WildcardPermissionSet.of(authorities);
+            permissionSets.put(new IdentityKey(authorities, collectedAuthorities), permissionSet);
+        }
+        return permissionSet;
+    }
+
+    private void expungeCollectedAuthorities() {
+        Reference<?> reference;
+        while ((reference = collectedAuthorities.poll()) != null) {
+            permissionSets.remove(reference);
+        }
+    }
+
+    /**
+     * A weak reference that is equal to another one if they refer to the same object.
+     *
+     * @since 1.6.0
+     */
+    private static final class IdentityKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((IdentityKey) o).get();
+        }
+    }
+
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.security.provider;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the granted authorities computed by the {@link StormpathAuthenticationProvider} for an account, keyed by
+ * account href in the {@link #CACHE_REGION_NAME} cache region of the Stormpath {@code CacheManager}.
+ * <p/>
+ * Cached authorities never outlive the resources they were computed from: along with the authorities, each entry
+ * references the data of every source resource (the account, its groups and their custom data) as it was held in that
+ * resource's own cache region.  An entry is only returned while every source resource is still cached with equal data,
+ * so authorities are recomputed as soon as one of them expires, is evicted, or is changed or deleted through the SDK -
+ * including the creation or deletion of a group membership, which uncaches the account.  If caching is disabled for any
+ * of those regions, nothing is cached.  With caches that hold their values in memory, the source data is the very
+ * instance that is still cached, so checking an entry does not compare any properties.
+ * <p/>
+ * This assumes that the configured resolvers derive authorities only from the account, its groups and their custom
+ * data, which is the case for all of the default resolvers.
+ *
+ * @see StormpathAuthenticationProvider#setGrantedAuthorityCache(GrantedAuthorityCache)
+ * @since 1.6.0
+ */
+public class GrantedAuthorityCache {
+
+    public static final String CACHE_REGION_NAME = GrantedAuthorityCache.class.getName();
+
+    private final CacheManager cacheManager;
+    private final Cache<String, Entry> cache;
+
+    public GrantedAuthorityCache(CacheManager cacheManager) {
+        Assert.notNull(cacheManager, "cacheManager cannot be null.");
+        this.cacheManager = cacheManager;
+        this.cache = cacheManager.getCache(CACHE_REGION_NAME);
+    }
+
+    /**
+     * Returns the granted authorities of the account with the specified href, or {@code null} if they are not cached
+     * or any resource they were computed from has changed since.
+     *
+     * @param accountHref the href of the account
+     * @return the granted authorities of the account, or {@code null}.
+     */
+    public Collection<GrantedAuthority> get(String accountHref) {
+        Assert.hasText(accountHref, "accountHref cannot be null or empty.");
+        Entry entry = cache.get(accountHref);
+        if (entry == null) {
+            return null;
+        }
+        for (Map.Entry<String, Map<String, Map<String, ?>>> region : entry.sourcesByRegion.entrySet()) {
+            if (!isCached(region.getKey(), region.getValue())) {
+                cache.remove(accountHref);
+                return null;
+            }
+        }
+        return entry.authorities;
+    }
+
+    /**
+     * Caches the granted authorities of the account with the specified href, provided that every source resource is
+     * currently cached.
+     *
+     * @param accountHref the href of the account
+     * @param authorities the account's granted authorities
+     * @param sources     the hrefs of the resources the authorities were computed from, mapped to their resource type
+     */
+    public void put(String accountHref, Collection<GrantedAuthority> authorities,
+                    Map<String, Class<? extends Resource>> sources) {
+        Assert.hasText(accountHref, "accountHref cannot be null or empty.");
+        Assert.notNull(authorities, "authorities cannot be null.");
+        Assert.notNull(sources, "sources cannot be null.");
+
+        Map<String, Set<String>> hrefsByRegion = new LinkedHashMap<String, Set<String>>();
+        for (Map.Entry<String, Class<? extends Resource>> source : sources.entrySet()) {
+            //region names are the resource interface names - see DefaultCacheRegionNameResolver:
+            String regionName = source.getValue().getName();
+            Set<String> hrefs = hrefsByRegion.get(regionName);
+            if (hrefs == null) {
+                hrefs = new HashSet<String>();
+                hrefsByRegion.put(regionName, hrefs);
+            }
+            hrefs.add(source.getKey());
+        }
+
+        Map<String, Map<String, Map<String, ?>>> sourcesByRegion = new HashMap<String, Map<String, Map<String, ?>>>();
+        for (Map.Entry<String, Set<String>> region : hrefsByRegion.entrySet()) {
+            Map<String, Map<String, ?>> data = getCachedData(region.getKey(), region.getValue());
+            if (data == null) {
+                return;
+            }
+            sourcesByRegion.put(region.getKey(), data);
+        }
+
+        cache.put(accountHref, new Entry(new HashSet<GrantedAuthority>(authorities), sourcesByRegion));
+    }
+
+    /**
+     * Removes the granted authorities of the account with the specified href, if any.
+     *
+     * @param accountHref the href of the account
+     */
+    public void remove(String accountHref) {
+        cache.remove(accountHref);
+    }
+
+    /**
+     * Returns the cached data of the resources with the specified hrefs in the specified region, or {@code null} if
+     * any of them is not cached.
+     */
+    private Map<String, Map<String, ?>> getCachedData(String regionName, Collection<String> hrefs) {
+        Cache<String, Map<String, ?>> region = cacheManager.getCache(regionName);
+        Map<String, Map<String, ?>> cached = new HashMap<String, Map<String, ?>>(hrefs.size() * 2);
+        for (String href : hrefs) {
+            Map<String, ?> data = region.get(href);
+            if (data == null) {
+                return null;
+            }
+            cached.put(href, data);
+        }
+        return cached;
+    }
+
+    /**
+     * Returns {@code true} if every specified resource is still cached in the specified region with equal data.
+     */
+    private boolean isCached(String regionName, Map<String, Map<String, ?>> sources) {
+        Cache<String, Map<String, ?>> region = cacheManager.getCache(regionName);
+        for (Map.Entry<String, Map<String, ?>> source : sources.entrySet()) {
+            Map<String, ?> data = region.get(source.getKey());
+            //the same instance is still cached, unless the region stores serialized values:
+            if (data != source.getValue() && (data == null || !data.equals(source.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Collection<GrantedAuthority> authorities;
+        private final Map<String, Map<String, Map<String, ?>>> sourcesByRegion;
+
+        private Entry(Set<GrantedAuthority> authorities, Map<String, Map<String, Map<String, ?>>> sourcesByRegion) {
+            this.authorities = Collections.unmodifiableSet(authorities);
+            this.sourcesByRegion = sourcesByRegion;
+        }
+    }
+}
@@ -19,11 +19,14 @@ import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.authc.AuthenticationRequest;
 import com.stormpath.sdk.authc.UsernamePasswordRequests;
+import com.stormpath.sdk.directory.CustomData;
 import com.stormpath.sdk.group.Group;
 import com.stormpath.sdk.group.GroupList;
 import com.stormpath.sdk.group.GroupStatus;
+import com.stormpath.sdk.group.Groups;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.resource.Resource;
 import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.spring.security.authz.permission.Permission;
 import com.stormpath.spring.security.token.ProviderAuthenticationToken;
@@ -34,10 +37,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * A {@code AuthenticationProvider} implementation that uses the <a href="http://www.stormpath.com">Stormpath</a> Cloud Identity
@@ -139,6 +151,13 @@ import java.util.Set;
  */
 public class StormpathAuthenticationProvider implements AuthenticationProvider {
 
+    /**
+     * The maximum number of groups per page supported by Stormpath.
+     *
+     * @since 1.6.0
+     */
+    private static final int GROUPS_PAGE_SIZE = 100;
+
     private final Application application;
 
     private GroupGrantedAuthorityResolver groupGrantedAuthorityResolver;
@@ -146,6 +165,9 @@ public class StormpathAuthenticationProvider implements AuthenticationProvider {
     private AccountGrantedAuthorityResolver accountGrantedAuthorityResolver;
     private AccountPermissionResolver accountPermissionResolver;
     private AuthenticationTokenFactory authenticationTokenFactory;
+    private boolean batchedAuthorityResolutionEnabled;
+    private ExecutorService authorityResolutionExecutor;
+    private GrantedAuthorityCache grantedAuthorityCache;
 
 
     public StormpathAuthenticationProvider(Application application) {
@@ -276,6 +298,88 @@ public class StormpathAuthenticationProvider implements AuthenticationProvider {
         this.authenticationTokenFactory = authenticationTokenFactory;
     }
 
+    /**
+     * Returns whether an account's groups are retrieved along with their custom data, in as few pages as possible,
+     * when resolving the account's granted authorities.  The default is {@code false}.
+     *
+     * @return whether an account's groups are retrieved along with their custom data when resolving the account's
+     * granted authorities.
+     * @since 1.6.0
+     */
+    public boolean isBatchedAuthorityResolutionEnabled() {
+        return batchedAuthorityResolutionEnabled;
+    }
+
+    /**
+     * Sets whether an account's groups are retrieved along with their custom data ({@code expand=customData}), in pages
+     * of the maximum size allowed by Stormpath, when resolving the account's granted authorities.  By default, groups
+     * are retrieved in pages of the default size and the custom data of each group is retrieved by a separate request
+     * when its permissions are resolved, so that a login costs one request per group in addition to the group pages.
+     * Enabling this mode avoids those requests, at the cost of transferring the custom data of every group, which is
+     * worthwhile unless groups have very large custom data that is not used for permissions.
+     *
+     * @param batchedAuthorityResolutionEnabled whether an account's groups are retrieved along with their custom data
+     *                                          when resolving the account's granted authorities.
+     * @since 1.6.0
+     */
+    public void setBatchedAuthorityResolutionEnabled(boolean batchedAuthorityResolutionEnabled) {
+        this.batchedAuthorityResolutionEnabled = batchedAuthorityResolutionEnabled;
+    }
+
+    /**
+     * Returns the {@code ExecutorService} used to resolve the granted authorities and permissions of an account's
+     * groups in parallel, or {@code null} if they are resolved sequentially by the authenticating thread (the default).
+     *
+     * @return the {@code ExecutorService} used to resolve group authorities in parallel, or {@code null}.
+     * @since 1.6.0
+     */
+    public ExecutorService getAuthorityResolutionExecutor() {
+        return authorityResolutionExecutor;
+    }
+
+    /**
+     * Sets the {@code ExecutorService} used to resolve the granted authorities and permissions of an account's groups
+     * in parallel.  This mostly benefits resolvers that retrieve data, such as the default
+     * {@link GroupCustomDataPermissionResolver} when {@link #setBatchedAuthorityResolutionEnabled(boolean) batched
+     * authority resolution} is disabled.  If the executor rejects a task, the group is resolved by the authenticating
+     * thread instead.  The executor is not shut down by this provider.
+     *
+     * @param authorityResolutionExecutor the {@code ExecutorService} used to resolve group authorities in parallel, or
+     *                                    {@code null} to resolve them sequentially.
+     * @since 1.6.0
+     */
+    public void setAuthorityResolutionExecutor(ExecutorService authorityResolutionExecutor) {
+        this.authorityResolutionExecutor = authorityResolutionExecutor;
+    }
+
+    /**
+     * Returns the {@link GrantedAuthorityCache} used to avoid resolving the granted authorities of an account on every
+     * authentication, or {@code null} if authorities are always resolved (the default).
+     *
+     * @return the {@link GrantedAuthorityCache} used to cache the granted authorities of accounts, or {@code null}.
+     * @since 1.6.0
+     */
+    public GrantedAuthorityCache getGrantedAuthorityCache() {
+        return grantedAuthorityCache;
+    }
+
+    /**
+     * Sets the {@link GrantedAuthorityCache} used to avoid resolving the granted authorities of an account on every
+     * authentication, typically created with the Stormpath client's {@code CacheManager}:
+     * <pre>
+     * provider.setGrantedAuthorityCache(new GrantedAuthorityCache(client.getCacheManager()));
+     * </pre>
+     * Cached authorities are discarded as soon as the account, one of its groups or their custom data change in the
+     * client's cache.
+     *
+     * @param grantedAuthorityCache the {@link GrantedAuthorityCache} used to cache the granted authorities of accounts,
+     *                              or {@code null} to always resolve them.
+     * @since 1.6.0
+     */
+    public void setGrantedAuthorityCache(GrantedAuthorityCache grantedAuthorityCache) {
+        this.grantedAuthorityCache = grantedAuthorityCache;
+    }
+
     /**
      * Performs actual authentication for the received authentication credentials using
      * <a href="http://www.stormpath.com">Stormpath</a> Cloud Identity Management service for a single application.
@@ -357,20 +461,40 @@ public class StormpathAuthenticationProvider implements AuthenticationProvider {
     }
 
     protected Collection<GrantedAuthority> getGrantedAuthorities(Account account) {
+        GrantedAuthorityCache cache = this.grantedAuthorityCache;
+        if (cache != null) {
+            Collection<GrantedAuthority> cached = cache.get(account.getHref());
+            if (cached != null) {
+                return new HashSet<GrantedAuthority>(cached);
+            }
+        }
+
         Collection<GrantedAuthority> grantedAuthorities = new HashSet<GrantedAuthority>();
 
-        GroupList groups = account.getGroups();
+        //the resources the authorities are computed from, by href, in case they are cached:
+        Map<String, Class<? extends Resource>> sources = new LinkedHashMap<String, Class<? extends Resource>>();
+        sources.put(account.getHref(), Account.class);
 
+        GroupList groups;
+        if (batchedAuthorityResolutionEnabled) {
+            groups = account.getGroups(Groups.criteria().withCustomData().limitTo(GROUPS_PAGE_SIZE));
+        } else {
+            groups = account.getGroups();
+        }
+
+        List<Group> enabledGroups = new ArrayList<Group>();
         for (Group group : groups) {
+            sources.put(group.getHref(), Group.class);
             if (GroupStatus.ENABLED.equals(group.getStatus())) {
-                Set<GrantedAuthority> groupGrantedAuthorities = resolveGrantedAuthorities(group);
-                grantedAuthorities.addAll(groupGrantedAuthorities);
-
-                Set<Permission> groupPermissions = resolvePermissions(group);
-                grantedAuthorities.addAll(groupPermissions);
+                enabledGroups.add(group);
+                if (cache != null && groupPermissionResolver != null) {
+                    sources.put(group.getCustomData().getHref(), CustomData.class);
+                }
             }
         }
 
+        grantedAuthorities.addAll(resolveGroupAuthorities(enabledGroups));
+
         Set<GrantedAuthority> accountGrantedAuthorities = resolveGrantedAuthorities(account);
         grantedAuthorities.addAll(accountGrantedAuthorities);
 
@@ -379,6 +503,80 @@ public class StormpathAuthenticationProvider implements AuthenticationProvider {
             grantedAuthorities.add(permission);
         }
 
+        if (cache != null) {
+            if (accountPermissionResolver != null) {
+                sources.put(account.getCustomData().getHref(), CustomData.class);
+            }
+            cache.put(account.getHref(), grantedAuthorities, sources);
+        }
+
+        return grantedAuthorities;
+    }
+
+    /**
+     * Resolves the granted authorities and permissions of the specified groups, in parallel if an
+     * {@link #setAuthorityResolutionExecutor(ExecutorService) authorityResolutionExecutor} is configured.
+     *
+     * @since 1.6.0
+     */
+    private Set<GrantedAuthority> resolveGroupAuthorities(List<Group> groups) {
+        Set<GrantedAuthority> grantedAuthorities = new HashSet<GrantedAuthority>();
+
+        ExecutorService executor = this.authorityResolutionExecutor;
+        if (executor == null || groups.size() < 2) {
+            for (Group group : groups) {
+                grantedAuthorities.addAll(resolveGroupAuthorities(group));
+            }
+            return grantedAuthorities;
+        }
+
+        List<Future<Set<GrantedAuthority>>> futures = new ArrayList<Future<Set<GrantedAuthority>>>(groups.size());
+        List<Group> rejected = new ArrayList<Group>();
+        for (final Group group : groups) {
+            try {
+                futures.add(executor.submit(new Callable<Set<GrantedAuthority>>() {
+                    @Override
+                    public Set<GrantedAuthority> call() throws Exception {
+                        return resolveGroupAuthorities(group);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                rejected.add(group);
+            }
+        }
+
+        try {
+            for (Group group : rejected) {
+                grantedAuthorities.addAll(resolveGroupAuthorities(group));
+            }
+            for (Future<Set<GrantedAuthority>> future : futures) {
+                grantedAuthorities.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while resolving group authorities.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AuthenticationServiceException("Unable to resolve group authorities.", cause);
+        } finally {
+            for (Future<Set<GrantedAuthority>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return grantedAuthorities;
+    }
+
+    private Set<GrantedAuthority> resolveGroupAuthorities(Group group) {
+        Set<GrantedAuthority> grantedAuthorities = new HashSet<GrantedAuthority>();
+        grantedAuthorities.addAll(resolveGrantedAuthorities(group));
+        grantedAuthorities.addAll(resolvePermissions(group));
         return grantedAuthorities;
     }
 
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.security.authz.permission
+
+import org.springframework.security.core.GrantedAuthority
+import org.springframework.security.core.authority.SimpleGrantedAuthority
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class WildcardPermissionSetTest {
+
+    static WildcardPermissionSet compile(String... permissions) {
+        return WildcardPermissionSet.of(permissions.collect { new WildcardPermission(it) })
+    }
+
+    static boolean implies(WildcardPermissionSet set, String permission) {
+        return set.implies(new WildcardPermission(permission))
+    }
+
+    @Test
+    void testEmpty() {
+        def set = WildcardPermissionSet.of([])
+        assertTrue set.isEmpty()
+        assertFalse implies(set, "newsletter:edit")
+    }
+
+    @Test
+    void testPartsAndSubparts() {
+        def set = compile("newsletter:edit:12,13,18", "printer:print,query", "document:*:42", "blog")
+
+        assertEquals set.size(), 4
+        assertTrue implies(set, "newsletter:edit:13")
+        assertTrue implies(set, "newsletter:edit:12,18")
+        assertFalse implies(set, "newsletter:edit:14")
+        assertFalse implies(set, "newsletter:edit")
+        assertFalse implies(set, "newsletter:edit:*")
+        assertTrue implies(set, "printer:query")
+        assertTrue implies(set, "printer:print,query:lp7200")
+        assertFalse implies(set, "printer:print,manage")
+        assertTrue implies(set, "document:delete:42")
+        assertFalse implies(set, "document:delete:43")
+        assertTrue implies(set, "blog:post:create")
+    }
+
+    @Test
+    void testSubpartsMustBeImpliedByTheSamePermission() {
+        def set = compile("newsletter:view", "newsletter:edit")
+
+        assertTrue implies(set, "newsletter:view")
+        assertTrue implies(set, "newsletter:edit")
+        assertFalse implies(set, "newsletter:view,edit")
+    }
+
+    @Test
+    void testTrailingWildcards() {
+        def set = compile("newsletter:*:*", "printer:print:*:lp7200")
+
+        assertTrue implies(set, "newsletter")
+        assertTrue implies(set, "newsletter:edit")
+        assertFalse implies(set, "printer:print")
+        assertTrue implies(set, "printer:print:color:lp7200")
+        assertTrue implies(set, "*")
+    }
+
+    @Test
+    void testCaseSensitivity() {
+        def set = WildcardPermissionSet.of([new WildcardPermission("Newsletter:Edit"),
+                                            new WildcardPermission("Printer:Print", true)])
+
+        assertTrue implies(set, "NEWSLETTER:edit")
+        assertTrue implies(set, "Printer:Print")
+        assertFalse implies(set, "printer:print")
+    }
+
+    @Test
+    void testOtherAuthoritiesAreIgnored() {
+        def set = WildcardPermissionSet.of([new SimpleGrantedAuthority("newsletter:edit"),
+                                            new WildcardPermission("printer:print")] as List<GrantedAuthority>)
+
+        assertEquals set.size(), 1
+        assertFalse implies(set, "newsletter:edit")
+        assertTrue implies(set, "printer:print")
+    }
+
+    @Test
+    void testPermissionsOverridingImplies() {
+        def permission = new WildcardPermission("newsletter:edit") {
+            @Override
+            boolean implies(Permission p) {
+                return true
+            }
+        }
+        def set = WildcardPermissionSet.of([permission])
+
+        assertTrue implies(set, "printer:print")
+    }
+
+    @Test
+    void testEquivalentToWildcardPermissionImplies() {
+        def random = new Random(42)
+        def tokens = ["a", "A", "b", "c", "*", "i", "I", "\u0131", "\u0130"] //dotless i, dotted I
+        def generate = {
+            (1..(1 + random.nextInt(4))).collect {
+                (1..(1 + random.nextInt(2))).collect { tokens[random.nextInt(tokens.size())] }.join(",")
+            }.join(":")
+        }
+
+        1000.times {
+            def permissions = (0..<random.nextInt(30)).collect {
+                new WildcardPermission(generate(), random.nextInt(4) == 0)
+            }
+            def set = WildcardPermissionSet.of(permissions)
+            50.times {
+                def permission = new WildcardPermission(generate())
+                assertEquals set.implies(permission), permissions.any { it.implies(permission) },
+                        "$permissions should imply $permission"
+            }
+        }
+    }
+}
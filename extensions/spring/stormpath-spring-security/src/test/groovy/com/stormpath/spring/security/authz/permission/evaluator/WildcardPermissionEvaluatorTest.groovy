@@ -116,6 +116,27 @@ class WildcardPermissionEvaluatorTest {
         doTestFourParameters("123", "newsletter", "read:write", constructPermissionSet(["newsletter:*:read"] as String[]), true)
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    public void testManyAuthorities() {
+        def permissions = (1..100).collect { "newsletter:edit:$it".toString() } as String[]
+        def authorities = constructPermissionSet(permissions)
+        assertTrue authorities.size() > WildcardPermissionEvaluator.COMPILE_THRESHOLD
+
+        def authentication = createMock(Authentication)
+        expect(authentication.getAuthorities()).andReturn(authorities).times(3)
+        replay authentication
+
+        WildcardPermissionEvaluator wpe = new WildcardPermissionEvaluator();
+        assertTrue wpe.hasPermission(authentication, "newsletter", "edit:42")
+        assertTrue wpe.hasPermission(authentication, "NEWSLETTER", "EDIT:100")
+        assertFalse wpe.hasPermission(authentication, "newsletter", "edit:101")
+
+        verify authentication
+    }
+
     private void doTestFourParameters(Serializable targetId, String targetType, Object permission, Collection<? extends GrantedAuthority> gaList, Boolean expected) {
 
         def authentication = createMock(Authentication)
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.security.provider
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.directory.CustomData
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import org.springframework.security.core.GrantedAuthority
+import org.springframework.security.core.authority.SimpleGrantedAuthority
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class GrantedAuthorityCacheTest {
+
+    static final String ACCOUNT_HREF = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"
+    static final String CUSTOM_DATA_HREF = ACCOUNT_HREF + "/customData"
+
+    DefaultCacheManager cacheManager
+    GrantedAuthorityCache authorities
+    Collection<GrantedAuthority> granted
+
+    @BeforeMethod
+    void setUp() {
+        cacheManager = new DefaultCacheManager()
+        authorities = new GrantedAuthorityCache(cacheManager)
+        granted = [new SimpleGrantedAuthority("ROLE_ADMIN")]
+        cacheManager.getCache(Account.name).put(ACCOUNT_HREF, [href: ACCOUNT_HREF, username: "jsmith"])
+    }
+
+    void put(Map customData) {
+        cacheManager.getCache(CustomData.name).put(CUSTOM_DATA_HREF, customData)
+        authorities.put(ACCOUNT_HREF, granted, [(ACCOUNT_HREF): Account, (CUSTOM_DATA_HREF): CustomData])
+    }
+
+    @Test
+    void testCachedWhileSourcesAreCached() {
+        put([href: CUSTOM_DATA_HREF, role: "admin"])
+        assertEquals authorities.get(ACCOUNT_HREF), granted as Set
+    }
+
+    @Test
+    void testNotCachedIfASourceIsNotCached() {
+        authorities.put(ACCOUNT_HREF, granted, [(ACCOUNT_HREF): Account, (CUSTOM_DATA_HREF): CustomData])
+        assertNull authorities.get(ACCOUNT_HREF)
+    }
+
+    @Test
+    void testEqualSourceDataIsStillValid() {
+        put([href: CUSTOM_DATA_HREF, role: "admin"])
+
+        //e.g. a cache holding serialized values returns a new, equal instance:
+        cacheManager.getCache(CustomData.name).put(CUSTOM_DATA_HREF, [href: CUSTOM_DATA_HREF, role: "admin"])
+
+        assertEquals authorities.get(ACCOUNT_HREF), granted as Set
+    }
+
+    @Test
+    void testChangedSourceDataWithTheSameHashCode() {
+        put([href: CUSTOM_DATA_HREF, role: "Aa"])
+        def changed = [href: CUSTOM_DATA_HREF, role: "BB"]
+        assertEquals changed.hashCode(), [href: CUSTOM_DATA_HREF, role: "Aa"].hashCode()
+
+        cacheManager.getCache(CustomData.name).put(CUSTOM_DATA_HREF, changed)
+
+        assertNull authorities.get(ACCOUNT_HREF)
+        assertNull authorities.get(ACCOUNT_HREF) //and the entry was removed
+    }
+
+    @Test
+    void testUncachedSource() {
+        put([href: CUSTOM_DATA_HREF, role: "admin"])
+        cacheManager.getCache(Account.name).remove(ACCOUNT_HREF)
+        assertNull authorities.get(ACCOUNT_HREF)
+    }
+}
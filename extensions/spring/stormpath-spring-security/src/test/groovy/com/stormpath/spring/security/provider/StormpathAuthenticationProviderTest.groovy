@@ -19,8 +19,11 @@ import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.application.Application
 import com.stormpath.sdk.authc.AuthenticationRequest
 import com.stormpath.sdk.authc.AuthenticationResult
+import com.stormpath.sdk.cache.CacheManager
+import com.stormpath.sdk.cache.Caches
 import com.stormpath.sdk.directory.CustomData
 import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.GroupCriteria
 import com.stormpath.sdk.group.GroupList
 import com.stormpath.sdk.group.GroupStatus
 import com.stormpath.spring.security.token.ProviderAuthenticationToken
@@ -33,6 +36,8 @@ import org.springframework.security.core.userdetails.UserDetails
 import org.testng.annotations.BeforeMethod
 import org.testng.annotations.Test
 
+import java.util.concurrent.Executors
+
 import static org.easymock.EasyMock.anyObject
 import static org.easymock.EasyMock.createNiceMock
 import static org.easymock.EasyMock.createStrictMock
@@ -41,6 +46,7 @@ import static org.easymock.EasyMock.getCurrentArguments
 import static org.easymock.EasyMock.replay
 import static org.easymock.EasyMock.verify
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNull
 import static org.testng.Assert.assertTrue
 
 class StormpathAuthenticationProviderTest {
@@ -273,6 +279,118 @@ class StormpathAuthenticationProviderTest {
         assertEquals groupGrantedAuthorityResolver, authenticationProvider.groupGrantedAuthorityResolver
     }
 
+    /**
+     * @since 1.6.0
+     */
+    static CustomData customData(String href, String... permissions) {
+        return [getHref: { href }, get: { key -> key == "springSecurityPermissions" ? (permissions as Set) : null }] as CustomData
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    static Group group(String href, GroupStatus status, String... permissions) {
+        def customData = customData(href + "/customData", permissions)
+        return [getHref: { href }, getStatus: { status }, getCustomData: { customData }] as Group
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    static GroupList groupList(List<Group> groups) {
+        return [iterator: { groups.iterator() }] as GroupList
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testBatchedAuthorityResolutionExpandsGroupCustomData() {
+        def groups = [group("https://api.stormpath.com/v1/groups/admins", GroupStatus.ENABLED, "printer:print"),
+                      group("https://api.stormpath.com/v1/groups/old", GroupStatus.DISABLED, "printer:all")]
+        def accountCustomData = customData(acctHref + "/customData", "printer:query")
+        def criteria = []
+        def account = [getHref: { acctHref }, getCustomData: { accountCustomData },
+                       getGroups: { GroupCriteria c -> criteria << c; groupList(groups) }] as Account
+
+        authenticationProvider.batchedAuthorityResolutionEnabled = true
+        def authorities = authenticationProvider.getGrantedAuthorities(account)*.authority as Set
+
+        assertEquals criteria.size(), 1
+        assertTrue criteria[0].toString().contains("limit 100")
+        assertTrue criteria[0].toString().contains("customData")
+        //group authorities are group hrefs by default:
+        assertEquals authorities, ["https://api.stormpath.com/v1/groups/admins", "printer:print", "printer:query"] as Set
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGroupAuthoritiesResolvedInParallel() {
+        def groups = (1..10).collect { group("https://api.stormpath.com/v1/groups/g$it", GroupStatus.ENABLED, "doc:read:$it") }
+        def accountCustomData = customData(acctHref + "/customData")
+        def account = [getHref: { acctHref }, getCustomData: { accountCustomData }, getGroups: { groupList(groups) }] as Account
+
+        def executor = Executors.newFixedThreadPool(4)
+        try {
+            authenticationProvider.authorityResolutionExecutor = executor
+            def authorities = authenticationProvider.getGrantedAuthorities(account)*.authority as Set
+
+            assertEquals authorities.size(), 20
+            (1..10).each {
+                assertTrue authorities.contains("https://api.stormpath.com/v1/groups/g$it".toString())
+                assertTrue authorities.contains("doc:read:$it".toString())
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGrantedAuthoritiesCachedUntilSourceResourceChanges() {
+        CacheManager cacheManager = Caches.newCacheManager().build()
+        def groupHref = "https://api.stormpath.com/v1/groups/admins"
+        //the resources as cached by the data store when they are retrieved:
+        cacheManager.getCache(Account.name).put(acctHref, [href: acctHref, username: acctUsername])
+        cacheManager.getCache(Group.name).put(groupHref, [href: groupHref, name: "admins", status: "ENABLED"])
+        cacheManager.getCache(CustomData.name).put(groupHref + "/customData", [href: groupHref + "/customData"])
+        cacheManager.getCache(CustomData.name).put(acctHref + "/customData", [href: acctHref + "/customData"])
+
+        def groups = [group(groupHref, GroupStatus.ENABLED, "printer:print")]
+        def accountCustomData = customData(acctHref + "/customData")
+        int reads = 0
+        def account = [getHref: { acctHref }, getCustomData: { accountCustomData },
+                       getGroups: { GroupCriteria c -> reads++; groupList(groups) }] as Account
+
+        authenticationProvider.batchedAuthorityResolutionEnabled = true
+        authenticationProvider.grantedAuthorityCache = new GrantedAuthorityCache(cacheManager)
+
+        def expected = [groupHref, "printer:print"] as Set
+        assertEquals authenticationProvider.getGrantedAuthorities(account)*.authority as Set, expected
+        assertEquals authenticationProvider.getGrantedAuthorities(account)*.authority as Set, expected
+        assertEquals reads, 1
+
+        //the group's custom data is updated:
+        cacheManager.getCache(CustomData.name).put(groupHref + "/customData", [href: groupHref + "/customData", foo: "bar"])
+        authenticationProvider.getGrantedAuthorities(account)
+        assertEquals reads, 2
+        authenticationProvider.getGrantedAuthorities(account)
+        assertEquals reads, 2
+
+        //a membership of the account is created or deleted:
+        cacheManager.getCache(Account.name).remove(acctHref)
+        authenticationProvider.getGrantedAuthorities(account)
+        assertEquals reads, 3
+        //the account is not cached, so neither are its authorities:
+        authenticationProvider.getGrantedAuthorities(account)
+        assertEquals reads, 4
+        assertNull authenticationProvider.grantedAuthorityCache.get(acctHref)
+    }
+
     @Test
     void testSupports() {
         assertTrue authenticationProvider.supports(UsernamePasswordAuthenticationToken)
@@ -49,6 +49,8 @@ import com.stormpath.sdk.impl.api.DefaultApiKey;
 import com.stormpath.sdk.impl.api.DefaultApiKeyOptions;
 import com.stormpath.sdk.impl.ds.InternalDataStore;
 import com.stormpath.sdk.impl.group.DefaultGroupMembership;
+import com.stormpath.sdk.impl.group.GroupMembershipIndex;
+import com.stormpath.sdk.impl.group.GroupMembershipIndexCache;
 import com.stormpath.sdk.impl.provider.IdentityProviderType;
 import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.BooleanProperty;
@@ -76,6 +78,7 @@ import com.stormpath.sdk.query.Criteria;
 import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.sdk.tenant.Tenant;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -354,19 +357,7 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
     @Override
     public Account removeGroup(Group group) {
         Assert.notNull(group, "group cannot be null");
-        GroupMembership groupMembership = null;
-        for (GroupMembership aGroupMembership : getGroupMemberships()) {
-            if (aGroupMembership.getGroup().getHref().equals(group.getHref())) {
-                groupMembership = aGroupMembership;
-                break;
-            }
-        }
-        if (groupMembership != null) {
-            groupMembership.delete();
-        } else {
-            throw new IllegalStateException("This account does not belong to the specified group.");
-        }
-        return this;
+        return removeGroupMembership(group.getHref(), false);
     }
 
     /**
@@ -374,18 +365,33 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
      */
     @Override
     public Account removeGroup(String hrefOrName) {
-        GroupMembership groupMembership = null;
-        for (GroupMembership aGroupMembership : getGroupMemberships()) {
-            if (aGroupMembership.getGroup().getName().equals(hrefOrName) || aGroupMembership.getGroup().getHref().equals(hrefOrName)) {
-                groupMembership = aGroupMembership;
-                break;
-            }
+        return removeGroupMembership(hrefOrName, true);
+    }
+
+    /**
+     * Deletes the membership of this account in the specified group, found via the account's
+     * {@link GroupMembershipIndex} instead of iterating over its group memberships.
+     *
+     * @since 1.6.0
+     */
+    private Account removeGroupMembership(String hrefOrName, boolean matchName) {
+        GroupMembershipIndexCache indexes = getDataStore().getGroupMembershipIndexCache();
+        String membershipHref = indexes.get(this).getMembershipHref(hrefOrName, matchName);
+        if (membershipHref == null) {
+            //the index might predate the membership (e.g. if it was created by another client): check again
+            indexes.invalidate(getHref());
+            membershipHref = indexes.get(this).getMembershipHref(hrefOrName, matchName);
         }
-        if (groupMembership != null) {
-            groupMembership.delete();
-        } else {
+        if (membershipHref == null) {
             throw new IllegalStateException("This account does not belong to the specified group.");
         }
+        Map<String, Object> properties = new LinkedHashMap<String, Object>(1);
+        properties.put(HREF_PROP_NAME, membershipHref);
+        try {
+            getDataStore().instantiate(GroupMembership.class, properties).delete();
+        } finally {
+            indexes.invalidate(getHref());
+        }
         return this;
     }
 
@@ -418,12 +424,8 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
         if (!Strings.hasText(hrefOrName)) {
             return false;
         }
-        for (Group aGroup : getGroups()) {
-            if (aGroup.getName().equalsIgnoreCase(hrefOrName) || aGroup.getHref().equalsIgnoreCase(hrefOrName)) {
-                return true;
-            }
-        }
-        return false;
+        //@since 1.6.0: constant time lookup instead of iterating over all of the account's groups on every call:
+        return getDataStore().getGroupMembershipIndexCache().get(this).containsGroup(hrefOrName);
     }
 
     /**
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.api;
+
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded, in-memory record of API Keys whose secret has already been verified by an API Key (HTTP Basic)
+ * authentication, so that repeated authentications with the same key do not have to retrieve the key, decrypt its
+ * secret and retrieve its account again.
+ * <p/>
+ * Secrets are never retained: each entry only holds a salted SHA-256 hash of the verified secret, together with the
+ * hrefs of the key and of its account.  Entries are only recorded for enabled keys of enabled accounts and are only
+ * returned for a short {@link #setTimeToLive(Duration) time to live}.  They are invalidated when the key, or its
+ * account, is saved or deleted through the same {@code DataStore}; keys disabled by other clients remain trusted until
+ * their entry expires.
+ * <p/>
+ * Entries are also indexed by the hrefs of their key and account, so that invalidations do not need to scan the whole
+ * cache.
+ *
+ * @since 1.6.0
+ */
+public class VerifiedApiKeyCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = new Duration(1, TimeUnit.MINUTES);
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final int SALT_LENGTH = 16;
+
+    private final Map<String, VerifiedApiKey> keys;
+
+    //the indexes and the modifications of 'keys' are guarded by 'this':
+    private final Map<String, String> apiKeyIdsByApiKeyHref = new HashMap<String, String>();
+    private final Map<String, Set<String>> apiKeyIdsByAccountHref = new HashMap<String, Set<String>>();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile long timeToLiveMillis = DEFAULT_TIME_TO_LIVE.getTimeUnit().toMillis(DEFAULT_TIME_TO_LIVE.getValue());
+
+    public VerifiedApiKeyCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public VerifiedApiKeyCache(int maxEntries) {
+        this.keys = new SegmentedLruMap<String, VerifiedApiKey>(maxEntries) {
+            @Override
+            protected void onEviction(String apiKeyId, VerifiedApiKey key) {
+                //only invoked by keys.put, while holding this cache's lock:
+                removeReferences(apiKeyId, key);
+            }
+        };
+    }
+
+    public Duration getTimeToLive() {
+        return new Duration(timeToLiveMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets how long a verified API Key is trusted without being retrieved again.  Defaults to one minute.
+     *
+     * @param timeToLive how long a verified API Key is trusted without being retrieved again.
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        Assert.notNull(timeToLive, "timeToLive cannot be null.");
+        Assert.isTrue(timeToLive.getValue() > 0, "timeToLive must be greater than zero.");
+        this.timeToLiveMillis = timeToLive.getTimeUnit().toMillis(timeToLive.getValue());
+    }
+
+    /**
+     * Returns the unexpired verification of the specified API Key for the specified application, or {@code null} if
+     * there is none or if the specified secret does not match the verified one.
+     *
+     * @param apiKeyId        the id of the API Key
+     * @param secret          the submitted secret
+     * @param applicationHref the href of the application authenticating the key
+     * @return the unexpired verification of the specified API Key, or {@code null} if there is none.
+     */
+    public VerifiedApiKey get(String apiKeyId, String secret, String applicationHref) {
+        if (apiKeyId == null || secret == null) {
+            return null;
+        }
+        VerifiedApiKey key = keys.get(apiKeyId);
+        if (key == null) {
+            return null;
+        }
+        if (key.isExpired()) {
+            remove(apiKeyId);
+            return null;
+        }
+        //a mismatching secret does not evict the entry: the submitted secret is simply not trusted
+        if (!key.getApplicationHref().equals(applicationHref) ||
+            !MessageDigest.isEqual(key.secretHash, hash(key.salt, secret))) {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * Records that the specified secret of the specified enabled API Key, belonging to an enabled account, has been
+     * verified.
+     *
+     * @param apiKeyId        the id of the API Key
+     * @param secret          the verified secret
+     * @param applicationHref the href of the application that authenticated the key
+     * @param apiKeyHref      the href of the API Key
+     * @param accountHref     the href of the API Key's account
+     */
+    public void put(String apiKeyId, String secret, String applicationHref, String apiKeyHref, String accountHref) {
+        Assert.hasText(apiKeyId, "apiKeyId cannot be null or empty.");
+        Assert.hasText(secret, "secret cannot be null or empty.");
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        long expiration = System.currentTimeMillis() + timeToLiveMillis;
+        VerifiedApiKey key = new VerifiedApiKey(applicationHref, apiKeyHref, accountHref, salt, hash(salt, secret),
+                                                expiration);
+        synchronized (this) {
+            VerifiedApiKey previous = keys.put(apiKeyId, key);
+            if (previous != null) {
+                removeReferences(apiKeyId, previous);
+            }
+            addReferences(apiKeyId, key);
+        }
+    }
+
+    /**
+     * Removes the API Key with the specified href.
+     *
+     * @param apiKeyHref the href of the saved or deleted API Key
+     */
+    public synchronized void invalidateApiKey(String apiKeyHref) {
+        String apiKeyId = apiKeyIdsByApiKeyHref.get(apiKeyHref);
+        if (apiKeyId != null) {
+            remove(apiKeyId);
+        }
+    }
+
+    /**
+     * Removes every API Key of the account with the specified href.
+     *
+     * @param accountHref the href of the saved or deleted account
+     */
+    public synchronized void invalidateAccount(String accountHref) {
+        Set<String> apiKeyIds = apiKeyIdsByAccountHref.get(accountHref);
+        if (apiKeyIds != null) {
+            for (String apiKeyId : new ArrayList<String>(apiKeyIds)) {
+                remove(apiKeyId);
+            }
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public synchronized void clear() {
+        keys.clear();
+        apiKeyIdsByApiKeyHref.clear();
+        apiKeyIdsByAccountHref.clear();
+    }
+
+    private synchronized void remove(String apiKeyId) {
+        VerifiedApiKey key = keys.remove(apiKeyId);
+        if (key != null) {
+            removeReferences(apiKeyId, key);
+        }
+    }
+
+    //guarded by 'this'
+    private void addReferences(String apiKeyId, VerifiedApiKey key) {
+        apiKeyIdsByApiKeyHref.put(key.getApiKeyHref(), apiKeyId);
+        Set<String> apiKeyIds = apiKeyIdsByAccountHref.get(key.getAccountHref());
+        if (apiKeyIds == null) {
+            apiKeyIds = new HashSet<String>();
+            apiKeyIdsByAccountHref.put(key.getAccountHref(), apiKeyIds);
+        }
+        apiKeyIds.add(apiKeyId);
+    }
+
+    //guarded by 'this'
+    private void removeReferences(String apiKeyId, VerifiedApiKey key) {
+        if (apiKeyId.equals(apiKeyIdsByApiKeyHref.get(key.getApiKeyHref()))) {
+            apiKeyIdsByApiKeyHref.remove(key.getApiKeyHref());
+        }
+        Set<String> apiKeyIds = apiKeyIdsByAccountHref.get(key.getAccountHref());
+        if (apiKeyIds != null) {
+            apiKeyIds.remove(apiKeyId);
+            if (apiKeyIds.isEmpty()) {
+                apiKeyIdsByAccountHref.remove(key.getAccountHref());
+            }
+        }
+    }
+
+    // Used for testing, package private
+    synchronized int getIndexSize() {
+        return apiKeyIdsByApiKeyHref.size() + apiKeyIdsByAccountHref.size();
+    }
+
+    private static byte[] hash(byte[] salt, String secret) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to obtain " + HASH_ALGORITHM + " MessageDigest instance.", e);
+        }
+        digest.update(salt);
+        return digest.digest(secret.getBytes(UTF8));
+    }
+
+    /**
+     * The outcome of a successful API Key authentication: the hrefs needed to authenticate subsequent requests with
+     * the same key without retrieving it again.
+     */
+    public static class VerifiedApiKey {
+
+        private final String applicationHref;
+        private final String apiKeyHref;
+        private final String accountHref;
+        private final byte[] salt;
+        private final byte[] secretHash;
+        private final long expiration;
+
+        private VerifiedApiKey(String applicationHref, String apiKeyHref, String accountHref, byte[] salt,
+                               byte[] secretHash, long expiration) {
+            Assert.hasText(applicationHref, "applicationHref cannot be null or empty.");
+            Assert.hasText(apiKeyHref, "apiKeyHref cannot be null or empty.");
+            Assert.hasText(accountHref, "accountHref cannot be null or empty.");
+            this.applicationHref = applicationHref;
+            this.apiKeyHref = apiKeyHref;
+            this.accountHref = accountHref;
+            this.salt = salt;
+            this.secretHash = secretHash;
+            this.expiration = expiration;
+        }
+
+        public String getApplicationHref() {
+            return applicationHref;
+        }
+
+        public String getApiKeyHref() {
+            return apiKeyHref;
+        }
+
+        public String getAccountHref() {
+            return accountHref;
+        }
+
+        public boolean isExpired() {
+            return expiration <= System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link SegmentedLruMap.Weigher Weigher} that estimates the heap footprint, in bytes, of a cached
+ * {@link DefaultCache.Entry DefaultCache.Entry}.
+ * <p/>
+ * Cached resource data is a graph of {@code Map<String,Object>} instances whose leaves are strings, numbers and
+ * booleans, so this weigher walks that graph and sums rough per-object costs for each node.  The result is an
+ * approximation suitable for capping a cache region's memory usage - it is not intended to be an exact measurement.
+ *
+ * @since 1.6.0
+ */
+public class ApproximateSizeWeigher implements SegmentedLruMap.Weigher<DefaultCache.Entry> {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int ENTRY_OVERHEAD = 32;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int MAP_OVERHEAD = 48;
+    private static final int COLLECTION_OVERHEAD = 40;
+
+    @Override
+    public long weigh(DefaultCache.Entry entry) {
+        return ENTRY_OVERHEAD + sizeOf(entry.getValue());
+    }
+
+    protected long sizeOf(Object o) {
+        if (o == null) {
+            return 0;
+        }
+        if (o instanceof String) {
+            return STRING_OVERHEAD + 2L * ((String) o).length();
+        }
+        if (o instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) o;
+            long size = MAP_OVERHEAD;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                size += ENTRY_OVERHEAD + sizeOf(e.getKey()) + sizeOf(e.getValue());
+            }
+            return size;
+        }
+        if (o instanceof Collection) {
+            Collection<?> c = (Collection<?>) o;
+            long size = COLLECTION_OVERHEAD;
+            for (Object element : c) {
+                size += REFERENCE_SIZE + sizeOf(element);
+            }
+            return size;
+        }
+        return OBJECT_OVERHEAD;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+
+import java.util.Map;
+
+/**
+ * A {@link Cache} that can store several entries at once more efficiently than one at a time, for example a cache
+ * backed by a remote server that can write all of the entries in a single network round trip.
+ * <p/>
+ * The SDK uses this interface when it caches several resources obtained from a single response, such as the items
+ * of a collection resource page.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ * @since 1.6.0
+ */
+public interface BulkCache<K, V> extends Cache<K, V> {
+
+    /**
+     * Adds all of the specified entries to the cache, as if {@link #put(Object, Object) put} was called for each of
+     * them.  Unlike {@code put}, the previous values of the entries are not returned.
+     *
+     * @param entries the entries to store in the cache.
+     */
+    void putAll(Map<? extends K, ? extends V> entries);
+}
@@ -44,4 +44,52 @@ public interface CacheConfiguration {
      * @return the Time-to-Idle setting to apply for all entries in the associated {@code Cache}.
      */
     Duration getTimeToIdle();
+
+    /**
+     * Returns the maximum number of entries the associated {@code Cache} may retain, or {@code 0} if the entry count
+     * is not bounded.
+     *
+     * @return the maximum number of entries the associated {@code Cache} may retain, or {@code 0} if the entry count
+     * is not bounded.
+     * @since 1.6.0
+     */
+    long getMaxEntries();
+
+    /**
+     * Returns the maximum approximate size in bytes of all entries the associated {@code Cache} may retain, or
+     * {@code 0} if the size is not bounded.
+     *
+     * @return the maximum approximate size in bytes of all entries the associated {@code Cache} may retain, or
+     * {@code 0} if the size is not bounded.
+     * @since 1.6.0
+     */
+    long getMaxWeight();
+
+    /**
+     * Returns the amount of time before an entry's Time-to-Live expiration within which reading the entry triggers a
+     * background refresh, or {@code null} if entries are not refreshed ahead of their expiration.
+     *
+     * @return the refresh-ahead window, or {@code null} if entries are not refreshed ahead of their expiration.
+     * @since 1.6.0
+     */
+    Duration getRefreshAheadWindow();
+
+    /**
+     * Returns the amount of time after an entry's Time-to-Live expiration during which the expired entry may still be
+     * returned while it is refreshed in the background, or {@code null} if expired entries are never returned.
+     *
+     * @return the stale-while-revalidate grace period, or {@code null} if expired entries are never returned.
+     * @since 1.6.0
+     */
+    Duration getStaleWhileRevalidatePeriod();
+
+    /**
+     * Returns {@code true} if the associated {@code Cache} stores its entries outside of the Java heap, {@code false}
+     * otherwise.
+     *
+     * @return {@code true} if the associated {@code Cache} stores its entries outside of the Java heap, {@code false}
+     * otherwise.
+     * @since 1.6.0
+     */
+    boolean isOffHeap();
 }
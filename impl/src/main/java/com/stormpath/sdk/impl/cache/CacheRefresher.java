@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Reloads cache entries in the background on behalf of a {@link DefaultCache} that has a
+ * {@link DefaultCache#getRefreshAheadWindow() refreshAheadWindow} or a
+ * {@link DefaultCache#getStaleWhileRevalidatePeriod() staleWhileRevalidatePeriod}.
+ * <p/>
+ * A refresher is expected to obtain the current value for the key from its source of truth and
+ * {@link com.stormpath.sdk.cache.Cache#put(Object, Object) put} it into the cache, which replaces the aging entry.
+ *
+ * @since 1.6.0
+ */
+public interface CacheRefresher {
+
+    /**
+     * Returns {@code true} if this refresher can reload the entries of the specified cache, {@code false} otherwise.
+     * A {@link DefaultCache} that cannot be refreshed ignores its refresh-ahead and stale-while-revalidate settings,
+     * so that it never serves an entry that nothing will replace.
+     *
+     * @param cacheName the name of the cache
+     * @return {@code true} if this refresher can reload the entries of the specified cache, {@code false} otherwise.
+     */
+    boolean canRefresh(String cacheName);
+
+    /**
+     * Requests that the entry with the specified key in the specified cache be reloaded.  Only called for caches this
+     * refresher {@link #canRefresh(String) can refresh}.  This method is called on the
+     * thread reading the cache entry, so implementations must not block: the reload itself must be performed
+     * asynchronously.
+     *
+     * @param cacheName the name of the cache containing the entry
+     * @param key       the key of the entry to reload
+     */
+    void refresh(String cacheName, Object key);
+}
@@ -16,13 +16,17 @@
 package com.stormpath.sdk.impl.cache;
 
 import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -35,6 +39,8 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class DefaultCache<K, V> implements Cache<K, V> {
 
+    private static final Logger log = LoggerFactory.getLogger(DefaultCache.class);
+
     /**
      * Backing map instance that stores the cache entries.
      */
@@ -52,6 +58,30 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      */
     private volatile Duration timeToIdle;
 
+    /**
+     * The amount of time before an entry's {@link #timeToLive} expiration within which reading the entry triggers a
+     * background refresh.
+     *
+     * @since 1.6.0
+     */
+    private volatile Duration refreshAheadWindow;
+
+    /**
+     * The amount of time after an entry's {@link #timeToLive} expiration during which the expired entry may still be
+     * returned while it is being refreshed in the background.
+     *
+     * @since 1.6.0
+     */
+    private volatile Duration staleWhileRevalidatePeriod;
+
+    /**
+     * Reloads entries in the background, {@code null} if there is none or if it cannot refresh this cache.
+     * Refresh-ahead and stale-while-revalidate are disabled without one.
+     *
+     * @since 1.6.0
+     */
+    private volatile CacheRefresher refresher;
+
     /**
      * The name of this cache.
      */
@@ -60,6 +90,8 @@ public class DefaultCache<K, V> implements Cache<K, V> {
     private final AtomicLong accessCount;
     private final AtomicLong hitCount;
     private final AtomicLong missCount;
+    private final AtomicLong refreshCount;
+    private final AtomicLong staleHitCount;
 
     /**
      * Creates a new {@code DefaultCache} instance with the specified {@code name}, expected to be unique among all
@@ -134,6 +166,8 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         this.accessCount = new AtomicLong(0);
         this.hitCount = new AtomicLong(0);
         this.missCount = new AtomicLong(0);
+        this.refreshCount = new AtomicLong(0);
+        this.staleHitCount = new AtomicLong(0);
     }
 
     protected static void assertTtl(Duration ttl) throws IllegalArgumentException {
@@ -148,6 +182,19 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         }
     }
 
+    /**
+     * @since 1.6.0
+     */
+    protected static void assertPositive(Duration d, String name) throws IllegalArgumentException {
+        if (d != null) {
+            Assert.isTrue(d.getValue() > 0, name + " duration must be greater than zero");
+        }
+    }
+
+    private static long toMillis(Duration d) {
+        return d.getTimeUnit().toMillis(d.getValue());
+    }
+
     public V get(K key) {
 
         this.accessCount.incrementAndGet();
@@ -164,12 +211,28 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         Duration ttl = this.timeToLive;
         Duration tti = this.timeToIdle;
 
+        boolean stale = false;
+
         if (ttl != null) {
             Duration sinceCreation = new Duration(nowMillis - entry.getCreationTimeMillis(), TimeUnit.MILLISECONDS);
+            CacheRefresher refresher = this.refresher;
             if (sinceCreation.isGreaterThan(ttl)) {
-                map.remove(key);
-                missCount.incrementAndGet(); //count an expired TTL as a miss
-                return null;
+                Duration grace = this.staleWhileRevalidatePeriod;
+                if (refresher == null || grace == null ||
+                    toMillis(sinceCreation) - toMillis(ttl) > toMillis(grace)) {
+                    map.remove(key);
+                    missCount.incrementAndGet(); //count an expired TTL as a miss
+                    return null;
+                }
+                //expired, but still within the grace period: serve it while it is being refreshed
+                stale = true;
+                refresh(key, entry, refresher);
+            } else {
+                Duration window = this.refreshAheadWindow;
+                if (refresher != null && window != null &&
+                    toMillis(ttl) - toMillis(sinceCreation) <= toMillis(window)) {
+                    refresh(key, entry, refresher);
+                }
             }
         }
 
@@ -185,15 +248,37 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         entry.lastAccessTimeMillis = nowMillis;
 
         hitCount.incrementAndGet();
+        if (stale) {
+            staleHitCount.incrementAndGet();
+        }
 
         return entry.getValue();
     }
 
+    /**
+     * Requests a background refresh of the specified entry, unless one was already requested for it.  A successful
+     * refresh {@link #put(Object, Object) puts} a new entry, so at most one refresh is requested per entry.
+     *
+     * @since 1.6.0
+     */
+    private void refresh(K key, Entry<V> entry, CacheRefresher refresher) {
+        if (!entry.refreshRequested.compareAndSet(false, true)) {
+            return;
+        }
+        refreshCount.incrementAndGet();
+        try {
+            refresher.refresh(name, key);
+        } catch (RuntimeException e) {
+            //a failed refresh must never fail the read of a (still valid) entry:
+            log.debug("Unable to refresh entry '{}' of cache '{}'.", key, name, e);
+        }
+    }
+
     public V put(K key, V value) {
         Entry<V> newEntry = new Entry<V>(value);
         Entry<V> previous = map.put(key, newEntry);
         if (previous != null) {
-            return previous.value;
+            return previous.getValue();
         }
         return null;
     }
@@ -204,7 +289,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         Entry<V> previous = map.remove(key);
         if (previous != null) {
             hitCount.incrementAndGet();
-            return previous.value;
+            return previous.getValue();
         } else {
             missCount.incrementAndGet();
             return null;
@@ -261,6 +346,79 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         this.timeToIdle = timeToIdle;
     }
 
+    /**
+     * Returns the amount of time before an entry's {@link #getTimeToLive() timeToLive} expiration within which reading
+     * the entry triggers a background refresh via the {@link #getRefresher() refresher}, or {@code null} if entries are
+     * not refreshed ahead of their expiration.
+     *
+     * @return the refresh-ahead window, or {@code null} if entries are not refreshed ahead of their expiration.
+     * @since 1.6.0
+     */
+    public Duration getRefreshAheadWindow() {
+        return refreshAheadWindow;
+    }
+
+    /**
+     * Sets the amount of time before an entry's {@link #getTimeToLive() timeToLive} expiration within which reading
+     * the entry triggers a background refresh via the {@link #getRefresher() refresher}.  The entry continues to be
+     * returned until it is replaced by the refreshed value, so readers never wait for the refresh.
+     *
+     * @param refreshAheadWindow the refresh-ahead window, or {@code null} to disable refresh-ahead.
+     * @since 1.6.0
+     */
+    public void setRefreshAheadWindow(Duration refreshAheadWindow) {
+        assertPositive(refreshAheadWindow, "refreshAheadWindow");
+        this.refreshAheadWindow = refreshAheadWindow;
+    }
+
+    /**
+     * Returns the amount of time after an entry's {@link #getTimeToLive() timeToLive} expiration during which the
+     * expired entry is still returned while it is refreshed in the background, or {@code null} if expired entries are
+     * never returned.
+     *
+     * @return the stale-while-revalidate grace period, or {@code null} if expired entries are never returned.
+     * @since 1.6.0
+     */
+    public Duration getStaleWhileRevalidatePeriod() {
+        return staleWhileRevalidatePeriod;
+    }
+
+    /**
+     * Sets the amount of time after an entry's {@link #getTimeToLive() timeToLive} expiration during which the
+     * expired entry is still returned while it is refreshed in the background via the
+     * {@link #getRefresher() refresher}.  Once this period elapses as well, the entry is removed as usual.
+     *
+     * @param staleWhileRevalidatePeriod the grace period, or {@code null} to never return expired entries.
+     * @since 1.6.0
+     */
+    public void setStaleWhileRevalidatePeriod(Duration staleWhileRevalidatePeriod) {
+        assertPositive(staleWhileRevalidatePeriod, "staleWhileRevalidatePeriod");
+        this.staleWhileRevalidatePeriod = staleWhileRevalidatePeriod;
+    }
+
+    /**
+     * Returns the {@code CacheRefresher} that reloads entries in the background, or {@code null} if there is none or
+     * if it cannot {@link CacheRefresher#canRefresh(String) refresh} this cache, in which case the {@link #getRefreshAheadWindow() refreshAheadWindow} and
+     * {@link #getStaleWhileRevalidatePeriod() staleWhileRevalidatePeriod} settings have no effect.
+     *
+     * @return the {@code CacheRefresher} that reloads entries in the background, or {@code null} if there is none.
+     * @since 1.6.0
+     */
+    public CacheRefresher getRefresher() {
+        return refresher;
+    }
+
+    /**
+     * Sets the {@code CacheRefresher} that reloads entries in the background.  A refresher that cannot
+     * {@link CacheRefresher#canRefresh(String) refresh} this cache is ignored.
+     *
+     * @param refresher the {@code CacheRefresher} that reloads entries in the background.
+     * @since 1.6.0
+     */
+    public void setRefresher(CacheRefresher refresher) {
+        this.refresher = refresher != null && refresher.canRefresh(name) ? refresher : null;
+    }
+
     /**
      * Returns the number of attempts to return a cache entry.  Note that because {@link #remove(Object)} will return
      * a value, calls to both {@link #get(Object)} and {@link #remove(Object)} will increment this number.
@@ -296,6 +454,46 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         return missCount.get();
     }
 
+    /**
+     * Returns the total number of entries that were evicted from this cache because its backing map reached its
+     * capacity.  Only bounded backing maps (i.e. a {@link SegmentedLruMap}) evict entries in this manner, so this
+     * value is always {@code 0} for other backing maps.  Entries removed due to
+     * {@link #getTimeToLive() timeToLive} or {@link #getTimeToIdle() timeToIdle} expiration are not counted.
+     *
+     * @return the total number of entries that were evicted from this cache because its backing map reached its
+     * capacity.
+     * @since 1.6.0
+     */
+    public long getEvictionCount() {
+        if (map instanceof SegmentedLruMap) {
+            return ((SegmentedLruMap) map).getEvictionCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the total number of background refreshes requested by this cache, due to either the
+     * {@link #getRefreshAheadWindow() refreshAheadWindow} or the
+     * {@link #getStaleWhileRevalidatePeriod() staleWhileRevalidatePeriod}.
+     *
+     * @return the total number of background refreshes requested by this cache.
+     * @since 1.6.0
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns the total number of times an expired entry was returned during its
+     * {@link #getStaleWhileRevalidatePeriod() staleWhileRevalidatePeriod}.  Such accesses are also counted as hits.
+     *
+     * @return the total number of times an expired entry was returned during its stale-while-revalidate period.
+     * @since 1.6.0
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
     /**
      * Returns the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.  The closer this
      * number is to {@code 1.0}, the more effectively the cache is being used.  The closer this number is to
@@ -344,6 +542,9 @@ public class DefaultCache<K, V> implements Cache<K, V> {
                 .append("      \"accessCount\": ").append(getAccessCount()).append(",\n")
                 .append("      \"hitCount\": ").append(getHitCount()).append(",\n")
                 .append("      \"missCount\": ").append(getMissCount()).append(",\n")
+                .append("      \"evictionCount\": ").append(getEvictionCount()).append(",\n")
+                .append("      \"refreshCount\": ").append(getRefreshCount()).append(",\n")
+                .append("      \"staleHitCount\": ").append(getStaleHitCount()).append(",\n")
                 .append("      \"hitRatio\": ").append(getHitRatio()).append("\n")
                 .append("    }")
                 .toString();
@@ -364,6 +565,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         private final V value;
         private final long creationTimeMillis;
         private volatile long lastAccessTimeMillis;
+        private final AtomicBoolean refreshRequested = new AtomicBoolean(); //@since 1.6.0
 
         /**
          * Creates a new Entry instance wrapping the specified {@code value}, defaulting both the
@@ -373,9 +575,21 @@ public class DefaultCache<K, V> implements Cache<K, V> {
          * @param value the cache entry to store.
          */
         public Entry(V value) {
+            this(value, System.currentTimeMillis());
+        }
+
+        /**
+         * Creates a new Entry instance wrapping the specified {@code value}, created at the specified time, for
+         * subclasses that store the value elsewhere - for example {@link OffHeapCacheMap}.
+         *
+         * @param value              the cache entry to store, or {@code null} if {@link #getValue()} is overridden.
+         * @param creationTimeMillis the time in millis since Epoch at which the entry was created.
+         * @since 1.6.0
+         */
+        protected Entry(V value, long creationTimeMillis) {
             this.value = value;
-            this.creationTimeMillis = System.currentTimeMillis();
-            this.lastAccessTimeMillis = this.creationTimeMillis;
+            this.creationTimeMillis = creationTimeMillis;
+            this.lastAccessTimeMillis = creationTimeMillis;
         }
 
         /**
@@ -28,12 +28,45 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
     private final String name;
     private final Duration timeToLive;
     private final Duration timeToIdle;
+    private final long maxEntries;
+    private final long maxWeight;
+    private final Duration refreshAheadWindow;
+    private final Duration staleWhileRevalidatePeriod;
+    private final boolean offHeap;
 
     public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle) {
+        this(name, timeToLive, timeToIdle, 0, 0);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, long maxEntries, long maxWeight) {
+        this(name, timeToLive, timeToIdle, maxEntries, maxWeight, null, null);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, long maxEntries, long maxWeight,
+                                     Duration refreshAheadWindow, Duration staleWhileRevalidatePeriod) {
+        this(name, timeToLive, timeToIdle, maxEntries, maxWeight, refreshAheadWindow, staleWhileRevalidatePeriod, false);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, long maxEntries, long maxWeight,
+                                     Duration refreshAheadWindow, Duration staleWhileRevalidatePeriod, boolean offHeap) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
         this.name = name;
         this.timeToLive = timeToLive;
         this.timeToIdle = timeToIdle;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxWeight = Math.max(0, maxWeight);
+        this.refreshAheadWindow = refreshAheadWindow;
+        this.staleWhileRevalidatePeriod = staleWhileRevalidatePeriod;
+        this.offHeap = offHeap;
     }
 
     static Duration toDuration(long value, TimeUnit tu) {
@@ -58,12 +91,42 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
         return this.timeToIdle;
     }
 
+    @Override
+    public long getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    @Override
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    @Override
+    public Duration getRefreshAheadWindow() {
+        return this.refreshAheadWindow;
+    }
+
+    @Override
+    public Duration getStaleWhileRevalidatePeriod() {
+        return this.staleWhileRevalidatePeriod;
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return this.offHeap;
+    }
+
     @Override
     public String toString() {
         return "DefaultCacheConfiguration{" +
                 "name='" + name + '\'' +
                 ", timeToLive=" + timeToLive +
                 ", timeToIdle=" + timeToIdle +
+                ", maxEntries=" + maxEntries +
+                ", maxWeight=" + maxWeight +
+                ", refreshAheadWindow=" + refreshAheadWindow +
+                ", staleWhileRevalidatePeriod=" + staleWhileRevalidatePeriod +
+                ", offHeap=" + offHeap +
                 '}';
     }
 }
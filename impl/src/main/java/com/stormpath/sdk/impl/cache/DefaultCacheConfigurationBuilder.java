@@ -29,6 +29,11 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
     private final String name;
     private Duration timeToLive;
     private Duration timeToIdle;
+    private long maxEntries;
+    private long maxWeight;
+    private Duration refreshAheadWindow;
+    private Duration staleWhileRevalidatePeriod;
+    private boolean offHeap;
 
     public DefaultCacheConfigurationBuilder(String name) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
@@ -47,6 +52,36 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return this;
     }
 
+    @Override
+    public CacheConfigurationBuilder withMaxEntries(long maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withMaxWeight(long maxWeight) {
+        this.maxWeight = Math.max(0, maxWeight);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withRefreshAhead(long window, TimeUnit windowTimeUnit) {
+        this.refreshAheadWindow = DefaultCacheConfiguration.toDuration(window, windowTimeUnit);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withStaleWhileRevalidate(long gracePeriod, TimeUnit gracePeriodTimeUnit) {
+        this.staleWhileRevalidatePeriod = DefaultCacheConfiguration.toDuration(gracePeriod, gracePeriodTimeUnit);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withOffHeapStorage(boolean offHeap) {
+        this.offHeap = offHeap;
+        return this;
+    }
+
     public String getName() {
         return name;
     }
@@ -59,7 +94,28 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return timeToIdle;
     }
 
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public Duration getRefreshAheadWindow() {
+        return refreshAheadWindow;
+    }
+
+    public Duration getStaleWhileRevalidatePeriod() {
+        return staleWhileRevalidatePeriod;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
     public CacheConfiguration build() {
-        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle());
+        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle(), getMaxEntries(), getMaxWeight(),
+                                             getRefreshAheadWindow(), getStaleWhileRevalidatePeriod(), isOffHeap());
     }
 }
@@ -17,11 +17,15 @@ package com.stormpath.sdk.impl.cache;
 
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -86,6 +90,8 @@ public class DefaultCacheManager implements CacheManager {
 
     private volatile Duration defaultTimeToLive;
     private volatile Duration defaultTimeToIdle;
+    private volatile CacheRefresher cacheRefresher;
+    private volatile MetricsRecorder metricsRecorder = new DisabledMetricsRecorder();
 
     /**
      * Default no-arg constructor that instantiates an internal name-to-cache {@code ConcurrentMap}.
@@ -167,6 +173,62 @@ public class DefaultCacheManager implements CacheManager {
         setDefaultTimeToIdle(new Duration(seconds, TimeUnit.SECONDS));
     }
 
+    /**
+     * Returns the {@code CacheRefresher} used by {@link DefaultCache} instances to reload entries in the background for
+     * regions configured with a {@link CacheConfiguration#getRefreshAheadWindow() refreshAheadWindow} or a
+     * {@link CacheConfiguration#getStaleWhileRevalidatePeriod() staleWhileRevalidatePeriod}.
+     *
+     * @return the {@code CacheRefresher} used to reload entries in the background, or {@code null} if there is none.
+     * @since 1.6.0
+     */
+    public CacheRefresher getCacheRefresher() {
+        return cacheRefresher;
+    }
+
+    /**
+     * Sets the {@code CacheRefresher} used by {@link DefaultCache} instances to reload entries in the background.
+     * Unlike the default Time to Live and Time to Idle settings, this setting also applies to existing caches.
+     *
+     * @param cacheRefresher the {@code CacheRefresher} used to reload entries in the background.
+     * @since 1.6.0
+     */
+    public void setCacheRefresher(CacheRefresher cacheRefresher) {
+        this.cacheRefresher = cacheRefresher;
+        for (Cache cache : caches.values()) {
+            if (cache instanceof DefaultCache) {
+                ((DefaultCache) cache).setRefresher(cacheRefresher);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code MetricsRecorder} that {@link DefaultCache} instances are registered with.
+     *
+     * @return the {@code MetricsRecorder} that {@link DefaultCache} instances are registered with.
+     * @since 1.6.0
+     */
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Sets the {@code MetricsRecorder} that {@link DefaultCache} instances are
+     * {@link MetricsRecorder#registerCache(DefaultCache) registered} with.  Existing caches are registered
+     * immediately, newly created caches as soon as they are created.
+     *
+     * @param metricsRecorder the {@code MetricsRecorder} that {@link DefaultCache} instances are registered with.
+     * @since 1.6.0
+     */
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Assert.notNull(metricsRecorder, "metricsRecorder cannot be null.");
+        this.metricsRecorder = metricsRecorder;
+        for (Cache cache : caches.values()) {
+            if (cache instanceof DefaultCache) {
+                metricsRecorder.registerCache((DefaultCache) cache);
+            }
+        }
+    }
+
     /**
      * Sets cache-specific configuration entries, to be utilized when creating cache instances.
      *
@@ -200,6 +262,8 @@ public class DefaultCacheManager implements CacheManager {
             Cache existing = caches.putIfAbsent(name, cache);
             if (existing != null) {
                 cache = existing;
+            } else if (cache instanceof DefaultCache) {
+                this.metricsRecorder.registerCache((DefaultCache) cache);
             }
         }
 
@@ -218,6 +282,10 @@ public class DefaultCacheManager implements CacheManager {
         Duration ttl = this.defaultTimeToLive != null ? this.defaultTimeToLive.clone() : null;
         Duration tti = this.defaultTimeToIdle != null ? this.defaultTimeToIdle.clone() : null;
 
+        Map backingMap = null;
+        Duration refreshAheadWindow = null;
+        Duration staleWhileRevalidatePeriod = null;
+
         CacheConfiguration config = this.configs.get(name);
         if (config != null) {
             Duration d = config.getTimeToLive();
@@ -228,9 +296,45 @@ public class DefaultCacheManager implements CacheManager {
             if (d != null) {
                 tti = d;
             }
+            backingMap = createBoundedMap(config);
+            refreshAheadWindow = config.getRefreshAheadWindow();
+            staleWhileRevalidatePeriod = config.getStaleWhileRevalidatePeriod();
+        }
+
+        if (backingMap == null) {
+            backingMap = new SoftHashMap();
         }
 
-        return new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        DefaultCache cache = new DefaultCache(name, backingMap, ttl, tti);
+        cache.setRefreshAheadWindow(refreshAheadWindow);
+        cache.setStaleWhileRevalidatePeriod(staleWhileRevalidatePeriod);
+        cache.setRefresher(this.cacheRefresher);
+        return cache;
+    }
+
+    /**
+     * Returns a bounded backing map for a cache region that specifies a {@link CacheConfiguration#getMaxEntries()
+     * maxEntries} and/or {@link CacheConfiguration#getMaxWeight() maxWeight}, or {@code null} if the region is
+     * unbounded, in which case a {@link SoftHashMap} is used.  The entries of an {@link CacheConfiguration#isOffHeap()
+     * off-heap} region are always kept in a bounded {@link OffHeapCacheMap}: native memory is not reclaimed under
+     * memory pressure, so an off-heap region without a {@code maxWeight} is bounded by
+     * {@link OffHeapCacheMap#DEFAULT_MAX_WEIGHT}.
+     *
+     * @param config the region's configuration
+     * @return a bounded backing map for the cache region, or {@code null} if the region is unbounded.
+     * @since 1.6.0
+     */
+    @SuppressWarnings("unchecked")
+    protected Map createBoundedMap(CacheConfiguration config) {
+        long maxEntries = config.getMaxEntries();
+        long maxWeight = config.getMaxWeight();
+        if (config.isOffHeap()) {
+            return new OffHeapCacheMap(maxEntries, maxWeight);
+        }
+        if (maxEntries <= 0 && maxWeight <= 0) {
+            return null;
+        }
+        return new SegmentedLruMap(maxEntries, maxWeight, maxWeight > 0 ? new ApproximateSizeWeigher() : null);
     }
 
     public String toString() {
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+import com.stormpath.sdk.lang.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link DefaultCache} backing map that keeps the cached values outside of the Java heap.
+ * <p/>
+ * Each value {@link #put(Object, DefaultCache.Entry) put} in this map is encoded with a compact
+ * {@link ResourceDataCodec binary encoding} and copied into a direct {@code ByteBuffer} <em>slab</em> shared by many
+ * entries.  The heap only retains an index of the entries: their keys, timestamps and slab locations.  Values are
+ * decoded on every {@link DefaultCache.Entry#getValue() read}, so this map trades some CPU time on cache hits for a
+ * much smaller heap (and shorter garbage collection pauses) when a region holds a very large number of resources.
+ * <p/>
+ * Entries are evicted like in any {@link SegmentedLruMap}.  The weight of an entry is the number of bytes of its
+ * encoded value, so {@code maxWeight} bounds the off-heap memory used by the entries.  If no {@code maxWeight} is
+ * specified, the map is bounded by a {@link #DEFAULT_MAX_WEIGHT default} one.  Slabs are allocated sequentially, and a
+ * slab is reused (or released) as soon as all of its entries have been removed, evicted or replaced.  Entries that are
+ * larger than a slab are stored in a dedicated buffer.
+ * <p/>
+ * Because the space of a removed entry is only reclaimed along with its slab, the {@link #getAllocatedBytes() allocated}
+ * memory is capped at {@code maxWeight} plus a quarter of it plus two slabs.  Once that cap is reached, the slab with
+ * the most unused space is compacted, i.e. its remaining entries are moved to its beginning, and if no slab has enough
+ * unused space, the least recently used entries are evicted until there is.
+ * <p/>
+ * Entries are read concurrently: reading an entry only excludes the compaction or recycling of its own slab.  An entry
+ * that is removed while it is being read is returned as a {@code null} value, i.e. a cache miss.
+ * <p/>
+ * This implementation is thread-safe.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ * @see CacheConfiguration#isOffHeap()
+ * @since 1.6.0
+ */
+public class OffHeapCacheMap<K, V> extends SegmentedLruMap<K, DefaultCache.Entry<V>> {
+
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * The {@code maxWeight} of a map created without one: 64 MB of encoded values.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * The maximum number of empty slabs retained for reuse.
+     */
+    private static final int MAX_FREE_SLABS = 4;
+
+    private final ResourceDataCodec codec;
+    private final int slabSize;
+    private final long maxAllocatedBytes;
+
+    //all fields below are guarded by 'slabLock':
+    private final Object slabLock = new Object();
+    private final Deque<Slab> freeSlabs = new ArrayDeque<Slab>(MAX_FREE_SLABS);
+    private final List<Slab> usedSlabs = new ArrayList<Slab>();
+    private Slab currentSlab;
+    private long allocatedBytes;
+
+    /**
+     * Creates a new {@code OffHeapCacheMap} with {@link #DEFAULT_SLAB_SIZE 1 MB} slabs.
+     *
+     * @param maxEntries the maximum number of entries retained by this map, or {@code 0} for no entry count limit.
+     * @param maxWeight  the maximum number of bytes of encoded values retained by this map, or {@code 0} for the
+     *                   {@link #DEFAULT_MAX_WEIGHT default}.
+     */
+    public OffHeapCacheMap(long maxEntries, long maxWeight) {
+        this(maxEntries, maxWeight, DEFAULT_SLAB_SIZE, new ResourceDataCodec());
+    }
+
+    /**
+     * Creates a new {@code OffHeapCacheMap}.
+     *
+     * @param maxEntries the maximum number of entries retained by this map, or {@code 0} for no entry count limit.
+     * @param maxWeight  the maximum number of bytes of encoded values retained by this map, or {@code 0} for the
+     *                   {@link #DEFAULT_MAX_WEIGHT default}.
+     * @param slabSize   the size in bytes of each off-heap slab
+     * @param codec      the codec used to encode and decode the cached values
+     */
+    public OffHeapCacheMap(long maxEntries, long maxWeight, int slabSize, ResourceDataCodec codec) {
+        super(maxEntries, maxWeight > 0 ? maxWeight : DEFAULT_MAX_WEIGHT, EncodedSizeWeigher.INSTANCE);
+        Assert.isTrue(slabSize > 0, "slabSize must be greater than zero.");
+        Assert.notNull(codec, "codec cannot be null.");
+        this.slabSize = slabSize;
+        this.codec = codec;
+        long weight = maxWeight > 0 ? maxWeight : DEFAULT_MAX_WEIGHT;
+        this.maxAllocatedBytes = weight + weight / 4 + 2L * slabSize;
+    }
+
+    /**
+     * Returns the total number of bytes of off-heap memory currently allocated by this map, including the unused
+     * space of its slabs.  Unless a single entry is larger than the cap, this never exceeds {@code maxWeight} plus a
+     * quarter of it plus two slabs.
+     *
+     * @return the total number of bytes of off-heap memory currently allocated by this map.
+     */
+    public long getAllocatedBytes() {
+        synchronized (slabLock) {
+            return allocatedBytes;
+        }
+    }
+
+    @Override
+    public DefaultCache.Entry<V> put(K key, DefaultCache.Entry<V> entry) {
+        Assert.notNull(entry, "OffHeapCacheMap does not support null values.");
+        OffHeapEntry<V> stored = store(codec.encode(entry.getValue()), entry.getCreationTimeMillis());
+        DefaultCache.Entry<V> previous;
+        try {
+            previous = super.put(key, stored);
+        } catch (RuntimeException e) {
+            release(stored);
+            throw e;
+        }
+        return detach(previous);
+    }
+
+    @Override
+    public DefaultCache.Entry<V> remove(Object key) {
+        return detach(super.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        for (K key : keySet()) {
+            DefaultCache.Entry<V> removed = super.remove(key);
+            if (removed != null) {
+                release((OffHeapEntry<V>) removed);
+            }
+        }
+    }
+
+    @Override
+    protected void onEviction(K key, DefaultCache.Entry<V> value) {
+        release((OffHeapEntry<V>) value);
+    }
+
+    /**
+     * Copies the specified bytes off-heap, evicting the least recently used entries first if the allocation cap does
+     * not leave enough room for them.  Evictions happen outside of the {@code slabLock}, since they acquire the map's
+     * lock, which is held while {@link #onEviction(Object, DefaultCache.Entry) evicted} entries acquire the
+     * {@code slabLock}.
+     */
+    private OffHeapEntry<V> store(byte[] bytes, long creationTimeMillis) {
+        boolean evicted = true;
+        while (true) {
+            synchronized (slabLock) {
+                Slab slab = reserve(bytes.length);
+                if (slab == null && !evicted) {
+                    //the map is empty: the entry alone exceeds the cap, and is evicted as soon as it is put
+                    slab = allocate(bytes.length);
+                }
+                if (slab != null) {
+                    int offset = slab.position;
+                    //past the end of the live entries, so concurrent reads of the slab are not affected:
+                    ByteBuffer buffer = slab.buffer.duplicate();
+                    buffer.position(offset);
+                    buffer.put(bytes);
+                    slab.position += bytes.length;
+                    OffHeapEntry<V> entry = new OffHeapEntry<V>(this, slab, offset, bytes.length, creationTimeMillis);
+                    slab.add(entry);
+                    return entry;
+                }
+            }
+            evicted = evictEldest();
+        }
+    }
+
+    /**
+     * Returns a slab with enough room for the specified number of bytes, or {@code null} if entries must be evicted
+     * first in order to honor the allocation cap.
+     */
+    //guarded by 'slabLock'
+    private Slab reserve(int length) {
+        if (length > slabSize) {
+            return allocatedBytes + length <= maxAllocatedBytes ? allocate(length) : null;
+        }
+        if (currentSlab != null && currentSlab.remaining() >= length) {
+            return currentSlab;
+        }
+        Slab slab = freeSlabs.poll();
+        if (slab != null) {
+            usedSlabs.add(slab);
+        } else if (allocatedBytes + slabSize <= maxAllocatedBytes) {
+            slab = allocate(slabSize);
+        } else {
+            slab = compact(length);
+            if (slab == null) {
+                return null;
+            }
+        }
+        Slab retired = currentSlab;
+        currentSlab = slab;
+        if (retired != null && retired != slab && retired.liveEntries == 0) {
+            recycle(retired);
+        }
+        return slab;
+    }
+
+    /**
+     * Moves the live entries of the slab with the most unused space to its beginning, so that its unused space can be
+     * written again.  Returns that slab, or {@code null} if no slab has enough unused space for the specified number
+     * of bytes.
+     */
+    //guarded by 'slabLock'
+    private Slab compact(int length) {
+        Slab slab = null;
+        for (Slab candidate : usedSlabs) {
+            if (candidate.buffer.capacity() == slabSize &&
+                (slab == null || candidate.liveBytes < slab.liveBytes)) {
+                slab = candidate;
+            }
+        }
+        if (slab == null || slabSize - slab.liveBytes < length) {
+            return null;
+        }
+
+        List<OffHeapEntry<?>> live = new ArrayList<OffHeapEntry<?>>(slab.liveEntries);
+        int position = 0;
+        ByteBuffer buffer = slab.buffer.duplicate();
+        Lock lock = slab.lock.writeLock();
+        lock.lock();
+        try {
+            for (OffHeapEntry<?> entry : slab.entries) {
+                if (entry.released) {
+                    continue;
+                }
+                if (entry.offset != position) {
+                    byte[] bytes = new byte[entry.length];
+                    buffer.position(entry.offset);
+                    buffer.get(bytes);
+                    buffer.position(position);
+                    buffer.put(bytes);
+                    entry.offset = position;
+                }
+                position += entry.length;
+                live.add(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        slab.entries = live;
+        slab.position = position;
+        return slab;
+    }
+
+    //guarded by 'slabLock'
+    private Slab allocate(int capacity) {
+        allocatedBytes += capacity;
+        Slab slab = new Slab(ByteBuffer.allocateDirect(capacity));
+        usedSlabs.add(slab);
+        return slab;
+    }
+
+    //guarded by 'slabLock'
+    private void recycle(Slab slab) {
+        //the slab may be written again: wait for the reads of its (released) entries that are still in progress
+        Lock lock = slab.lock.writeLock();
+        lock.lock();
+        lock.unlock();
+
+        usedSlabs.remove(slab);
+        slab.entries = new ArrayList<OffHeapEntry<?>>();
+        if (slab.buffer.capacity() == slabSize && freeSlabs.size() < MAX_FREE_SLABS) {
+            slab.position = 0;
+            freeSlabs.push(slab);
+        } else {
+            //the direct buffer is released once garbage collected:
+            allocatedBytes -= slab.buffer.capacity();
+        }
+    }
+
+    private void release(OffHeapEntry<V> entry) {
+        synchronized (slabLock) {
+            if (entry.released) {
+                return;
+            }
+            entry.released = true;
+            Slab slab = entry.slab;
+            entry.slab = null;
+            slab.liveBytes -= entry.length;
+            if (--slab.liveEntries == 0 && slab != currentSlab) {
+                recycle(slab);
+            }
+        }
+    }
+
+    /**
+     * Copies the value of the specified entry to the heap before releasing its off-heap storage, so that it can still
+     * be returned by {@link #put(Object, DefaultCache.Entry) put} or {@link #remove(Object) remove}.
+     */
+    private DefaultCache.Entry<V> detach(DefaultCache.Entry<V> entry) {
+        if (entry == null) {
+            return null;
+        }
+        OffHeapEntry<V> offHeapEntry = (OffHeapEntry<V>) entry;
+        synchronized (slabLock) {
+            if (!offHeapEntry.released) {
+                offHeapEntry.detached = read(offHeapEntry);
+                release(offHeapEntry);
+            }
+        }
+        return offHeapEntry;
+    }
+
+    /**
+     * Returns the encoded value of the specified entry, or {@code null} if it has been released.  Only the read lock of
+     * the entry's slab is acquired, so that entries are read concurrently.
+     */
+    private byte[] read(OffHeapEntry<V> entry) {
+        Slab slab = entry.slab;
+        if (slab != null) {
+            Lock lock = slab.lock.readLock();
+            lock.lock();
+            try {
+                if (!entry.released) {
+                    byte[] bytes = new byte[entry.length];
+                    ByteBuffer buffer = slab.buffer.duplicate();
+                    buffer.position(entry.offset);
+                    buffer.get(bytes);
+                    return bytes;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return entry.detached;
+    }
+
+    private static final class Slab {
+
+        //held for writing while the bytes of released entries may be overwritten, for reading while an entry is read:
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        //only read or written through duplicates, so that readers do not share its position:
+        private final ByteBuffer buffer;
+        private int position;
+        private int liveEntries;
+        private int liveBytes;
+        //in offset order, including released entries until the slab is compacted or recycled:
+        private List<OffHeapEntry<?>> entries = new ArrayList<OffHeapEntry<?>>();
+
+        private Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        private void add(OffHeapEntry<?> entry) {
+            entries.add(entry);
+            liveEntries++;
+            liveBytes += entry.length;
+        }
+    }
+
+    private static final class OffHeapEntry<V> extends DefaultCache.Entry<V> {
+
+        private final transient OffHeapCacheMap<?, V> map;
+        private final int length;
+
+        //written while holding the map's 'slabLock', and read without it:
+        private transient volatile Slab slab;
+        private volatile boolean released;
+        private volatile byte[] detached;
+        //written while holding the write lock of the slab:
+        private int offset;
+
+        private OffHeapEntry(OffHeapCacheMap<?, V> map, Slab slab, int offset, int length, long creationTimeMillis) {
+            super(null, creationTimeMillis);
+            this.map = map;
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            byte[] bytes = map.read(this);
+            return bytes != null ? (V) map.codec.decode(bytes) : null;
+        }
+
+        /**
+         * Serializes a copy of this entry that holds its decoded value.
+         */
+        private Object writeReplace() {
+            return new DefaultCache.Entry<V>(getValue(), getCreationTimeMillis());
+        }
+    }
+
+    private static final class EncodedSizeWeigher implements Weigher<DefaultCache.Entry<?>> {
+
+        private static final EncodedSizeWeigher INSTANCE = new EncodedSizeWeigher();
+
+        @Override
+        public long weigh(DefaultCache.Entry<?> entry) {
+            return ((OffHeapEntry<?>) entry).length;
+        }
+    }
+}
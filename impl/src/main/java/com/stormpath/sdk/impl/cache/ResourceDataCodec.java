@@ -0,0 +1,479 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary encoding of cached resource data: the (nested) maps, lists and scalar values that resources are
+ * made of.
+ * <p/>
+ * Integers are variable-length encoded, strings are UTF-8 encoded, and the property names and values that nearly every
+ * resource repeats ({@code href}, {@code createdAt}, {@code status}, {@code ENABLED}, ...) are encoded as a single
+ * byte.  Maps are decoded as {@code LinkedHashMap}s, sets as {@code LinkedHashSet}s and other collections as
+ * {@code ArrayList}s; {@code Integer}, {@code Long}, {@code Double}, {@code BigInteger} and {@code BigDecimal} values
+ * keep their type, so a decoded value is {@link Object#equals(Object) equal} to the encoded one.  Any other
+ * {@code Serializable} value is encoded with Java serialization.
+ * <p/>
+ * When encoded values are read from a store that other processes can write to, such as Redis, the codec should be
+ * {@link #ResourceDataCodec(boolean) created} with restricted serialization: only JDK value types (strings, boxed
+ * primitives, {@code BigInteger}, {@code BigDecimal}, dates and {@code UUID}s), primitive arrays, the JDK collections
+ * they are held in, and the values the SDK itself caches (such as {@code GroupMembershipIndex}) are then encoded and
+ * decoded with Java serialization, so that decoding a value never instantiates any other class.  Values that cannot be
+ * decoded with restricted serialization cannot be encoded either.
+ * <p/>
+ * This class is thread-safe.
+ *
+ * @see OffHeapCacheMap
+ * @since 1.6.0
+ */
+public class ResourceDataCodec {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte KNOWN_STRING = 7;
+    private static final byte MAP = 8;
+    private static final byte LIST = 9;
+    private static final byte SET = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte SERIALIZED = 13;
+
+    /**
+     * Strings encoded as their index in this array.  The order must never change, as it defines the encoding.
+     */
+    private static final String[] KNOWN_STRINGS = {
+        "href", "createdAt", "modifiedAt", "name", "description", "status", "customData", "directory", "tenant",
+        "items", "offset", "limit", "size", "username", "email", "givenName", "middleName", "surname", "fullName",
+        "passwordModifiedAt", "emailVerificationStatus", "emailVerificationToken", "providerData", "groups",
+        "groupMemberships", "applications", "apiKeys", "accessTokens", "refreshTokens", "linkedAccounts",
+        "accountLinks", "phones", "factors", "accounts", "account", "group", "accountStoreMappings", "organizations",
+        "providerId", "ENABLED", "DISABLED", "UNVERIFIED", "VERIFIED", "UNKNOWN"
+    };
+
+    private static final Map<String, Integer> KNOWN_STRING_INDEXES = new HashMap<String, Integer>();
+
+    /**
+     * The names of the classes that may be decoded with restricted serialization: immutable JDK value types (and the
+     * superclasses that are part of their serialized form), the JDK collections holding them, and the values cached
+     * by the SDK and its extensions.
+     */
+    private static final Set<String> RESTRICTED_SERIALIZABLE_CLASS_NAMES = Collections.unmodifiableSet(
+        new LinkedHashSet<String>(Arrays.asList(
+            //JDK value types:
+            "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Number", "java.lang.Byte",
+            "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+            "java.math.BigInteger", "java.math.BigDecimal", "java.util.Date", "java.sql.Date", "java.sql.Time",
+            "java.sql.Timestamp", "java.util.UUID",
+            //JDK collections:
+            "java.util.HashMap", "java.util.LinkedHashMap", "java.util.HashSet", "java.util.LinkedHashSet",
+            "java.util.ArrayList", "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableSet", "java.util.Collections$UnmodifiableMap",
+            "java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableRandomAccessList",
+            //SDK cache values:
+            "com.stormpath.sdk.impl.group.GroupMembershipIndex",
+            "com.stormpath.spring.security.provider.GrantedAuthorityCache$Entry",
+            "org.springframework.security.core.authority.SimpleGrantedAuthority"
+        )));
+
+    static {
+        for (int i = 0; i < KNOWN_STRINGS.length; i++) {
+            KNOWN_STRING_INDEXES.put(KNOWN_STRINGS[i], i);
+        }
+    }
+
+    private final boolean restrictedSerialization;
+
+    /**
+     * Creates a new codec that encodes any {@code Serializable} value.
+     */
+    public ResourceDataCodec() {
+        this(false);
+    }
+
+    /**
+     * Creates a new codec.
+     *
+     * @param restrictedSerialization whether only JDK value types and collections, and the SDK's own cache values,
+     *                                may be encoded and decoded with Java serialization.  This must be {@code true} if
+     *                                the encoded values are read from a store that other processes can write to.
+     */
+    public ResourceDataCodec(boolean restrictedSerialization) {
+        this.restrictedSerialization = restrictedSerialization;
+    }
+
+    /**
+     * Encodes the specified value.
+     *
+     * @param value the value to encode
+     * @return the encoded value.
+     * @throws IllegalArgumentException if the value (or any value it contains) cannot be encoded.
+     */
+    public byte[] encode(Object value) throws IllegalArgumentException {
+        Output out = new Output();
+        write(out, value);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a value previously {@link #encode(Object) encoded} by this codec.
+     *
+     * @param bytes the encoded value
+     * @return the decoded value.
+     * @throws IllegalArgumentException if the bytes are not an encoded value.
+     */
+    public Object decode(byte[] bytes) throws IllegalArgumentException {
+        Input in = new Input(bytes);
+        Object value = read(in);
+        if (in.position != bytes.length) {
+            throw new IllegalArgumentException("Unexpected trailing bytes.");
+        }
+        return value;
+    }
+
+    private void write(Output out, Object value) {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof String) {
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.write(INT);
+            out.writeVarLong(zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            out.write(LONG);
+            out.writeVarLong(zigZag((Long) value));
+        } else if (value instanceof Double) {
+            out.write(DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.write(MAP);
+            out.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (value instanceof List || value instanceof Set) {
+            Collection<?> collection = (Collection<?>) value;
+            out.write(value instanceof Set ? SET : LIST);
+            out.writeVarLong(collection.size());
+            for (Object element : collection) {
+                write(out, element);
+            }
+        } else if (value instanceof BigInteger) {
+            out.write(BIG_INTEGER);
+            out.writeBytes(((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.write(BIG_DECIMAL);
+            out.writeVarLong(zigZag(decimal.scale()));
+            out.writeBytes(decimal.unscaledValue().toByteArray());
+        } else {
+            byte[] serialized = serialize(value);
+            if (restrictedSerialization) {
+                //the serialized form may reference other classes than the value's own, so check all of them:
+                try {
+                    deserialize(serialized);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unable to encode value of type " + value.getClass().getName() +
+                                                       ": it cannot be decoded with restricted serialization.", e);
+                }
+            }
+            out.write(SERIALIZED);
+            out.writeBytes(serialized);
+        }
+    }
+
+    private void writeString(Output out, String s) {
+        Integer index = KNOWN_STRING_INDEXES.get(s);
+        if (index != null) {
+            out.write(KNOWN_STRING);
+            out.write(index.byteValue());
+        } else if (hasSurrogates(s)) {
+            //unpaired surrogates cannot be UTF-8 encoded, Java serialization preserves them:
+            out.write(SERIALIZED);
+            out.writeBytes(serialize(s));
+        } else {
+            out.write(STRING);
+            out.writeBytes(s.getBytes(UTF_8));
+        }
+    }
+
+    private static boolean hasSurrogates(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object read(Input in) {
+        byte tag = in.read();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return (int) unZigZag(in.readVarLong());
+            case LONG:
+                return unZigZag(in.readVarLong());
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case STRING:
+                return in.readString();
+            case KNOWN_STRING:
+                return KNOWN_STRINGS[in.read() & 0xFF];
+            case MAP: {
+                int size = in.readSize();
+                Map<Object, Object> map = new LinkedHashMap<Object, Object>((int) (size / 0.75f) + 1);
+                for (int i = 0; i < size; i++) {
+                    Object key = read(in);
+                    map.put(key, read(in));
+                }
+                return map;
+            }
+            case LIST: {
+                int size = in.readSize();
+                List<Object> list = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in));
+                }
+                return list;
+            }
+            case SET: {
+                int size = in.readSize();
+                Set<Object> set = new LinkedHashSet<Object>((int) (size / 0.75f) + 1);
+                for (int i = 0; i < size; i++) {
+                    set.add(read(in));
+                }
+                return set;
+            }
+            case BIG_INTEGER:
+                return new BigInteger(in.readBytes());
+            case BIG_DECIMAL: {
+                int scale = (int) unZigZag(in.readVarLong());
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            }
+            case SERIALIZED:
+                return deserialize(in.readBytes());
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag + ".");
+        }
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to encode value of type " + value.getClass().getName() + ".", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) {
+        InputStream bytesIn = new ByteArrayInputStream(bytes);
+        try (ObjectInputStream in = restrictedSerialization ? new RestrictedObjectInputStream(bytesIn) :
+                                    new ObjectInputStream(bytesIn)) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unable to decode serialized value.", e);
+        }
+    }
+
+    /**
+     * Refuses to resolve (and therefore to instantiate) any class that is not allowed by restricted serialization.
+     */
+    private static final class RestrictedObjectInputStream extends ObjectInputStream {
+
+        private RestrictedObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (!RESTRICTED_SERIALIZABLE_CLASS_NAMES.contains(name) && !isPrimitiveArray(name)) {
+                throw new InvalidClassException(desc.getName(), "Class is not allowed to be deserialized.");
+            }
+            return super.resolveClass(desc);
+        }
+
+        //BigInteger and BigDecimal serialize their magnitude as a byte[]:
+        private static boolean isPrimitiveArray(String name) {
+            return name.length() == 2 && name.charAt(0) == '[' && "ZBCSIJFD".indexOf(name.charAt(1)) >= 0;
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new InvalidClassException("Proxy classes are not allowed to be deserialized.");
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        private void ensureCapacity(int additional) {
+            int required = position + additional;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+            }
+        }
+
+        private void write(byte b) {
+            ensureCapacity(1);
+            buffer[position++] = b;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte read() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of encoded value.");
+            }
+            return buffer[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer.");
+        }
+
+        private int readSize() {
+            long size = readVarLong();
+            if (size < 0 || size > buffer.length - position) {
+                //every element takes at least one byte
+                throw new IllegalArgumentException("Invalid size " + size + ".");
+            }
+            return (int) size;
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        private int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Invalid length " + length + ".");
+            }
+            return (int) length;
+        }
+
+        private byte[] readBytes() {
+            int length = readLength();
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private String readString() {
+            int length = readLength();
+            String s = new String(buffer, position, length, UTF_8);
+            position += length;
+            return s;
+        }
+    }
+}
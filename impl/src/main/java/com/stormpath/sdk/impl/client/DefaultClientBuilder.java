@@ -32,10 +32,12 @@ import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
 import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
 import com.stormpath.sdk.impl.authc.credentials.DefaultClientCredentialsProviderChain;
 import com.stormpath.sdk.impl.config.*;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
 import com.stormpath.sdk.impl.io.ClasspathResource;
 import com.stormpath.sdk.impl.io.DefaultResourceFactory;
 import com.stormpath.sdk.impl.io.Resource;
 import com.stormpath.sdk.impl.io.ResourceFactory;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
 import com.stormpath.sdk.impl.tenant.TenantResolver;
 import com.stormpath.sdk.impl.util.BaseUrlResolver;
 import com.stormpath.sdk.impl.util.DefaultBaseUrlResolver;
@@ -77,6 +79,7 @@ public class DefaultClientBuilder implements ClientBuilder {
     private Proxy proxy;
     private CacheManager cacheManager;
     private ClientCredentials clientCredentials;
+    private MetricsRecorder metricsRecorder; //@since 1.6.0
 
     private static final String USER_HOME = System.getProperty("user.home") + File.separatorChar;
     private static final String STORMPATH_PROPERTIES = "stormpath.properties";
@@ -274,6 +277,20 @@ public class DefaultClientBuilder implements ClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the recorder that the built client's data store, cache regions and HTTP request executor report their
+     * measurements to.  If not set, no measurements are taken.
+     *
+     * @param metricsRecorder the recorder that the built client reports its measurements to
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.6.0
+     */
+    public ClientBuilder setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Assert.notNull(metricsRecorder, "metricsRecorder must not be null.");
+        this.metricsRecorder = metricsRecorder;
+        return this;
+    }
+
     @Override
     public Client build() {
         if (!this.clientConfig.isCacheManagerEnabled()) {
@@ -328,14 +345,21 @@ public class DefaultClientBuilder implements ClientBuilder {
             baseUrlResolver = new DefaultBaseUrlResolver(this.clientConfig.getBaseUrl());
         }
 
+        Client client;
+
         if (this.clientConfig.getTenantResolver() != null) {
-            return new DefaultClient(clientCredentials, apiKeyResolver, baseUrlResolver, this.proxy, this.cacheManager,
+            client = new DefaultClient(clientCredentials, apiKeyResolver, baseUrlResolver, this.proxy, this.cacheManager,
                     this.clientConfig.getAuthenticationScheme(), this.clientConfig.getRequestAuthenticatorFactory(), this.clientConfig.getConnectionTimeout(), this.clientConfig.getTenantResolver());
+        } else {
+            client = new DefaultClient(clientCredentials, apiKeyResolver, baseUrlResolver, this.proxy, this.cacheManager,
+                    this.clientConfig.getAuthenticationScheme(), this.clientConfig.getRequestAuthenticatorFactory(), this.clientConfig.getConnectionTimeout());
         }
 
+        if (this.metricsRecorder != null && client.getDataStore() instanceof DefaultDataStore) {
+            ((DefaultDataStore) client.getDataStore()).setMetricsRecorder(this.metricsRecorder);
+        }
 
-        return new DefaultClient(clientCredentials, apiKeyResolver, baseUrlResolver, this.proxy, this.cacheManager,
-                this.clientConfig.getAuthenticationScheme(), this.clientConfig.getRequestAuthenticatorFactory(), this.clientConfig.getConnectionTimeout());
+        return client;
     }
 
     @Override
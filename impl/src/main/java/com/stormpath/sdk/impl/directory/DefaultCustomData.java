@@ -129,6 +129,7 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
             Object object = this.dirtyProperties.remove(key);
             this.deletedPropertyNames.add(key.toString());
             this.dirty = true;
+            publishPropertyState();
             return object;
         } finally {
             writeLock.unlock();
@@ -167,6 +168,7 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
                 this.deletedPropertyNames.add(propertyName);
                 dirty = true;
             }
+            publishPropertyState();
         } finally {
             writeLock.unlock();
         }
@@ -241,11 +243,13 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
         try {
 
             Set<String> deletedPropertyNames = this.getDeletedPropertyNames();
-            for (String deletedPropertyName : deletedPropertyNames) {
-                getDataStore().deleteResourceProperty(this, deletedPropertyName);
-                this.properties.remove(deletedPropertyName);
+            if (!deletedPropertyNames.isEmpty()) {
+                //@since 1.6.0: all properties are deleted at once (concurrently) instead of one request at a time:
+                getDataStore().deleteResourceProperties(this, deletedPropertyNames);
+                getWritableProperties().keySet().removeAll(deletedPropertyNames);
             }
             this.deletedPropertyNames.clear();
+            publishPropertyState();
         } finally {
             this.writeLock.unlock();
         }
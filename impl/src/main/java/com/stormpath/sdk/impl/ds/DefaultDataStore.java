@@ -19,8 +19,11 @@ import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.http.HttpMethod;
 import com.stormpath.sdk.impl.api.ApiKeyResolver;
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache;
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
 import com.stormpath.sdk.impl.authc.credentials.ClientCredentials;
+import com.stormpath.sdk.impl.cache.CacheRefresher;
+import com.stormpath.sdk.impl.cache.DefaultCacheManager;
 import com.stormpath.sdk.impl.cache.DisabledCacheManager;
 import com.stormpath.sdk.impl.ds.api.ApiKeyQueryFilter;
 import com.stormpath.sdk.impl.ds.api.DecryptApiKeySecretFilter;
@@ -29,9 +32,12 @@ import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver;
 import com.stormpath.sdk.impl.ds.cache.ReadCacheFilter;
 import com.stormpath.sdk.impl.ds.cache.WriteCacheFilter;
 import com.stormpath.sdk.impl.error.DefaultError;
+import com.stormpath.sdk.impl.group.GroupMembershipIndexCache;
+import com.stormpath.sdk.impl.http.AsyncRequestExecutor;
 import com.stormpath.sdk.impl.http.CanonicalUri;
 import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.HttpHeadersHolder;
+import com.stormpath.sdk.impl.http.InstrumentedRequestExecutor;
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.QueryStringFactory;
@@ -41,18 +47,26 @@ import com.stormpath.sdk.impl.http.Response;
 import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.UserAgent;
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
 import com.stormpath.sdk.impl.oauth.OAuthTokenRevoked;
+import com.stormpath.sdk.impl.oauth.VerifiedAccessTokenCache;
 import com.stormpath.sdk.impl.provider.IdentityProviderType;
 import com.stormpath.sdk.impl.query.DefaultCriteria;
 import com.stormpath.sdk.impl.query.DefaultOptions;
 import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.impl.resource.ReferenceFactory;
+import com.stormpath.sdk.impl.util.AsyncCallback;
 import com.stormpath.sdk.impl.util.BaseUrlResolver;
+import com.stormpath.sdk.impl.util.CallbackFuture;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
 import com.stormpath.sdk.impl.util.DefaultBaseUrlResolver;
 import com.stormpath.sdk.impl.util.StringInputStream;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Classes;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.lang.Strings;
+import com.stormpath.sdk.lang.UnknownClassException;
 import com.stormpath.sdk.provider.ProviderData;
 import com.stormpath.sdk.query.Criteria;
 import com.stormpath.sdk.query.Options;
@@ -67,11 +81,24 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.stormpath.sdk.impl.http.HttpHeaders.STORMPATH_AGENT;
 import static com.stormpath.sdk.impl.http.HttpHeaders.STORMPATH_CLIENT_REQUEST_ID;
@@ -103,6 +130,21 @@ public class DefaultDataStore implements InternalDataStore {
 
     private static final boolean COLLECTION_CACHING_ENABLED = false; //EXPERIMENTAL - set to true only while developing.
 
+    /**
+     * The maximum number of concurrent requests used to {@link #deleteResourceProperties(Resource, Collection) delete}
+     * the properties of a single resource.
+     *
+     * @since 1.6.0
+     */
+    private static final int MAX_CONCURRENT_PROPERTY_DELETES = 8;
+
+    /**
+     * The maximum number of tasks waiting for a thread of the default {@link #getAsyncExecutor() asyncExecutor}.
+     *
+     * @since 1.6.0
+     */
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+
     private final RequestExecutor requestExecutor;
     private final ResourceFactory resourceFactory;
     private final MapMarshaller mapMarshaller;
@@ -111,8 +153,18 @@ public class DefaultDataStore implements InternalDataStore {
     private final ResourceConverter resourceConverter;
     private final QueryStringFactory queryStringFactory;
     private final List<Filter> filters;
+    private final List<Filter> refreshFilters;
     private final ApiKeyResolver apiKeyResolver;
     private final BaseUrlResolver baseUrlResolver;
+    private volatile ExecutorService asyncExecutor;
+    private ExecutorService defaultAsyncExecutor; //guarded by 'this'
+    private final RequestCoalescer requestCoalescer;
+    private final DecryptApiKeySecretFilter decryptApiKeySecretFilter;
+    private final VerifiedAccessTokenCache verifiedAccessTokenCache;
+    private final VerifiedApiKeyCache verifiedApiKeyCache;
+    private final GroupMembershipIndexCache groupMembershipIndexCache;
+    private final ReadCacheFilter readCacheFilter;
+    private volatile MetricsRecorder metricsRecorder = new DisabledMetricsRecorder();
 
     /**
      * @since 1.0.RC3
@@ -144,19 +196,30 @@ public class DefaultDataStore implements InternalDataStore {
      * @since 1.2.0
      */
     public DefaultDataStore(RequestExecutor requestExecutor, BaseUrlResolver baseUrlResolver, ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, CacheManager cacheManager) {
+        this(requestExecutor, baseUrlResolver, clientCredentials, apiKeyResolver, cacheManager, new StreamingMapMarshaller());
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public DefaultDataStore(RequestExecutor requestExecutor, BaseUrlResolver baseUrlResolver, ClientCredentials clientCredentials, ApiKeyResolver apiKeyResolver, CacheManager cacheManager, MapMarshaller mapMarshaller) {
         Assert.notNull(baseUrlResolver, "baseUrlResolver cannot be null");
         Assert.notNull(requestExecutor, "RequestExecutor cannot be null.");
         Assert.notNull(clientCredentials, "clientCredentials cannot be null.");
         Assert.notNull(apiKeyResolver, "apiKeyResolver cannot be null.");
         Assert.notNull(cacheManager, "CacheManager cannot be null.  Use the DisabledCacheManager if you wish to turn off caching.");
+        Assert.notNull(mapMarshaller, "mapMarshaller cannot be null.");
         this.requestExecutor = requestExecutor;
         this.baseUrlResolver = baseUrlResolver;
         this.cacheManager = cacheManager;
         this.resourceFactory = new SubtypeDispatchingResourceFactory(this);
-        this.mapMarshaller = new JacksonMapMarshaller();
+        this.mapMarshaller = mapMarshaller;
         this.queryStringFactory = new QueryStringFactory();
-        this.cacheResolver = new DefaultCacheResolver(this.cacheManager, new DefaultCacheRegionNameResolver());
+        CacheRegionNameResolver cacheRegionNameResolver = new DefaultCacheRegionNameResolver();
+        this.cacheResolver = new DefaultCacheResolver(this.cacheManager, cacheRegionNameResolver);
         this.apiKeyResolver = apiKeyResolver;
+        this.requestCoalescer = new RequestCoalescer();
+        this.groupMembershipIndexCache = new GroupMembershipIndexCache(this, this.cacheManager);
 
         ReferenceFactory referenceFactory = new ReferenceFactory();
         this.resourceConverter = new DefaultResourceConverter(referenceFactory);
@@ -166,12 +229,28 @@ public class DefaultDataStore implements InternalDataStore {
         this.filters.add(new EnlistmentFilter());
 
         if(clientCredentials instanceof ApiKeyCredentials) {
-            this.filters.add(new DecryptApiKeySecretFilter((ApiKeyCredentials) clientCredentials));
+            this.decryptApiKeySecretFilter = new DecryptApiKeySecretFilter((ApiKeyCredentials) clientCredentials);
+            this.filters.add(this.decryptApiKeySecretFilter);
+        } else {
+            this.decryptApiKeySecretFilter = null;
         }
 
         if (isCachingEnabled()) {
-            this.filters.add(new ReadCacheFilter(this.baseUrlResolver, this.cacheResolver, COLLECTION_CACHING_ENABLED));
-            this.filters.add(new WriteCacheFilter(this.baseUrlResolver, this.cacheResolver, COLLECTION_CACHING_ENABLED, referenceFactory));
+            this.readCacheFilter = new ReadCacheFilter(this.baseUrlResolver, this.cacheResolver,
+                    COLLECTION_CACHING_ENABLED, cacheRegionNameResolver);
+            this.filters.add(this.readCacheFilter);
+            this.verifiedAccessTokenCache = new VerifiedAccessTokenCache();
+            this.verifiedApiKeyCache = new VerifiedApiKeyCache();
+            WriteCacheFilter writeCacheFilter = new WriteCacheFilter(this.baseUrlResolver, this.cacheResolver,
+                    COLLECTION_CACHING_ENABLED, referenceFactory);
+            writeCacheFilter.setVerifiedAccessTokenCache(this.verifiedAccessTokenCache);
+            writeCacheFilter.setGroupMembershipIndexCache(this.groupMembershipIndexCache);
+            writeCacheFilter.setVerifiedApiKeyCache(this.verifiedApiKeyCache);
+            this.filters.add(writeCacheFilter);
+        } else {
+            this.readCacheFilter = null;
+            this.verifiedAccessTokenCache = null;
+            this.verifiedApiKeyCache = null;
         }
 
         if(clientCredentials instanceof ApiKeyCredentials) {
@@ -179,6 +258,18 @@ public class DefaultDataStore implements InternalDataStore {
         }
 
         this.filters.add(new ProviderAccountResultFilter());
+
+        //background cache refreshes must bypass cache reads, but still write the fresh data to the cache:
+        this.refreshFilters = new ArrayList<Filter>(this.filters.size());
+        for (Filter filter : this.filters) {
+            if (!(filter instanceof ReadCacheFilter)) {
+                this.refreshFilters.add(filter);
+            }
+        }
+
+        if (isCachingEnabled() && this.cacheManager instanceof DefaultCacheManager) {
+            ((DefaultCacheManager) this.cacheManager).setCacheRefresher(new DataStoreCacheRefresher());
+        }
     }
 
     @Override
@@ -186,6 +277,138 @@ public class DefaultDataStore implements InternalDataStore {
         return this.cacheResolver;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public VerifiedAccessTokenCache getVerifiedAccessTokenCache() {
+        return this.verifiedAccessTokenCache;
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public VerifiedApiKeyCache getVerifiedApiKeyCache() {
+        return this.verifiedApiKeyCache;
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public GroupMembershipIndexCache getGroupMembershipIndexCache() {
+        return this.groupMembershipIndexCache;
+    }
+
+    /**
+     * Returns the executor used to run background work: concurrent custom data property deletions, and the requests
+     * of {@link #getResourceAsync(String, Class, AsyncCallback) asynchronous} operations and cache refreshes when the
+     * request executor is not an {@link AsyncRequestExecutor}.  If one was not
+     * {@link #setAsyncExecutor(ExecutorService) configured}, a default executor is created on first use, with up to
+     * {@code 2 * availableProcessors} daemon threads and up to {@value #DEFAULT_ASYNC_QUEUE_CAPACITY} queued tasks;
+     * further tasks are rejected.
+     *
+     * @return the executor used to run background work.
+     * @since 1.6.0
+     */
+    public ExecutorService getAsyncExecutor() {
+        ExecutorService executor = this.asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.asyncExecutor;
+                if (executor == null) {
+                    int threads = Runtime.getRuntime().availableProcessors() * 2;
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(DEFAULT_ASYNC_QUEUE_CAPACITY),
+                            new DaemonThreadFactory("stormpath-datastore-async"));
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                    this.asyncExecutor = executor;
+                    this.defaultAsyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Shuts down the default {@link #getAsyncExecutor() asyncExecutor}, if this data store created one: background
+     * work that was already submitted is completed, and further work is rejected.  An executor that was
+     * {@link #setAsyncExecutor(ExecutorService) configured} is owned by the caller and is not shut down.
+     *
+     * @since 1.6.0
+     */
+    public synchronized void shutdown() {
+        if (this.defaultAsyncExecutor != null) {
+            this.defaultAsyncExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Sets the executor used to run background work.
+     *
+     * @param asyncExecutor the executor used to run background work.
+     * @since 1.6.0
+     */
+    public void setAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public MetricsRecorder getMetricsRecorder() {
+        return this.metricsRecorder;
+    }
+
+    /**
+     * Sets the recorder that the operations of this data store are reported to.  The recorder is also set on the
+     * components of this data store that are able to report their own measurements: its cache filter, its
+     * {@link DefaultCacheManager} (whose caches are then registered with the recorder) and its
+     * {@link InstrumentedRequestExecutor}.
+     *
+     * @param metricsRecorder the recorder that the operations of this data store are reported to.
+     * @since 1.6.0
+     */
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Assert.notNull(metricsRecorder, "metricsRecorder cannot be null.");
+        this.metricsRecorder = metricsRecorder;
+        if (this.readCacheFilter != null) {
+            this.readCacheFilter.setMetricsRecorder(metricsRecorder);
+        }
+        if (isCachingEnabled() && this.cacheManager instanceof DefaultCacheManager) {
+            ((DefaultCacheManager) this.cacheManager).setMetricsRecorder(metricsRecorder);
+        }
+        if (this.requestExecutor instanceof InstrumentedRequestExecutor) {
+            ((InstrumentedRequestExecutor) this.requestExecutor).setMetricsRecorder(metricsRecorder);
+        }
+    }
+
+    /**
+     * Returns the {@code RequestCoalescer} that collapses concurrent, identical resource reads into a single HTTP
+     * request.  Its counters reflect how many reads were executed versus collapsed.
+     *
+     * @return the {@code RequestCoalescer} used for resource reads.
+     * @since 1.6.0
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return this.requestCoalescer;
+    }
+
+    /**
+     * Returns the filter that decrypts API Key secrets returned by the server, or {@code null} if the client does not
+     * authenticate with API Key credentials.  It may be used to retain decrypted secrets in memory for a short period.
+     *
+     * @return the filter that decrypts API Key secrets, or {@code null} if the client does not use API Key credentials.
+     * @since 1.6.0
+     * @see DecryptApiKeySecretFilter#setDecryptedSecretTimeToLive(com.stormpath.sdk.lang.Duration)
+     */
+    public DecryptApiKeySecretFilter getDecryptApiKeySecretFilter() {
+        return this.decryptApiKeySecretFilter;
+    }
+
     @Override
     public ApiKey getApiKey() {
         return this.apiKeyResolver.getApiKey();
@@ -311,31 +534,28 @@ public class DefaultDataStore implements InternalDataStore {
 
     @SuppressWarnings("unchecked")
     private ResourceDataResult getResourceData(String href, Class<? extends Resource> clazz, Map<String,?> queryParameters) {
+        return getResourceData(this.filters, href, clazz, queryParameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult getResourceData(List<Filter> filters, String href, Class<? extends Resource> clazz, Map<String,?> queryParameters) {
 
         Assert.hasText(href, "href argument cannot be null or empty.");
         Assert.notNull(clazz, "Resource class argument cannot be null.");
 
-        FilterChain chain = new DefaultFilterChain(this.filters, new FilterChain() {
-            @Override
-            public ResourceDataResult filter(final ResourceDataRequest req) {
-
-                CanonicalUri uri = req.getUri();
-
-                Request getRequest = new DefaultRequest(HttpMethod.GET, uri.getAbsolutePath(), uri.getQuery());
-                Response getResponse = execute(getRequest);
-                Map<String,?> body = getBody(getResponse);
+        final FilterChain httpGet = toFilterChain(new GetExchange());
 
-                if (Collections.isEmpty(body)) {
-                    throw new IllegalStateException("Unable to obtain resource data from the API server or from cache.");
-                }
-
-                return new DefaultResourceDataResult(req.getAction(), uri, req.getResourceClass(), (Map<String,Object>)body);
+        FilterChain chain = new DefaultFilterChain(filters, new FilterChain() {
+            @Override
+            public ResourceDataResult filter(ResourceDataRequest req) {
+                //cache misses for the same resource that occur at the same time share a single HTTP request:
+                return requestCoalescer.execute(req, httpGet);
             }
         });
 
         CanonicalUri uri = canonicalize(href, queryParameters);
         ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>());
-        return chain.filter(req);
+        return filter(chain, req);
     }
 
     private ResourceAction getPostAction(ResourceDataRequest request, Response response) {
@@ -351,6 +571,381 @@ public class DefaultDataStore implements InternalDataStore {
         return request.getAction();
     }
 
+    /* =====================================================================
+       Asynchronous Operations
+       ===================================================================== */
+
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz, AsyncCallback<T> callback) {
+        return getResourceAsync(href, clazz, null, callback);
+    }
+
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(String href, final Class<T> clazz,
+                                                           Map<String, Object> queryParameters, AsyncCallback<T> callback) {
+        Assert.hasText(href, "href argument cannot be null or empty.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+
+        CanonicalUri uri = canonicalize(href, queryParameters);
+        ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>());
+
+        return new AsyncOperation<T>(req, new GetExchange(), callback) {
+            @Override
+            protected T toResource(ResourceDataResult result) {
+                return instantiate(clazz, result.getData(), result.getUri().getQuery());
+            }
+        }.execute(this.filters);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Resource> Future<T> createAsync(String parentHref, final T resource, AsyncCallback<T> callback) {
+        Assert.hasText(parentHref, "parentHref argument cannot be null or empty.");
+        Assert.notNull(resource, "resource argument cannot be null.");
+
+        final Class<T> returnType = (Class<T>) resource.getClass();
+        ResourceDataRequest request = toSaveRequest(parentHref, resource, null, returnType, null, true);
+
+        return new AsyncOperation<T>(request, new PostExchange(returnType), callback) {
+            @Override
+            protected T toResource(ResourceDataResult result) {
+                return toSavedResource(resource, result, returnType);
+            }
+        }.execute(this.filters);
+    }
+
+    @Override
+    public <T extends Resource & Saveable> Future<T> saveAsync(final T resource, AsyncCallback<T> callback) {
+        Assert.notNull(resource, "resource argument cannot be null.");
+        Assert.hasText(resource.getHref(), HREF_REQD_MSG);
+
+        Class<? extends Resource> returnType = resource.getClass();
+        ResourceDataRequest request = toSaveRequest(resource.getHref(), resource, null, returnType, null, false);
+
+        return new AsyncOperation<T>(request, new PostExchange(returnType), callback) {
+            @Override
+            protected T toResource(ResourceDataResult result) {
+                //as with save(resource), the caller's argument is updated with what is returned from the server:
+                ((AbstractResource) resource).setProperties(result.getData());
+                return resource;
+            }
+        }.execute(this.filters);
+    }
+
+    /**
+     * Runs the specified {@code task} on the {@link #getAsyncExecutor() asyncExecutor}, completing the specified
+     * {@code future} with its outcome.  The calling thread's {@link HttpHeadersHolder} headers are propagated to the
+     * executing thread so that requests carry the same headers as they would if executed synchronously.
+     *
+     * @since 1.6.0
+     */
+    private <T> Future<T> submit(final CallbackFuture<T> future, final Callable<T> task) {
+        final Map<String, List<String>> headers = HttpHeadersHolder.get();
+        try {
+            getAsyncExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.isDone()) { //cancelled
+                        return;
+                    }
+                    HttpHeadersHolder.set(headers);
+                    try {
+                        future.complete(task.call());
+                    } catch (Throwable t) {
+                        future.fail(t);
+                    } finally {
+                        HttpHeadersHolder.clear();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    /**
+     * An operation that executes a filter chain without blocking the calling thread.  The filters process the request
+     * on the calling thread: if one of them produces the result (i.e. the resource is cached), the operation completes
+     * immediately.  Otherwise the terminal link of the chain throws a {@link DeferredRequestSignal}, which the filters
+     * let propagate without side effects, and the filtered request is sent with the
+     * {@link AsyncRequestExecutor#executeRequestAsync(Request, AsyncCallback) asynchronous request executor}.  The
+     * chain is then run with the filtered request on the thread that receives the response - without the read cache
+     * filter, which has already missed - and its terminal link returns that response, so that caches are written and
+     * invalidated once, after the server has processed the request.  Request executors that are not asynchronous are
+     * invoked on the {@link #getAsyncExecutor() asyncExecutor}.
+     *
+     * @since 1.6.0
+     */
+    private abstract class AsyncOperation<T> implements AsyncCallback<Response> {
+
+        private final ResourceDataRequest request;
+        private final HttpExchange exchange;
+        private final CallbackFuture<T> future;
+        private final MetricsRecorder recorder = metricsRecorder;
+        private final long start = System.nanoTime();
+
+        private ResourceDataRequest pendingRequest;
+
+        private AsyncOperation(ResourceDataRequest request, HttpExchange exchange, AsyncCallback<? super T> callback) {
+            this.request = request;
+            this.exchange = exchange;
+            this.future = new CallbackFuture<T>(callback);
+        }
+
+        protected abstract T toResource(ResourceDataResult result);
+
+        Future<T> execute(List<Filter> filters) {
+
+            FilterChain chain = new DefaultFilterChain(filters, new FilterChain() {
+                @Override
+                public ResourceDataResult filter(ResourceDataRequest req) {
+                    throw new DeferredRequestSignal(req);
+                }
+            });
+
+            try {
+                complete(chain.filter(request));
+                return future;
+            } catch (DeferredRequestSignal signal) {
+                pendingRequest = signal.getRequest();
+            } catch (Throwable t) {
+                fail(t);
+                return future;
+            }
+
+            try {
+                Request httpRequest = exchange.createRequest(pendingRequest);
+                applyDefaultRequestHeaders(httpRequest);
+                send(httpRequest);
+            } catch (Throwable t) {
+                fail(t);
+            }
+
+            return future;
+        }
+
+        private void send(final Request httpRequest) {
+            if (requestExecutor instanceof AsyncRequestExecutor) {
+                ((AsyncRequestExecutor) requestExecutor).executeRequestAsync(httpRequest, this);
+                return;
+            }
+            submit(new CallbackFuture<Response>(this), new Callable<Response>() {
+                @Override
+                public Response call() {
+                    return requestExecutor.executeRequest(httpRequest);
+                }
+            });
+        }
+
+        @Override
+        public void onSuccess(final Response response) {
+            if (future.isDone()) { //cancelled
+                return;
+            }
+            try {
+                throwIfError(response);
+                FilterChain chain = new DefaultFilterChain(refreshFilters, new FilterChain() {
+                    @Override
+                    public ResourceDataResult filter(ResourceDataRequest req) {
+                        return exchange.createResult(req, response);
+                    }
+                });
+                complete(chain.filter(pendingRequest));
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            fail(t);
+        }
+
+        private void complete(ResourceDataResult result) {
+            T resource;
+            try {
+                resource = toResource(result);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            record(true);
+            future.complete(resource);
+        }
+
+        private void fail(Throwable t) {
+            record(false);
+            future.fail(t);
+        }
+
+        private void record(boolean successful) {
+            recorder.recordDataStoreOperation(request.getAction(), getInterfaceClass(request.getResourceClass()),
+                                              System.nanoTime() - start, successful);
+        }
+    }
+
+    /**
+     * Reloads cache entries on behalf of {@link DefaultCacheManager} caches with refresh-ahead or
+     * stale-while-revalidate enabled.  Cache regions are named after resource interfaces and keyed by href, so an entry
+     * is refreshed by reading its href again - bypassing the read cache - without blocking the thread that read the
+     * aging entry.  The cache write filter then replaces the aging entry.
+     *
+     * @since 1.6.0
+     */
+    private class DataStoreCacheRefresher implements CacheRefresher, AsyncCallback<ResourceDataResult> {
+
+        @Override
+        public boolean canRefresh(String cacheName) {
+            return getResourceClass(cacheName) != null;
+        }
+
+        @Override
+        public void refresh(String cacheName, Object key) {
+            Class<? extends Resource> clazz = getResourceClass(cacheName);
+            if (clazz != null && key instanceof String) {
+                refresh((String) key, clazz);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Class<? extends Resource> getResourceClass(String cacheName) {
+            Class clazz;
+            try {
+                clazz = Classes.forName(cacheName);
+            } catch (UnknownClassException e) {
+                return null; //not a resource cache region
+            }
+            return Resource.class.isAssignableFrom(clazz) ? (Class<? extends Resource>) clazz : null;
+        }
+
+        private void refresh(String href, Class<? extends Resource> clazz) {
+            log.trace("Refreshing cached resource {}", href);
+            CanonicalUri uri = canonicalize(href, null);
+            ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>());
+            new AsyncOperation<ResourceDataResult>(req, new GetExchange(), this) {
+                @Override
+                protected ResourceDataResult toResource(ResourceDataResult result) {
+                    return result;
+                }
+            }.execute(refreshFilters);
+        }
+
+        @Override
+        public void onSuccess(ResourceDataResult result) {
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            //the aging entry remains usable until it expires: nothing else to do
+            log.debug("Unable to refresh cached resource.", t);
+        }
+    }
+
+    /**
+     * The HTTP request that ends a filter chain: how it is created from the filtered request, and how its response
+     * becomes the result of the chain.  The same exchange is either executed by the terminal link of the chain, or
+     * sent asynchronously by an {@link AsyncOperation}.
+     *
+     * @since 1.6.0
+     */
+    private interface HttpExchange {
+
+        Request createRequest(ResourceDataRequest req);
+
+        ResourceDataResult createResult(ResourceDataRequest req, Response response);
+    }
+
+    /**
+     * Returns a terminal filter chain link that executes the specified exchange, blocking until its response is
+     * received.
+     *
+     * @since 1.6.0
+     */
+    private FilterChain toFilterChain(final HttpExchange exchange) {
+        return new FilterChain() {
+            @Override
+            public ResourceDataResult filter(ResourceDataRequest req) {
+                return exchange.createResult(req, execute(exchange.createRequest(req)));
+            }
+        };
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private class GetExchange implements HttpExchange {
+
+        @Override
+        public Request createRequest(ResourceDataRequest req) {
+            CanonicalUri uri = req.getUri();
+            return new DefaultRequest(HttpMethod.GET, uri.getAbsolutePath(), uri.getQuery());
+        }
+
+        @Override
+        public ResourceDataResult createResult(ResourceDataRequest req, Response response) {
+            Map<String,Object> body = getBody(response);
+
+            if (Collections.isEmpty(body)) {
+                throw new IllegalStateException("Unable to obtain resource data from the API server or from cache.");
+            }
+
+            return new DefaultResourceDataResult(req.getAction(), req.getUri(), req.getResourceClass(), body);
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private class PostExchange implements HttpExchange {
+
+        private final Class<? extends Resource> returnType;
+
+        private PostExchange(Class<? extends Resource> returnType) {
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Request createRequest(ResourceDataRequest req) {
+            String bodyString;
+            if (req.getHttpHeaders().getContentType() != null && req.getHttpHeaders().getContentType().equals(MediaType.APPLICATION_FORM_URLENCODED)){
+                bodyString = buildCanonicalBodyQueryParams(req.getData());
+            } else {
+
+                bodyString = mapMarshaller.marshal(req.getData());
+            }
+            StringInputStream body = new StringInputStream(bodyString);
+            long length = body.available();
+
+            CanonicalUri uri = req.getUri();
+            String href = uri.getAbsolutePath();
+            QueryString qs = uri.getQuery();
+
+            HttpHeaders httpHeaders = req.getHttpHeaders();
+            return new DefaultRequest(HttpMethod.POST, href, qs, httpHeaders, body, length);
+        }
+
+        @Override
+        public ResourceDataResult createResult(ResourceDataRequest req, Response response) {
+            Map<String, Object> responseBody = getBody(response);
+
+            if (Collections.isEmpty(responseBody)) {
+                // Fix for https://github.com/stormpath/stormpath-sdk-java/issues/218
+                if ( response.getHttpStatus() == 202 ) { //202 means that the request has been accepted for processing, but the processing has not been completed. Therefore we do not have a response body.
+                    responseBody = java.util.Collections.emptyMap();
+                } else if(response.getHttpStatus() == 200 && OAuthTokenRevoked.class.isAssignableFrom(returnType)) {
+                    responseBody = java.util.Collections.emptyMap();
+                } else {
+                    throw new IllegalStateException("Unable to obtain resource data from the API server.");
+                }
+            }
+
+            ResourceAction responseAction = getPostAction(req, response);
+
+            return new DefaultResourceDataResult(responseAction, req.getUri(), returnType, responseBody);
+        }
+    }
+
     /* =====================================================================
        Resource Persistence
        ===================================================================== */
@@ -417,69 +1012,45 @@ public class DefaultDataStore implements InternalDataStore {
         return queryStringFactory.createQueryString(href, defaultOptions);
     }
 
-    @SuppressWarnings("unchecked")
     private <T extends Resource, R extends Resource> R save(String href, final T resource, HttpHeaders requestHeaders, final Class<? extends R> returnType, final QueryString qs, final boolean create) {
+        ResourceDataRequest request = toSaveRequest(href, resource, requestHeaders, returnType, qs, create);
+
+        FilterChain chain = new DefaultFilterChain(this.filters, toFilterChain(new PostExchange(returnType)));
+
+        ResourceDataResult result = filter(chain, request);
+
+        return toSavedResource(resource, result, returnType);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private ResourceDataRequest toSaveRequest(String href, Resource resource, HttpHeaders requestHeaders,
+                                              Class<? extends Resource> returnType, QueryString qs, boolean create) {
         Assert.hasText(href, "href argument cannot be null or empty.");
         Assert.notNull(resource, "resource argument cannot be null.");
         Assert.notNull(returnType, "returnType class cannot be null.");
         Assert.isInstanceOf(AbstractResource.class, resource);
         Assert.isTrue(!CollectionResource.class.isAssignableFrom(resource.getClass()), "Collections cannot be persisted.");
 
-        final CanonicalUri uri = canonicalize(href, qs);
-        final AbstractResource abstractResource = (AbstractResource) resource;
-        final Map<String, Object> props = resourceConverter.convert(abstractResource);
-
-        FilterChain chain = new DefaultFilterChain(this.filters, new FilterChain() {
-            @Override
-            public ResourceDataResult filter(final ResourceDataRequest req) {
-
-                String bodyString;
-                if (req.getHttpHeaders().getContentType() != null && req.getHttpHeaders().getContentType().equals(MediaType.APPLICATION_FORM_URLENCODED)){
-                    bodyString = buildCanonicalBodyQueryParams(req.getData());
-                } else {
-
-                    bodyString = mapMarshaller.marshal(req.getData());
-                }
-                StringInputStream body = new StringInputStream(bodyString);
-                long length = body.available();
-
-                CanonicalUri uri = req.getUri();
-                String href = uri.getAbsolutePath();
-                QueryString qs = uri.getQuery();
-
-                HttpHeaders httpHeaders = req.getHttpHeaders();
-                Request request = new DefaultRequest(HttpMethod.POST, href, qs, httpHeaders, body, length);
-
-                Response response = execute(request);
-                Map<String, Object> responseBody = getBody(response);
-
-                if (Collections.isEmpty(responseBody)) {
-                    // Fix for https://github.com/stormpath/stormpath-sdk-java/issues/218
-                    if ( response.getHttpStatus() == 202 ) { //202 means that the request has been accepted for processing, but the processing has not been completed. Therefore we do not have a response body.
-                        responseBody = java.util.Collections.emptyMap();
-                    } else if(response.getHttpStatus() == 200 && OAuthTokenRevoked.class.isAssignableFrom(returnType)) {
-                        responseBody = java.util.Collections.emptyMap();
-                    } else {
-                        throw new IllegalStateException("Unable to obtain resource data from the API server.");
-                    }
-                }
-
-                ResourceAction responseAction = getPostAction(req, response);
-
-                return new DefaultResourceDataResult(responseAction, uri, returnType, responseBody);
-            }
-        });
+        CanonicalUri uri = canonicalize(href, qs);
+        AbstractResource abstractResource = (AbstractResource) resource;
+        Map<String, Object> props = resourceConverter.convert(abstractResource);
 
         ResourceAction action = create ? ResourceAction.CREATE : ResourceAction.UPDATE;
-        ResourceDataRequest request = new DefaultResourceDataRequest(action, uri, abstractResource.getClass(), props, requestHeaders);
+        return new DefaultResourceDataRequest(action, uri, abstractResource.getClass(), props, requestHeaders);
+    }
 
-        ResourceDataResult result = chain.filter(request);
+    /**
+     * @since 1.6.0
+     */
+    private <R extends Resource> R toSavedResource(Resource resource, ResourceDataResult result, Class<? extends R> returnType) {
 
         Map<String,Object> data = result.getData();
 
         //ensure the caller's argument is updated with what is returned from the server if the types are the same:
-        if (returnType.equals(abstractResource.getClass())) {
-            abstractResource.setProperties(data);
+        if (returnType.equals(resource.getClass())) {
+            ((AbstractResource) resource).setProperties(data);
         }
 
         return resourceFactory.instantiate(returnType, data);
@@ -491,13 +1062,122 @@ public class DefaultDataStore implements InternalDataStore {
 
     @Override
     public <T extends Resource> void delete(T resource) {
-        doDelete(resource, null);
+        doDelete(resource);
     }
 
     @Override
     public <T extends Resource> void deleteResourceProperty(T resource, String propertyName) {
         Assert.hasText(propertyName, "propertyName cannot be null or empty.");
-        doDelete(resource, propertyName);
+        deleteResourceProperties(resource, java.util.Collections.singleton(propertyName));
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public <T extends Resource> void deleteResourceProperties(T resource, Collection<String> propertyNames) {
+        Assert.notEmpty(propertyNames, "propertyNames cannot be null or empty.");
+        for (String propertyName : propertyNames) {
+            Assert.hasText(propertyName, "propertyNames cannot contain null or empty names.");
+        }
+        Assert.notNull(resource, "resource argument cannot be null.");
+        Assert.isInstanceOf(AbstractResource.class, resource, "Resource argument must be an AbstractResource.");
+
+        final String resourceHref = resource.getHref();
+        Assert.hasText(resourceHref, "This resource does not have an href value, therefore its properties cannot be deleted.");
+
+        final Set<String> names = new LinkedHashSet<String>(propertyNames);
+
+        FilterChain chain = new DefaultFilterChain(this.filters, new FilterChain() {
+            @Override
+            public ResourceDataResult filter(ResourceDataRequest request) {
+                deleteProperties(ensureFullyQualified(resourceHref), names);
+                //delete requests have HTTP 204 (no content), so just create an empty body for the result:
+                return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(), new HashMap<String, Object>());
+            }
+        });
+
+        final CanonicalUri resourceUri = canonicalize(resourceHref, null);
+        filter(chain, new ResourcePropertiesDeletionRequest(resourceUri, resource.getClass(), names));
+    }
+
+    /**
+     * Issues one {@code DELETE} request per property - the server does not support deleting several properties at
+     * once - with up to {@link #MAX_CONCURRENT_PROPERTY_DELETES} requests in flight.  The calling thread executes
+     * requests as well, so all properties are deleted even if the {@link #getAsyncExecutor() asyncExecutor} rejects
+     * the additional workers.  Once a request fails no further requests are issued and the first failure is thrown
+     * after the in-flight requests have completed.
+     *
+     * @since 1.6.0
+     */
+    private void deleteProperties(final String resourceHref, Collection<String> propertyNames) {
+
+        final Queue<String> remaining = new ConcurrentLinkedQueue<String>(propertyNames);
+
+        Callable<Void> worker = new Callable<Void>() {
+            @Override
+            public Void call() {
+                deleteRemainingProperties(resourceHref, remaining);
+                return null;
+            }
+        };
+
+        int additionalWorkers = Math.min(propertyNames.size(), MAX_CONCURRENT_PROPERTY_DELETES) - 1;
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(additionalWorkers);
+        for (int i = 0; i < additionalWorkers; i++) {
+            futures.add(submit(new CallbackFuture<Void>(null), worker));
+        }
+
+        Throwable failure = null;
+        try {
+            deleteRemainingProperties(resourceHref, remaining);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                remaining.clear();
+                if (failure == null) {
+                    failure = new IllegalStateException("Interrupted while deleting the properties of " + resourceHref, e);
+                }
+                break;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                //a rejected worker did not delete anything - the calling thread deleted its share instead:
+                if (failure == null && !(cause instanceof RejectedExecutionException)) {
+                    failure = cause;
+                }
+            }
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Unable to delete the properties of " + resourceHref, failure);
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private void deleteRemainingProperties(String resourceHref, Queue<String> remaining) {
+        String propertyName;
+        while ((propertyName = remaining.poll()) != null) {
+            try {
+                execute(new DefaultRequest(HttpMethod.DELETE, resourceHref + "/" + propertyName));
+            } catch (RuntimeException e) {
+                remaining.clear(); //stop the other workers as well
+                throw e;
+            }
+        }
     }
 
     /**
@@ -523,25 +1203,19 @@ public class DefaultDataStore implements InternalDataStore {
         return builder.toString();
     }
 
-    private <T extends Resource> void doDelete(T resource, final String possiblyNullPropertyName) {
+    private <T extends Resource> void doDelete(T resource) {
 
         Assert.notNull(resource, "resource argument cannot be null.");
         Assert.isInstanceOf(AbstractResource.class, resource, "Resource argument must be an AbstractResource.");
 
         final String resourceHref = resource.getHref();
         Assert.hasText(resourceHref, "This resource does not have an href value, therefore it cannot be deleted.");
-        final String requestHref;
-        if (Strings.hasText(possiblyNullPropertyName)) { //delete just that property, not the entire resource:
-            requestHref = resourceHref + "/" + possiblyNullPropertyName;
-        } else {
-            requestHref = resourceHref;
-        }
 
         FilterChain chain = new DefaultFilterChain(this.filters, new FilterChain() {
 
             @Override
             public ResourceDataResult filter(ResourceDataRequest request) {
-                Request deleteRequest = new DefaultRequest(HttpMethod.DELETE, ensureFullyQualified(requestHref));
+                Request deleteRequest = new DefaultRequest(HttpMethod.DELETE, ensureFullyQualified(resourceHref));
                 execute(deleteRequest);
                 //delete requests have HTTP 204 (no content), so just create an empty body for the result:
                 return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(), new HashMap<String, Object>());
@@ -550,7 +1224,41 @@ public class DefaultDataStore implements InternalDataStore {
 
         final CanonicalUri resourceUri = canonicalize(resourceHref, null);
         ResourceDataRequest request = new DefaultResourceDataRequest(ResourceAction.DELETE, resourceUri, resource.getClass(), new HashMap<String, Object>());
-        chain.filter(request);
+        filter(chain, request);
+    }
+
+    /**
+     * Runs the specified filter chain for the specified request, reporting the operation to the
+     * {@link #getMetricsRecorder() metricsRecorder}.
+     *
+     * @since 1.6.0
+     */
+    private ResourceDataResult filter(FilterChain chain, ResourceDataRequest request) {
+        MetricsRecorder recorder = this.metricsRecorder;
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            ResourceDataResult result = chain.filter(request);
+            successful = true;
+            return result;
+        } finally {
+            recorder.recordDataStoreOperation(request.getAction(), getInterfaceClass(request.getResourceClass()),
+                                              System.nanoTime() - start, successful);
+        }
+    }
+
+    /**
+     * Returns the resource interface of the specified class: saves and deletes are requested with implementation
+     * classes, reads with interfaces.
+     *
+     * @since 1.6.0
+     */
+    private static Class<? extends Resource> getInterfaceClass(Class<? extends Resource> clazz) {
+        try {
+            return DefaultResourceFactory.getInterfaceClass(clazz);
+        } catch (RuntimeException e) { //not named after its interface, e.g. a custom resource implementation
+            return clazz;
+        }
     }
 
     /* =====================================================================
@@ -583,6 +1291,15 @@ public class DefaultDataStore implements InternalDataStore {
         Response response = this.requestExecutor.executeRequest(request);
         log.trace("Executed HTTP request.");
 
+        throwIfError(response);
+
+        return response;
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private void throwIfError(Response response) throws ResourceException {
         if (response.isError()) {
             Map<String, Object> body = getBody(response);
 
@@ -596,8 +1313,6 @@ public class DefaultDataStore implements InternalDataStore {
 
             throw new ResourceException(error);
         }
-
-        return response;
     }
 
     private Map<String, Object> getBody(Response response) {
@@ -22,7 +22,6 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @since 0.1
@@ -47,27 +46,18 @@ public class DefaultResourceFactory implements ResourceFactory {
             throw new NullPointerException("Resource class cannot be null.");
         }
 
-        Class<T> implClass = getImplementationClass(clazz);
-
         Object[] ctorArgs = createConstructorArgs(constructorArgs);
 
-        Constructor<T> ctor;
-
-        if (ctorArgs.length == 1) {
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class);
-        } else if (ctorArgs.length == 2) {
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class, Map.class);
-        } else {
-            //collection resource - we want to retain the query parameters (3rd ctor argument):
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class, Map.class, Map.class);
-        }
+        //the descriptor caches the constructor lookup (a collection resource's 3-arg constructor retains the query
+        //parameters):
+        Constructor<T> ctor = ResourceDescriptor.forClass(clazz).getConstructor(ctorArgs.length);
 
         return Classes.instantiate(ctor, ctorArgs);
     }
 
     public static <T extends Resource> Class<T> getImplementationClass(Class<T> clazz) {
         if (clazz.isInterface()) {
-            return convertToImplClass(clazz);
+            return ResourceDescriptor.forClass(clazz).getImplementationClass();
         }
         return clazz;
     }
@@ -76,7 +66,7 @@ public class DefaultResourceFactory implements ResourceFactory {
         if (clazz.isInterface()) {
             return clazz;
         }
-        return convertToInterfaceClass(clazz);
+        return ResourceDescriptor.forClass(clazz).getInterfaceClass();
     }
 
     static <T extends Resource> Class<T> convertToInterfaceClass(Class<T> clazz) {
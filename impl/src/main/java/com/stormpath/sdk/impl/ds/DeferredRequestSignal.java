@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+/**
+ * Thrown by the terminal link of a filter chain whose request is sent asynchronously: it carries the request, as
+ * processed by all of the filters, back to the caller of the chain.  Once the response is received, the chain is run
+ * again with that request, and its terminal link then returns the response.  This signal does not indicate a failure,
+ * and the request has not been sent yet, so filters must let it propagate without any side effect: caches in
+ * particular are only written or invalidated when the chain is run with the response.  Used for control flow only, so
+ * the stack trace is never populated.
+ *
+ * @since 1.6.0
+ */
+public final class DeferredRequestSignal extends RuntimeException {
+
+    private final ResourceDataRequest request;
+
+    DeferredRequestSignal(ResourceDataRequest request) {
+        super(null, null, false, false);
+        this.request = request;
+    }
+
+    /**
+     * Returns the request, as processed by all of the filters of the chain.
+     *
+     * @return the request, as processed by all of the filters of the chain.
+     */
+    public ResourceDataRequest getRequest() {
+        return request;
+    }
+}
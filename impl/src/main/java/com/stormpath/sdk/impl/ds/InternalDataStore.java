@@ -16,14 +16,21 @@
 package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache;
 import com.stormpath.sdk.impl.ds.cache.CacheResolver;
+import com.stormpath.sdk.impl.group.GroupMembershipIndexCache;
 import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.impl.oauth.VerifiedAccessTokenCache;
+import com.stormpath.sdk.impl.util.AsyncCallback;
 import com.stormpath.sdk.query.Criteria;
 import com.stormpath.sdk.query.Options;
 import com.stormpath.sdk.resource.Resource;
 import com.stormpath.sdk.resource.Saveable;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Internal DataStore used for implementation purposes only.  Not intended to be called by SDK end users!
@@ -73,6 +80,15 @@ public interface InternalDataStore extends DataStore {
 
     <T extends Resource> void deleteResourceProperty(T resource, String propertyName);
 
+    /**
+     * Deletes the specified properties of the specified resource (for example {@code CustomData} keys).  The server
+     * requires one request per property, so the requests are executed concurrently, and the cached representation of
+     * the resource, if any, is uncached once all of them have completed.
+     *
+     * @since 1.6.0
+     */
+    <T extends Resource> void deleteResourceProperties(T resource, Collection<String> propertyNames);
+
     <T extends Resource> T getResource(String href, Class<T> clazz, Map<String,Object> queryParameters);
 
     <T extends Resource> T getResource(String href, Class<T> clazz, Criteria criteria);
@@ -82,8 +98,73 @@ public interface InternalDataStore extends DataStore {
      */
     <T extends Resource, R extends T> R getResource(String href, Class<T> parent, String childIdProperty, Map<String, Class<? extends R>> stringClassMap);
 
+    /**
+     * Asynchronous variant of {@link #getResource(String, Class)}.  If the resource is cached, the returned future is
+     * already completed when this method returns; otherwise the resource is retrieved without blocking the calling
+     * thread.
+     *
+     * @since 1.6.0
+     */
+    <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz, AsyncCallback<T> callback);
+
+    /**
+     * Asynchronous variant of {@link #getResource(String, Class, Map)}.  If the resource is cached, the returned
+     * future is already completed when this method returns; otherwise the resource is retrieved without blocking the
+     * calling thread.
+     *
+     * @since 1.6.0
+     */
+    <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz, Map<String,Object> queryParameters, AsyncCallback<T> callback);
+
+    /**
+     * Asynchronous variant of {@link #create(String, Resource)} that does not block the calling thread.
+     *
+     * @since 1.6.0
+     */
+    <T extends Resource> Future<T> createAsync(String parentHref, T resource, AsyncCallback<T> callback);
+
+    /**
+     * Asynchronous variant of {@link #save(Resource)} that does not block the calling thread.  The returned future is
+     * completed with the saved {@code resource} once its properties reflect the server's response.
+     *
+     * @since 1.6.0
+     */
+    <T extends Resource & Saveable> Future<T> saveAsync(T resource, AsyncCallback<T> callback);
+
     CacheResolver getCacheResolver();
 
+    /**
+     * Returns the record of access tokens already verified by bearer authentications performed with this data store, or
+     * {@code null} if caching is disabled.
+     *
+     * @since 1.6.0
+     */
+    VerifiedAccessTokenCache getVerifiedAccessTokenCache();
+
+    /**
+     * Returns the record of API Keys already verified by API Key authentications performed with this data store, or
+     * {@code null} if caching is disabled.
+     *
+     * @since 1.6.0
+     */
+    VerifiedApiKeyCache getVerifiedApiKeyCache();
+
+    /**
+     * Returns the group membership indexes of the accounts accessed with this data store.
+     *
+     * @since 1.6.0
+     */
+    GroupMembershipIndexCache getGroupMembershipIndexCache();
+
+    /**
+     * Returns the recorder that the operations of this data store, and of the components that use it, are reported
+     * to.  It is never {@code null}: a {@link com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder} is returned if
+     * metrics are not recorded.
+     *
+     * @since 1.6.0
+     */
+    MetricsRecorder getMetricsRecorder();
+
     String getBaseUrl();
 
 }
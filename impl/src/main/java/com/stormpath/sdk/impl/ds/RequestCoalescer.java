@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses concurrent, identical resource reads into a single request (also known as <em>single-flight</em>).
+ * <p/>
+ * Reads are keyed by their {@link CanonicalUri} and resource class.  The first thread to read a given key (the
+ * <em>leader</em>) executes the request while any other thread reading the same key in the meantime (a
+ * <em>follower</em>) waits for and receives the leader's result - or the leader's exception - instead of issuing its
+ * own request.  This prevents a burst of cache misses for a popular resource from turning into a burst of identical
+ * HTTP requests against the API server.
+ * <p/>
+ * Resource instances retain and mutate the data map they are constructed with, so whenever a result is shared, every
+ * thread receives its own deep copy of the result data.  A leader that was not joined by any followers receives the
+ * original result without copying.
+ *
+ * @since 1.6.0
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, Flight> flights;
+    private final AtomicLong executedCount;
+    private final AtomicLong collapsedCount;
+
+    public RequestCoalescer() {
+        this.flights = new ConcurrentHashMap<Key, Flight>();
+        this.executedCount = new AtomicLong(0);
+        this.collapsedCount = new AtomicLong(0);
+    }
+
+    /**
+     * Returns the number of requests that were actually executed, i.e. the number of times a thread was the leader for
+     * its key.
+     *
+     * @return the number of requests that were actually executed.
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * Returns the number of requests that were not executed because an identical request was already in flight and
+     * its result was shared instead.
+     *
+     * @return the number of requests that were collapsed into an identical in-flight request.
+     */
+    public long getCollapsedCount() {
+        return collapsedCount.get();
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     *
+     * @return the number of distinct requests currently in flight.
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Executes the specified request via {@code chain}, unless an identical request is already in flight, in which
+     * case the calling thread waits for that request to complete and receives a copy of its result.
+     *
+     * @param request the request to execute
+     * @param chain   the chain that executes the request
+     * @return the request's result
+     */
+    public ResourceDataResult execute(ResourceDataRequest request, FilterChain chain) {
+        Assert.notNull(request, "request cannot be null.");
+        Assert.notNull(chain, "chain cannot be null.");
+
+        Key key = new Key(request.getUri(), request.getResourceClass());
+
+        for (; ; ) {
+            Flight flight = new Flight();
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, request, chain);
+            }
+            if (existing.join()) {
+                collapsedCount.incrementAndGet();
+                return copy(existing.await());
+            }
+            //the existing flight completed after we found it but before we could join it - try again
+        }
+    }
+
+    private ResourceDataResult lead(Key key, Flight flight, ResourceDataRequest request, FilterChain chain) {
+        executedCount.incrementAndGet();
+        ResourceDataResult result;
+        try {
+            result = chain.filter(request);
+            flight.complete(result, null);
+        } catch (Throwable t) {
+            flight.complete(null, t);
+            throw t;
+        } finally {
+            flights.remove(key, flight);
+        }
+        //once closed, no more followers can join.  If any did, they share the original result data, so the leader
+        //needs its own copy too:
+        return flight.close() > 0 ? copy(result) : result;
+    }
+
+    private static ResourceDataResult copy(ResourceDataResult result) {
+        if (result == null) {
+            return null;
+        }
+        return new DefaultResourceDataResult(result.getAction(), result.getUri(), result.getResourceClass(),
+                                             copy(result.getData()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> copy(Map<String, ?> data) {
+        if (data == null) {
+            return null;
+        }
+        Map<String, Object> copy = new LinkedHashMap<String, Object>(data.size());
+        for (Map.Entry<String, ?> entry : data.entrySet()) {
+            copy.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            return copy((Map<String, ?>) value);
+        }
+        if (value instanceof Collection) {
+            Collection<?> c = (Collection<?>) value;
+            List<Object> copy = new ArrayList<Object>(c.size());
+            for (Object element : c) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static final class Key {
+
+        private final CanonicalUri uri;
+        private final Class<? extends Resource> resourceClass;
+
+        private Key(CanonicalUri uri, Class<? extends Resource> resourceClass) {
+            this.uri = uri;
+            this.resourceClass = resourceClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return uri.equals(other.uri) &&
+                   (resourceClass != null ? resourceClass.equals(other.resourceClass) : other.resourceClass == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * uri.hashCode() + (resourceClass != null ? resourceClass.hashCode() : 0);
+        }
+    }
+
+    /**
+     * A single in-flight request.  All fields are guarded by the instance monitor.
+     */
+    private static final class Flight {
+
+        private boolean done;
+        private boolean closed;
+        private int followers;
+        private ResourceDataResult result;
+        private Throwable failure;
+
+        private synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        private synchronized int close() {
+            closed = true;
+            return followers;
+        }
+
+        private synchronized void complete(ResourceDataResult result, Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            this.done = true;
+            notifyAll();
+        }
+
+        private synchronized ResourceDataResult await() {
+            boolean interrupted = false;
+            while (!done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    //the leader is not interruptible by this thread, so keep waiting and restore the status afterwards
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.impl.resource.Property;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Classes;
+import com.stormpath.sdk.resource.Resource;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable metadata about a resource implementation class - its resource interface, the constructors used to
+ * instantiate it and its complete (including inherited) set of property descriptors - computed once per class and
+ * shared by all {@code DataStore} instances.
+ * <p/>
+ * Resolving this information involves class name conversions, {@link Class#forName(String) class loading} and
+ * reflection, which is far too expensive to repeat every time a resource is instantiated or cached.  Descriptors are
+ * obtained via {@link #forClass(Class)}, which accepts either a resource interface (e.g. {@code Account}) or a resource
+ * implementation class (e.g. {@code DefaultAccount}).  Each part of a descriptor is resolved lazily on first use, so a
+ * failure to resolve one part (e.g. a class without an interface) does not prevent using the others.
+ *
+ * @since 1.6.0
+ */
+public final class ResourceDescriptor {
+
+    private static final String PROPERTY_DESCRIPTORS_FIELD_NAME = "PROPERTY_DESCRIPTORS";
+
+    private static final Class[][] CONSTRUCTOR_ARG_TYPES = new Class[][]{
+            {InternalDataStore.class},
+            {InternalDataStore.class, Map.class},
+            //collection resources retain their query parameters (3rd ctor argument):
+            {InternalDataStore.class, Map.class, Map.class}
+    };
+
+    private static final ConcurrentMap<Class, ResourceDescriptor> DESCRIPTORS =
+            new ConcurrentHashMap<Class, ResourceDescriptor>();
+
+    private final Class implementationClass;
+    private final AtomicReferenceArray<Constructor> constructors;
+    private volatile Class interfaceClass;
+    private volatile Map<String, Property> propertyDescriptors;
+
+    private ResourceDescriptor(Class implementationClass) {
+        this.implementationClass = implementationClass;
+        this.constructors = new AtomicReferenceArray<Constructor>(CONSTRUCTOR_ARG_TYPES.length);
+    }
+
+    /**
+     * Returns the descriptor of the implementation class of the specified resource interface or implementation class.
+     *
+     * @param clazz a resource interface or implementation class
+     * @return the descriptor of the implementation class of the specified resource interface or implementation class.
+     */
+    @SuppressWarnings("unchecked")
+    public static ResourceDescriptor forClass(Class<? extends Resource> clazz) {
+        Assert.notNull(clazz, "Resource class cannot be null.");
+        ResourceDescriptor descriptor = DESCRIPTORS.get(clazz);
+        if (descriptor == null) {
+            if (clazz.isInterface()) {
+                descriptor = forClass(DefaultResourceFactory.convertToImplClass(clazz));
+            } else {
+                descriptor = new ResourceDescriptor(clazz);
+            }
+            ResourceDescriptor existing = DESCRIPTORS.putIfAbsent(clazz, descriptor);
+            if (existing != null) {
+                descriptor = existing;
+            }
+        }
+        return descriptor;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> Class<T> getImplementationClass() {
+        return implementationClass;
+    }
+
+    /**
+     * Returns the resource interface implemented by the implementation class, for example {@code Account} for
+     * {@code DefaultAccount}.
+     *
+     * @return the resource interface implemented by the implementation class.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> Class<T> getInterfaceClass() {
+        Class iface = this.interfaceClass;
+        if (iface == null) {
+            iface = DefaultResourceFactory.convertToInterfaceClass(implementationClass);
+            this.interfaceClass = iface;
+        }
+        return iface;
+    }
+
+    /**
+     * Returns the public constructor used to instantiate the implementation class with the specified number of
+     * arguments: an {@link InternalDataStore}, optionally followed by the resource properties {@code Map} and, for
+     * collection resources, the query parameters {@code Map}.
+     *
+     * @param argCount the number of constructor arguments, including the {@code InternalDataStore}
+     * @return the constructor used to instantiate the implementation class with the specified number of arguments.
+     * @throws IllegalStateException if the implementation class does not have such a constructor.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> Constructor<T> getConstructor(int argCount) throws IllegalStateException {
+        int index = Math.min(Math.max(argCount, 1), CONSTRUCTOR_ARG_TYPES.length) - 1;
+        Constructor ctor = constructors.get(index);
+        if (ctor == null) {
+            ctor = Classes.getConstructor(implementationClass, CONSTRUCTOR_ARG_TYPES[index]);
+            constructors.set(index, ctor);
+        }
+        return ctor;
+    }
+
+    /**
+     * Returns the descriptor of the specified property, or {@code null} if the implementation class has no such
+     * property.
+     *
+     * @param propertyName the name of the property
+     * @return the descriptor of the specified property, or {@code null} if the implementation class has no such
+     * property.
+     */
+    public Property getPropertyDescriptor(String propertyName) {
+        return getPropertyDescriptors().get(propertyName);
+    }
+
+    /**
+     * Returns an immutable map of all property descriptors of the implementation class, keyed by property name.
+     * Properties declared by the implementation class take precedence over same-named properties declared by its
+     * superclasses.
+     *
+     * @return an immutable map of all property descriptors of the implementation class, keyed by property name.
+     * @throws IllegalStateException if the implementation class does not declare a {@code PROPERTY_DESCRIPTORS} field.
+     */
+    public Map<String, Property> getPropertyDescriptors() throws IllegalStateException {
+        Map<String, Property> descriptors = this.propertyDescriptors;
+        if (descriptors == null) {
+            descriptors = Collections.unmodifiableMap(collectPropertyDescriptors());
+            this.propertyDescriptors = descriptors;
+        }
+        return descriptors;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Property> collectPropertyDescriptors() {
+        Map<String, Property> descriptors = new LinkedHashMap<String, Property>();
+        Class clazz = implementationClass;
+        try {
+            descriptors.putAll(getDeclaredPropertyDescriptors(clazz));
+            while (clazz.getSuperclass() != null && Resource.class.isAssignableFrom(clazz)) {
+                clazz = clazz.getSuperclass();
+                try {
+                    for (Map.Entry<String, Property> entry : getDeclaredPropertyDescriptors(clazz).entrySet()) {
+                        if (!descriptors.containsKey(entry.getKey())) {
+                            descriptors.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                } catch (NoSuchFieldException e) {
+                    // It is not guaranteed that PROPERTY_DESCRIPTORS is part of every super class of the type resource.
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to access " + PROPERTY_DESCRIPTORS_FIELD_NAME +
+                                            " static field on implementation class " + implementationClass.getName(), e);
+        }
+        return descriptors;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Property> getDeclaredPropertyDescriptors(Class clazz) throws Exception {
+        Field field = clazz.getDeclaredField(PROPERTY_DESCRIPTORS_FIELD_NAME);
+        field.setAccessible(true);
+        Map<String, Property> descriptors = (Map<String, Property>) field.get(null);
+        return descriptors != null ? descriptors : Collections.<String, Property>emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceDescriptor{" + implementationClass.getName() + "}";
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A {@link ResourceAction#DELETE DELETE} request that removes only some properties of a resource (for example
+ * {@code CustomData} keys) instead of the resource itself.  Filters that treat every {@code DELETE} request as the
+ * removal of the entire resource remain correct, but may use the {@link #getPropertyNames() property names} to retain
+ * the rest of the resource - the {@code WriteCacheFilter} removes just those properties from the cached resource.
+ *
+ * @since 1.6.0
+ */
+public class ResourcePropertiesDeletionRequest extends DefaultResourceDataRequest {
+
+    private final Set<String> propertyNames;
+
+    public ResourcePropertiesDeletionRequest(CanonicalUri uri, Class<? extends Resource> resourceClass,
+                                             Collection<String> propertyNames) {
+        super(ResourceAction.DELETE, uri, resourceClass, new HashMap<String, Object>());
+        Assert.notEmpty(propertyNames, "propertyNames cannot be null or empty.");
+        this.propertyNames = Collections.unmodifiableSet(new LinkedHashSet<String>(propertyNames));
+    }
+
+    /**
+     * Returns the names of the properties to delete.
+     *
+     * @return the names of the properties to delete.
+     */
+    public Set<String> getPropertyNames() {
+        return propertyNames;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link JacksonMapMarshaller} that unmarshals JSON documents with a streaming {@link JsonParser} straight into
+ * {@code LinkedHashMap}s, instead of going through the {@code ObjectMapper}'s untyped deserializers.  The resulting
+ * maps are identical to those of the {@code JacksonMapMarshaller} (same map, list and number types, honoring the
+ * {@code ObjectMapper}'s {@code USE_BIG_DECIMAL_FOR_FLOATS}, {@code USE_BIG_INTEGER_FOR_INTS} and
+ * {@code USE_LONG_FOR_INTS} features), while:
+ * <ul>
+ * <li>property names are canonicalized by the parser's symbol table, so the keys of every map (e.g. {@code href},
+ * {@code createdAt}, {@code status}) share a single {@code String} instance per name;</li>
+ * <li>the {@code items} list of a collection resource page is sized from its {@code offset}, {@code limit} and
+ * {@code size} properties, and every item map is sized from the number of properties of the previous item, so that
+ * neither grows by rehashing or copying while a page is parsed.</li>
+ * </ul>
+ * Marshalling is not affected.
+ *
+ * @since 1.6.0
+ */
+public class StreamingMapMarshaller extends JacksonMapMarshaller {
+
+    private static final String ITEMS = "items";
+    private static final String OFFSET = "offset";
+    private static final String LIMIT = "limit";
+    private static final String SIZE = "size";
+
+    /**
+     * The largest capacity a list is sized to from a collection page's properties - the maximum page size.
+     */
+    private static final int MAX_ITEMS_CAPACITY = 100;
+
+    @Override
+    public Map unmarshal(String marshalled) {
+        try (JsonParser parser = getObjectMapper().getFactory().createParser(marshalled)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert JSON String to Map.", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> unmarshall(InputStream marshalled) {
+        try (JsonParser parser = getObjectMapper().getFactory().createParser(marshalled)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert InputStream String to Map.", e);
+        }
+    }
+
+    private Map<String, Object> parse(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            String found = token != null ? token.toString() : "no content";
+            throw new MarshalingException("Expected a JSON object, found " + found + ".");
+        }
+        return new Parser(getObjectMapper()).readObject(parser, -1);
+    }
+
+    /**
+     * Holds the number features of a single unmarshalling, as the {@code ObjectMapper} may be reconfigured at any time.
+     */
+    private static final class Parser {
+
+        private final boolean bigDecimalForFloats;
+        private final boolean bigIntegerForInts;
+        private final boolean longForInts;
+
+        private Parser(ObjectMapper objectMapper) {
+            this.bigDecimalForFloats = objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+            this.bigIntegerForInts = objectMapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+            this.longForInts = objectMapper.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS);
+        }
+
+        /**
+         * Reads the object whose {@code START_OBJECT} token is the current token.
+         *
+         * @param expectedSize the number of properties the object is expected to have, or {@code -1} if unknown
+         */
+        private Map<String, Object> readObject(JsonParser parser, int expectedSize) throws IOException {
+            Map<String, Object> map = expectedSize < 0 ? new LinkedHashMap<String, Object>() :
+                new LinkedHashMap<String, Object>((int) (expectedSize / 0.75f) + 1);
+
+            for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String name = parser.getCurrentName();
+                token = parser.nextToken();
+                Object value;
+                if (token == JsonToken.START_ARRAY && ITEMS.equals(name)) {
+                    value = readArray(parser, getItemsCapacity(map));
+                } else {
+                    value = readValue(parser, token);
+                }
+                map.put(name, value);
+            }
+
+            return map;
+        }
+
+        /**
+         * Returns the number of items expected in the {@code items} list of the specified collection resource page,
+         * from the properties read so far, or {@code -1} if unknown.
+         */
+        private int getItemsCapacity(Map<String, Object> page) {
+            Object limit = page.get(LIMIT);
+            Object size = page.get(SIZE);
+            if (!(limit instanceof Integer) || !(size instanceof Integer)) {
+                return -1;
+            }
+            Object offset = page.get(OFFSET);
+            int remaining = (Integer) size - (offset instanceof Integer ? (Integer) offset : 0);
+            return Math.max(0, Math.min(Math.min((Integer) limit, remaining), MAX_ITEMS_CAPACITY));
+        }
+
+        /**
+         * Reads the array whose {@code START_ARRAY} token is the current token.
+         *
+         * @param expectedSize the number of elements the array is expected to have, or {@code -1} if unknown
+         */
+        private List<Object> readArray(JsonParser parser, int expectedSize) throws IOException {
+            List<Object> list = expectedSize < 0 ? new ArrayList<Object>() : new ArrayList<Object>(expectedSize);
+
+            int objectSize = -1;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == JsonToken.START_OBJECT) {
+                    //the elements of an array are usually alike: size each object from the previous one
+                    Map<String, Object> object = readObject(parser, objectSize);
+                    objectSize = object.size();
+                    list.add(object);
+                } else {
+                    list.add(readValue(parser, token));
+                }
+            }
+
+            return list;
+        }
+
+        private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+            if (token == null) {
+                throw new MarshalingException("Unexpected end of JSON content.");
+            }
+            switch (token) {
+                case START_OBJECT:
+                    return readObject(parser, -1);
+                case START_ARRAY:
+                    return readArray(parser, -1);
+                case VALUE_STRING:
+                    return parser.getText();
+                case VALUE_NUMBER_INT:
+                    return readInteger(parser);
+                case VALUE_NUMBER_FLOAT:
+                    return bigDecimalForFloats ? parser.getDecimalValue() : (Object) parser.getDoubleValue();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_NULL:
+                    return null;
+                case VALUE_EMBEDDED_OBJECT:
+                    return parser.getEmbeddedObject();
+                default:
+                    throw new MarshalingException("Unexpected JSON token " + token + ".");
+            }
+        }
+
+        private Object readInteger(JsonParser parser) throws IOException {
+            if (bigIntegerForInts) {
+                return parser.getBigIntegerValue();
+            }
+            JsonParser.NumberType type = parser.getNumberType();
+            if (type == JsonParser.NumberType.INT && !longForInts) {
+                return parser.getIntValue();
+            }
+            if (type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG) {
+                return parser.getLongValue();
+            }
+            return parser.getBigIntegerValue();
+        }
+    }
+}
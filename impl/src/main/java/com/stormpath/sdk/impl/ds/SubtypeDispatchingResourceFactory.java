@@ -108,7 +108,7 @@ public class SubtypeDispatchingResourceFactory implements ResourceFactory {
             }
         }
         if (clazz.isInterface()) {
-            return DefaultResourceFactory.convertToImplClass(clazz);
+            return ResourceDescriptor.forClass(clazz).getImplementationClass();
         }
         return clazz;
     }
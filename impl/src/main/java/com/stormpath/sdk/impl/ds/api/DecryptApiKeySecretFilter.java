@@ -21,6 +21,7 @@ import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials;
 import com.stormpath.sdk.impl.api.ApiKeyParameter;
 import com.stormpath.sdk.impl.api.DefaultApiKey;
 import com.stormpath.sdk.impl.api.DefaultApiKeyList;
+import com.stormpath.sdk.impl.cache.DefaultCache;
 import com.stormpath.sdk.impl.ds.DefaultResourceDataResult;
 import com.stormpath.sdk.impl.ds.Filter;
 import com.stormpath.sdk.impl.ds.FilterChain;
@@ -29,20 +30,48 @@ import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
 import com.stormpath.sdk.impl.security.ApiKeySecretEncryptionService;
 import com.stormpath.sdk.impl.security.EncryptionService;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
 import com.stormpath.sdk.resource.Resource;
 
+import javax.crypto.SecretKey;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Decrypts the (encrypted) secrets of the API Keys returned by the server.
+ * <p/>
+ * As of 1.6.0, the keys derived from the encryption metadata (salt, key size and iterations) are retained in a bounded
+ * map, so that the expensive key derivation is performed only once per set of parameters - cached API Keys retain the
+ * encryption metadata they were originally retrieved with.  Decrypted secrets may additionally be retained in a
+ * separate, short-lived, in-memory region by {@link #setDecryptedSecretTimeToLive(Duration) setting} its time to
+ * live.
+ *
  * @since 1.0.RC
  */
 public class DecryptApiKeySecretFilter implements Filter {
 
+    /**
+     * The default maximum number of derived keys retained by this filter.
+     *
+     * @since 1.6.0
+     */
+    public static final int DEFAULT_MAX_DERIVED_KEYS = 256;
+
+    /**
+     * The maximum number of decrypted secrets retained by this filter when a
+     * {@link #setDecryptedSecretTimeToLive(Duration) time to live} is set.
+     *
+     * @since 1.6.0
+     */
+    public static final int MAX_DECRYPTED_SECRETS = 1024;
+
     private static String ENCRYPTION_KEY_SALT = ApiKeyParameter.ENCRYPTION_KEY_SALT.getName();
     private static String ENCRYPTION_KEY_SIZE = ApiKeyParameter.ENCRYPTION_KEY_SIZE.getName();
     private static String ENCRYPTION_KEY_ITERATIONS = ApiKeyParameter.ENCRYPTION_KEY_ITERATIONS.getName();
@@ -52,9 +81,64 @@ public class DecryptApiKeySecretFilter implements Filter {
 
     private final String SECRET_PROPERTY_NAME = DefaultApiKey.SECRET.getName();
 
+    private final Map<EncryptionParameters, SecretKey> derivedKeys;
+
+    private final AtomicLong keyDerivationCount = new AtomicLong();
+
+    private volatile DefaultCache<Object, String> decryptedSecrets;
+
     public DecryptApiKeySecretFilter(ApiKeyCredentials apiKeyCredentials) {
+        this(apiKeyCredentials, DEFAULT_MAX_DERIVED_KEYS);
+    }
+
+    /**
+     * @param apiKeyCredentials the client's API Key credentials, the secret of which is the encryption password
+     * @param maxDerivedKeys    the maximum number of derived keys to retain
+     * @since 1.6.0
+     */
+    public DecryptApiKeySecretFilter(ApiKeyCredentials apiKeyCredentials, int maxDerivedKeys) {
         Assert.notNull(apiKeyCredentials);
         this.apiKeyCredentials = apiKeyCredentials;
+        this.derivedKeys = new SegmentedLruMap<EncryptionParameters, SecretKey>(maxDerivedKeys);
+    }
+
+    /**
+     * Returns how long decrypted secrets are retained in memory, or {@code null} if they are not retained (the
+     * default).
+     *
+     * @return how long decrypted secrets are retained in memory, or {@code null} if they are not retained.
+     * @since 1.6.0
+     */
+    public Duration getDecryptedSecretTimeToLive() {
+        DefaultCache<Object, String> cache = this.decryptedSecrets;
+        return cache != null ? cache.getTimeToLive() : null;
+    }
+
+    /**
+     * Sets how long decrypted secrets are retained in memory, avoiding decryption altogether when the same (cached)
+     * API Key is read repeatedly.  Secrets are never written to the application's {@code CacheManager}: they are kept in
+     * a bounded region private to this filter.  A {@code null} or zero value disables retention, which is the default.
+     *
+     * @param timeToLive how long decrypted secrets are retained in memory, or {@code null} to not retain them.
+     * @since 1.6.0
+     */
+    public void setDecryptedSecretTimeToLive(Duration timeToLive) {
+        if (timeToLive == null || timeToLive.getValue() <= 0) {
+            this.decryptedSecrets = null;
+        } else {
+            this.decryptedSecrets = new DefaultCache<Object, String>(getClass().getName() + ".decryptedSecrets",
+                    new SegmentedLruMap<Object, DefaultCache.Entry<String>>(MAX_DECRYPTED_SECRETS), timeToLive, null);
+        }
+    }
+
+    /**
+     * Returns the number of times an encryption key had to be derived, i.e. the number of derived key cache misses.
+     *
+     * @return the number of times an encryption key had to be derived.
+     * @since 1.6.0
+     */
+    public long getKeyDerivationCount() {
+        return keyDerivationCount.get();
     }
 
     @Override
@@ -106,12 +190,8 @@ public class DecryptApiKeySecretFilter implements Filter {
         @SuppressWarnings("unchecked")
         Map<String, Object> metadata = (Map<String, Object>) input.get(ENCRYPTION_METADATA);
 
-        byte[] base64Salt = ((String) metadata.get(ENCRYPTION_KEY_SALT)).getBytes();
-        Integer iterations = (Integer) metadata.get(ENCRYPTION_KEY_ITERATIONS);
-        Integer size = (Integer) metadata.get(ENCRYPTION_KEY_SIZE);
-
-        EncryptionService service = new ApiKeySecretEncryptionService.Builder().setPassword(apiKeyCredentials.getSecret().toCharArray()).setKeySize(size)
-                .setIterations(iterations).setBase64Salt(base64Salt).build();
+        EncryptionParameters parameters = new EncryptionParameters((String) metadata.get(ENCRYPTION_KEY_SALT),
+                (Integer) metadata.get(ENCRYPTION_KEY_ITERATIONS), (Integer) metadata.get(ENCRYPTION_KEY_SIZE));
 
         String encryptedSecret = (String) input.get(SECRET_PROPERTY_NAME);
 
@@ -126,7 +206,7 @@ public class DecryptApiKeySecretFilter implements Filter {
             }
 
             if (key.equals(SECRET_PROPERTY_NAME)) {
-                clonedData.put(key, service.decryptBase64String(encryptedSecret));
+                clonedData.put(key, decrypt(parameters, encryptedSecret));
                 continue;
             }
 
@@ -136,4 +216,80 @@ public class DecryptApiKeySecretFilter implements Filter {
         return clonedData;
     }
 
+    private String decrypt(EncryptionParameters parameters, String encryptedSecret) {
+
+        DefaultCache<Object, String> secrets = this.decryptedSecrets;
+        List<Object> secretKey = null;
+
+        if (secrets != null) {
+            secretKey = Arrays.<Object>asList(parameters, encryptedSecret);
+            String secret = secrets.get(secretKey);
+            if (secret != null) {
+                return secret;
+            }
+        }
+
+        EncryptionService service = new ApiKeySecretEncryptionService.Builder().setKeySize(parameters.size)
+                .setSecretKey(getDerivedKey(parameters)).build();
+
+        String secret = service.decryptBase64String(encryptedSecret);
+
+        if (secrets != null) {
+            secrets.put(secretKey, secret);
+        }
+
+        return secret;
+    }
+
+    private SecretKey getDerivedKey(EncryptionParameters parameters) {
+        SecretKey key = derivedKeys.get(parameters);
+        if (key == null) {
+            //concurrent misses for the same parameters may derive the key more than once, which is harmless:
+            key = ApiKeySecretEncryptionService.deriveKey(apiKeyCredentials.getSecret().toCharArray(),
+                    parameters.base64Salt.getBytes(), parameters.size, parameters.iterations);
+            keyDerivationCount.incrementAndGet();
+            derivedKeys.put(parameters, key);
+        }
+        return key;
+    }
+
+    /**
+     * The parameters a secret was encrypted with, which (together with the client's API Key secret) determine the
+     * derived key.
+     *
+     * @since 1.6.0
+     */
+    private static final class EncryptionParameters {
+
+        private final String base64Salt;
+        private final int iterations;
+        private final int size;
+
+        private EncryptionParameters(String base64Salt, Integer iterations, Integer size) {
+            Assert.hasText(base64Salt, "encryption key salt cannot be null or empty.");
+            Assert.notNull(iterations, "encryption key iterations cannot be null.");
+            Assert.notNull(size, "encryption key size cannot be null.");
+            this.base64Salt = base64Salt;
+            this.iterations = iterations;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EncryptionParameters)) {
+                return false;
+            }
+            EncryptionParameters other = (EncryptionParameters) o;
+            return iterations == other.iterations && size == other.size && base64Salt.equals(other.base64Salt);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * base64Salt.hashCode() + iterations) + size;
+        }
+    }
+
 }
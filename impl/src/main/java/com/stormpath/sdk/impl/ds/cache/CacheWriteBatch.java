@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.cache.BulkCache;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the cache writes of several resources, grouped by cache, so that they are written to each cache at once
+ * via {@link BulkCache#putAll(Map)} if the cache supports it.  When the same key is written more than once (e.g. a
+ * directory referenced by every account of a page), only the last value is written.
+ * <p/>
+ * This class is not thread-safe.
+ *
+ * @since 1.6.0
+ */
+final class CacheWriteBatch {
+
+    private final Map<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>> writes =
+            new IdentityHashMap<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>>();
+
+    void put(Cache<String, Map<String, ?>> cache, String key, Map<String, ?> value) {
+        Map<String, Map<String, ?>> entries = writes.get(cache);
+        if (entries == null) {
+            entries = new LinkedHashMap<String, Map<String, ?>>();
+            writes.put(cache, entries);
+        }
+        entries.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    void flush() {
+        for (Map.Entry<Cache<String, Map<String, ?>>, Map<String, Map<String, ?>>> write : writes.entrySet()) {
+            Cache<String, Map<String, ?>> cache = write.getKey();
+            Map<String, Map<String, ?>> entries = write.getValue();
+            if (cache instanceof BulkCache && entries.size() > 1) {
+                ((BulkCache<String, Map<String, ?>>) cache).putAll(entries);
+            } else {
+                for (Map.Entry<String, Map<String, ?>> entry : entries.entrySet()) {
+                    cache.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        writes.clear();
+    }
+}
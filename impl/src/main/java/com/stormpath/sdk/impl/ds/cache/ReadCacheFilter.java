@@ -18,13 +18,18 @@ package com.stormpath.sdk.impl.ds.cache;
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyList;
 import com.stormpath.sdk.impl.authc.LoginAttempt;
+import com.stormpath.sdk.impl.ds.CacheRegionNameResolver;
+import com.stormpath.sdk.impl.ds.DefaultCacheRegionNameResolver;
 import com.stormpath.sdk.impl.ds.DefaultResourceDataResult;
+import com.stormpath.sdk.impl.ds.DeferredRequestSignal;
 import com.stormpath.sdk.impl.ds.FilterChain;
 import com.stormpath.sdk.impl.ds.ResourceAction;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
 import com.stormpath.sdk.impl.http.CanonicalUri;
 import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
 import com.stormpath.sdk.impl.provider.ProviderAccountAccess;
 import com.stormpath.sdk.impl.resource.CollectionProperties;
 import com.stormpath.sdk.impl.util.BaseUrlResolver;
@@ -42,28 +47,80 @@ import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.OFFSET;
 public class ReadCacheFilter extends AbstractCacheFilter {
 
     private BaseUrlResolver baseUrlResolver;
+    private final CacheRegionNameResolver cacheRegionNameResolver;
+    private volatile MetricsRecorder metricsRecorder = new DisabledMetricsRecorder();
 
     /**
      * @since 1.2.0
      */
     public ReadCacheFilter(BaseUrlResolver baseUrlResolver, CacheResolver cacheResolver, boolean collectionCachingEnabled) {
+        this(baseUrlResolver, cacheResolver, collectionCachingEnabled, new DefaultCacheRegionNameResolver());
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    public ReadCacheFilter(BaseUrlResolver baseUrlResolver, CacheResolver cacheResolver, boolean collectionCachingEnabled,
+                           CacheRegionNameResolver cacheRegionNameResolver) {
         super(cacheResolver, collectionCachingEnabled);
         Assert.notNull(baseUrlResolver, "baseUrlResolver cannot be null.");
+        Assert.notNull(cacheRegionNameResolver, "cacheRegionNameResolver cannot be null.");
         this.baseUrlResolver = baseUrlResolver;
+        this.cacheRegionNameResolver = cacheRegionNameResolver;
+    }
+
+    /**
+     * Sets the recorder that the loads of the resources missing from the cache are reported to.
+     *
+     * @param metricsRecorder the recorder that the loads of the resources missing from the cache are reported to.
+     * @since 1.6.0
+     */
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Assert.notNull(metricsRecorder, "metricsRecorder cannot be null.");
+        this.metricsRecorder = metricsRecorder;
     }
 
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
-        if (isCacheRetrievalEnabled(request)) {
-            ResourceDataResult result = getCachedResourceData(request);
-            if (result != null) {
-                return result;
-            }
+        if (!isCacheRetrievalEnabled(request)) {
+            return chain.filter(request);
+        }
+
+        ResourceDataResult result = getCachedResourceData(request);
+        if (result != null) {
+            return result;
         }
 
         //cache miss - let the chain continue:
-        return chain.filter(request);
+        return load(request, chain);
+    }
+
+    /**
+     * Lets the chain continue after a cache miss, recording how long it takes to load the missing resource.  Nothing
+     * is recorded if the request is {@link DeferredRequestSignal deferred}, as it is then loaded asynchronously.
+     *
+     * @since 1.6.0
+     */
+    private ResourceDataResult load(ResourceDataRequest request, FilterChain chain) {
+        MetricsRecorder recorder = this.metricsRecorder;
+        Class<? extends Resource> cacheClass = isApiKeyCollectionQuery(request) ? ApiKey.class : request.getResourceClass();
+        long start = System.nanoTime();
+        boolean successful = false;
+        boolean deferred = false;
+        try {
+            ResourceDataResult result = chain.filter(request);
+            successful = true;
+            return result;
+        } catch (DeferredRequestSignal signal) {
+            deferred = true;
+            throw signal;
+        } finally {
+            if (!deferred) {
+                recorder.recordCacheLoad(cacheRegionNameResolver.getCacheRegionName(cacheClass),
+                                         System.nanoTime() - start, successful);
+            }
+        }
     }
 
     private ResourceDataResult getCachedResourceData(ResourceDataRequest request) {
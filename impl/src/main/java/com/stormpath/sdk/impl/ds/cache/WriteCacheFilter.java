@@ -18,20 +18,28 @@ package com.stormpath.sdk.impl.ds.cache;
 import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.account.EmailVerificationToken;
 import com.stormpath.sdk.account.PasswordResetToken;
+import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.directory.CustomData;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.group.GroupMembership;
 import com.stormpath.sdk.impl.account.DefaultAccount;
+import com.stormpath.sdk.impl.api.VerifiedApiKeyCache;
 import com.stormpath.sdk.impl.ds.CacheMapInitializer;
 import com.stormpath.sdk.impl.ds.DefaultCacheMapInitializer;
-import com.stormpath.sdk.impl.ds.DefaultResourceFactory;
+import com.stormpath.sdk.impl.ds.DeferredRequestSignal;
 import com.stormpath.sdk.impl.ds.FilterChain;
 import com.stormpath.sdk.impl.ds.ResourceAction;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
+import com.stormpath.sdk.impl.ds.ResourceDescriptor;
+import com.stormpath.sdk.impl.ds.ResourcePropertiesDeletionRequest;
 import com.stormpath.sdk.impl.ds.SubtypeDispatchingResourceFactory;
+import com.stormpath.sdk.impl.group.GroupMembershipIndexCache;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.oauth.OAuthTokenRevocationAttempt;
 import com.stormpath.sdk.impl.oauth.OAuthTokenRevoked;
+import com.stormpath.sdk.impl.oauth.VerifiedAccessTokenCache;
 import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.AbstractInstanceResource;
 import com.stormpath.sdk.impl.resource.AbstractResource;
@@ -54,7 +62,6 @@ import io.jsonwebtoken.Header;
 import io.jsonwebtoken.Jwt;
 import io.jsonwebtoken.Jwts;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -65,9 +72,15 @@ import static com.stormpath.sdk.impl.resource.AbstractResource.HREF_PROP_NAME;
 
 public class WriteCacheFilter extends AbstractCacheFilter {
 
+    private static final String ACCOUNT_PROPERTY_NAME = "account";
+    private static final String NAME_PROPERTY_NAME = "name";
+
     private final BaseUrlResolver baseUrlResolver;
     private final ReferenceFactory referenceFactory;
     private final CacheMapInitializer cacheMapInitializer;
+    private volatile VerifiedAccessTokenCache verifiedAccessTokenCache;
+    private volatile GroupMembershipIndexCache groupMembershipIndexCache;
+    private volatile VerifiedApiKeyCache verifiedApiKeyCache;
 
 
     public WriteCacheFilter(BaseUrlResolver baseUrlResolver, CacheResolver cacheResolver, boolean collectionCachingEnabled, ReferenceFactory referenceFactory) {
@@ -79,15 +92,64 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         this.baseUrlResolver = baseUrlResolver;
     }
 
+    /**
+     * Sets the verified access tokens to invalidate when a token is revoked.
+     *
+     * @param verifiedAccessTokenCache the verified access tokens to invalidate when a token is revoked, may be
+     *                                 {@code null}
+     * @since 1.6.0
+     */
+    public void setVerifiedAccessTokenCache(VerifiedAccessTokenCache verifiedAccessTokenCache) {
+        this.verifiedAccessTokenCache = verifiedAccessTokenCache;
+    }
+
+    /**
+     * Sets the group membership indexes to invalidate when a membership, an account or a group changes.
+     *
+     * @param groupMembershipIndexCache the group membership indexes to invalidate when a membership, an account or a
+     *                                  group changes, may be {@code null}
+     * @since 1.6.0
+     */
+    public void setGroupMembershipIndexCache(GroupMembershipIndexCache groupMembershipIndexCache) {
+        this.groupMembershipIndexCache = groupMembershipIndexCache;
+    }
+
+    /**
+     * Sets the verified API Keys to invalidate when an API Key or an account is saved or deleted.
+     *
+     * @param verifiedApiKeyCache the verified API Keys to invalidate when an API Key or an account is saved or
+     *                            deleted, may be {@code null}
+     * @since 1.6.0
+     */
+    public void setVerifiedApiKeyCache(VerifiedApiKeyCache verifiedApiKeyCache) {
+        this.verifiedApiKeyCache = verifiedApiKeyCache;
+    }
+
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
-        if (request.getAction() == ResourceAction.DELETE) {
-            String key = getCacheKey(request);
-            uncache(key, request.getResourceClass());
+        if (request instanceof ResourcePropertiesDeletionRequest) {
+            return deleteCachedProperties((ResourcePropertiesDeletionRequest) request, chain);
         }
 
-        ResourceDataResult result = chain.filter(request);
+        String membershipAccountHref = getMembershipAccountHref(request);
+        String changedGroupHref = getChangedGroupHref(request);
+
+        ResourceDataResult result;
+        boolean deferred = false;
+        try {
+            result = chain.filter(request);
+        } catch (DeferredRequestSignal signal) {
+            //the request has not been sent yet, and the chain is run again once its response is received: nothing
+            //may be invalidated until then
+            deferred = true;
+            throw signal;
+        } finally {
+            //invalidated after the server has processed the request, so that nothing can be cached again in between:
+            if (!deferred) {
+                invalidate(request, membershipAccountHref, changedGroupHref);
+            }
+        }
 
         if (result.getAction() == ResourceAction.READ
                 && OAuthTokenRevocationAttempt.class.isAssignableFrom(request.getResourceClass())
@@ -113,6 +175,143 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         return result;
     }
 
+    /**
+     * Invalidates the state derived from the resources changed by the specified request.
+     *
+     * @since 1.6.0
+     */
+    private void invalidate(ResourceDataRequest request, String membershipAccountHref, String changedGroupHref) {
+        if (request.getAction() == ResourceAction.DELETE) {
+            uncache(getCacheKey(request), request.getResourceClass());
+        }
+        if (membershipAccountHref != null) {
+            groupMembershipIndexCache.invalidate(membershipAccountHref);
+            //the account's groups have changed too, which state derived from the cached account must reflect:
+            uncache(membershipAccountHref, Account.class);
+        }
+        if (changedGroupHref != null) {
+            for (String accountHref : groupMembershipIndexCache.invalidateGroup(changedGroupHref)) {
+                uncache(accountHref, Account.class);
+            }
+        }
+        invalidateVerifiedApiKeys(request);
+    }
+
+    /**
+     * Uncaches the resource once all of its properties have been deleted on the server.  The deletions have no
+     * response content, so the cached resource cannot be brought up to date with the server state (its
+     * {@code modifiedAt} timestamp in particular) and must be read again.  If the deletion fails the server state is
+     * unknown - some properties may already have been deleted - so the resource is uncached as well.
+     *
+     * @since 1.6.0
+     */
+    private ResourceDataResult deleteCachedProperties(ResourcePropertiesDeletionRequest request, FilterChain chain) {
+        boolean deferred = false;
+        try {
+            return chain.filter(request);
+        } catch (DeferredRequestSignal signal) {
+            //the properties have not been deleted yet: the resource is uncached once they are
+            deferred = true;
+            throw signal;
+        } finally {
+            if (!deferred) {
+                uncache(getCacheKey(request), request.getResourceClass());
+            }
+        }
+    }
+
+    /**
+     * Returns the href of the account whose group memberships are changed by the specified request - the account of a
+     * created or deleted group membership, or a deleted account - or {@code null} if the request does not change any
+     * memberships.  The account of a deleted membership is only known if the membership is cached.
+     *
+     * @since 1.6.0
+     */
+    private String getMembershipAccountHref(ResourceDataRequest request) {
+
+        if (groupMembershipIndexCache == null) {
+            return null;
+        }
+
+        Class<? extends Resource> clazz = request.getResourceClass();
+        ResourceAction action = request.getAction();
+
+        if (GroupMembership.class.isAssignableFrom(clazz)) {
+            if (action == ResourceAction.CREATE) {
+                return getReferenceHref(request.getData(), ACCOUNT_PROPERTY_NAME);
+            }
+            if (action == ResourceAction.DELETE) {
+                return getReferenceHref(getCachedValue(getCacheKey(request), clazz), ACCOUNT_PROPERTY_NAME);
+            }
+        } else if (action == ResourceAction.DELETE && Account.class.isAssignableFrom(clazz)) {
+            return request.getUri().getAbsolutePath();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the href of the group changed by the specified request in a way that affects the group membership
+     * indexes referencing it - a deleted group, or a group saved with a different name - or {@code null} otherwise.
+     * If the group is not cached, any saved name is assumed to be different.
+     *
+     * @since 1.6.0
+     */
+    private String getChangedGroupHref(ResourceDataRequest request) {
+
+        if (groupMembershipIndexCache == null || !Group.class.isAssignableFrom(request.getResourceClass())) {
+            return null;
+        }
+
+        ResourceAction action = request.getAction();
+        String groupHref = request.getUri().getAbsolutePath();
+
+        if (action == ResourceAction.DELETE) {
+            return groupHref;
+        }
+        if (action == ResourceAction.UPDATE && request.getData() != null &&
+            request.getData().containsKey(NAME_PROPERTY_NAME)) {
+            Map<String, ?> cached = getCachedValue(getCacheKey(request), Group.class);
+            Object name = request.getData().get(NAME_PROPERTY_NAME);
+            if (cached == null || name == null || !name.equals(cached.get(NAME_PROPERTY_NAME))) {
+                return groupHref;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Invalidates the verified API Keys affected by the specified request: a saved or deleted API Key may have been
+     * disabled, as may the API Keys of a saved or deleted account.
+     *
+     * @since 1.6.0
+     */
+    private void invalidateVerifiedApiKeys(ResourceDataRequest request) {
+
+        if (verifiedApiKeyCache == null || request.getAction() == ResourceAction.READ ||
+            request.getAction() == ResourceAction.CREATE) {
+            return;
+        }
+
+        Class<? extends Resource> clazz = request.getResourceClass();
+
+        if (ApiKey.class.isAssignableFrom(clazz)) {
+            verifiedApiKeyCache.invalidateApiKey(request.getUri().getAbsolutePath());
+        } else if (Account.class.isAssignableFrom(clazz)) {
+            verifiedApiKeyCache.invalidateAccount(request.getUri().getAbsolutePath());
+        }
+    }
+
+    private static String getReferenceHref(Map<String, ?> data, String propertyName) {
+        Object value = data != null ? data.get(propertyName) : null;
+        if (value instanceof Map) {
+            Object href = ((Map) value).get(HREF_PROP_NAME);
+            return href instanceof String ? (String) href : null;
+        }
+        return null;
+    }
+
     private boolean isCacheable(ResourceDataRequest request, ResourceDataResult result) {
 
         if (Collections.isEmpty(result.getData())) {
@@ -204,8 +403,20 @@ public class WriteCacheFilter extends AbstractCacheFilter {
     /**
      * @since 0.8
      */
-    @SuppressWarnings("unchecked")
     private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString) {
+        cache(clazz, data, queryString, null);
+    }
+
+    /**
+     * Caches the specified resource data and any materialized resources it references.
+     *
+     * @param batch the batch collecting the cache writes, or {@code null} if the writes should be performed
+     *              immediately
+     * @since 1.6.0
+     */
+    @SuppressWarnings("unchecked")
+    private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString,
+                       CacheWriteBatch batch) {
 
         Assert.notEmpty(data, "Resource data cannot be null or empty.");
         String href = (String) data.get(AbstractResource.HREF_PROP_NAME);
@@ -220,8 +431,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         Map<String, Object> cacheValue = cacheMapInitializer.initialize(clazz, data, queryString);
 
         if (CustomData.class.isAssignableFrom(clazz)) {
-            Cache cache = getCache(clazz);
-            cache.put(href, cacheValue);
+            put(getCache(clazz), href, cacheValue, batch);
             return;
         }
 
@@ -252,7 +462,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
                     //we pass 'null' in as the querystring param because the querystring is only valid for
                     //the top-most item being cached - we don't want to propagate it for nested resources because the nested
                     //resource wasn't acquired w/ that query string.
-                    cache(property.getType(), nested, null);
+                    cache(property.getType(), nested, null, batch);
 
                     //Because the materialized reference has now been cached, we don't need to store
                     //all of its properties again in the 'toCache' instance.  Instead, we just want to store
@@ -285,6 +495,10 @@ public class WriteCacheFilter extends AbstractCacheFilter {
                 }
                 itemType = itemsProperty.getType();
 
+                //the items (and the resources they reference) are written to their caches all at once, so that a
+                //remote cache may store them in a single round trip:
+                CacheWriteBatch itemsBatch = batch != null ? batch : new CacheWriteBatch();
+
                 for (Object o : c) {
                     Object element = o;
                     if (o instanceof Map) {
@@ -293,13 +507,17 @@ public class WriteCacheFilter extends AbstractCacheFilter {
                             //we pass 'null' in as the querystring param because the querystring is only valid for
                             //the top-most item being cached - we don't want to propagate it for nested resources because the nested
                             //resource wasn't acquired w/ that query string.
-                            cache(itemType, referenceData, null);
+                            cache(itemType, referenceData, null, itemsBatch);
                             element = toCanonicalReference(null, referenceData);
                         }
                     }
                     list.add(element);
                 }
 
+                if (batch == null) {
+                    itemsBatch.flush();
+                }
+
                 value = list;
             }
 
@@ -309,9 +527,20 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         }
 
         if (isDirectlyCacheable(clazz, cacheValue)) {
-            Cache cache = getCache(clazz);
             String cacheKey = getCacheKey(href, queryString, clazz);
-            cache.put(cacheKey, cacheValue);
+            put(getCache(clazz), cacheKey, cacheValue, batch);
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    private static void put(Cache<String, Map<String, ?>> cache, String key, Map<String, Object> value,
+                            CacheWriteBatch batch) {
+        if (batch != null) {
+            batch.put(cache, key, value);
+        } else {
+            cache.put(key, value);
         }
     }
 
@@ -337,38 +566,8 @@ public class WriteCacheFilter extends AbstractCacheFilter {
      */
     private <T extends Resource> Property getPropertyDescriptor(Class<T> clazz, String propertyName) {
         clazz = SubtypeDispatchingResourceFactory.getImplementationClass(clazz, propertyName);
-        Map<String, Property> descriptors = getPropertyDescriptors(clazz);
-        return descriptors.get(propertyName);
-    }
-
-    /**
-     * @since 0.8
-     */
-    @SuppressWarnings("unchecked")
-    private <T extends Resource> Map<String, Property> getPropertyDescriptors(Class<T> clazz) {
-        Class<T> implClass = DefaultResourceFactory.getImplementationClass(clazz);
-        String propertyDescriptors = "PROPERTY_DESCRIPTORS";
-        Map<String, Property> returnValue;
-        try {
-            Field field = implClass.getDeclaredField(propertyDescriptors);
-            field.setAccessible(true);
-            returnValue = (Map<String, Property>) field.get(null);
-            while(implClass.getSuperclass() != null && Resource.class.isAssignableFrom(implClass)){
-                implClass = (Class<T>) implClass.getSuperclass();
-                try{
-                    field = implClass.getDeclaredField(propertyDescriptors);
-                    field.setAccessible(true);
-                    returnValue.putAll((Map<String, Property>) field.get(null));
-                }
-                catch(NoSuchFieldException nsfe){
-                    // It is not guaranteed that PROPERTY_DESCRIPTORS is part of every super class of the type resource.
-                }
-            }
-            return returnValue;
-        } catch (Exception e) {
-            throw new IllegalStateException(
-                "Unable to access PROPERTY_DESCRIPTORS static field on implementation class " + clazz.getName(), e);
-        }
+        //descriptors (including inherited ones) are resolved once per class and never modified afterwards:
+        return ResourceDescriptor.forClass(clazz).getPropertyDescriptor(propertyName);
     }
 
     /**
@@ -425,8 +624,19 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
             if ("refresh".equals(stt) || "refresh_token".equals(tokenTypeHint)) {
                 rti = body.getId();
+                //access tokens issued with the refresh token are no longer valid either:
+                if (verifiedAccessTokenCache != null && rti != null) {
+                    verifiedAccessTokenCache.invalidateRefreshToken(rti);
+                }
             } else if ("access".equals(stt) || "access_token".equals(tokenTypeHint)) {
                 rti = body.get("rti", String.class);
+                String jti = body.getId();
+                if (jti != null) {
+                    if (verifiedAccessTokenCache != null) {
+                        verifiedAccessTokenCache.invalidateAccessToken(jti);
+                    }
+                    uncache(baseUrlResolver.getBaseUrl() + "/accessTokens/" + jti, AccessToken.class);
+                }
             }
 
             if (rti != null) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.group;
+
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.group.GroupMembership;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the groups an account belongs to, indexed by group href and name, so that
+ * {@link com.stormpath.sdk.account.Account#isMemberOfGroup(String) membership checks} are constant time lookups
+ * instead of iterations over the account's groups collection.
+ * <p/>
+ * Instances are {@link Serializable} so that they can be stored in any cache region, including distributed ones.
+ *
+ * @see GroupMembershipIndexCache
+ * @since 1.6.0
+ */
+public final class GroupMembershipIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> lowerCaseGroupHrefs;
+    private final Set<String> lowerCaseGroupNames;
+    private final Map<String, String> membershipHrefsByGroupHref;
+    private final Map<String, String> membershipHrefsByGroupName;
+
+    /**
+     * Creates a new index of the specified memberships.  The memberships' groups should be expanded, otherwise each
+     * group is retrieved to obtain its name.
+     *
+     * @param memberships the group memberships of the account
+     */
+    public GroupMembershipIndex(Iterable<GroupMembership> memberships) {
+        Assert.notNull(memberships, "memberships cannot be null.");
+        Set<String> hrefs = new HashSet<String>();
+        Set<String> names = new HashSet<String>();
+        Map<String, String> byHref = new HashMap<String, String>();
+        Map<String, String> byName = new HashMap<String, String>();
+        for (GroupMembership membership : memberships) {
+            Group group = membership.getGroup();
+            String groupHref = group.getHref();
+            String groupName = group.getName();
+            hrefs.add(toLowerCase(groupHref));
+            byHref.put(groupHref, membership.getHref());
+            if (groupName != null) {
+                names.add(toLowerCase(groupName));
+                byName.put(groupName, membership.getHref());
+            }
+        }
+        this.lowerCaseGroupHrefs = Collections.unmodifiableSet(hrefs);
+        this.lowerCaseGroupNames = Collections.unmodifiableSet(names);
+        this.membershipHrefsByGroupHref = Collections.unmodifiableMap(byHref);
+        this.membershipHrefsByGroupName = Collections.unmodifiableMap(byName);
+    }
+
+    private static String toLowerCase(String s) {
+        return s.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns {@code true} if the account belongs to a group with the specified href or name, compared
+     * case-insensitively, {@code false} otherwise.
+     *
+     * @param hrefOrName the href or name of the group
+     * @return {@code true} if the account belongs to a group with the specified href or name, {@code false} otherwise.
+     */
+    public boolean containsGroup(String hrefOrName) {
+        if (!Strings.hasText(hrefOrName)) {
+            return false;
+        }
+        String key = toLowerCase(hrefOrName);
+        return lowerCaseGroupNames.contains(key) || lowerCaseGroupHrefs.contains(key);
+    }
+
+    /**
+     * Returns the href of the membership of the account in the group with the specified href or - if
+     * {@code matchName} is {@code true} - name, or {@code null} if the account does not belong to such a group.
+     * Hrefs and names must match exactly.
+     *
+     * @param hrefOrName the href or name of the group
+     * @param matchName  whether {@code hrefOrName} may be a group name
+     * @return the href of the membership of the account in the specified group, or {@code null} if the account does
+     * not belong to such a group.
+     */
+    public String getMembershipHref(String hrefOrName, boolean matchName) {
+        if (hrefOrName == null) {
+            return null;
+        }
+        String href = membershipHrefsByGroupHref.get(hrefOrName);
+        if (href == null && matchName) {
+            href = membershipHrefsByGroupName.get(hrefOrName);
+        }
+        return href;
+    }
+
+    /**
+     * Returns the hrefs of the groups the account belongs to.
+     *
+     * @return the hrefs of the groups the account belongs to.
+     */
+    public Set<String> getGroupHrefs() {
+        return membershipHrefsByGroupHref.keySet();
+    }
+
+    /**
+     * Returns the number of groups the account belongs to.
+     *
+     * @return the number of groups the account belongs to.
+     */
+    public int size() {
+        return membershipHrefsByGroupHref.size();
+    }
+}
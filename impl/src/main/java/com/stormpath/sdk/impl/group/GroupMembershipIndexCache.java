@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.group;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.group.GroupMembership;
+import com.stormpath.sdk.group.GroupMembershipList;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides the {@link GroupMembershipIndex} of an account, keyed by account href in the
+ * {@link #CACHE_REGION_NAME} cache region.  The time to live and idle of that region can be configured like any other
+ * region, for example:
+ * <pre>
+ * Caches.newCacheManager()
+ *     .withCache(Caches.named(GroupMembershipIndexCache.CACHE_REGION_NAME).withTimeToLive(5, TimeUnit.MINUTES))
+ *     .build();
+ * </pre>
+ * An index is built from a single paginated read of the account's group memberships with their groups expanded.  It
+ * is {@link #invalidate(String) invalidated} whenever a membership of the account is created or deleted, or the account
+ * is deleted, through the same {@code DataStore}.  The indexes referencing a group are
+ * {@link #invalidateGroup(String) invalidated} whenever that group is deleted or renamed through the same
+ * {@code DataStore}.  Memberships and groups changed by other clients are reflected once the index expires.  If caching
+ * is disabled, a new index is built every time one is requested.
+ * <p/>
+ * The group references needed to invalidate indexes by group are retained for at most
+ * {@link #DEFAULT_MAX_REFERENCED_ACCOUNTS} accounts by default: when the references of an account are evicted, its
+ * index is discarded as well.
+ *
+ * @since 1.6.0
+ */
+public class GroupMembershipIndexCache {
+
+    public static final String CACHE_REGION_NAME = GroupMembershipIndex.class.getName();
+
+    public static final int DEFAULT_MAX_REFERENCED_ACCOUNTS = 10000;
+
+    /**
+     * The maximum number of memberships per page supported by the server.
+     */
+    private static final int PAGE_SIZE = 100;
+
+    private final InternalDataStore dataStore;
+    private final Cache<String, GroupMembershipIndex> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    //the references and their modifications are guarded by 'this':
+
+    /**
+     * The hrefs of the groups referenced by the indexes cached by this instance, by account href.
+     */
+    private final Map<String, Collection<String>> groupHrefsByAccountHref;
+
+    /**
+     * The hrefs of the accounts whose index was cached by this instance, by the hrefs of the groups they reference.
+     */
+    private final Map<String, Set<String>> accountHrefsByGroupHref = new HashMap<String, Set<String>>();
+
+    public GroupMembershipIndexCache(InternalDataStore dataStore, CacheManager cacheManager) {
+        this(dataStore, cacheManager, DEFAULT_MAX_REFERENCED_ACCOUNTS);
+    }
+
+    public GroupMembershipIndexCache(InternalDataStore dataStore, CacheManager cacheManager, int maxReferencedAccounts) {
+        Assert.notNull(dataStore, "dataStore cannot be null.");
+        Assert.notNull(cacheManager, "cacheManager cannot be null.");
+        this.dataStore = dataStore;
+        this.cache = cacheManager.getCache(CACHE_REGION_NAME);
+        this.groupHrefsByAccountHref = new SegmentedLruMap<String, Collection<String>>(maxReferencedAccounts) {
+            @Override
+            protected void onEviction(String accountHref, Collection<String> groupHrefs) {
+                //only invoked by groupHrefsByAccountHref.put, while holding this cache's lock.  Without its references
+                //the index could no longer be invalidated by group, so it is discarded:
+                unlink(accountHref, groupHrefs);
+                cache.remove(accountHref);
+            }
+        };
+    }
+
+    /**
+     * Returns the group membership index of the specified account, building it if necessary.
+     *
+     * @param account a persisted account
+     * @return the group membership index of the specified account.
+     */
+    public GroupMembershipIndex get(Account account) {
+        Assert.notNull(account, "account cannot be null.");
+        String accountHref = account.getHref();
+        Assert.hasText(accountHref, "The account must be persisted before its group memberships can be resolved.");
+
+        GroupMembershipIndex index = cache.get(accountHref);
+        if (index == null) {
+            //the index may have expired or been evicted from the cache region, leaving its references behind:
+            removeGroupReferences(accountHref);
+
+            //an invalidation that happens while building must win: otherwise the outdated index would be retained
+            long generation = invalidations.get();
+            index = build(account);
+            if (generation == invalidations.get()) {
+                cache.put(accountHref, index);
+                addGroupReferences(accountHref, index);
+            }
+        }
+        return index;
+    }
+
+    private GroupMembershipIndex build(Account account) {
+        Map<String, Object> queryParams = new LinkedHashMap<String, Object>(2);
+        queryParams.put("expand", "group");
+        queryParams.put("limit", PAGE_SIZE);
+        Iterable<GroupMembership> memberships =
+                dataStore.getResource(account.getGroupMemberships().getHref(), GroupMembershipList.class, queryParams);
+        return new GroupMembershipIndex(memberships);
+    }
+
+    /**
+     * Discards the group membership index of the account with the specified href, if any.
+     *
+     * @param accountHref the href of the account whose memberships have changed
+     */
+    public void invalidate(String accountHref) {
+        invalidations.incrementAndGet();
+        if (accountHref != null) {
+            cache.remove(accountHref);
+            removeGroupReferences(accountHref);
+        }
+    }
+
+    /**
+     * Discards the group membership indexes referencing the group with the specified href, for example because the
+     * group was deleted or renamed.
+     *
+     * @param groupHref the href of the group that has changed
+     * @return the hrefs of the accounts whose index was discarded, never {@code null}.
+     */
+    public Collection<String> invalidateGroup(String groupHref) {
+        invalidations.incrementAndGet();
+        if (groupHref == null) {
+            return Collections.emptySet();
+        }
+        Collection<String> accountHrefs;
+        synchronized (this) {
+            Set<String> referencing = accountHrefsByGroupHref.get(groupHref);
+            if (referencing == null) {
+                return Collections.emptySet();
+            }
+            accountHrefs = new ArrayList<String>(referencing);
+            for (String accountHref : accountHrefs) {
+                removeGroupReferences(accountHref);
+            }
+        }
+        for (String accountHref : accountHrefs) {
+            cache.remove(accountHref);
+        }
+        return accountHrefs;
+    }
+
+    private synchronized void addGroupReferences(String accountHref, GroupMembershipIndex index) {
+        Collection<String> groupHrefs = new ArrayList<String>(index.getGroupHrefs());
+        unlink(accountHref, groupHrefsByAccountHref.put(accountHref, groupHrefs));
+        for (String groupHref : groupHrefs) {
+            Set<String> accountHrefs = accountHrefsByGroupHref.get(groupHref);
+            if (accountHrefs == null) {
+                accountHrefs = new HashSet<String>();
+                accountHrefsByGroupHref.put(groupHref, accountHrefs);
+            }
+            accountHrefs.add(accountHref);
+        }
+    }
+
+    private synchronized void removeGroupReferences(String accountHref) {
+        unlink(accountHref, groupHrefsByAccountHref.remove(accountHref));
+    }
+
+    //guarded by 'this'
+    private void unlink(String accountHref, Collection<String> groupHrefs) {
+        if (groupHrefs == null) {
+            return;
+        }
+        for (String groupHref : groupHrefs) {
+            Set<String> accountHrefs = accountHrefsByGroupHref.get(groupHref);
+            if (accountHrefs != null) {
+                accountHrefs.remove(accountHref);
+                if (accountHrefs.isEmpty()) {
+                    accountHrefsByGroupHref.remove(groupHref);
+                }
+            }
+        }
+    }
+
+    // Used for testing, package private
+    synchronized int getReferenceCount() {
+        return groupHrefsByAccountHref.size() + accountHrefsByGroupHref.size();
+    }
+}
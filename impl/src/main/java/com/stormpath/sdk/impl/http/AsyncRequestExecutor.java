@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import com.stormpath.sdk.impl.util.AsyncCallback;
+
+import java.util.concurrent.Future;
+
+/**
+ * A {@link RequestExecutor} that is also able to execute requests without blocking the calling thread.
+ * <p/>
+ * Implementations must not block the caller while the request is in flight, and must not hold a thread while
+ * waiting between retries: retries are expected to be scheduled on a timer instead.
+ *
+ * @since 1.6.0
+ */
+public interface AsyncRequestExecutor extends RequestExecutor {
+
+    /**
+     * Executes the specified {@code request} asynchronously, returning immediately.
+     *
+     * @param request  the request to execute
+     * @param callback an optional callback notified with the {@link Response} (or failure) when the request
+     *                 completes, may be {@code null}.
+     * @return a {@code Future} that will be completed with the request's {@code Response}, or completed
+     * exceptionally with a {@link RestException} if the request could not be executed.
+     */
+    Future<Response> executeRequestAsync(Request request, AsyncCallback<Response> callback);
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+
+/**
+ * A {@link RequestExecutor} that reports its HTTP round trips, retries and connection pool to a
+ * {@link MetricsRecorder}.
+ *
+ * @since 1.6.0
+ */
+public interface InstrumentedRequestExecutor extends RequestExecutor {
+
+    /**
+     * Sets the recorder that HTTP round trips and retries are reported to.  Implementations that pool connections
+     * {@link MetricsRecorder#registerConnectionPool(com.stormpath.sdk.impl.metrics.ConnectionPoolStatistics)
+     * register} their pool with the recorder.
+     *
+     * @param metricsRecorder the recorder that HTTP round trips and retries are reported to.
+     */
+    void setMetricsRecorder(MetricsRecorder metricsRecorder);
+}
@@ -29,19 +29,35 @@ import javax.crypto.spec.SecretKeySpec;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.security.MessageDigest;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
-import java.util.SimpleTimeZone;
 import java.util.UUID;
 
 /**
+ * Signs requests using the Stormpath SAuthc1 digest authentication scheme.
+ * <p/>
+ * As of 1.6.0, signing is designed to allocate as little as possible per request: every thread reuses its own
+ * {@code Mac}, {@code MessageDigest}, UTF-8 encoder and canonicalization buffer, timestamps are formatted without
+ * {@code SimpleDateFormat} instances, and the date-scoped key ({@code kDate}), which only changes once a day, is
+ * derived once per day rather than once per request.
+ * <p/>
+ * As a consequence, {@link #authenticate(Request, Date, String) authenticate} no longer calls the protected
+ * {@link #canonicalizeQueryString(Request)}, {@link #hash(String)} and {@code sign} methods, so overriding them does not
+ * change how requests are signed anymore.  They are deprecated and will be removed in 2.0.0.  The request payload is
+ * still obtained from {@link #getRequestPayload(Request)}.
+ *
  * @since 0.1
  */
 public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
@@ -64,8 +80,26 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
 
     private static final Logger log = LoggerFactory.getLogger(SAuthc1RequestAuthenticator.class);
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final ThreadLocal<SigningContext> SIGNING_CONTEXT = new ThreadLocal<SigningContext>() {
+        @Override
+        protected SigningContext initialValue() {
+            return new SigningContext();
+        }
+    };
+
     private final ApiKeyCredentials apiKeyCredentials;
 
+    /**
+     * The most recently derived {@code kDate} key, reused by all requests signed on the same (UTC) day.
+     *
+     * @since 1.6.0
+     */
+    private volatile DateKey dateKey;
+
     public SAuthc1RequestAuthenticator(ApiKeyCredentials apiKeyCredentials) {
         Assert.notNull(apiKeyCredentials, "apiKeyCredentials must not be null.");
         this.apiKeyCredentials = apiKeyCredentials;
@@ -79,11 +113,8 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
     }
 
     public void authenticate(final Request request, final Date date, final String nonce) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
-        dateFormat.setTimeZone(new SimpleTimeZone(0, TIME_ZONE));
-
-        SimpleDateFormat timestampFormat = new SimpleDateFormat(TIMESTAMP_FORMAT);
-        timestampFormat.setTimeZone(new SimpleTimeZone(0, TIME_ZONE));
+        SigningContext ctx = SIGNING_CONTEXT.get();
+        StringBuilder buffer = ctx.buffer;
 
         URI uri = request.getResourceUrl();
 
@@ -95,60 +126,85 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
         request.getHeaders().set(HOST_HEADER, hostHeader);
 
-        String timestamp = timestampFormat.format(date);
-        String dateStamp = dateFormat.format(date);
+        String timestamp = formatTimestamp(date.getTime(), ctx.timestamp);
+        String dateStamp = timestamp.substring(0, DATE_FORMAT.length());
 
         request.getHeaders().set(STORMPATH_DATE_HEADER, timestamp);
 
-        String method = request.getMethod().toString();
-        String canonicalResourcePath = canonicalizeResourcePath(uri.getPath());
-        String canonicalQueryString = canonicalizeQueryString(request);
-        String canonicalHeadersString = canonicalizeHeadersString(request);
-        String signedHeadersString = getSignedHeadersString(request);
-        String requestPayloadHashHex = toHex(hash(getRequestPayload(request)));
-
-        String canonicalRequest =
-                method + NL +
-                        canonicalResourcePath + NL +
-                        canonicalQueryString + NL +
-                        canonicalHeadersString + NL +
-                        signedHeadersString + NL +
-                        requestPayloadHashHex;
+        List<String> sortedHeaders = getSortedHeaderNames(request);
 
-        log.debug("{} Canonical Request: {}", AUTHENTICATION_SCHEME, canonicalRequest);
+        buffer.setLength(0);
+        appendSignedHeaders(sortedHeaders, buffer);
+        String signedHeadersString = buffer.toString();
 
-        String id = apiKeyCredentials.getId() + "/" + dateStamp + "/" + nonce + "/" + ID_TERMINATOR;
+        // Canonical request:
+        buffer.setLength(0);
+        buffer.append(request.getMethod().toString()).append(NL);
+        String resourcePath = uri.getPath();
+        if (resourcePath == null || resourcePath.length() == 0) {
+            buffer.append('/');
+        } else {
+            RequestUtils.appendCanonicalEncodedUrl(resourcePath, true, buffer);
+        }
+        buffer.append(NL);
+        appendCanonicalQueryString(request, buffer);
+        buffer.append(NL);
+        appendCanonicalHeaders(request, sortedHeaders, buffer);
+        buffer.append(NL);
+        buffer.append(signedHeadersString).append(NL);
+        appendHex(ctx.hash(getRequestPayload(request)), buffer);
 
-        String canonicalRequestHashHex = toHex(hash(canonicalRequest));
+        log.debug("{} Canonical Request: {}", AUTHENTICATION_SCHEME, buffer);
 
-        String stringToSign =
-                ALGORITHM + NL +
-                        timestamp + NL +
-                        id + NL +
-                        canonicalRequestHashHex;
+        byte[] canonicalRequestHash = ctx.hash(buffer);
 
-        log.debug("{} String to Sign: {}", AUTHENTICATION_SCHEME, stringToSign);
+        String id = apiKeyCredentials.getId() + "/" + dateStamp + "/" + nonce + "/" + ID_TERMINATOR;
 
-        // SAuthc1 uses a series of derived keys, formed by hashing different pieces of data
-        byte[] kSecret = toUtf8Bytes(AUTHENTICATION_SCHEME + apiKeyCredentials.getSecret());
-        byte[] kDate = sign(dateStamp, kSecret, MacAlgorithm.HmacSHA256);
-        byte[] kNonce = sign(nonce, kDate, MacAlgorithm.HmacSHA256);
-        byte[] kSigning = sign(ID_TERMINATOR, kNonce, MacAlgorithm.HmacSHA256);
+        // String to sign:
+        buffer.setLength(0);
+        buffer.append(ALGORITHM).append(NL)
+              .append(timestamp).append(NL)
+              .append(id).append(NL);
+        appendHex(canonicalRequestHash, buffer);
 
-        byte[] signature = sign(toUtf8Bytes(stringToSign), kSigning, MacAlgorithm.HmacSHA256);
-        String signatureHex = toHex(signature);
+        log.debug("{} String to Sign: {}", AUTHENTICATION_SCHEME, buffer);
 
-        String authorizationHeader =
-                AUTHENTICATION_SCHEME + " " +
-                        createNameValuePair(SAUTHC1_ID, id) + ", " +
-                        createNameValuePair(SAUTHC1_SIGNED_HEADERS, signedHeadersString) + ", " +
-                        createNameValuePair(SAUTHC1_SIGNATURE, signatureHex);
+        // SAuthc1 uses a series of derived keys, formed by hashing different pieces of data
+        byte[] kDate = getDateKey(ctx, dateStamp);
+        byte[] kNonce = ctx.sign(kDate, nonce);
+        byte[] kSigning = ctx.sign(kNonce, ID_TERMINATOR);
+        byte[] signature = ctx.sign(kSigning, buffer);
+
+        buffer.setLength(0);
+        buffer.append(AUTHENTICATION_SCHEME).append(' ')
+              .append(SAUTHC1_ID).append('=').append(id).append(", ")
+              .append(SAUTHC1_SIGNED_HEADERS).append('=').append(signedHeadersString).append(", ")
+              .append(SAUTHC1_SIGNATURE).append('=');
+        appendHex(signature, buffer);
+        String authorizationHeader = buffer.toString();
 
         log.debug("{}: {}", AUTHORIZATION_HEADER, authorizationHeader);
 
         request.getHeaders().set(AUTHORIZATION_HEADER, authorizationHeader);
     }
 
+    /**
+     * Returns the {@code kDate} key for the specified date stamp, deriving it only if the date (or the API Key secret)
+     * changed since the last request was signed.
+     *
+     * @since 1.6.0
+     */
+    private byte[] getDateKey(SigningContext ctx, String dateStamp) {
+        String secret = apiKeyCredentials.getSecret();
+        DateKey key = this.dateKey;
+        if (key == null || !key.dateStamp.equals(dateStamp) || !key.secret.equals(secret)) {
+            byte[] kSecret = toUtf8Bytes(AUTHENTICATION_SCHEME + secret);
+            key = new DateKey(secret, dateStamp, ctx.sign(kSecret, dateStamp));
+            this.dateKey = key;
+        }
+        return key.kDate;
+    }
+
     private static String createNameValuePair(String name, String value) {
         return name + "=" + value;
     }
@@ -172,18 +228,14 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
      */
     public static String toHex(byte[] data) {
         StringBuilder sb = new StringBuilder(data.length * 2);
-        for (int i = 0; i < data.length; i++) {
-            String hex = Integer.toHexString(data[i]);
-            if (hex.length() == 1) {
-                // Append leading zero.
-                sb.append("0");
-            } else if (hex.length() == 8) {
-                // Remove ff prefix from negative numbers.
-                hex = hex.substring(6);
-            }
-            sb.append(hex);
+        appendHex(data, sb);
+        return sb.toString();
+    }
+
+    private static void appendHex(byte[] data, StringBuilder sb) {
+        for (byte b : data) {
+            sb.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
         }
-        return sb.toString().toLowerCase(Locale.getDefault());
     }
 
     /**
@@ -193,7 +245,9 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
      * @param text The string to hash.
      * @return The hashed bytes from the specified string.
      * @throws RequestAuthenticationException If the hash cannot be computed.
+     * @deprecated since 1.6.0 and will be removed in 2.0.0: this method is no longer called when signing requests.
      */
+    @Deprecated
     protected byte[] hash(String text) throws RequestAuthenticationException {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -204,6 +258,10 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
     }
 
+    /**
+     * @deprecated since 1.6.0 and will be removed in 2.0.0: this method is no longer called when signing requests.
+     */
+    @Deprecated
     protected byte[] sign(String stringData, byte[] key, MacAlgorithm algorithm) throws RequestAuthenticationException {
         try {
             byte[] data = stringData.getBytes(DEFAULT_ENCODING);
@@ -213,6 +271,10 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
     }
 
+    /**
+     * @deprecated since 1.6.0 and will be removed in 2.0.0: this method is no longer called when signing requests.
+     */
+    @Deprecated
     protected byte[] sign(byte[] data, byte[] key, MacAlgorithm algorithm) throws RequestAuthenticationException {
         try {
             Mac mac = Mac.getInstance(algorithm.toString());
@@ -260,32 +322,51 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
     }
 
+    /**
+     * @deprecated since 1.6.0 and will be removed in 2.0.0: this method is no longer called when signing requests.
+     */
+    @Deprecated
     protected String canonicalizeQueryString(Request request) {
-        return request.getQueryString().toString(true);
+        StringBuilder sb = new StringBuilder();
+        appendCanonicalQueryString(request, sb);
+        return sb.toString();
     }
 
-    private String canonicalizeResourcePath(String resourcePath) {
-        if (resourcePath == null || resourcePath.length() == 0) {
-            return "/";
-        } else {
-            return RequestUtils.encodeUrl(resourcePath, true, true);
+    /**
+     * Appends the canonical query string - the (sorted) query parameters, URI encoded and joined with '&amp;' - to the
+     * specified buffer.  Equivalent to {@code request.getQueryString().toString(true)}.
+     *
+     * @since 1.6.0
+     */
+    private static void appendCanonicalQueryString(Request request, StringBuilder buffer) {
+        boolean first = true;
+        for (Map.Entry<String, String> entry : request.getQueryString().entrySet()) {
+            if (!first) {
+                buffer.append('&');
+            }
+            RequestUtils.appendCanonicalEncodedUrl(entry.getKey(), false, buffer);
+            buffer.append('=');
+            RequestUtils.appendCanonicalEncodedUrl(entry.getValue(), false, buffer);
+            first = false;
         }
     }
 
-    private String canonicalizeHeadersString(Request request) {
-        List<String> sortedHeaders = new ArrayList<String>();
-        sortedHeaders.addAll(request.getHeaders().keySet());
+    private static List<String> getSortedHeaderNames(Request request) {
+        List<String> sortedHeaders = new ArrayList<String>(request.getHeaders().keySet());
         Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        return sortedHeaders;
+    }
 
-        StringBuilder buffer = new StringBuilder();
+    private static void appendCanonicalHeaders(Request request, List<String> sortedHeaders, StringBuilder buffer) {
         for (String header : sortedHeaders) {
-            buffer.append(header.toLowerCase()).append(":");
+            appendLowerCase(header, buffer);
+            buffer.append(':');
             List<String> values = request.getHeaders().get(header);
             boolean first = true;
             if (values != null) {
                 for (String value : values) {
                     if (!first) {
-                        buffer.append(",");
+                        buffer.append(',');
                     }
                     buffer.append(value);
                     first = false;
@@ -293,21 +374,162 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
             }
             buffer.append(NL);
         }
+    }
+
+    private static void appendSignedHeaders(List<String> sortedHeaders, StringBuilder buffer) {
+        boolean first = true;
+        for (String header : sortedHeaders) {
+            if (!first) {
+                buffer.append(';');
+            }
+            appendLowerCase(header, buffer);
+            first = false;
+        }
+    }
 
-        return buffer.toString();
+    private static void appendLowerCase(String s, StringBuilder buffer) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.append(Character.toLowerCase(s.charAt(i)));
+        }
     }
 
-    private String getSignedHeadersString(Request request) {
-        List<String> sortedHeaders = new ArrayList<String>();
-        sortedHeaders.addAll(request.getHeaders().keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+    /**
+     * Formats the specified time as a UTC {@link #TIMESTAMP_FORMAT timestamp} without creating {@code Calendar} or
+     * {@code DateFormat} instances.
+     *
+     * @since 1.6.0
+     */
+    static String formatTimestamp(long millis, char[] chars) {
+        long days = millis / MILLIS_PER_DAY;
+        long millisOfDay = millis % MILLIS_PER_DAY;
+        if (millisOfDay < 0) {
+            days--;
+            millisOfDay += MILLIS_PER_DAY;
+        }
+        int secondOfDay = (int) (millisOfDay / 1000);
+
+        // civil date from days since the epoch, see http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        put4(year, chars, 0);
+        put2(month, chars, 4);
+        put2(day, chars, 6);
+        chars[8] = 'T';
+        put2(secondOfDay / 3600, chars, 9);
+        put2((secondOfDay / 60) % 60, chars, 11);
+        put2(secondOfDay % 60, chars, 13);
+        chars[15] = 'Z';
+        return new String(chars, 0, 16);
+    }
 
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (buffer.length() > 0) buffer.append(";");
-            buffer.append(header.toLowerCase());
+    private static void put4(int value, char[] chars, int offset) {
+        put2(value / 100, chars, offset);
+        put2(value % 100, chars, offset + 2);
+    }
+
+    private static void put2(int value, char[] chars, int offset) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * The {@code kDate} key derived for a date stamp.
+     *
+     * @since 1.6.0
+     */
+    private static final class DateKey {
+
+        private final String secret;
+        private final String dateStamp;
+        private final byte[] kDate;
+
+        private DateKey(String secret, String dateStamp, byte[] kDate) {
+            this.secret = secret;
+            this.dateStamp = dateStamp;
+            this.kDate = kDate;
+        }
+    }
+
+    /**
+     * Per-thread signing state: {@code Mac}, {@code MessageDigest} and {@code CharsetEncoder} instances are not
+     * thread-safe but are expensive to look up, so every thread reuses its own, along with the buffers used to
+     * canonicalize requests and encode them as UTF-8.
+     *
+     * @since 1.6.0
+     */
+    private static final class SigningContext {
+
+        private static final String HMAC_ALGORITHM = MacAlgorithm.HmacSHA256.toString();
+        private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+        private final Mac mac;
+        private final MessageDigest digest;
+        private final CharsetEncoder encoder;
+        private final StringBuilder buffer = new StringBuilder(512);
+        private final char[] timestamp = new char[16];
+        private ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+        private SigningContext() {
+            try {
+                this.mac = Mac.getInstance(HMAC_ALGORITHM);
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (Exception e) {
+                throw new RequestAuthenticationException("Unable to initialize request signing: " + e.getMessage(), e);
+            }
+            this.encoder = Charset.forName(DEFAULT_ENCODING).newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
         }
 
-        return buffer.toString();
+        private byte[] hash(CharSequence text) {
+            ByteBuffer encoded = encode(text);
+            digest.reset();
+            digest.update(encoded.array(), 0, encoded.limit());
+            return digest.digest();
+        }
+
+        private byte[] sign(byte[] key, CharSequence text) {
+            ByteBuffer encoded = encode(text);
+            try {
+                mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            } catch (Exception e) {
+                throw new RequestAuthenticationException("Unable to calculate a request signature: " + e.getMessage(), e);
+            }
+            mac.update(encoded.array(), 0, encoded.limit());
+            return mac.doFinal();
+        }
+
+        /**
+         * Encodes the specified text as UTF-8 into the reusable byte buffer, growing it if necessary.  The returned
+         * buffer is flipped: its content is between {@code 0} and its limit.
+         */
+        private ByteBuffer encode(CharSequence text) {
+            int required = (int) Math.min(Integer.MAX_VALUE, (long) text.length() * 3);
+            ByteBuffer target = bytes;
+            if (target.capacity() < required) {
+                target = ByteBuffer.allocate(required);
+                //don't let a single large request payload pin a large buffer to the thread:
+                if (required <= MAX_RETAINED_BUFFER_SIZE) {
+                    bytes = target;
+                }
+            }
+            target.clear();
+            encoder.reset();
+            CoderResult result = encoder.encode(CharBuffer.wrap(text), target, true);
+            if (!result.isUnderflow()) {
+                throw new IllegalStateException("Unable to UTF-8 encode request data: " + result);
+            }
+            encoder.flush(target);
+            target.flip();
+            return target;
+        }
     }
 }
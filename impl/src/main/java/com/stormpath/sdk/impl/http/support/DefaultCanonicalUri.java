@@ -49,6 +49,30 @@ public class DefaultCanonicalUri implements CanonicalUri {
         return query;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DefaultCanonicalUri)) {
+            return false;
+        }
+        DefaultCanonicalUri other = (DefaultCanonicalUri) o;
+        return absolutePath.equals(other.absolutePath) &&
+               (query != null ? query.equals(other.query) : other.query == null);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public int hashCode() {
+        return 31 * absolutePath.hashCode() + (query != null ? query.hashCode() : 0);
+    }
+
     public static CanonicalUri create(String href, Map<String,?> queryParams) {
 
         Assert.hasText(href, "href argument cannot be null or empty.");
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+/**
+ * A live view of the state of an HTTP connection pool.  Each method returns the current value, across all routes.
+ *
+ * @since 1.6.0
+ */
+public interface ConnectionPoolStatistics {
+
+    /**
+     * Returns the number of connections currently leased to requests in flight.
+     *
+     * @return the number of connections currently leased to requests in flight.
+     */
+    int getLeased();
+
+    /**
+     * Returns the number of requests currently waiting for a connection.
+     *
+     * @return the number of requests currently waiting for a connection.
+     */
+    int getPending();
+
+    /**
+     * Returns the number of idle connections that are kept alive in the pool.
+     *
+     * @return the number of idle connections that are kept alive in the pool.
+     */
+    int getAvailable();
+
+    /**
+     * Returns the maximum number of connections of the pool.
+     *
+     * @return the maximum number of connections of the pool.
+     */
+    int getMax();
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.ds.ResourceAction;
+import com.stormpath.sdk.resource.Resource;
+
+/**
+ * A disabled implementation that does nothing.  This alleviates instrumented components from ever needing to check
+ * for null.
+ *
+ * @since 1.6.0
+ */
+public class DisabledMetricsRecorder implements MetricsRecorder {
+
+    @Override
+    public void recordDataStoreOperation(ResourceAction action, Class<? extends Resource> resourceClass,
+                                         long durationNanos, boolean successful) {
+    }
+
+    @Override
+    public void recordCacheLoad(String region, long durationNanos, boolean successful) {
+    }
+
+    @Override
+    public void recordHttpRequest(String method, int status, long durationNanos) {
+    }
+
+    @Override
+    public void recordHttpRetry(String method) {
+    }
+
+    @Override
+    public void recordJwtVerification(String verifier, long durationNanos, boolean valid) {
+    }
+
+    @Override
+    public void registerCache(DefaultCache<?, ?> cache) {
+    }
+
+    @Override
+    public void registerConnectionPool(ConnectionPoolStatistics pool) {
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.ds.ResourceAction;
+import com.stormpath.sdk.resource.Resource;
+
+/**
+ * Receives the measurements taken by the SDK while it executes requests: data store operations, cache loads, HTTP
+ * round trips and JWT verifications.  Statistics that the SDK already maintains, such as the hit and miss counts of
+ * a {@link DefaultCache} or the state of the HTTP connection pool, are {@code register}ed once instead, so that an
+ * implementation can read them when it publishes its metrics.
+ * <p/>
+ * Methods are invoked on the threads executing the requests, so implementations must be thread-safe and must not
+ * block.  The default implementation is the {@link DisabledMetricsRecorder}.
+ *
+ * @see com.stormpath.sdk.impl.ds.DefaultDataStore#setMetricsRecorder(MetricsRecorder)
+ * @since 1.6.0
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Records a data store operation, from the moment it enters the data store's filter chain to the moment it
+     * leaves it, whether its result was found in the cache or retrieved from the server.
+     *
+     * @param action        the operation's action
+     * @param resourceClass the (interface) class of the resource
+     * @param durationNanos the duration of the operation, in nanoseconds
+     * @param successful    {@code false} if the operation threw an exception, {@code true} otherwise
+     */
+    void recordDataStoreOperation(ResourceAction action, Class<? extends Resource> resourceClass, long durationNanos,
+                                  boolean successful);
+
+    /**
+     * Records the load of a resource that was not found in its cache region, i.e. the time spent retrieving it from
+     * the server (and caching it) after the cache miss.
+     *
+     * @param region        the name of the cache region
+     * @param durationNanos the duration of the load, in nanoseconds
+     * @param successful    {@code false} if the load threw an exception, {@code true} otherwise
+     */
+    void recordCacheLoad(String region, long durationNanos, boolean successful);
+
+    /**
+     * Records a single HTTP round trip to the server.  A request that is redirected or retried is recorded once per
+     * round trip.
+     *
+     * @param method        the HTTP method
+     * @param status        the HTTP status of the response, or {@code 0} if no response was received
+     * @param durationNanos the duration of the round trip, in nanoseconds
+     */
+    void recordHttpRequest(String method, int status, long durationNanos);
+
+    /**
+     * Records that an HTTP request is attempted again after a retryable failure (i.e. throttling, an unavailable
+     * server or an I/O error).
+     *
+     * @param method the HTTP method
+     */
+    void recordHttpRetry(String method);
+
+    /**
+     * Records the verification of a signed JWT.
+     *
+     * @param verifier      the name of the component that verified the JWT
+     * @param durationNanos the duration of the verification, in nanoseconds
+     * @param valid         {@code true} if the JWT was valid, {@code false} if it was rejected
+     */
+    void recordJwtVerification(String verifier, long durationNanos, boolean valid);
+
+    /**
+     * Registers a cache region, whose {@link DefaultCache#getHitCount() hit}, {@link DefaultCache#getMissCount()
+     * miss} and {@link DefaultCache#getEvictionCount() eviction} counts may then be published.  A region is
+     * registered once, when it is created or when this recorder is set on its cache manager.
+     *
+     * @param cache the cache region
+     */
+    void registerCache(DefaultCache<?, ?> cache);
+
+    /**
+     * Registers the HTTP connection pool used to communicate with the server, whose statistics may then be published.
+     *
+     * @param pool the HTTP connection pool statistics
+     */
+    void registerConnectionPool(ConnectionPoolStatistics pool);
+}
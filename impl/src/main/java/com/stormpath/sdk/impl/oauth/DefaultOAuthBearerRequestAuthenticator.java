@@ -19,6 +19,8 @@ import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.ds.DataStore;
 import com.stormpath.sdk.impl.account.DefaultAccount;
+import com.stormpath.sdk.impl.metrics.MetricsRecorder;
+import com.stormpath.sdk.impl.oauth.VerifiedAccessTokenCache.VerifiedAccessToken;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.oauth.AccessToken;
 import com.stormpath.sdk.oauth.OAuthBearerRequestAuthentication;
@@ -27,6 +29,8 @@ import com.stormpath.sdk.oauth.OAuthBearerRequestAuthenticator;
 import com.stormpath.sdk.oauth.OAuthRequestAuthentication;
 import com.stormpath.sdk.resource.ResourceException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jwt;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 
@@ -41,6 +45,8 @@ public class DefaultOAuthBearerRequestAuthenticator extends AbstractOAuthRequest
     protected final static String APPLICATION_PATH = "/applications/";
     protected final static String OAUTH_TOKEN_PATH = "/authTokens/";
     protected final static String ACCESS_TOKEN_PATH = "/accessTokens/";
+    private final static String REFRESH_TOKEN_ID_CLAIM = "rti";
+    private final static String JWT_VERIFIER_NAME = "OAuthBearerRequestAuthenticator"; //@since 1.6.0
 
     protected Boolean isLocalValidation = false;
 
@@ -60,29 +66,57 @@ public class DefaultOAuthBearerRequestAuthenticator extends AbstractOAuthRequest
 
         OAuthBearerRequestAuthentication bearerRequest = (OAuthBearerRequestAuthentication) authenticationRequest;
 
+        String jwt = bearerRequest.getJwt();
+
+        //since 1.6.0: tokens that have already been verified are not verified again until they expire or are revoked
+        VerifiedAccessTokenCache verifiedTokens = dataStore.getVerifiedAccessTokenCache();
+
         if (this.isLocalValidation) {
-            String apiKeySecret = dataStore.getApiKey().getSecret();
             try {
 
-                // During parsing, the JWT is validated for expiration, signature and tampering
-                Claims claims = Jwts.parser()
-                        .setSigningKey(apiKeySecret.getBytes("UTF-8"))
-                        .parseClaimsJws(bearerRequest.getJwt()).getBody();
-                Assert.isTrue(claims.getIssuer().equals(application.getHref()));
+                VerifiedAccessToken verified = verifiedTokens != null ?
+                                               verifiedTokens.get(jwt, application.getHref(), false) : null;
+
+                if (verified == null) {
+                    String apiKeySecret = dataStore.getApiKey().getSecret();
+
+                    MetricsRecorder recorder = dataStore.getMetricsRecorder();
+                    long start = System.nanoTime();
+                    boolean valid = false;
+                    Claims claims;
+                    try {
+                        // During parsing, the JWT is validated for expiration, signature and tampering
+                        claims = Jwts.parser()
+                                .setSigningKey(apiKeySecret.getBytes("UTF-8"))
+                                .parseClaimsJws(jwt).getBody();
+                        Assert.isTrue(claims.getIssuer().equals(application.getHref()));
+                        valid = true;
+                    } finally {
+                        recorder.recordJwtVerification(JWT_VERIFIER_NAME, System.nanoTime() - start, valid);
+                    }
+
+                    String accessTokenHref = application.getHref().replace(APPLICATION_PATH, ACCESS_TOKEN_PATH);
+                    int accessTokenIdStartingPoint = accessTokenHref.lastIndexOf("/") + 1;
+                    accessTokenHref = accessTokenHref.substring(0, accessTokenIdStartingPoint);
+                    accessTokenHref = accessTokenHref + claims.getId();
+
+                    verified = new VerifiedAccessToken(application.getHref(), claims.getId(),
+                            claims.get(REFRESH_TOKEN_ID_CLAIM, String.class), accessTokenHref, claims.getSubject(),
+                            claims.getExpiration(), false);
+
+                    if (verifiedTokens != null) {
+                        verifiedTokens.put(jwt, verified);
+                    }
+                }
 
                 Map<String, Object> properties = new HashMap<String, Object>();
 
-                Account account = dataStore.getResource(claims.getSubject(), Account.class);
-
-                String accessTokenHref = application.getHref().replace(APPLICATION_PATH, ACCESS_TOKEN_PATH);
-                int accessTokenIdStartingPoint = accessTokenHref.lastIndexOf("/") + 1;
-                accessTokenHref = accessTokenHref.substring(0, accessTokenIdStartingPoint);
-                accessTokenHref = accessTokenHref + claims.getId();
+                Account account = dataStore.getResource(verified.getAccountHref(), Account.class);
 
-                properties.put(DefaultAccount.HREF_PROP_NAME, accessTokenHref);
+                properties.put(DefaultAccount.HREF_PROP_NAME, verified.getAccessTokenHref());
                 properties.put(DefaultAccessToken.ACCOUNT_PROP_NAME, account);
                 properties.put(DefaultAccessToken.APPLICATION_PROP_NAME, application);
-                properties.put(DefaultAccessToken.JWT_PROP_NAME, bearerRequest.getJwt());
+                properties.put(DefaultAccessToken.JWT_PROP_NAME, jwt);
                 properties.put(DefaultAccessToken.TENANT_PROP_NAME, application.getTenant());
 
                 AccessToken accessToken = new DefaultAccessToken(dataStore, properties);
@@ -95,13 +129,26 @@ public class DefaultOAuthBearerRequestAuthenticator extends AbstractOAuthRequest
             }
         }
 
-        StringBuilder stringBuilder = new StringBuilder(application.getHref());
-        stringBuilder.append(OAUTH_TOKEN_PATH);
-        stringBuilder.append(bearerRequest.getJwt());
+        VerifiedAccessToken verified = verifiedTokens != null ?
+                                       verifiedTokens.get(jwt, application.getHref(), true) : null;
         AccessToken accessToken = null;
 
         try {
-            accessToken = dataStore.getResource(stringBuilder.toString(), AccessToken.class);
+            if (verified != null) {
+                accessToken = dataStore.getResource(verified.getAccessTokenHref(), AccessToken.class);
+            } else {
+                StringBuilder stringBuilder = new StringBuilder(application.getHref());
+                stringBuilder.append(OAUTH_TOKEN_PATH);
+                stringBuilder.append(jwt);
+                accessToken = dataStore.getResource(stringBuilder.toString(), AccessToken.class);
+
+                if (verifiedTokens != null) {
+                    verified = createRemotelyVerifiedToken(jwt, accessToken);
+                    if (verified != null) {
+                        verifiedTokens.put(jwt, verified);
+                    }
+                }
+            }
         } catch (ResourceException e) {
             throw e;
         } catch (Exception e) {
@@ -112,4 +159,29 @@ public class DefaultOAuthBearerRequestAuthenticator extends AbstractOAuthRequest
         return builder.build();
     }
 
+    /**
+     * Reads the claims of a token the server has just validated, without verifying its signature again.  Returns
+     * {@code null} if the token cannot be retained, for example because it does not expire.
+     *
+     * @since 1.6.0
+     */
+    private VerifiedAccessToken createRemotelyVerifiedToken(String jwt, AccessToken accessToken) {
+
+        int signatureIndex = jwt.lastIndexOf('.');
+
+        if (signatureIndex <= 0 || accessToken == null || accessToken.getHref() == null) {
+            return null;
+        }
+
+        try {
+            Jwt<Header, Claims> unsigned = Jwts.parser().parseClaimsJwt(jwt.substring(0, signatureIndex + 1));
+            Claims claims = unsigned.getBody();
+            return new VerifiedAccessToken(application.getHref(), claims.getId(),
+                    claims.get(REFRESH_TOKEN_ID_CLAIM, String.class), accessToken.getHref(), claims.getSubject(),
+                    claims.getExpiration(), true);
+        } catch (Exception e) { //not retained
+            return null;
+        }
+    }
+
 }
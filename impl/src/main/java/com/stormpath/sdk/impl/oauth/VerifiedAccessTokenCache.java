@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.oauth;
+
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A bounded, in-memory record of access tokens (JWTs) that have already been verified by
+ * {@link DefaultOAuthBearerRequestAuthenticator}, so that repeated bearer authentications with the same token do not
+ * have to verify its signature again (local validation) or send it to the server again (remote validation).
+ * <p/>
+ * Entries are keyed by the compact JWT string and are only returned until the token's expiration.  They are
+ * {@link #invalidateAccessToken(String) invalidated} when the access token - or the
+ * {@link #invalidateRefreshToken(String) refresh token} it was issued with - is revoked through the same
+ * {@code DataStore}.  Tokens revoked by other clients remain trusted until they expire or are evicted, which is the
+ * same guarantee the {@code DataStore} cache provides for any other resource.
+ *
+ * @since 1.6.0
+ */
+public class VerifiedAccessTokenCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final Map<String, VerifiedAccessToken> tokens;
+
+    public VerifiedAccessTokenCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public VerifiedAccessTokenCache(int maxEntries) {
+        this.tokens = new SegmentedLruMap<String, VerifiedAccessToken>(maxEntries);
+    }
+
+    /**
+     * Returns the unexpired verification of the specified JWT for the specified application, or {@code null} if there
+     * is none.
+     *
+     * @param jwt             the compact JWT string
+     * @param applicationHref the href of the application authenticating the token
+     * @param remote          whether the verification must have been performed by the server, in which case tokens
+     *                        that were only validated locally are not returned
+     * @return the unexpired verification of the specified JWT, or {@code null} if there is none.
+     */
+    public VerifiedAccessToken get(String jwt, String applicationHref, boolean remote) {
+        VerifiedAccessToken token = tokens.get(jwt);
+        if (token == null) {
+            return null;
+        }
+        if (token.isExpired()) {
+            tokens.remove(jwt);
+            return null;
+        }
+        if (!token.getApplicationHref().equals(applicationHref) || (remote && !token.isRemotelyVerified())) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Records that the specified JWT has been verified.  Tokens without an expiration are not retained.
+     *
+     * @param jwt   the compact JWT string
+     * @param token the result of the verification
+     */
+    public void put(String jwt, VerifiedAccessToken token) {
+        Assert.hasText(jwt, "jwt cannot be null or empty.");
+        Assert.notNull(token, "token cannot be null.");
+        if (token.getExpiration() != null && !token.isExpired()) {
+            tokens.put(jwt, token);
+        }
+    }
+
+    /**
+     * Removes the access token with the specified {@code jti}.
+     *
+     * @param jti the id of the revoked access token
+     */
+    public void invalidateAccessToken(String jti) {
+        for (Map.Entry<String, VerifiedAccessToken> entry : tokens.entrySet()) {
+            if (jti.equals(entry.getValue().getId())) {
+                tokens.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Removes every access token issued with the refresh token with the specified {@code jti}.
+     *
+     * @param rti the id of the revoked refresh token
+     */
+    public void invalidateRefreshToken(String rti) {
+        for (Map.Entry<String, VerifiedAccessToken> entry : tokens.entrySet()) {
+            if (rti.equals(entry.getValue().getRefreshTokenId())) {
+                tokens.remove(entry.getKey());
+            }
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    public void clear() {
+        tokens.clear();
+    }
+
+    /**
+     * The outcome of a successful access token verification: the token's claims needed to authenticate subsequent
+     * requests without verifying it again.
+     */
+    public static class VerifiedAccessToken {
+
+        private final String applicationHref;
+        private final String id;
+        private final String refreshTokenId;
+        private final String accessTokenHref;
+        private final String accountHref;
+        private final Date expiration;
+        private final boolean remotelyVerified;
+
+        public VerifiedAccessToken(String applicationHref, String id, String refreshTokenId, String accessTokenHref,
+                                   String accountHref, Date expiration, boolean remotelyVerified) {
+            Assert.hasText(applicationHref, "applicationHref cannot be null or empty.");
+            Assert.hasText(accessTokenHref, "accessTokenHref cannot be null or empty.");
+            this.applicationHref = applicationHref;
+            this.id = id;
+            this.refreshTokenId = refreshTokenId;
+            this.accessTokenHref = accessTokenHref;
+            this.accountHref = accountHref;
+            this.expiration = expiration;
+            this.remotelyVerified = remotelyVerified;
+        }
+
+        public String getApplicationHref() {
+            return applicationHref;
+        }
+
+        /**
+         * Returns the access token's id ({@code jti} claim).
+         *
+         * @return the access token's id ({@code jti} claim).
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the id of the refresh token the access token was issued with ({@code rti} claim), if any.
+         *
+         * @return the id of the refresh token the access token was issued with, or {@code null}.
+         */
+        public String getRefreshTokenId() {
+            return refreshTokenId;
+        }
+
+        public String getAccessTokenHref() {
+            return accessTokenHref;
+        }
+
+        public String getAccountHref() {
+            return accountHref;
+        }
+
+        public Date getExpiration() {
+            return expiration;
+        }
+
+        public boolean isRemotelyVerified() {
+            return remotelyVerified;
+        }
+
+        public boolean isExpired() {
+            return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+        }
+    }
+}
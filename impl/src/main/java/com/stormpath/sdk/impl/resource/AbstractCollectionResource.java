@@ -16,6 +16,7 @@
 package com.stormpath.sdk.impl.resource;
 
 import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
 
@@ -25,8 +26,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -151,6 +156,56 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         return new PaginatedIterator<T>(this, firstPageQueryRequired.getAndSet(true));
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public Iterator<T> iterator(int readAhead) {
+        Assert.isTrue(readAhead > 0, "readAhead must be greater than zero.");
+
+        AbstractCollectionResource<T> first = this;
+        if (firstPageQueryRequired.getAndSet(true)) {
+            //same as the PaginatedIterator: use a new resource in order to have different iterator instances (issue 62)
+            first = getDataStore().getResource(getHref(), getClass(), queryParams);
+        }
+        Page<T> page = first.getCurrentPage();
+        return new PrefetchingIterator(first, page, page.getOffset() + page.getLimit(), page.getSize(), readAhead);
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    public List<Iterable<T>> partition(int partitions) {
+        Assert.isTrue(partitions > 0, "partitions must be greater than zero.");
+
+        final int offset = getOffset();
+        final int limit = getLimit();
+        final int size = getSize();
+
+        if (offset >= size || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int pageCount = (size - offset + limit - 1) / limit;
+        int pagesPerPartition = (pageCount + partitions - 1) / partitions;
+
+        List<Iterable<T>> ranges = new ArrayList<Iterable<T>>(partitions);
+
+        for (int start = offset; start < size; start += pagesPerPartition * limit) {
+            final int from = start;
+            final int to = (int) Math.min((long) size, (long) start + (long) pagesPerPartition * limit);
+            ranges.add(new Iterable<T>() {
+                @Override
+                public Iterator<T> iterator() {
+                    return new PrefetchingIterator(AbstractCollectionResource.this, null, from, to, 1);
+                }
+            });
+        }
+
+        return ranges;
+    }
+
     private Collection<T> toResourceList(Collection vals, Class<T> itemType) {
 
         List<T> list = new ArrayList<T>(vals.size());
@@ -251,6 +306,117 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         }
     }
 
+    /**
+     * Iterates over the pages in the offset range {@code [nextOffset, endOffset)}, keeping up to {@code readAhead}
+     * page requests in flight via the DataStore's asynchronous API while the current page is being consumed.
+     *
+     * @since 1.6.0
+     */
+    private class PrefetchingIterator implements Iterator<T> {
+
+        private final AbstractCollectionResource<T> resource;
+        private final int limit;
+        private final int endOffset;
+        private final int readAhead;
+        private final LinkedList<Future<AbstractCollectionResource<T>>> pending;
+
+        private int nextOffset;
+        private Iterator<T> currentPageIterator;
+
+        /**
+         * @param resource    the collection resource providing the href, class and query parameters of each page
+         * @param currentPage the already retrieved page to start with, or {@code null} to start at {@code nextOffset}
+         * @param nextOffset  the offset of the first page to request
+         * @param endOffset   the (exclusive) offset at which to stop requesting pages
+         * @param readAhead   the maximum number of page requests to keep in flight
+         */
+        private PrefetchingIterator(AbstractCollectionResource<T> resource, Page<T> currentPage, int nextOffset,
+                                    int endOffset, int readAhead) {
+            this.resource = resource;
+            this.limit = resource.getLimit();
+            this.endOffset = endOffset;
+            this.readAhead = readAhead;
+            this.pending = new LinkedList<Future<AbstractCollectionResource<T>>>();
+            this.nextOffset = nextOffset;
+            this.currentPageIterator = currentPage != null ? currentPage.getItems().iterator() : Collections.<T>emptyIterator();
+            prefetch();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void prefetch() {
+            while (pending.size() < readAhead && nextOffset < endOffset && limit > 0) {
+                Map<String, Object> queryParams = new LinkedHashMap<String, Object>(resource.queryParams);
+                queryParams.put(OFFSET.getName(), nextOffset);
+                queryParams.put(LIMIT.getName(), limit);
+
+                Future<AbstractCollectionResource<T>> page = (Future<AbstractCollectionResource<T>>)
+                        getDataStore().getResourceAsync(resource.getHref(), resource.getClass(), queryParams, null);
+                pending.add(page);
+                nextOffset += limit;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPageIterator.hasNext()) {
+                Future<AbstractCollectionResource<T>> next = pending.poll();
+                if (next == null) {
+                    return false;
+                }
+                Iterator<T> nextIterator = await(next).getCurrentPage().getItems().iterator();
+                if (!nextIterator.hasNext()) {
+                    //the collection shrank on the server since the first page was read: nothing more to iterate
+                    cancelPending();
+                    return false;
+                }
+                currentPageIterator = nextIterator;
+                prefetch();
+            }
+            return true;
+        }
+
+        private AbstractCollectionResource<T> await(Future<AbstractCollectionResource<T>> page) {
+            try {
+                return page.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelPending();
+                throw new IllegalStateException("Interrupted while waiting for the next collection page.", e);
+            } catch (ExecutionException e) {
+                cancelPending();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Unable to retrieve the next collection page.", cause);
+            }
+        }
+
+        private void cancelPending() {
+            for (Future<?> f : pending) {
+                f.cancel(false);
+            }
+            pending.clear();
+            nextOffset = endOffset;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPageIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Remove is not supported.");
+        }
+    }
+
     private static class DefaultPage<T> implements Page<T> {
 
         private final int offset;
@@ -17,6 +17,7 @@ package com.stormpath.sdk.impl.resource;
 
 import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
 import com.stormpath.sdk.impl.ds.Enlistment;
+import com.stormpath.sdk.impl.util.SegmentedLruMap;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Classes;
 import org.slf4j.Logger;
@@ -44,6 +45,22 @@ public abstract class AbstractPropertyRetriever {
 
     private static final DateFormat dateFormatter = new ISO8601DateFormat();
 
+    /**
+     * The maximum number of parsed date values retained by {@link #getDateProperty(DateProperty)}.
+     *
+     * @since 1.6.0
+     */
+    private static final int MAX_PARSED_DATES = 1024;
+
+    /**
+     * The most frequently read date property values (ISO 8601 strings) mapped to the time they represent, so that
+     * they are not parsed again every time the resources holding them are read.  Values that are rarely read again are
+     * evicted first.
+     *
+     * @since 1.6.0
+     */
+    private static final Map<String, Long> parsedDates = new SegmentedLruMap<String, Long>(MAX_PARSED_DATES);
+
     protected final Lock readLock;
 
     protected final Lock writeLock;
@@ -146,8 +163,16 @@ public abstract class AbstractPropertyRetriever {
             return null;
         }
 
+        String s = String.valueOf(value);
+        Long time = parsedDates.get(s);
+        if (time != null) {
+            return new Date(time); //Date is mutable: never share an instance
+        }
+
         try {
-            return dateFormatter.parse(String.valueOf(value));
+            Date date = dateFormatter.parse(s);
+            parsedDates.put(s, date.getTime());
+            return date;
         } catch (ParseException e) {
             if (log.isErrorEnabled()) {
                 String msg = "Unabled to parse string '{}' into an date value.  Defaulting to null.";
@@ -246,7 +271,7 @@ public abstract class AbstractPropertyRetriever {
                 @SuppressWarnings("unchecked")
                 T instance = propertyConstructor.newInstance(name, new Enlistment((Map<String, Object>) value) , this);
 
-                getProperties().put(name, instance);
+                replaceProperty(name, instance);
 
                 return instance;
             } catch (Exception e) {
@@ -296,4 +321,16 @@ public abstract class AbstractPropertyRetriever {
      */
     protected abstract Map<String, Object> getProperties();
 
+    /**
+     * Replaces the value of the specified property without marking it as modified, for example to swap a raw
+     * {@code Map} value for the object it has been converted to.  Must be called while holding the write lock.
+     *
+     * @param name  the name of the property
+     * @param value the new property value
+     * @since 1.6.0
+     */
+    protected void replaceProperty(String name, Object value) {
+        getProperties().put(name, value);
+    }
+
 }
@@ -22,6 +22,7 @@ import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -39,10 +40,20 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
     protected final Set<String> deletedPropertyNames;     //Protected by read/write lock
     protected final ReferenceFactory referenceFactory;
     private final InternalDataStore dataStore;
-    protected Map<String, Object> properties;       //Protected by read/write lock
+    //Protected by read/write lock.  Once published in a PropertyState, this map is replaced rather than modified in
+    //place (see getWritableProperties()), unless it is an Enlistment, which is thread-safe on its own:
+    protected Map<String, Object> properties;
     protected volatile boolean dirty;
     private volatile boolean materialized;
 
+    /**
+     * Immutable snapshot of the property maps above, republished (under the write lock) whenever they change so that
+     * property reads never need to acquire the read lock.
+     *
+     * @since 1.6.0
+     */
+    private volatile PropertyState state = PropertyState.EMPTY;
+
     protected AbstractResource(InternalDataStore dataStore) {
         this(dataStore, null);
     }
@@ -113,6 +124,7 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
             } else {
                 this.materialized = false;
             }
+            publishPropertyState();
         } finally {
             writeLock.unlock();
         }
@@ -174,41 +186,56 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
             }
 
             //retain dirty properties:
-            this.properties.putAll(this.dirtyProperties);
+            if (!this.dirtyProperties.isEmpty()) {
+                if (!(this.properties instanceof Enlistment)) {
+                    //don't modify the other resource's (already published) map in place:
+                    this.properties = new LinkedHashMap<>(this.properties);
+                }
+                this.properties.putAll(this.dirtyProperties);
+            }
 
             this.materialized = true;
+            publishPropertyState();
         } finally {
             writeLock.unlock();
         }
     }
 
-    public Set<String> getPropertyNames() {
-        readLock.lock();
-        try {
-            Set<String> keys = this.properties.keySet();
-            return new LinkedHashSet<>(keys);
-        } finally {
-            readLock.unlock();
+    /**
+     * Publishes the current {@link #properties}, {@link #dirtyProperties} and {@link #deletedPropertyNames} to
+     * readers.  Must be called while holding the write lock, after any of them has been modified.
+     *
+     * @since 1.6.0
+     */
+    protected final void publishPropertyState() {
+        this.state = new PropertyState(this.properties, this.dirtyProperties, this.deletedPropertyNames);
+    }
+
+    /**
+     * Returns the {@link #properties} map so that it can be modified in place, copying it first if it has already been
+     * published to (lock-free) readers.  Must be called while holding the write lock, and followed by
+     * {@link #publishPropertyState()} once the modifications are complete.
+     *
+     * @return the {@link #properties} map, safe to modify in place.
+     * @since 1.6.0
+     */
+    protected final Map<String, Object> getWritableProperties() {
+        if (!(this.properties instanceof Enlistment) && this.properties == this.state.properties) {
+            this.properties = new LinkedHashMap<>(this.properties);
         }
+        return this.properties;
+    }
+
+    public Set<String> getPropertyNames() {
+        return new LinkedHashSet<>(this.state.properties.keySet());
     }
 
     public Set<String> getUpdatedPropertyNames() {
-        readLock.lock();
-        try {
-            Set<String> keys = this.dirtyProperties.keySet();
-            return new LinkedHashSet<>(keys);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<>(this.state.dirtyProperties.keySet());
     }
 
     protected Set<String> getDeletedPropertyNames() {
-        readLock.lock();
-        try {
-            return new LinkedHashSet<>(this.deletedPropertyNames);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<>(this.state.deletedPropertyNames);
     }
 
     public Object getProperty(String name) {
@@ -218,15 +245,7 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
 
                 //only materialize if the property hasn't been set previously (no need to execute a server
                 // request since we have the most recent value already):
-                boolean present = false;
-                readLock.lock();
-                try {
-                    present = this.dirtyProperties.containsKey(name);
-                } finally {
-                    readLock.unlock();
-                }
-
-                if (!present) {
+                if (!this.state.dirtyProperties.containsKey(name)) {
                     //exhausted present properties - we require a server call:
                     materialize();
                 }
@@ -244,29 +263,21 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
      * @since 1.3.0
      */
     public boolean hasProperty(String name) {
-        readLock.lock();
-        try {
-            return !this.deletedPropertyNames.contains(name) &&
-                (this.dirtyProperties.containsKey(name) || this.properties.containsKey(name));
-        } finally {
-            readLock.unlock();
-        }
+        PropertyState state = this.state;
+        return !state.deletedPropertyNames.contains(name) &&
+            (state.dirtyProperties.containsKey(name) || state.properties.containsKey(name));
     }
 
     private Object readProperty(String name) {
-        readLock.lock();
-        try {
-            if (this.deletedPropertyNames.contains(name)) {
-                return null;
-            }
-            Object value = this.dirtyProperties.get(name);
-            if (value == null) {
-                value = this.properties.get(name);
-            }
-            return value;
-        } finally {
-            readLock.unlock();
+        PropertyState state = this.state;
+        if (state.deletedPropertyNames.contains(name)) {
+            return null;
         }
+        Object value = state.dirtyProperties.get(name);
+        if (value == null) {
+            value = state.properties.get(name);
+        }
+        return value;
     }
 
     /**
@@ -318,6 +329,7 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
                     this.deletedPropertyNames.remove(name);
                 }
             }
+            publishPropertyState();
         } finally {
             writeLock.unlock();
         }
@@ -447,23 +459,18 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
     }
 
     public String toString() {
-        readLock.lock();
-        try {
-            StringBuilder sb = new StringBuilder();
-            for (Map.Entry<String, Object> entry : this.properties.entrySet()) {
-                if (sb.length() > 0) {
-                    sb.append(", ");
-                }
-                String key = entry.getKey();
-                //prevent printing of any sensitive values:
-                if (isPrintableProperty(key)) {
-                    sb.append(key).append(": ").append(String.valueOf(entry.getValue()));
-                }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : this.state.properties.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            String key = entry.getKey();
+            //prevent printing of any sensitive values:
+            if (isPrintableProperty(key)) {
+                sb.append(key).append(": ").append(String.valueOf(entry.getValue()));
             }
-            return sb.toString();
-        } finally {
-            readLock.unlock();
         }
+        return sb.toString();
     }
 
     /**
@@ -479,12 +486,8 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
 
     @Override
     public int hashCode() {
-        readLock.lock();
-        try {
-            return this.properties.isEmpty() ? 0 : this.properties.hashCode();
-        } finally {
-            readLock.unlock();
-        }
+        Map<String, Object> properties = this.state.properties;
+        return properties.isEmpty() ? 0 : properties.hashCode();
     }
 
     @Override
@@ -499,17 +502,7 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
             return false;
         }
         AbstractResource other = (AbstractResource) o;
-        readLock.lock();
-        try {
-            other.readLock.lock();
-            try {
-                return this.properties.equals(other.properties);
-            } finally {
-                other.readLock.unlock();
-            }
-        } finally {
-            readLock.unlock();
-        }
+        return this.state.properties.equals(other.state.properties);
     }
 
     @Override
@@ -517,4 +510,41 @@ public abstract class AbstractResource extends AbstractPropertyRetriever impleme
         return properties;
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Override
+    protected void replaceProperty(String name, Object value) {
+        getWritableProperties().put(name, value);
+        publishPropertyState();
+    }
+
+    /**
+     * An immutable snapshot of a resource's properties, its dirty property overlay and its deleted property names.
+     * Readers obtain all three from the same snapshot, so they always observe a consistent view without locking.
+     *
+     * @since 1.6.0
+     */
+    private static final class PropertyState {
+
+        private static final PropertyState EMPTY = new PropertyState(Collections.<String, Object>emptyMap(),
+                                                                     Collections.<String, Object>emptyMap(),
+                                                                     Collections.<String>emptySet());
+
+        private final Map<String, Object> properties;
+        private final Map<String, Object> dirtyProperties;
+        private final Set<String> deletedPropertyNames;
+
+        private PropertyState(Map<String, Object> properties, Map<String, Object> dirtyProperties,
+                              Set<String> deletedPropertyNames) {
+            //the properties map is never modified once published (or is a thread-safe Enlistment), so it can be shared,
+            //while the (typically empty or small) dirty overlay is copied:
+            this.properties = properties;
+            this.dirtyProperties = dirtyProperties.isEmpty() ? Collections.<String, Object>emptyMap() :
+                                   Collections.unmodifiableMap(new LinkedHashMap<>(dirtyProperties));
+            this.deletedPropertyNames = deletedPropertyNames.isEmpty() ? Collections.<String>emptySet() :
+                                        Collections.unmodifiableSet(new HashSet<>(deletedPropertyNames));
+        }
+    }
+
 }
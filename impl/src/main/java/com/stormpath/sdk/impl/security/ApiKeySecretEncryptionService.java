@@ -46,15 +46,35 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
     private ApiKeySecretEncryptionService(Builder builder) {
 
-        char[] password = builder.password;
-
-        byte[] base64Salt = builder.base64Salt;
+        this.builder = builder;
 
-        int keySize = builder.keySize;
+        if (builder.secretKey != null) {
+            Assert.state(builder.keySize > 0, "the key size must be greater than zero.");
+            key = builder.secretKey;
+        } else {
+            key = deriveKey(builder.password, builder.base64Salt, builder.keySize, builder.iterations);
+        }
 
-        int iterations = builder.iterations;
+        try {
+            cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        this.builder = builder;
+    /**
+     * Derives the AES key used to decrypt API Key secrets from the specified password and encryption parameters.  Key
+     * derivation is deliberately expensive, so callers that decrypt many values encrypted with the same parameters
+     * should derive the key once and {@link Builder#setSecretKey(SecretKey) reuse} it.
+     *
+     * @param password   the password (the client's API Key secret)
+     * @param base64Salt the Base64-encoded salt
+     * @param keySize    the key size in bits
+     * @param iterations the number of key derivation iterations
+     * @return the derived AES key
+     * @since 1.6.0
+     */
+    public static SecretKey deriveKey(char[] password, byte[] base64Salt, int keySize, int iterations) {
 
         Assert.state(password != null && password.length > 0, "password cannot be null or empty.");
 
@@ -64,16 +84,10 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
         Assert.state(iterations > 0, "the number of iterations must be greater than zero.");
 
-        key = initKey(password, Base64.decodeBase64(base64Salt), keySize, iterations);
-
-        try {
-            cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return initKey(password, Base64.decodeBase64(base64Salt), keySize, iterations);
     }
 
-    private SecretKey initKey(char[] password, byte[] salt, int keySize, int iterations) {
+    private static SecretKey initKey(char[] password, byte[] salt, int keySize, int iterations) {
 
         try {
             SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(ALGORITHM);
@@ -136,6 +150,8 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
         private int iterations;
 
+        private SecretKey secretKey;
+
         public Builder setPassword(char[] password) {
             this.password = password;
             return this;
@@ -156,6 +172,20 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
             return this;
         }
 
+        /**
+         * Sets a previously {@link ApiKeySecretEncryptionService#deriveKey(char[], byte[], int, int) derived} key to
+         * use instead of deriving one from the password, salt and iterations.  The {@link #setKeySize(int) key size}
+         * must still be set.
+         *
+         * @param secretKey the previously derived key
+         * @return this builder for method chaining
+         * @since 1.6.0
+         */
+        public Builder setSecretKey(SecretKey secretKey) {
+            this.secretKey = secretKey;
+            return this;
+        }
+
         public EncryptionService build() {
             return new ApiKeySecretEncryptionService(this);
         }
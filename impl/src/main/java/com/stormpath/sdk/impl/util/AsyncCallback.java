@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+/**
+ * Receives the outcome of an asynchronous SDK operation.  Exactly one of the two methods is invoked, once, on the
+ * thread that completed the operation - implementations should therefore return quickly and never block.
+ *
+ * @param <T> the type of the operation's result
+ * @since 1.6.0
+ */
+public interface AsyncCallback<T> {
+
+    /**
+     * Invoked when the operation completes successfully.
+     *
+     * @param result the operation's result, possibly {@code null}.
+     */
+    void onSuccess(T result);
+
+    /**
+     * Invoked when the operation fails.
+     *
+     * @param t the cause of the failure.
+     */
+    void onFailure(Throwable t);
+}
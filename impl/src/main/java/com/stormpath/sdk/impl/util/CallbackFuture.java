@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A {@link java.util.concurrent.Future Future} that is completed explicitly via {@link #complete(Object)} or
+ * {@link #fail(Throwable)} rather than by running a task, and that notifies an optional {@link AsyncCallback} once
+ * it is done.
+ * <p/>
+ * This is the Java 7 compatible equivalent of a {@code CompletableFuture} used by the SDK's asynchronous operations.
+ * If the future is {@link #cancel(boolean) cancelled}, the callback's {@link AsyncCallback#onFailure(Throwable)
+ * onFailure} method is invoked with a {@link java.util.concurrent.CancellationException CancellationException}.
+ *
+ * @param <T> the type of the result
+ * @since 1.6.0
+ */
+public class CallbackFuture<T> extends FutureTask<T> {
+
+    private static final Callable NOT_RUNNABLE = new Callable() {
+        @Override
+        public Object call() throws Exception {
+            throw new UnsupportedOperationException("CallbackFuture instances must be completed explicitly.");
+        }
+    };
+
+    private final AsyncCallback<? super T> callback;
+
+    /**
+     * Creates a new {@code CallbackFuture} that notifies the specified {@code callback} when done.
+     *
+     * @param callback the callback to notify when this future is done, may be {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public CallbackFuture(AsyncCallback<? super T> callback) {
+        super((Callable<T>) NOT_RUNNABLE);
+        this.callback = callback;
+    }
+
+    /**
+     * Completes this future with the specified {@code result}.  Has no effect if this future is already done.
+     *
+     * @param result the result of the operation
+     */
+    public void complete(T result) {
+        set(result);
+    }
+
+    /**
+     * Completes this future exceptionally with the specified {@code cause}.  Has no effect if this future is already
+     * done.
+     *
+     * @param cause the cause of the failure
+     */
+    public void fail(Throwable cause) {
+        setException(cause);
+    }
+
+    @Override
+    public void run() {
+        throw new UnsupportedOperationException("CallbackFuture instances must be completed explicitly.");
+    }
+
+    @Override
+    protected void done() {
+        if (callback == null) {
+            return;
+        }
+        T result;
+        try {
+            result = get();
+        } catch (ExecutionException e) {
+            callback.onFailure(e.getCause());
+            return;
+        } catch (Throwable t) { //cancellation or interruption
+            callback.onFailure(t);
+            return;
+        }
+        callback.onSuccess(result);
+    }
+}
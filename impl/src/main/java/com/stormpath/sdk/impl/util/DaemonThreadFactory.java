@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ThreadFactory} that creates named daemon threads, so that background work started by the SDK never
+ * prevents the JVM from shutting down.
+ *
+ * @since 1.6.0
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger count = new AtomicInteger(0);
+
+    /**
+     * Creates a new instance whose threads are named {@code namePrefix-1}, {@code namePrefix-2}, etc.
+     *
+     * @param namePrefix the prefix of created thread names.
+     */
+    public DaemonThreadFactory(String namePrefix) {
+        Assert.hasText(namePrefix, "namePrefix cannot be null or empty.");
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, namePrefix + "-" + count.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    }
+}
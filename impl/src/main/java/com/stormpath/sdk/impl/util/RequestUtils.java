@@ -62,4 +62,54 @@ public class RequestUtils {
 
         return encoded;
     }
+
+    /**
+     * Appends the canonical URL encoding of the specified value to the specified buffer.  The result is identical to
+     * {@link #encodeUrl(String, boolean, boolean) encodeUrl(value, path, true)}, but no intermediate strings are created,
+     * which matters when encoding every path and query parameter of every signed request.
+     *
+     * @param value the value to encode
+     * @param path  whether the value is a path, in which case '/' characters are not encoded
+     * @param sb    the buffer to append the encoded value to
+     * @since 1.6.0
+     */
+    public static void appendCanonicalEncodedUrl(String value, boolean path, StringBuilder sb) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '-' || c == '_' || c == '.' || c == '~' || (path && c == '/')) {
+                sb.append(c);
+            } else if (c < 0x80) {
+                appendPercentEncoded(c, sb);
+            } else if (c < 0x800) {
+                appendPercentEncoded(0xC0 | (c >> 6), sb);
+                appendPercentEncoded(0x80 | (c & 0x3F), sb);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    appendPercentEncoded(0xF0 | (codePoint >> 18), sb);
+                    appendPercentEncoded(0x80 | ((codePoint >> 12) & 0x3F), sb);
+                    appendPercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), sb);
+                    appendPercentEncoded(0x80 | (codePoint & 0x3F), sb);
+                } else {
+                    //malformed - encoded as '?', like URLEncoder does:
+                    appendPercentEncoded('?', sb);
+                }
+            } else {
+                appendPercentEncoded(0xE0 | (c >> 12), sb);
+                appendPercentEncoded(0x80 | ((c >> 6) & 0x3F), sb);
+                appendPercentEncoded(0x80 | (c & 0x3F), sb);
+            }
+        }
+    }
+
+    private static final char[] UPPER_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static void appendPercentEncoded(int b, StringBuilder sb) {
+        sb.append('%').append(UPPER_HEX_DIGITS[(b >> 4) & 0x0F]).append(UPPER_HEX_DIGITS[b & 0x0F]);
+    }
 }
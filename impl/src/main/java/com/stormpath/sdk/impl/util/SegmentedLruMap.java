@@ -0,0 +1,419 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@code SegmentedLruMap} is a bounded map that evicts entries using a
+ * <a href="https://en.wikipedia.org/wiki/Cache_replacement_policies#Segmented_LRU_(SLRU)">Segmented LRU</a> policy.
+ * <p/>
+ * Newly inserted entries are placed in a <em>probationary</em> segment.  An entry that is accessed again while in the
+ * probationary segment is promoted to the <em>protected</em> segment, which is allowed to hold up to 80% of the map's
+ * capacity.  When the protected segment overflows, its least recently used entries are demoted back to the most
+ * recently used end of the probationary segment.  When the map as a whole overflows, victims are chosen from the least
+ * recently used end of the probationary segment first.  This means a burst of one-time reads (for example, iterating
+ * a large collection) cannot flush frequently used entries out of the map, which is the main weakness of a plain LRU.
+ * <p/>
+ * Capacity may be expressed as a maximum number of entries, a maximum total weight as computed by a
+ * {@link Weigher Weigher}, or both.  Unlike {@link SoftHashMap}, entries are never reclaimed by the garbage collector,
+ * so the map's memory footprint is predictable and hit rates do not collapse under heap pressure.
+ * <p/>
+ * This implementation is thread-safe.  Because every read re-orders the segments, all operations are guarded by a
+ * single lock.  The {@link #keySet()}, {@link #values()} and {@link #entrySet()} methods return immutable snapshots.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ * @since 1.6.0
+ */
+public class SegmentedLruMap<K, V> implements Map<K, V> {
+
+    /**
+     * Ratio of the map's capacity that may be retained by the protected segment.
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long maxEntries;
+    private final long maxWeight;
+    private final long maxProtectedEntries;
+    private final long maxProtectedWeight;
+    private final Weigher<? super V> weigher;
+
+    //all fields below are guarded by 'lock':
+    private final LinkedHashMap<K, Node<V>> probation;
+    private final LinkedHashMap<K, Node<V>> protect;
+    private long weight;
+    private long protectedWeight;
+
+    private final ReentrantLock lock;
+    private final AtomicLong evictionCount;
+
+    /**
+     * Creates a new {@code SegmentedLruMap} that retains at most {@code maxEntries} entries.
+     *
+     * @param maxEntries the maximum number of entries retained by this map.
+     * @throws IllegalArgumentException if {@code maxEntries} is not greater than zero.
+     */
+    public SegmentedLruMap(long maxEntries) throws IllegalArgumentException {
+        this(maxEntries, 0, null);
+    }
+
+    /**
+     * Creates a new {@code SegmentedLruMap} bounded by entry count, total weight, or both.  A non-positive value for
+     * either {@code maxEntries} or {@code maxWeight} indicates that the respective bound is not enforced, but at least
+     * one of them must be positive.
+     *
+     * @param maxEntries the maximum number of entries retained by this map, or {@code 0} for no entry count limit.
+     * @param maxWeight  the maximum total weight of all entries retained by this map, or {@code 0} for no weight
+     *                   limit.
+     * @param weigher    the {@code Weigher} used to compute each value's weight.  Required if {@code maxWeight} is
+     *                   positive.
+     * @throws IllegalArgumentException if neither bound is positive, or if a {@code maxWeight} is specified without a
+     *                                  {@code weigher}.
+     */
+    public SegmentedLruMap(long maxEntries, long maxWeight, Weigher<? super V> weigher) throws IllegalArgumentException {
+        Assert.isTrue(maxEntries > 0 || maxWeight > 0, "Either maxEntries or maxWeight must be greater than zero.");
+        if (maxWeight > 0) {
+            Assert.notNull(weigher, "A Weigher is required when maxWeight is specified.");
+        }
+        this.maxEntries = maxEntries > 0 ? maxEntries : Long.MAX_VALUE;
+        this.maxWeight = maxWeight > 0 ? maxWeight : Long.MAX_VALUE;
+        this.maxProtectedEntries = protectedCapacity(this.maxEntries);
+        this.maxProtectedWeight = protectedCapacity(this.maxWeight);
+        this.weigher = maxWeight > 0 ? weigher : null;
+        this.probation = new LinkedHashMap<K, Node<V>>(16, 0.75f, true);
+        this.protect = new LinkedHashMap<K, Node<V>>(16, 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.evictionCount = new AtomicLong(0);
+    }
+
+    private static long protectedCapacity(long max) {
+        return max == Long.MAX_VALUE ? max : Math.max(1, (long) (max * PROTECTED_RATIO));
+    }
+
+    /**
+     * Returns the total number of entries that were removed from this map in order to honor its capacity bounds.
+     * Explicit {@link #remove(Object) removals} and {@link #clear() clears} are not counted.
+     *
+     * @return the total number of entries that were removed from this map in order to honor its capacity bounds.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the current total weight of all entries in this map.  If this map is not weight-bounded, each entry has
+     * a weight of {@code 1}.
+     *
+     * @return the current total weight of all entries in this map.
+     */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long weigh(V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        long w = weigher.weigh(value);
+        Assert.isTrue(w >= 0, "Weigher returned a negative weight.");
+        return w;
+    }
+
+    @Override
+    public V get(Object key) {
+        lock.lock();
+        try {
+            Node<V> node = protect.get(key); //moves the node to the MRU position
+            if (node != null) {
+                return node.value;
+            }
+            //noinspection SuspiciousMethodCalls
+            node = probation.remove(key);
+            if (node == null) {
+                return null;
+            }
+            //second access: promote to the protected segment
+            //noinspection unchecked
+            protect.put((K) key, node);
+            protectedWeight += node.weight;
+            demoteIfNecessary();
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Assert.notNull(value, "SegmentedLruMap does not support null values.");
+        Node<V> node = new Node<V>(value, weigh(value));
+        lock.lock();
+        try {
+            Node<V> previous = protect.get(key);
+            if (previous != null) {
+                //an update to a protected entry is another access, so it remains protected:
+                protect.put(key, node);
+                protectedWeight += node.weight - previous.weight;
+                weight += node.weight - previous.weight;
+                demoteIfNecessary();
+            } else {
+                previous = probation.put(key, node);
+                weight += node.weight - (previous != null ? previous.weight : 0);
+            }
+            evictIfNecessary();
+            return previous != null ? previous.value : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //guarded by 'lock'
+    private void demoteIfNecessary() {
+        Iterator<Map.Entry<K, Node<V>>> i = protect.entrySet().iterator();
+        while ((protect.size() > maxProtectedEntries || protectedWeight > maxProtectedWeight) && i.hasNext()) {
+            Map.Entry<K, Node<V>> eldest = i.next();
+            i.remove();
+            protectedWeight -= eldest.getValue().weight;
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    //guarded by 'lock'
+    private void evictIfNecessary() {
+        while (size0() > maxEntries || weight > maxWeight) {
+            if (!evict()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used entry of this map even though its capacity bounds are honored, for example
+     * because a subclass needs to release resources held by its entries.  The entry is counted as an eviction and
+     * passed to {@link #onEviction(Object, Object)}.
+     *
+     * @return {@code true} if an entry was evicted, {@code false} if this map is empty.
+     * @since 1.6.0
+     */
+    protected boolean evictEldest() {
+        lock.lock();
+        try {
+            return evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //guarded by 'lock'
+    private boolean evict() {
+        LinkedHashMap<K, Node<V>> segment = !probation.isEmpty() ? probation : protect;
+        Iterator<Map.Entry<K, Node<V>>> i = segment.entrySet().iterator();
+        if (!i.hasNext()) {
+            return false;
+        }
+        Map.Entry<K, Node<V>> victim = i.next();
+        i.remove();
+        weight -= victim.getValue().weight;
+        if (segment == protect) {
+            protectedWeight -= victim.getValue().weight;
+        }
+        evictionCount.incrementAndGet();
+        onEviction(victim.getKey(), victim.getValue().value);
+        return true;
+    }
+
+    /**
+     * Invoked when an entry has been evicted from this map in order to honor its capacity bounds.  This method is
+     * invoked while holding the map's lock, so implementations must be fast and must not access this map.  The default
+     * implementation does nothing.
+     *
+     * @param key   the key of the evicted entry
+     * @param value the value of the evicted entry
+     */
+    protected void onEviction(K key, V value) {
+    }
+
+    //guarded by 'lock'
+    private int size0() {
+        return probation.size() + protect.size();
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            Node<V> node = protect.remove(key);
+            if (node != null) {
+                protectedWeight -= node.weight;
+            } else {
+                node = probation.remove(key);
+            }
+            if (node == null) {
+                return null;
+            }
+            weight -= node.weight;
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (m == null || m.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            probation.clear();
+            protect.clear();
+            weight = 0;
+            protectedWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size0();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        lock.lock();
+        try {
+            return protect.containsKey(key) || probation.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return values().contains(value);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        lock.lock();
+        try {
+            Set<K> keys = new LinkedHashSet<K>(size0());
+            keys.addAll(protect.keySet());
+            keys.addAll(probation.keySet());
+            return Collections.unmodifiableSet(keys);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        lock.lock();
+        try {
+            Collection<V> values = new ArrayList<V>(size0());
+            for (Node<V> node : protect.values()) {
+                values.add(node.value);
+            }
+            for (Node<V> node : probation.values()) {
+                values.add(node.value);
+            }
+            return Collections.unmodifiableCollection(values);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        lock.lock();
+        try {
+            Map<K, V> snapshot = new LinkedHashMap<K, V>(size0());
+            for (Map.Entry<K, Node<V>> entry : protect.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().value);
+            }
+            for (Map.Entry<K, Node<V>> entry : probation.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().value);
+            }
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Computes the weight of map values in order to enforce a {@code SegmentedLruMap}'s {@code maxWeight} bound.
+     * Weights are computed once when a value is inserted and are assumed to remain constant while it is in the map.
+     *
+     * @param <V> the type of value to weigh
+     * @since 1.6.0
+     */
+    public interface Weigher<V> {
+
+        /**
+         * Returns the non-negative weight of the specified value.
+         *
+         * @param value the value to weigh
+         * @return the non-negative weight of the specified value.
+         */
+        long weigh(V value);
+    }
+
+    private static final class Node<V> {
+
+        private final V value;
+        private final long weight;
+
+        private Node(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.impl.ds.InternalDataStore
 import com.stormpath.sdk.impl.resource.ArrayProperty
 import com.stormpath.sdk.impl.resource.IntegerProperty
+import com.stormpath.sdk.impl.util.CallbackFuture
 import org.testng.annotations.Test
 
 import static org.easymock.EasyMock.*
@@ -120,4 +121,63 @@ class DefaultAccountListTest {
         verify partiallyMockedDefaultAccountList, iterator, account
     }
 
+    /* @since 1.6.0 */
+    @Test
+    void testIteratorWithReadAhead() {
+
+        def href = "https://api.stormpath.com/v1/directories/werw84u2834wejofe/accounts"
+        def internalDataStore = createStrictMock(InternalDataStore)
+
+        def accounts = (0..4).collect { new DefaultAccount(internalDataStore, [href: "https://api.stormpath.com/v1/accounts/" + it]) }
+        def list = new DefaultAccountList(internalDataStore, [href: href, offset: 0, limit: 2, size: 5, items: accounts[0..1]], [q: "blah"])
+
+        def page2 = completed(new DefaultAccountList(internalDataStore, [href: href, offset: 2, limit: 2, size: 5, items: accounts[2..3]]))
+        def page3 = completed(new DefaultAccountList(internalDataStore, [href: href, offset: 4, limit: 2, size: 5, items: accounts[4..4]]))
+
+        //both remaining pages are requested up front since readAhead is 2:
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [q: "blah", offset: 2, limit: 2], null)).andReturn(page2)
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [q: "blah", offset: 4, limit: 2], null)).andReturn(page3)
+
+        replay internalDataStore
+
+        assertEquals(list.iterator(2).collect { it }, accounts)
+
+        verify internalDataStore
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testPartition() {
+
+        def href = "https://api.stormpath.com/v1/directories/werw84u2834wejofe/accounts"
+        def internalDataStore = createStrictMock(InternalDataStore)
+
+        def accounts = (0..4).collect { new DefaultAccount(internalDataStore, [href: "https://api.stormpath.com/v1/accounts/" + it]) }
+        def list = new DefaultAccountList(internalDataStore, [href: href, offset: 0, limit: 2, size: 5, items: accounts[0..1]])
+
+        def page1 = completed(new DefaultAccountList(internalDataStore, [href: href, offset: 0, limit: 2, size: 5, items: accounts[0..1]]))
+        def page2 = completed(new DefaultAccountList(internalDataStore, [href: href, offset: 2, limit: 2, size: 5, items: accounts[2..3]]))
+        def page3 = completed(new DefaultAccountList(internalDataStore, [href: href, offset: 4, limit: 2, size: 5, items: accounts[4..4]]))
+
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [offset: 0, limit: 2], null)).andReturn(page1)
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [offset: 2, limit: 2], null)).andReturn(page2)
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [offset: 4, limit: 2], null)).andReturn(page3)
+
+        replay internalDataStore
+
+        def partitions = list.partition(2)
+
+        //3 pages split in 2 partitions: pages 1-2 and page 3
+        assertEquals(partitions.size(), 2)
+        assertEquals(partitions[0].collect { it }, accounts[0..3])
+        assertEquals(partitions[1].collect { it }, accounts[4..4])
+
+        verify internalDataStore
+    }
+
+    private static CallbackFuture completed(Object value) {
+        def future = new CallbackFuture(null)
+        future.complete(value)
+        return future
+    }
 }
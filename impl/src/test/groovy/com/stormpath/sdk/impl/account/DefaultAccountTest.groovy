@@ -24,11 +24,13 @@ import com.stormpath.sdk.directory.CustomData
 import com.stormpath.sdk.directory.Directory
 import com.stormpath.sdk.factor.FactorList
 import com.stormpath.sdk.group.*
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
 import com.stormpath.sdk.impl.directory.DefaultDirectory
 import com.stormpath.sdk.impl.ds.InternalDataStore
 import com.stormpath.sdk.impl.group.DefaultGroupList
 import com.stormpath.sdk.impl.group.DefaultGroupMembership
 import com.stormpath.sdk.impl.group.DefaultGroupMembershipList
+import com.stormpath.sdk.impl.group.GroupMembershipIndexCache
 import com.stormpath.sdk.impl.oauth.DefaultAccessTokenList
 import com.stormpath.sdk.impl.oauth.DefaultRefreshTokenList
 import com.stormpath.sdk.impl.provider.DefaultProviderData
@@ -267,77 +269,23 @@ class DefaultAccountTest {
 
         def groupName = "fooName"
         def groupHref = "https://api.stormpath.com/v1/groups/7frJxiVEfZB9NaXw5vLvCA"
-        def groupValues = [href: groupHref, name: groupName]
 
         def properties = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
-                groups: [
-                        href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groups",
-                        items: [
-                                groupValues
-                        ],
-                        limit: 25,
-                        offset: 0
-                ],
+                groupMemberships: [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groupMemberships"]
         ]
 
-
         def internalDataStore = createStrictMock(InternalDataStore)
         def defaultAccount = new DefaultAccount(internalDataStore, properties)
-        def mockGroup = createStrictMock(Group)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
+        def indexes = new GroupMembershipIndexCache(internalDataStore, new DefaultCacheManager())
+        def memberships = [iterator: { [membership("https://api.stormpath.com/v1/groupMemberships/5fgF3o89Ph5nbJzY6EVSct", groupHref, groupName)].iterator() }] as GroupMembershipList
 
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
+        //the memberships must only be retrieved once, with their groups expanded:
+        expect(internalDataStore.getGroupMembershipIndexCache()).andReturn(indexes)
+        expect(internalDataStore.instantiate(GroupMembershipList, properties.groupMemberships)).andReturn(new DefaultGroupMembershipList(internalDataStore, properties.groupMemberships))
+        expect(internalDataStore.getResource(properties.groupMemberships.href, GroupMembershipList, [expand: "group", limit: 100])).andReturn(memberships)
+        expect(internalDataStore.getGroupMembershipIndexCache()).andReturn(indexes).times(10)
 
-        replay internalDataStore, mockGroup
+        replay internalDataStore
 
         assertFalse(defaultAccount.isMemberOfGroup(groupName.substring(0, groupName.length()-2) + "*")) //fooNa*
         assertFalse(defaultAccount.isMemberOfGroup("*" + groupName.toUpperCase() + "*")) //*FOONAME*
@@ -353,7 +301,78 @@ class DefaultAccountTest {
         assertFalse(defaultAccount.isMemberOfGroup(groupHref.substring(0, groupHref.length() - 1) + "*")) //href having last character replaced by wildcard
         assertFalse(defaultAccount.isMemberOfGroup(groupHref.substring(1, groupHref.length()))) //href having first character removed
 
-        verify internalDataStore, mockGroup
+        verify internalDataStore
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testRemoveGroup() {
+
+        def groupName = "fooName"
+        def groupHref = "https://api.stormpath.com/v1/groups/7frJxiVEfZB9NaXw5vLvCA"
+        def membershipHref = "https://api.stormpath.com/v1/groupMemberships/5fgF3o89Ph5nbJzY6EVSct"
+
+        def properties = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
+                groupMemberships: [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groupMemberships"]
+        ]
+
+        def internalDataStore = createStrictMock(InternalDataStore)
+        def defaultAccount = new DefaultAccount(internalDataStore, properties)
+        def indexes = new GroupMembershipIndexCache(internalDataStore, new DefaultCacheManager())
+        def memberships = [iterator: { [membership(membershipHref, groupHref, groupName)].iterator() }] as GroupMembershipList
+        def groupMembership = createStrictMock(GroupMembership)
+
+        expect(internalDataStore.getGroupMembershipIndexCache()).andReturn(indexes)
+        expect(internalDataStore.instantiate(GroupMembershipList, properties.groupMemberships)).andReturn(new DefaultGroupMembershipList(internalDataStore, properties.groupMemberships))
+        expect(internalDataStore.getResource(properties.groupMemberships.href, GroupMembershipList, [expand: "group", limit: 100])).andReturn(memberships)
+        //the membership is deleted directly, without iterating over the account's memberships:
+        expect(internalDataStore.instantiate(GroupMembership, [href: membershipHref])).andReturn(groupMembership)
+        expect(groupMembership.delete())
+
+        replay internalDataStore, groupMembership
+
+        assertSame defaultAccount.removeGroup(groupName), defaultAccount
+
+        verify internalDataStore, groupMembership
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testRemoveGroupNotAMember() {
+
+        def properties = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
+                groupMemberships: [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groupMemberships"]
+        ]
+
+        def internalDataStore = createStrictMock(InternalDataStore)
+        def defaultAccount = new DefaultAccount(internalDataStore, properties)
+        def indexes = new GroupMembershipIndexCache(internalDataStore, new DefaultCacheManager())
+        def memberships = [iterator: { [].iterator() }] as GroupMembershipList
+
+        expect(internalDataStore.getGroupMembershipIndexCache()).andReturn(indexes)
+        //the index is rebuilt once in case the membership was created after it was built:
+        expect(internalDataStore.instantiate(GroupMembershipList, properties.groupMemberships)).andReturn(new DefaultGroupMembershipList(internalDataStore, properties.groupMemberships)).times(2)
+        expect(internalDataStore.getResource(properties.groupMemberships.href, GroupMembershipList, [expand: "group", limit: 100])).andReturn(memberships).times(2)
+
+        replay internalDataStore
+
+        try {
+            defaultAccount.removeGroup("https://api.stormpath.com/v1/groups/7frJxiVEfZB9NaXw5vLvCA")
+            fail("Should have thrown")
+        } catch (IllegalStateException e) {
+            assertEquals e.message, "This account does not belong to the specified group."
+        }
+
+        verify internalDataStore
+    }
+
+    private static GroupMembership membership(String href, String groupHref, String groupName) {
+        def group = [getHref: { groupHref }, getName: { groupName }] as Group
+        return [getHref: { href }, getGroup: { group }] as GroupMembership
     }
 
 
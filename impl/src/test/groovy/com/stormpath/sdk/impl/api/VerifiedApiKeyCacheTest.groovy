@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.api
+
+import com.stormpath.sdk.lang.Duration
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class VerifiedApiKeyCacheTest {
+
+    private static final String APP_HREF = 'https://api.stormpath.com/v1/applications/app'
+
+    private static final String ACCOUNT_HREF = 'https://api.stormpath.com/v1/accounts/1'
+
+    private static final String SECRET = 'kB2ZNB1cZ1W2Yb7nqJt8fbx2QkkkUNP/7VkCvnQKoCw'
+
+    private static void put(VerifiedApiKeyCache cache, String id, String accountHref) {
+        cache.put(id, SECRET, APP_HREF, "https://api.stormpath.com/v1/apiKeys/$id", accountHref)
+    }
+
+    @Test
+    void testGet() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+
+        def verified = cache.get('key1', SECRET, APP_HREF)
+        assertNotNull verified
+        assertEquals verified.apiKeyHref, 'https://api.stormpath.com/v1/apiKeys/key1'
+        assertEquals verified.accountHref, ACCOUNT_HREF
+        assertEquals verified.applicationHref, APP_HREF
+
+        assertNull cache.get('key1', SECRET, 'https://api.stormpath.com/v1/applications/other')
+        assertNull cache.get('key2', SECRET, APP_HREF)
+        assertNull cache.get(null, SECRET, APP_HREF)
+        assertNull cache.get('key1', null, APP_HREF)
+    }
+
+    @Test
+    void testMismatchingSecretDoesNotEvict() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+
+        assertNull cache.get('key1', SECRET.reverse(), APP_HREF)
+        assertNull cache.get('key1', SECRET.substring(1), APP_HREF)
+        assertNotNull cache.get('key1', SECRET, APP_HREF)
+    }
+
+    @Test
+    void testSecretIsNotRetained() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+
+        def verified = cache.get('key1', SECRET, APP_HREF)
+        verified.class.declaredFields.findAll { !it.synthetic }.each {
+            it.accessible = true
+            def value = it.get(verified)
+            assertFalse value == SECRET || (value instanceof byte[] && new String(value, 'UTF-8') == SECRET)
+        }
+    }
+
+    @Test
+    void testTimeToLive() {
+        def cache = new VerifiedApiKeyCache()
+        assertEquals cache.timeToLive.timeUnit.toMillis(cache.timeToLive.value), TimeUnit.MINUTES.toMillis(1)
+
+        cache.setTimeToLive(new Duration(100, TimeUnit.MILLISECONDS))
+        put(cache, 'key1', ACCOUNT_HREF)
+        assertNotNull cache.get('key1', SECRET, APP_HREF)
+
+        Thread.sleep(150)
+
+        assertNull cache.get('key1', SECRET, APP_HREF)
+        assertEquals cache.size(), 0
+        assertEquals cache.indexSize, 0
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testZeroTimeToLive() {
+        new VerifiedApiKeyCache().setTimeToLive(new Duration(0, TimeUnit.SECONDS))
+    }
+
+    @Test
+    void testInvalidation() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+        put(cache, 'key2', ACCOUNT_HREF)
+        put(cache, 'key3', 'https://api.stormpath.com/v1/accounts/2')
+
+        cache.invalidateApiKey('https://api.stormpath.com/v1/apiKeys/key3')
+        assertNull cache.get('key3', SECRET, APP_HREF)
+        assertEquals cache.size(), 2
+
+        cache.invalidateAccount(ACCOUNT_HREF)
+        assertEquals cache.size(), 0
+        assertEquals cache.indexSize, 0
+    }
+
+    @Test
+    void testInvalidationAfterUpdate() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+        put(cache, 'key1', ACCOUNT_HREF)
+
+        cache.invalidateAccount(ACCOUNT_HREF)
+        assertNull cache.get('key1', SECRET, APP_HREF)
+        assertEquals cache.indexSize, 0
+    }
+
+    @Test
+    void testEvictionRemovesIndexEntries() {
+        def cache = new VerifiedApiKeyCache(10)
+
+        (1..20).each { put(cache, "key$it", "https://api.stormpath.com/v1/accounts/$it") }
+
+        //one href of the key and one of the account per retained entry:
+        assertEquals cache.indexSize, 20
+
+        (1..20).each { cache.invalidateAccount("https://api.stormpath.com/v1/accounts/$it") }
+        assertEquals cache.size(), 0
+        assertEquals cache.indexSize, 0
+    }
+
+    @Test
+    void testClear() {
+        def cache = new VerifiedApiKeyCache()
+
+        put(cache, 'key1', ACCOUNT_HREF)
+        cache.clear()
+
+        assertEquals cache.size(), 0
+        assertEquals cache.indexSize, 0
+    }
+
+    @Test
+    void testBounded() {
+        def cache = new VerifiedApiKeyCache(10)
+
+        (1..20).each { put(cache, "key$it", ACCOUNT_HREF) }
+
+        assertEquals cache.size(), 10
+    }
+}
@@ -65,6 +65,59 @@ class CachesTest {
         assertEquals cache.timeToIdle, defaultTti
     }
 
+    @Test
+    void testBuildBoundedRegion() {
+
+        DefaultCacheManager manager = (DefaultCacheManager) newCacheManager()
+                .withCache(named('bounded').withMaxEntries(2))
+                .withCache(named('weighted').withMaxWeight(1024))
+                .build()
+
+        DefaultCache cache = (DefaultCache) manager.getCache('bounded')
+        cache.put('a', [href: 'a'])
+        cache.put('b', [href: 'b'])
+        cache.put('c', [href: 'c'])
+
+        assertEquals cache.size(), 2
+        assertEquals cache.evictionCount, 1
+        assertNull cache.get('a')
+
+        cache = (DefaultCache) manager.getCache('weighted')
+        cache.put('a', [href: 'a', description: 'x' * 1024])
+
+        assertEquals cache.size(), 0
+        assertEquals cache.evictionCount, 1
+
+        cache = (DefaultCache) manager.getCache('unbounded')
+        assertEquals cache.evictionCount, 0
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testBuildRefreshingRegion() {
+
+        def refresher = [
+                canRefresh: { String cacheName -> cacheName == 'refreshing' }, refresh: { String cacheName, Object key -> }
+        ] as CacheRefresher
+
+        DefaultCacheManager manager = (DefaultCacheManager) newCacheManager()
+                .withCache(named('refreshing').withTimeToLive(1, TimeUnit.HOURS)
+                        .withRefreshAhead(5, TimeUnit.MINUTES).withStaleWhileRevalidate(30, TimeUnit.SECONDS))
+                .build()
+
+        DefaultCache existing = (DefaultCache) manager.getCache('refreshing')
+        manager.cacheRefresher = refresher
+
+        assertEquals existing.refreshAheadWindow, new Duration(5, TimeUnit.MINUTES)
+        assertEquals existing.staleWhileRevalidatePeriod, new Duration(30, TimeUnit.SECONDS)
+        assertSame existing.refresher, refresher
+
+        DefaultCache other = (DefaultCache) manager.getCache('other')
+        assertNull other.refreshAheadWindow
+        assertNull other.staleWhileRevalidatePeriod
+        assertNull other.refresher //cannot be refreshed
+    }
+
     @Test
     void testNewDisabledCacheManager() {
 
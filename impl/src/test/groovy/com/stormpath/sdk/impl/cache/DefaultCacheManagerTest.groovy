@@ -16,6 +16,7 @@
 package com.stormpath.sdk.impl.cache
 
 import com.stormpath.sdk.cache.Cache
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder
 import com.stormpath.sdk.lang.Duration
 import groovy.json.JsonSlurper
 import org.testng.annotations.BeforeTest
@@ -133,4 +134,39 @@ class DefaultCacheManagerTest {
         }
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testMetricsRecorderRegistersCaches() {
+
+        mgr = new DefaultCacheManager()
+
+        def existing = mgr.getCache('foo')
+
+        def registered = []
+        def recorder = new DisabledMetricsRecorder() {
+            @Override
+            void registerCache(DefaultCache<?, ?> cache) {
+                registered << cache
+            }
+        }
+        mgr.setMetricsRecorder(recorder)
+
+        assertSame mgr.getMetricsRecorder(), recorder
+        assertEquals registered, [existing]
+
+        def created = mgr.getCache('bar')
+        mgr.getCache('bar')
+
+        assertEquals registered, [existing, created]
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullMetricsRecorder() {
+        new DefaultCacheManager().setMetricsRecorder(null)
+    }
 }
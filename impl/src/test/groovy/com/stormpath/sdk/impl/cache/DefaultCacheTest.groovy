@@ -263,4 +263,112 @@ class DefaultCacheTest {
         assertNull found
         assertEquals 0, cache.size()
     }
+
+    /* @since 1.6.0 */
+    @Test
+    void testRefreshAhead() {
+
+        def refreshed = []
+        def cache = new DefaultCache('foo', [:], new Duration(500, TimeUnit.MILLISECONDS), null)
+        cache.refreshAheadWindow = new Duration(400, TimeUnit.MILLISECONDS)
+        cache.refresher = [canRefresh: { true }, refresh: { String cacheName, Object key -> refreshed << key }] as CacheRefresher
+
+        cache.put('key', 'value')
+        assertEquals cache.get('key'), 'value'
+        assertTrue refreshed.isEmpty() //not within the window yet
+
+        Thread.sleep(150)
+
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.get('key'), 'value'
+        assertEquals refreshed, ['key'] //only refreshed once per entry
+        assertEquals cache.refreshCount, 1
+
+        //the refreshed value replaces the entry:
+        cache.put('key', 'value2')
+        assertEquals cache.get('key'), 'value2'
+        assertEquals cache.refreshCount, 1
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testStaleWhileRevalidate() {
+
+        def refreshed = []
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleWhileRevalidatePeriod = new Duration(200, TimeUnit.MILLISECONDS)
+        cache.refresher = [canRefresh: { true }, refresh: { String cacheName, Object key -> refreshed << key }] as CacheRefresher
+
+        cache.put('key', 'value')
+        Thread.sleep(20)
+
+        //expired, but served while the refresh runs:
+        assertEquals cache.get('key'), 'value'
+        assertEquals refreshed, ['key']
+        assertEquals cache.staleHitCount, 1
+        assertEquals cache.hitCount, 1
+
+        Thread.sleep(250)
+
+        //the grace period elapsed as well:
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+        assertEquals refreshed, ['key']
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testStaleWhileRevalidateRequiresRefresher() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.staleWhileRevalidatePeriod = new Duration(1, TimeUnit.SECONDS)
+
+        cache.put('key', 'value')
+        Thread.sleep(20)
+
+        //nothing would ever replace the stale entry, so it must not be served:
+        assertNull cache.get('key')
+        assertEquals cache.staleHitCount, 0
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testRefresherThatCannotRefreshIsIgnored() {
+
+        def refreshed = []
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.refreshAheadWindow = new Duration(10, TimeUnit.MILLISECONDS)
+        cache.staleWhileRevalidatePeriod = new Duration(1, TimeUnit.SECONDS)
+        cache.refresher = [
+                canRefresh: { String cacheName -> cacheName != 'foo' },
+                refresh   : { String cacheName, Object key -> refreshed << key }
+        ] as CacheRefresher
+
+        assertNull cache.refresher
+
+        cache.put('key', 'value')
+        assertEquals cache.get('key'), 'value'
+        Thread.sleep(20)
+
+        //no refresh is requested, and the expired entry is not served:
+        assertNull cache.get('key')
+        assertTrue refreshed.isEmpty()
+        assertEquals cache.refreshCount, 0
+        assertEquals cache.staleHitCount, 0
+    }
+
+    /* @since 1.6.0 */
+    @Test
+    void testFailingRefresherDoesNotFailRead() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(100, TimeUnit.MILLISECONDS), null)
+        cache.refreshAheadWindow = new Duration(100, TimeUnit.MILLISECONDS)
+        cache.refresher = [
+                canRefresh: { true }, refresh: { String cacheName, Object key -> throw new IllegalStateException() }
+        ] as CacheRefresher
+
+        cache.put('key', 'value')
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.refreshCount, 1
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class OffHeapCacheMapTest {
+
+    static DefaultCache.Entry<Map> entry(Map value) {
+        new DefaultCache.Entry<Map>(value)
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        def map = new OffHeapCacheMap<String, Map>(10, 1024)
+        def value = [href: 'https://api.stormpath.com/v1/accounts/foo', status: 'ENABLED']
+        def original = entry(value)
+
+        assertNull map.put('foo', original)
+
+        def stored = map.get('foo')
+        assertNotSame stored, original
+        assertEquals stored.value, value
+        assertEquals stored.creationTimeMillis, original.creationTimeMillis
+        assertEquals map.getWeight(), new ResourceDataCodec().encode(value).length
+
+        //previous values remain readable once replaced or removed:
+        assertEquals map.put('foo', entry([href: 'bar'])).value, value
+        assertEquals map.remove('foo').value, [href: 'bar']
+        assertTrue map.isEmpty()
+        assertEquals map.getWeight(), 0
+    }
+
+    @Test
+    void testEvictsByWeight() {
+        def value = [href: 'https://api.stormpath.com/v1/accounts/foo']
+        int size = new ResourceDataCodec().encode(value).length
+        def map = new OffHeapCacheMap<String, Map>(0, size * 3)
+
+        map.put('k1', entry(value))
+        def evicted = map.values().iterator().next()
+        (2..4).each { map.put("k$it" as String, entry(value)) }
+
+        assertEquals map.size(), 3
+        assertEquals map.getEvictionCount(), 1
+        assertNull map.get('k1')
+        assertNull evicted.value //the evicted entry's storage has been released
+    }
+
+    @Test
+    void testSlabsAreReused() {
+        def value = [href: 'https://api.stormpath.com/v1/accounts/foo']
+        int size = new ResourceDataCodec().encode(value).length
+        def map = new OffHeapCacheMap<String, Map>(0, 0, size * 2, new ResourceDataCodec())
+
+        (1..10).each { map.put("k$it" as String, entry(value)) }
+        assertEquals map.getAllocatedBytes(), size * 10
+
+        map.clear()
+        assertTrue map.isEmpty()
+        (1..8).each { map.put("k$it" as String, entry(value)) }
+        assertEquals map.getAllocatedBytes(), size * 10
+        assertEquals map.get('k8').value, value
+    }
+
+    @Test
+    void testLargeEntry() {
+        def value = [customData: 'x' * 1000]
+        def map = new OffHeapCacheMap<String, Map>(0, 0, 64, new ResourceDataCodec())
+
+        map.put('large', entry(value))
+
+        assertEquals map.get('large').value, value
+        assertEquals map.remove('large').value, value
+    }
+
+    @Test
+    void testAllocatedBytesAreCapped() {
+        int slabSize = 256
+        long maxWeight = 1024
+        def map = new OffHeapCacheMap<String, Map>(0, maxWeight, slabSize, new ResourceDataCodec())
+        def random = new Random(42)
+        def pinned = [:]
+        def churn = [:]
+
+        //frequently read entries, written in different slabs so that each of them pins a slab:
+        3000.times { i ->
+            if (i % 8 == 0 && pinned.size() < 8) {
+                String key = "pinned${pinned.size()}"
+                pinned[key] = [href: key]
+                map.put(key, entry(pinned[key]))
+            }
+            pinned.keySet().each { map.get(it) }
+
+            String key = "k${random.nextInt(40)}"
+            def value = [href: key, data: 'x' * random.nextInt(60)]
+            map.put(key, entry(value))
+            churn[key] = value
+
+            assertTrue map.getAllocatedBytes() <= maxWeight + maxWeight / 4 + 2 * slabSize
+            assertTrue map.getWeight() <= maxWeight
+        }
+
+        //the pinned entries were compacted rather than evicted, and remain readable:
+        pinned.each { key, value ->
+            assertEquals map.get(key).value, value
+        }
+        map.keySet().findAll { it.startsWith('k') }.each { key ->
+            assertEquals map.get(key).value, churn[key]
+        }
+    }
+
+    @Test
+    void testConcurrentReadsDuringCompaction() {
+        def map = new OffHeapCacheMap<String, Map>(0, 1024, 256, new ResourceDataCodec())
+        def failures = Collections.synchronizedList([])
+        boolean done = false
+
+        def readers = (1..4).collect {
+            Thread.start {
+                def random = new Random()
+                while (!done) {
+                    String key = "k${random.nextInt(40)}"
+                    try {
+                        def value = map.get(key)?.value
+                        //an entry is either missing or intact, never overwritten by another one:
+                        if (value != null && value.href != key) {
+                            failures << value
+                        }
+                    } catch (Exception e) {
+                        failures << e
+                    }
+                }
+            }
+        }
+
+        def random = new Random(42)
+        20000.times {
+            String key = "k${random.nextInt(40)}"
+            map.put(key, entry([href: key, data: 'x' * random.nextInt(60)]))
+        }
+        done = true
+        readers*.join()
+
+        assertTrue failures.isEmpty()
+        assertTrue map.getAllocatedBytes() <= 1024 + 1024 / 4 + 2 * 256
+    }
+
+    @Test
+    void testDefaultMaxWeight() {
+        def map = new OffHeapCacheMap<String, Map>(0, 0)
+        def value = [customData: 'x' * (1024 * 1024)]
+
+        (1..80).each { map.put("k$it" as String, entry(value)) }
+
+        assertTrue map.getWeight() <= OffHeapCacheMap.DEFAULT_MAX_WEIGHT
+        assertTrue map.getEvictionCount() > 0
+        assertTrue map.getAllocatedBytes() <= OffHeapCacheMap.DEFAULT_MAX_WEIGHT * 5 / 4 + 2 * OffHeapCacheMap.DEFAULT_SLAB_SIZE
+        assertEquals map.get('k80').value, value
+    }
+
+    @Test
+    void testOffHeapRegion() {
+        def manager = new DefaultCacheManager()
+        manager.cacheConfigurations = [new DefaultCacheConfiguration('accounts', null, null, 0, 0, null, null, true)]
+
+        assertTrue manager.createBoundedMap(manager.configs.get('accounts')) instanceof OffHeapCacheMap
+
+        def cache = manager.getCache('accounts')
+        cache.put('foo', [href: 'foo'])
+        assertEquals cache.get('foo'), [href: 'foo']
+        assertEquals cache.remove('foo'), [href: 'foo']
+        assertNull cache.get('foo')
+    }
+}
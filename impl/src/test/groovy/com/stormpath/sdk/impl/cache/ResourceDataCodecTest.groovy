@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class ResourceDataCodecTest {
+
+    def codec = new ResourceDataCodec()
+
+    def roundTrip(def value) {
+        codec.decode(codec.encode(value))
+    }
+
+    @Test
+    void testResourceData() {
+        def account = [
+                href      : 'https://api.stormpath.com/v1/accounts/foo',
+                username  : 'jsmith',
+                status    : 'ENABLED',
+                middleName: null,
+                verified  : true,
+                loginCount: 42,
+                total     : Long.MAX_VALUE,
+                score     : 0.75d,
+                big       : new BigInteger('123456789012345678901234567890'),
+                price     : new BigDecimal('-12.3400'),
+                customData: [href: 'https://api.stormpath.com/v1/accounts/foo/customData', 'unicode': 'café 中'],
+                groups    : [items: [[href: 'a'], [href: 'b']]],
+                roles     : ['admin', 'user'] as LinkedHashSet
+        ]
+
+        def decoded = roundTrip(account)
+
+        assertEquals decoded, account
+        assertEquals decoded.keySet() as List, account.keySet() as List
+        assertTrue decoded instanceof LinkedHashMap
+        assertTrue decoded.loginCount instanceof Integer
+        assertTrue decoded.total instanceof Long
+        assertTrue decoded.score instanceof Double
+        assertTrue decoded.roles instanceof Set
+        assertTrue decoded.groups.items instanceof List
+    }
+
+    @Test
+    void testKnownStringsAreCompact() {
+        assertEquals codec.encode('href').length, 2
+        assertEquals codec.encode('ENABLED').length, 2
+    }
+
+    @Test
+    void testSerializableValue() {
+        def date = new Date()
+        assertEquals roundTrip([createdAt: date]), [createdAt: date]
+    }
+
+    @Test
+    void testSurrogatePairs() {
+        def value = 'emoji 😀'
+        assertEquals roundTrip(value), value
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testTrailingBytes() {
+        byte[] bytes = codec.encode('foo')
+        codec.decode(Arrays.copyOf(bytes, bytes.length + 1))
+    }
+
+    @Test
+    void testRestrictedSerialization() {
+        def restricted = new ResourceDataCodec(true)
+        def date = new Date()
+        def value = [createdAt: date, id: UUID.randomUUID(), emoji: 'emoji 😀']
+
+        assertEquals restricted.decode(restricted.encode(value)), value
+    }
+
+    @Test
+    void testRestrictedSerializationOfNestedNumbers() {
+        def restricted = new ResourceDataCodec(true)
+        //a collection that is neither a list nor a set is Java-serialized, numbers included:
+        def value = Collections.unmodifiableCollection([new BigDecimal('1.5'), new BigInteger('12345678901234567890')])
+
+        assertEquals restricted.decode(restricted.encode(value)) as List, value as List
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testRestrictedSerializationDoesNotEncodeOtherTypes() {
+        new ResourceDataCodec(true).encode([buffer: new StringBuilder('foo')])
+    }
+
+    @Test
+    void testRestrictedSerializationDoesNotDecodeOtherTypes() {
+        byte[] bytes = codec.encode([buffer: new StringBuilder('foo')])
+        try {
+            new ResourceDataCodec(true).decode(bytes)
+            fail()
+        } catch (IllegalArgumentException e) {
+            assertTrue e.cause instanceof InvalidClassException
+        }
+    }
+}
@@ -61,7 +61,7 @@ class DefaultCustomDataTest {
         def internalDataStore = createStrictMock(InternalDataStore)
         def defaultCustomData = new DefaultCustomData(internalDataStore, properties)
 
-        expect(internalDataStore.deleteResourceProperty(defaultCustomData, "trueProperty"))
+        expect(internalDataStore.deleteResourceProperties(defaultCustomData, ["trueProperty"] as Set))
         expect(internalDataStore.save(defaultCustomData)).andDelegateTo(
                 new DefaultDataStoreDelegateTo(createNiceMock(RequestExecutor), defaultCustomData))
         expect(internalDataStore.delete(defaultCustomData))
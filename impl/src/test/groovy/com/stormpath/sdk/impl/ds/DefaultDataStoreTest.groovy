@@ -15,18 +15,31 @@
  */
 package com.stormpath.sdk.impl.ds
 
+import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.api.ApiKey
 import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.directory.CustomData
+import com.stormpath.sdk.http.HttpMethod
 import com.stormpath.sdk.impl.api.ApiKeyResolver
 import com.stormpath.sdk.impl.api.DefaultApiKeyResolver
 import com.stormpath.sdk.impl.application.DefaultApplication
 import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.directory.DefaultCustomData
+import com.stormpath.sdk.impl.http.AsyncRequestExecutor
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.Request
 import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
+import com.stormpath.sdk.impl.http.RestException
 import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.http.support.DefaultResponse
+import com.stormpath.sdk.impl.metrics.DisabledMetricsRecorder
 import com.stormpath.sdk.impl.provider.DefaultGoogleProviderData
 import com.stormpath.sdk.impl.provider.IdentityProviderType
 import com.stormpath.sdk.impl.query.DefaultOptions
+import com.stormpath.sdk.impl.util.AsyncCallback
+import com.stormpath.sdk.impl.util.CallbackFuture
 import com.stormpath.sdk.impl.util.BaseUrlResolver
 import com.stormpath.sdk.provider.FacebookProvider
 import com.stormpath.sdk.provider.GithubProvider
@@ -36,9 +49,16 @@ import com.stormpath.sdk.provider.ProviderData
 import com.stormpath.sdk.provider.Providers
 import com.stormpath.sdk.query.Options
 import com.stormpath.sdk.resource.Resource
+import com.stormpath.sdk.resource.ResourceException
 import org.testng.annotations.Test
 
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.*
@@ -504,4 +524,336 @@ class DefaultDataStoreTest {
         assertEquals(defaultDataStore.getApiKey(), apiKeyForResolver)
 
     }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetResourceAsync() {
+        def requestExecutor = createStrictMock(RequestExecutor)
+        def response = createStrictMock(Response)
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrlResolver = createStrictMock(BaseUrlResolver)
+
+        def accountMap = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
+                          fullName: "Mel Ben Smuk",
+                          directory: [href: "https://api.stormpath.com/v1/directories/fwerh23948ru2euweouh"]]
+
+        InputStream is = new ByteArrayInputStream(new JacksonMapMarshaller().marshal(accountMap).getBytes())
+
+        //only one request is expected: the second retrieval must be served from the cache
+        expect(requestExecutor.executeRequest(anyObject(DefaultRequest))).andReturn(response)
+        expect(response.isError()).andReturn(false)
+        expect(response.hasBody()).andReturn(true)
+        expect(response.getBody()).andReturn(is)
+
+        replay(requestExecutor, response)
+
+        def cache = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build();
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrlResolver, apiKeyCredentials, apiKeyResolver, cache)
+
+        def callbackResult = null
+        def latch = new CountDownLatch(1)
+        def callback = [onSuccess: { callbackResult = it; latch.countDown() }, onFailure: { latch.countDown() }] as AsyncCallback
+
+        Account account = defaultDataStore.getResourceAsync(accountMap.href, Account, callback).get(5, TimeUnit.SECONDS)
+        assertEquals account.fullName, "Mel Ben Smuk"
+        assertTrue latch.await(5, TimeUnit.SECONDS)
+        assertSame callbackResult, account
+
+        Future<Account> future = defaultDataStore.getResourceAsync(accountMap.href, Account, null)
+        assertTrue future.isDone()
+        assertEquals future.get().fullName, "Mel Ben Smuk"
+
+        verify(requestExecutor, response)
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetResourceAsyncFailure() {
+        def requestExecutor = createStrictMock(RequestExecutor)
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+
+        expect(requestExecutor.executeRequest(anyObject(DefaultRequest))).andThrow(new RestException("boom"))
+
+        replay(requestExecutor)
+
+        def defaultDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKeyCredentials, apiKeyResolver)
+
+        def callbackFailure = null
+        def latch = new CountDownLatch(1)
+        def callback = [onSuccess: { latch.countDown() }, onFailure: { callbackFailure = it; latch.countDown() }] as AsyncCallback
+
+        def future = defaultDataStore.getResourceAsync("https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf", Account, callback)
+
+        try {
+            future.get(5, TimeUnit.SECONDS)
+            fail("should have thrown")
+        } catch (ExecutionException e) {
+            assertTrue e.cause instanceof RestException
+            assertTrue latch.await(5, TimeUnit.SECONDS)
+            assertSame callbackFailure, e.cause
+        }
+
+        verify(requestExecutor)
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testDeleteResourcePropertiesUncachesResource() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrlResolver = createStrictMock(BaseUrlResolver)
+
+        def href = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/customData"
+        def deleted = new ConcurrentLinkedQueue<String>()
+        def response = [isError: { false }] as Response
+        def requestExecutor = [executeRequest: { Request request ->
+            assertEquals request.method, HttpMethod.DELETE
+            deleted.add(request.resourceUrl.toString())
+            return response
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build();
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrlResolver, apiKeyCredentials, apiKeyResolver, cacheManager)
+
+        def cache = cacheManager.getCache(CustomData.name)
+        cache.put(href, [href: href, rank: 1, color: "blue", score: 42, tier: "gold", modifiedAt: "2017-01-01T00:00:00.000Z"])
+
+        def names = ["rank", "color", "score"]
+        defaultDataStore.deleteResourceProperties(new DefaultCustomData(defaultDataStore, [href: href]), names)
+
+        assertEquals deleted as Set, names.collect { href + "/" + it } as Set
+        assertEquals deleted.size(), names.size()
+        //the deletions changed the server's modifiedAt, which only reading the resource again returns:
+        assertNull cache.get(href)
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testDeleteResourcePropertiesFailureUncachesResource() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrlResolver = createStrictMock(BaseUrlResolver)
+
+        def href = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/customData"
+        def response = [isError: { false }] as Response
+        def requestExecutor = [executeRequest: { Request request ->
+            if (request.resourceUrl.toString().endsWith("/color")) {
+                throw new RestException("boom")
+            }
+            return response
+        }] as RequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build();
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrlResolver, apiKeyCredentials, apiKeyResolver, cacheManager)
+
+        def cache = cacheManager.getCache(CustomData.name)
+        cache.put(href, [href: href, rank: 1, color: "blue"])
+
+        try {
+            defaultDataStore.deleteResourceProperties(new DefaultCustomData(defaultDataStore, [href: href]), ["rank", "color"])
+            fail("should have thrown")
+        } catch (RestException e) {
+            assertEquals e.message, "boom"
+        }
+
+        //some of the properties might have been deleted, so the cached representation cannot be trusted anymore:
+        assertNull cache.get(href)
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetResourceAsyncUsesAsyncRequestExecutor() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrlResolver = createStrictMock(BaseUrlResolver)
+
+        def accountMap = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
+                          fullName: "Mel Ben Smuk",
+                          directory: [href: "https://api.stormpath.com/v1/directories/fwerh23948ru2euweouh"]]
+        def body = new JacksonMapMarshaller().marshal(accountMap).getBytes()
+
+        def responder = Executors.newSingleThreadExecutor()
+        def requests = new ConcurrentLinkedQueue<Request>()
+        def requestExecutor = [
+                executeRequest: { Request request -> throw new AssertionError("The blocking executeRequest must not be used.") },
+                executeRequestAsync: { Request request, AsyncCallback<Response> callback ->
+                    requests.add(request)
+                    def future = new CallbackFuture<Response>(callback)
+                    responder.execute({
+                        future.complete(new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length))
+                    } as Runnable)
+                    return future
+                }] as AsyncRequestExecutor
+
+        def cacheLoads = new AtomicInteger()
+        def operations = new AtomicInteger()
+        def metricsRecorder = new DisabledMetricsRecorder() {
+            @Override
+            void recordDataStoreOperation(ResourceAction action, Class<? extends Resource> resourceClass, long durationNanos, boolean successful) {
+                operations.incrementAndGet()
+            }
+
+            @Override
+            void recordCacheLoad(String region, long durationNanos, boolean successful) {
+                cacheLoads.incrementAndGet()
+            }
+        }
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build();
+        def defaultDataStore = new DefaultDataStore(requestExecutor, baseUrlResolver, apiKeyCredentials, apiKeyResolver, cacheManager)
+        defaultDataStore.setMetricsRecorder(metricsRecorder)
+
+        try {
+            Account account = defaultDataStore.getResourceAsync(accountMap.href, Account, null).get(5, TimeUnit.SECONDS)
+            assertEquals account.fullName, "Mel Ben Smuk"
+            assertEquals requests.size(), 1
+            assertEquals requests.peek().method, HttpMethod.GET
+            assertEquals requests.peek().resourceUrl.toString(), accountMap.href
+
+            //the response was cached, so the second retrieval completes without another request:
+            Future<Account> future = defaultDataStore.getResourceAsync(accountMap.href, Account, null)
+            assertTrue future.isDone()
+            assertEquals future.get().fullName, "Mel Ben Smuk"
+            assertEquals requests.size(), 1
+
+            //the cache miss is only counted once, even though the response is cached on another thread:
+            DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+            assertEquals cache.missCount, 1L
+            assertEquals cache.hitCount, 1L
+            assertEquals operations.get(), 2
+        } finally {
+            responder.shutdownNow()
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testGetResourceAsyncErrorResponse() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+
+        def errorMap = [status: 404, code: 404, message: "The requested resource does not exist."]
+        def body = new JacksonMapMarshaller().marshal(errorMap).getBytes()
+
+        def requestExecutor = [
+                executeRequest: { Request request -> throw new AssertionError("The blocking executeRequest must not be used.") },
+                executeRequestAsync: { Request request, AsyncCallback<Response> callback ->
+                    def future = new CallbackFuture<Response>(callback)
+                    future.complete(new DefaultResponse(404, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length))
+                    return future
+                }] as AsyncRequestExecutor
+
+        def defaultDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKeyCredentials, apiKeyResolver)
+
+        def future = defaultDataStore.getResourceAsync("https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf", Account, null)
+
+        try {
+            future.get(5, TimeUnit.SECONDS)
+            fail("should have thrown")
+        } catch (ExecutionException e) {
+            assertTrue e.cause instanceof ResourceException
+            assertEquals((e.cause as ResourceException).status, 404)
+        }
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testSaveAsyncInvalidatesOnceTheResponseIsReceived() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def baseUrlResolver = [getBaseUrl: { "https://api.stormpath.com/v1" }] as BaseUrlResolver
+
+        def appHref = "https://api.stormpath.com/v1/applications/app"
+        def apiKeyHref = "https://api.stormpath.com/v1/apiKeys/key"
+        def accountMap = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
+                          givenName: "Mel",
+                          directory: [href: "https://api.stormpath.com/v1/directories/fwerh23948ru2euweouh"]]
+        def body = new JacksonMapMarshaller().marshal(accountMap).getBytes()
+
+        DefaultDataStore defaultDataStore = null
+        def verifiedWhenSent = null
+        CallbackFuture<Response> pending = null
+        def requestExecutor = [
+                executeRequest: { Request request -> throw new AssertionError("The blocking executeRequest must not be used.") },
+                executeRequestAsync: { Request request, AsyncCallback<Response> callback ->
+                    verifiedWhenSent = defaultDataStore.verifiedApiKeyCache.get("id", "secret", appHref)
+                    pending = new CallbackFuture<Response>(callback)
+                    return pending
+                }] as AsyncRequestExecutor
+
+        def cacheManager = Caches.newCacheManager()
+                .withDefaultTimeToIdle(1, TimeUnit.HOURS)
+                .withDefaultTimeToLive(1, TimeUnit.HOURS)
+                .build();
+        defaultDataStore = new DefaultDataStore(requestExecutor, baseUrlResolver, apiKeyCredentials, apiKeyResolver, cacheManager)
+        defaultDataStore.verifiedApiKeyCache.put("id", "secret", appHref, apiKeyHref, accountMap.href)
+
+        def account = defaultDataStore.instantiate(Account, [href: accountMap.href]) as Account
+        account.setGivenName("Mel")
+        def future = defaultDataStore.saveAsync(account, null)
+
+        //the request has been sent, but nothing is invalidated until the server has processed it:
+        assertNotNull verifiedWhenSent
+        assertNotNull defaultDataStore.verifiedApiKeyCache.get("id", "secret", appHref)
+        assertFalse future.isDone()
+
+        pending.complete(new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), body.length))
+
+        assertEquals future.get(5, TimeUnit.SECONDS).givenName, "Mel"
+        assertNull defaultDataStore.verifiedApiKeyCache.get("id", "secret", appHref)
+        assertEquals cacheManager.getCache(Account.name).get(accountMap.href).givenName, "Mel"
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testShutdownOnlyShutsDownTheDefaultAsyncExecutor() {
+        def apiKeyCredentials = createStrictMock(ApiKeyCredentials)
+        def apiKeyResolver = createStrictMock(ApiKeyResolver)
+        def requestExecutor = [executeRequest: { Request request -> throw new AssertionError() }] as RequestExecutor
+
+        def defaultDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKeyCredentials, apiKeyResolver)
+        def executor = defaultDataStore.getAsyncExecutor()
+        defaultDataStore.shutdown()
+        assertTrue executor.isShutdown()
+
+        def configured = Executors.newSingleThreadExecutor()
+        try {
+            defaultDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKeyCredentials, apiKeyResolver)
+            defaultDataStore.setAsyncExecutor(configured)
+            defaultDataStore.shutdown()
+            assertFalse configured.isShutdown()
+        } finally {
+            configured.shutdownNow()
+        }
+    }
 }
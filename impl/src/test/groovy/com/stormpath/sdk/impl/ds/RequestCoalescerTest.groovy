@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri
+import org.testng.annotations.Test
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class RequestCoalescerTest {
+
+    private static ResourceDataRequest read(String href, Class clazz) {
+        return new DefaultResourceDataRequest(ResourceAction.READ, DefaultCanonicalUri.create(href, [expand: 'groups']), clazz, [:])
+    }
+
+    @Test
+    void testConcurrentReadsAreCollapsed() {
+
+        def coalescer = new RequestCoalescer()
+        def calls = new AtomicInteger()
+        def release = new CountDownLatch(1)
+
+        def chain = new FilterChain() {
+            @Override
+            ResourceDataResult filter(ResourceDataRequest req) {
+                calls.incrementAndGet()
+                release.await()
+                return new DefaultResourceDataResult(req.action, req.uri, req.resourceClass, [href: 'https://api.stormpath.com/v1/accounts/1', customData: [foo: 'bar']])
+            }
+        }
+
+        def threads = 8
+        def executor = Executors.newFixedThreadPool(threads)
+        try {
+            def futures = (1..threads).collect {
+                executor.submit({ coalescer.execute(read('https://api.stormpath.com/v1/accounts/1', Account), chain) } as Callable)
+            }
+
+            //wait until every thread has either started the request or joined it:
+            while (coalescer.executedCount + coalescer.collapsedCount < threads) {
+                Thread.sleep(10)
+            }
+            release.countDown()
+
+            def results = futures.collect { it.get() }
+
+            assertEquals calls.get(), 1
+            assertEquals coalescer.executedCount, 1
+            assertEquals coalescer.collapsedCount, threads - 1
+            assertEquals coalescer.inFlightCount, 0
+
+            results.each { assertEquals it.data, [href: 'https://api.stormpath.com/v1/accounts/1', customData: [foo: 'bar']] }
+
+            //every caller must be able to mutate its data without affecting the others:
+            def distinct = results.collect { System.identityHashCode(it.data.customData) } as Set
+            assertEquals distinct.size(), threads
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    void testSequentialReadsAreNotCollapsed() {
+
+        def coalescer = new RequestCoalescer()
+        def data = [href: 'https://api.stormpath.com/v1/accounts/1']
+
+        def chain = new FilterChain() {
+            @Override
+            ResourceDataResult filter(ResourceDataRequest req) {
+                return new DefaultResourceDataResult(req.action, req.uri, req.resourceClass, data)
+            }
+        }
+
+        def result = coalescer.execute(read('https://api.stormpath.com/v1/accounts/1', Account), chain)
+        coalescer.execute(read('https://api.stormpath.com/v1/accounts/1', Account), chain)
+
+        assertSame result.data, data //no followers, so no copy is necessary
+        assertEquals coalescer.executedCount, 2
+        assertEquals coalescer.collapsedCount, 0
+    }
+
+    @Test
+    void testFailureIsSharedWithFollowers() {
+
+        def coalescer = new RequestCoalescer()
+        def release = new CountDownLatch(1)
+
+        def chain = new FilterChain() {
+            @Override
+            ResourceDataResult filter(ResourceDataRequest req) {
+                release.await()
+                throw new IllegalStateException('boom')
+            }
+        }
+
+        def executor = Executors.newFixedThreadPool(2)
+        try {
+            def futures = (1..2).collect {
+                executor.submit({ coalescer.execute(read('https://api.stormpath.com/v1/accounts/1', Account), chain) } as Callable)
+            }
+            while (coalescer.executedCount + coalescer.collapsedCount < 2) {
+                Thread.sleep(10)
+            }
+            release.countDown()
+
+            futures.each {
+                try {
+                    it.get()
+                    fail()
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertTrue e.cause instanceof IllegalStateException
+                    assertEquals e.cause.message, 'boom'
+                }
+            }
+            assertEquals coalescer.executedCount, 1
+            assertEquals coalescer.collapsedCount, 1
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    void testKeyIncludesResourceClass() {
+
+        def coalescer = new RequestCoalescer()
+        def release = new CountDownLatch(1)
+        def calls = new AtomicInteger()
+
+        def chain = new FilterChain() {
+            @Override
+            ResourceDataResult filter(ResourceDataRequest req) {
+                calls.incrementAndGet()
+                release.await()
+                return new DefaultResourceDataResult(req.action, req.uri, req.resourceClass, [href: 'https://api.stormpath.com/v1/foo'])
+            }
+        }
+
+        def executor = Executors.newFixedThreadPool(2)
+        try {
+            def futures = [Account, Group].collect { clazz ->
+                executor.submit({ coalescer.execute(read('https://api.stormpath.com/v1/foo', clazz), chain) } as Callable)
+            }
+            while (calls.get() < 2) {
+                Thread.sleep(10)
+            }
+            release.countDown()
+            futures.each { it.get() }
+
+            assertEquals coalescer.executedCount, 2
+            assertEquals coalescer.collapsedCount, 0
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountList
+import com.stormpath.sdk.factor.sms.SmsFactor
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.account.DefaultAccountList
+import com.stormpath.sdk.impl.factor.sms.DefaultSmsFactor
+import com.stormpath.sdk.impl.resource.ResourceReference
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class ResourceDescriptorTest {
+
+    @Test
+    void testInterfaceAndImplementationShareDescriptor() {
+        def descriptor = ResourceDescriptor.forClass(Account)
+
+        assertSame ResourceDescriptor.forClass(DefaultAccount), descriptor
+        assertSame ResourceDescriptor.forClass(Account), descriptor
+        assertEquals descriptor.implementationClass, DefaultAccount
+        assertEquals descriptor.interfaceClass, Account
+    }
+
+    @Test
+    void testConstructors() {
+        def descriptor = ResourceDescriptor.forClass(AccountList)
+
+        assertEquals descriptor.getConstructor(1).parameterTypes as List, [InternalDataStore]
+        assertEquals descriptor.getConstructor(2).parameterTypes as List, [InternalDataStore, Map]
+        assertEquals descriptor.getConstructor(3).parameterTypes as List, [InternalDataStore, Map, Map]
+        assertSame descriptor.getConstructor(3), descriptor.getConstructor(3)
+        assertEquals descriptor.getConstructor(3).declaringClass, DefaultAccountList
+    }
+
+    @Test
+    void testInheritedPropertyDescriptors() {
+        def declaredCount = DefaultSmsFactor.PROPERTY_DESCRIPTORS.size()
+
+        def descriptors = ResourceDescriptor.forClass(SmsFactor).propertyDescriptors
+
+        assertTrue descriptors.containsKey('phone') //declared by DefaultSmsFactor
+        assertTrue descriptors.get('account') instanceof ResourceReference //declared by AbstractFactor
+        assertEquals descriptors.get('account').type, Account
+
+        //the implementation class' static descriptors must not be modified:
+        assertEquals DefaultSmsFactor.PROPERTY_DESCRIPTORS.size(), declaredCount
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException)
+    void testPropertyDescriptorsAreImmutable() {
+        ResourceDescriptor.forClass(Account).propertyDescriptors.clear()
+    }
+
+    @Test
+    void testGetPropertyDescriptor() {
+        def descriptor = ResourceDescriptor.forClass(Account)
+
+        assertSame descriptor.getPropertyDescriptor('directory'), DefaultAccount.DIRECTORY
+        assertNull descriptor.getPropertyDescriptor('doesNotExist')
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class StreamingMapMarshallerTest {
+
+    static final String PAGE = '''{
+        "href": "https://api.stormpath.com/v1/directories/foo/accounts",
+        "offset": 0,
+        "limit": 25,
+        "size": 2,
+        "items": [
+            {
+                "href": "https://api.stormpath.com/v1/accounts/a",
+                "username": "jsmith",
+                "middleName": null,
+                "status": "ENABLED",
+                "createdAt": "2017-01-01T00:00:00.000Z",
+                "customData": {"href": "https://api.stormpath.com/v1/accounts/a/customData", "rank": 1.5, "big": 12345678901234567890, "long": 1234567890123, "tags": ["a", 1, true, false, null, {"x": []}]}
+            },
+            {
+                "href": "https://api.stormpath.com/v1/accounts/b",
+                "username": "jdoe",
+                "middleName": "Q",
+                "status": "DISABLED",
+                "createdAt": "2017-01-02T00:00:00.000Z",
+                "customData": {"href": "https://api.stormpath.com/v1/accounts/b/customData"}
+            }
+        ]
+    }'''
+
+    @Test
+    void testSameResultAsJacksonMapMarshaller() {
+        def expected = new JacksonMapMarshaller().unmarshal(PAGE)
+        def marshaller = new StreamingMapMarshaller()
+
+        assertSameMap marshaller.unmarshal(PAGE), expected
+        assertSameMap marshaller.unmarshall(new ByteArrayInputStream(PAGE.getBytes('UTF-8'))), expected
+    }
+
+    @Test
+    void testNumberTypes() {
+        def map = new StreamingMapMarshaller().unmarshal('{"i": 1, "l": 1234567890123, "b": 12345678901234567890, "d": 1.5}')
+
+        assertEquals map.i.getClass(), Integer
+        assertEquals map.l.getClass(), Long
+        assertEquals map.b.getClass(), BigInteger
+        assertEquals map.d.getClass(), BigDecimal
+    }
+
+    @Test
+    void testObjectMapperFeaturesHonored() {
+        def marshaller = new StreamingMapMarshaller()
+        marshaller.objectMapper.configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, false)
+        marshaller.objectMapper.configure(DeserializationFeature.USE_LONG_FOR_INTS, true)
+
+        def map = marshaller.unmarshal('{"i": 1, "d": 1.5}')
+
+        assertEquals map.i.getClass(), Long
+        assertEquals map.d.getClass(), Double
+    }
+
+    @Test
+    void testPropertyNamesShared() {
+        def page = new StreamingMapMarshaller().unmarshal(PAGE)
+
+        def first = page.items[0].keySet() as List
+        def second = page.items[1].keySet() as List
+        first.eachWithIndex { String name, int i ->
+            assertSame second[i], name
+        }
+    }
+
+    @Test
+    void testNull() {
+        assertNull new StreamingMapMarshaller().unmarshal('null')
+    }
+
+    @Test
+    void testNotAnObject() {
+        ['', '[1, 2]', '"value"', '{"a": 1'].each { String json ->
+            try {
+                new StreamingMapMarshaller().unmarshal(json)
+                fail("shouldn't be here")
+            } catch (MarshalingException expected) {
+            }
+        }
+    }
+
+    private static void assertSameMap(Map actual, Map expected) {
+        assertEquals actual, expected
+        assertEquals actual.getClass(), expected.getClass()
+        assertEquals actual.keySet() as List, expected.keySet() as List
+        expected.each { key, value ->
+            if (value instanceof Map) {
+                assertSameMap((Map) actual[key], (Map) value)
+            } else if (value instanceof List) {
+                assertEquals actual[key].getClass(), value.getClass()
+                value.eachWithIndex { element, int i ->
+                    if (element instanceof Map) {
+                        assertSameMap((Map) actual[key][i], (Map) element)
+                    } else {
+                        assertEquals actual[key][i]?.getClass(), element?.getClass()
+                    }
+                }
+            } else {
+                assertEquals actual[key]?.getClass(), value?.getClass()
+            }
+        }
+    }
+}
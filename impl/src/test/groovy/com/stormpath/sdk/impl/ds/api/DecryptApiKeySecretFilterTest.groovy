@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.api
+
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.impl.api.ApiKeyParameter
+import com.stormpath.sdk.impl.api.ClientApiKey
+import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.ds.DefaultResourceDataRequest
+import com.stormpath.sdk.impl.ds.DefaultResourceDataResult
+import com.stormpath.sdk.impl.ds.FilterChain
+import com.stormpath.sdk.impl.ds.ResourceAction
+import com.stormpath.sdk.impl.ds.ResourceDataRequest
+import com.stormpath.sdk.impl.ds.ResourceDataResult
+import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri
+import com.stormpath.sdk.impl.security.ApiKeySecretEncryptionService
+import com.stormpath.sdk.impl.util.Base64
+import com.stormpath.sdk.lang.Duration
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import javax.crypto.Cipher
+import javax.crypto.spec.IvParameterSpec
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class DecryptApiKeySecretFilterTest {
+
+    private static final String CLIENT_SECRET = 'clientApiKeySecret'
+    private static final String HREF = 'https://api.stormpath.com/v1/apiKeys/1'
+
+    private DecryptApiKeySecretFilter filter
+    private String salt
+
+    @BeforeMethod
+    void setUp() {
+        filter = new DecryptApiKeySecretFilter(new ApiKeyCredentials(new ClientApiKey('clientApiKeyId', CLIENT_SECRET)))
+        salt = Base64.encodeBase64String('0123456789abcdef'.bytes)
+    }
+
+    private String encrypt(String secret, String salt, int size, int iterations) {
+        def key = ApiKeySecretEncryptionService.deriveKey(CLIENT_SECRET.toCharArray(), salt.bytes, size, iterations)
+        byte[] iv = new byte[size / 8]
+        new Random().nextBytes(iv)
+        def cipher = Cipher.getInstance('AES/CBC/PKCS5Padding')
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv))
+        byte[] encrypted = cipher.doFinal(secret.getBytes('UTF-8'))
+        byte[] value = new byte[iv.length + encrypted.length]
+        System.arraycopy(iv, 0, value, 0, iv.length)
+        System.arraycopy(encrypted, 0, value, iv.length, encrypted.length)
+        return Base64.encodeBase64String(value)
+    }
+
+    private String read(String encryptedSecret, String salt, int size, int iterations) {
+
+        Map<String, Object> data = [
+                href              : HREF,
+                id                : '1',
+                secret            : encryptedSecret,
+                (ApiKeyParameter.ENCRYPTION_METADATA.getName()): [encryptionKeySalt: salt, encryptionKeySize: size, encryptionKeyIterations: iterations]
+        ]
+
+        def chain = new FilterChain() {
+            @Override
+            ResourceDataResult filter(ResourceDataRequest req) {
+                return new DefaultResourceDataResult(req.action, req.uri, req.resourceClass, data)
+            }
+        }
+
+        def request = new DefaultResourceDataRequest(ResourceAction.READ, DefaultCanonicalUri.create(HREF, null), ApiKey, [:])
+        def result = filter.filter(request, chain)
+
+        assertFalse result.data.containsKey(ApiKeyParameter.ENCRYPTION_METADATA.getName())
+        return result.data.secret
+    }
+
+    @Test
+    void testDerivedKeysAreReused() {
+
+        def first = encrypt('secret1', salt, 128, 1024)
+        def second = encrypt('secret2', salt, 128, 1024)
+
+        assertEquals read(first, salt, 128, 1024), 'secret1'
+        assertEquals read(second, salt, 128, 1024), 'secret2'
+        assertEquals read(first, salt, 128, 1024), 'secret1'
+
+        assertEquals filter.keyDerivationCount, 1
+    }
+
+    @Test
+    void testDerivedKeysAreKeyedByAllParameters() {
+
+        def otherSalt = Base64.encodeBase64String('fedcba9876543210'.bytes)
+
+        assertEquals read(encrypt('secret', salt, 128, 1024), salt, 128, 1024), 'secret'
+        assertEquals read(encrypt('secret', otherSalt, 128, 1024), otherSalt, 128, 1024), 'secret'
+        assertEquals read(encrypt('secret', salt, 128, 512), salt, 128, 512), 'secret'
+
+        assertEquals filter.keyDerivationCount, 3
+    }
+
+    @Test
+    void testDecryptedSecretRetention() {
+
+        assertNull filter.decryptedSecretTimeToLive
+
+        filter.decryptedSecretTimeToLive = new Duration(1, TimeUnit.MINUTES)
+        assertEquals filter.decryptedSecretTimeToLive, new Duration(1, TimeUnit.MINUTES)
+
+        def encrypted = encrypt('secret', salt, 128, 1024)
+        assertEquals read(encrypted, salt, 128, 1024), 'secret'
+        assertEquals read(encrypted, salt, 128, 1024), 'secret'
+
+        filter.decryptedSecretTimeToLive = null
+        assertNull filter.decryptedSecretTimeToLive
+        assertEquals read(encrypted, salt, 128, 1024), 'secret'
+    }
+}
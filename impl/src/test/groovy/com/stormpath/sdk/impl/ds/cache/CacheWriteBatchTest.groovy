@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache
+
+import com.stormpath.sdk.impl.cache.BulkCache
+import com.stormpath.sdk.impl.cache.DefaultCache
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class CacheWriteBatchTest {
+
+    @Test
+    void testFlushWritesToBulkCacheAtOnce() {
+        def cache = new RecordingBulkCache()
+        def batch = new CacheWriteBatch()
+
+        batch.put(cache, 'a', [href: 'a'])
+        batch.put(cache, 'b', [href: 'b'])
+        batch.put(cache, 'a', [href: 'a', name: 'updated'])
+
+        assertTrue cache.bulkWrites.isEmpty()
+        batch.flush()
+
+        assertEquals cache.bulkWrites, [[a: [href: 'a', name: 'updated'], b: [href: 'b']]]
+        assertEquals cache.putCount, 0
+        assertEquals cache.get('a'), [href: 'a', name: 'updated']
+
+        //the batch is empty once flushed:
+        batch.flush()
+        assertEquals cache.bulkWrites.size(), 1
+    }
+
+    @Test
+    void testFlushWritesSingleEntryWithPut() {
+        def cache = new RecordingBulkCache()
+        def batch = new CacheWriteBatch()
+
+        batch.put(cache, 'a', [href: 'a'])
+        batch.flush()
+
+        assertTrue cache.bulkWrites.isEmpty()
+        assertEquals cache.putCount, 1
+        assertEquals cache.get('a'), [href: 'a']
+    }
+
+    @Test
+    void testFlushWritesToEachCache() {
+        def bulk = new RecordingBulkCache()
+        def cache = new DefaultCache<String, Map<String, ?>>('accounts')
+        def batch = new CacheWriteBatch()
+
+        batch.put(cache, 'a', [href: 'a'])
+        batch.put(bulk, 'b', [href: 'b'])
+        batch.put(cache, 'c', [href: 'c'])
+        batch.put(bulk, 'd', [href: 'd'])
+        batch.flush()
+
+        assertEquals cache.get('a'), [href: 'a']
+        assertEquals cache.get('c'), [href: 'c']
+        assertEquals bulk.bulkWrites, [[b: [href: 'b'], d: [href: 'd']]]
+    }
+
+    static class RecordingBulkCache extends DefaultCache<String, Map<String, ?>>
+            implements BulkCache<String, Map<String, ?>> {
+
+        List<Map> bulkWrites = []
+        int putCount
+
+        RecordingBulkCache() {
+            super('bulk')
+        }
+
+        @Override
+        Map<String, ?> put(String key, Map<String, ?> value) {
+            putCount++
+            return super.put(key, value)
+        }
+
+        @Override
+        void putAll(Map<? extends String, ? extends Map<String, ?>> entries) {
+            bulkWrites << new LinkedHashMap(entries)
+            for (Map.Entry<? extends String, ? extends Map<String, ?>> entry : entries.entrySet()) {
+                super.put(entry.key, entry.value)
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.group
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.GroupMembership
+import com.stormpath.sdk.group.GroupMembershipList
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import com.stormpath.sdk.impl.cache.DisabledCacheManager
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import org.easymock.IAnswer
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class GroupMembershipIndexCacheTest {
+
+    static final String ACCOUNT_HREF = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"
+    static final String MEMBERSHIPS_HREF = ACCOUNT_HREF + "/groupMemberships"
+    static final Map QUERY_PARAMS = [expand: "group", limit: 100]
+
+    static Account account() {
+        def memberships = [getHref: { MEMBERSHIPS_HREF }] as GroupMembershipList
+        return [getHref: { ACCOUNT_HREF }, getGroupMemberships: { memberships }] as Account
+    }
+
+    static GroupMembershipList memberships(Map<String, String> groupNamesByHref) {
+        def list = groupNamesByHref.collect { groupHref, groupName ->
+            def group = [getHref: { groupHref }, getName: { groupName }] as Group
+            [getHref: { groupHref.replace("/groups/", "/groupMemberships/") }, getGroup: { group }] as GroupMembership
+        }
+        return [iterator: { list.iterator() }] as GroupMembershipList
+    }
+
+    @Test
+    void testIndexIsCachedUntilInvalidated() {
+        def ds = createStrictMock(InternalDataStore)
+        def indexes = new GroupMembershipIndexCache(ds, new DefaultCacheManager())
+
+        expect(ds.getResource(MEMBERSHIPS_HREF, GroupMembershipList, QUERY_PARAMS))
+                .andReturn(memberships(["https://api.stormpath.com/v1/groups/a": "Admins"]))
+        expect(ds.getResource(MEMBERSHIPS_HREF, GroupMembershipList, QUERY_PARAMS))
+                .andReturn(memberships(["https://api.stormpath.com/v1/groups/b": "Users"]))
+
+        replay ds
+
+        def index = indexes.get(account())
+        assertTrue index.containsGroup("admins")
+        assertTrue index.containsGroup("HTTPS://API.STORMPATH.COM/V1/GROUPS/A")
+        assertEquals index.getMembershipHref("Admins", true), "https://api.stormpath.com/v1/groupMemberships/a"
+        assertNull index.getMembershipHref("Admins", false)
+        assertNull index.getMembershipHref("admins", true) //removal requires an exact match
+        assertSame indexes.get(account()), index
+
+        indexes.invalidate(ACCOUNT_HREF)
+
+        index = indexes.get(account())
+        assertFalse index.containsGroup("Admins")
+        assertTrue index.containsGroup("Users")
+        assertEquals index.size(), 1
+
+        verify ds
+    }
+
+    @Test
+    void testInvalidationWhileBuildingIsNotLost() {
+        def ds = createStrictMock(InternalDataStore)
+        def indexes = new GroupMembershipIndexCache(ds, new DefaultCacheManager())
+
+        expect(ds.getResource(MEMBERSHIPS_HREF, GroupMembershipList, QUERY_PARAMS)).andAnswer(new IAnswer<GroupMembershipList>() {
+            @Override
+            GroupMembershipList answer() throws Throwable {
+                //e.g. a membership is deleted concurrently, after the memberships have been read:
+                indexes.invalidate(ACCOUNT_HREF)
+                return memberships(["https://api.stormpath.com/v1/groups/a": "Admins"])
+            }
+        })
+        expect(ds.getResource(MEMBERSHIPS_HREF, GroupMembershipList, QUERY_PARAMS)).andReturn(memberships([:]))
+
+        replay ds
+
+        assertTrue indexes.get(account()).containsGroup("Admins") //the caller still gets what was read
+        assertFalse indexes.get(account()).containsGroup("Admins") //but it was not retained
+
+        verify ds
+    }
+
+    @Test
+    void testInvalidateGroup() {
+        def otherAccountHref = "https://api.stormpath.com/v1/accounts/fwerh23948ru2euweouh"
+        def otherAccount = [getHref: { otherAccountHref }, getGroupMemberships: {
+            [getHref: { otherAccountHref + "/groupMemberships" }] as GroupMembershipList
+        }] as Account
+
+        def reads = []
+        def ds = [getResource: { String href, Class clazz, Map queryParams ->
+            reads << href
+            return href == MEMBERSHIPS_HREF ?
+                    memberships(["https://api.stormpath.com/v1/groups/a": "Admins"]) :
+                    memberships(["https://api.stormpath.com/v1/groups/b": "Users"])
+        }] as InternalDataStore
+        def indexes = new GroupMembershipIndexCache(ds, new DefaultCacheManager())
+
+        indexes.get(account())
+        indexes.get(otherAccount)
+        assertEquals reads.size(), 2
+
+        assertEquals indexes.invalidateGroup("https://api.stormpath.com/v1/groups/c") as List, []
+        assertEquals indexes.invalidateGroup("https://api.stormpath.com/v1/groups/a") as List, [ACCOUNT_HREF]
+
+        indexes.get(otherAccount) //still cached
+        assertEquals reads.size(), 2
+        indexes.get(account())    //rebuilt
+        assertEquals reads, [MEMBERSHIPS_HREF, otherAccountHref + "/groupMemberships", MEMBERSHIPS_HREF]
+
+        //the references of an invalidated account are discarded along with its index:
+        indexes.invalidate(otherAccountHref)
+        assertEquals indexes.invalidateGroup("https://api.stormpath.com/v1/groups/b") as List, []
+    }
+
+    @Test
+    void testReferencesOfExpiredIndexAreDiscarded() {
+        def groups = ["https://api.stormpath.com/v1/groups/a": "Admins"]
+        def ds = [getResource: { String href, Class clazz, Map queryParams -> memberships(groups) }] as InternalDataStore
+        def cacheManager = new DefaultCacheManager()
+        def indexes = new GroupMembershipIndexCache(ds, cacheManager)
+
+        indexes.get(account())
+        assertEquals indexes.getReferenceCount(), 2
+
+        //e.g. the index expires, and the account is then removed from group 'a':
+        cacheManager.getCache(GroupMembershipIndexCache.CACHE_REGION_NAME).remove(ACCOUNT_HREF)
+        groups = [:]
+
+        assertEquals indexes.get(account()).size(), 0
+        assertEquals indexes.getReferenceCount(), 1
+        assertEquals indexes.invalidateGroup("https://api.stormpath.com/v1/groups/a") as List, []
+    }
+
+    @Test
+    void testReferencesAreBounded() {
+        def otherAccountHref = "https://api.stormpath.com/v1/accounts/fwerh23948ru2euweouh"
+        def otherAccount = [getHref: { otherAccountHref }, getGroupMemberships: {
+            [getHref: { otherAccountHref + "/groupMemberships" }] as GroupMembershipList
+        }] as Account
+
+        def reads = []
+        def ds = [getResource: { String href, Class clazz, Map queryParams ->
+            reads << href
+            return memberships(["https://api.stormpath.com/v1/groups/a": "Admins"])
+        }] as InternalDataStore
+        def indexes = new GroupMembershipIndexCache(ds, new DefaultCacheManager(), 1)
+
+        indexes.get(account())
+        indexes.get(otherAccount)
+        assertEquals indexes.getReferenceCount(), 2
+        assertEquals indexes.invalidateGroup("https://api.stormpath.com/v1/groups/a") as List, [otherAccountHref]
+
+        //the index whose references were evicted was discarded along with them:
+        indexes.get(account())
+        assertEquals reads, [MEMBERSHIPS_HREF, otherAccountHref + "/groupMemberships", MEMBERSHIPS_HREF]
+    }
+
+    @Test
+    void testCachingDisabled() {
+        def ds = createStrictMock(InternalDataStore)
+        def indexes = new GroupMembershipIndexCache(ds, new DisabledCacheManager())
+
+        expect(ds.getResource(MEMBERSHIPS_HREF, GroupMembershipList, QUERY_PARAMS)).andReturn(memberships([:])).times(2)
+
+        replay ds
+
+        indexes.get(account())
+        indexes.get(account())
+
+        verify ds
+    }
+}
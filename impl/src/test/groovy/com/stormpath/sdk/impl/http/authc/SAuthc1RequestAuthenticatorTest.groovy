@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.authc
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
+import com.stormpath.sdk.impl.authc.credentials.ApiKeyCredentials
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.QueryString
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.RequestUtils
+import com.stormpath.sdk.impl.util.StringInputStream
+import org.testng.annotations.Test
+
+import java.text.SimpleDateFormat
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class SAuthc1RequestAuthenticatorTest {
+
+    private static final String NONCE = 'a43a9d25-ab06-421e-8605-33fd1e760825'
+
+    private final SAuthc1RequestAuthenticator authenticator =
+            new SAuthc1RequestAuthenticator(new ApiKeyCredentials(new ClientApiKey('MyId', 'Shush!')))
+
+    private static DefaultRequest createRequest() {
+        def headers = new HttpHeaders()
+        headers.set('Accept', 'application/json')
+        headers.set('Content-Type', 'application/json')
+        headers.add('X-Multi', 'a')
+        headers.add('X-Multi', 'b')
+        def query = new QueryString([limit: '25', expand: 'groups,customData', orderBy: 'name asc'])
+        return new DefaultRequest(HttpMethod.POST, 'https://api.stormpath.com:8443/v1/directories/abc%20def/accounts',
+                query, headers, new StringInputStream('{"email":"jé@x.com"}'), 10)
+    }
+
+    @Test
+    void testSignature() {
+        def request = createRequest()
+
+        authenticator.authenticate(request, new Date(1349396450000L), NONCE)
+
+        assertEquals request.headers.getFirst('X-Stormpath-Date'), '20121005T002050Z'
+        assertEquals request.headers.getFirst('Authorization'),
+                'SAuthc1 sauthc1Id=MyId/20121005/a43a9d25-ab06-421e-8605-33fd1e760825/sauthc1_request, ' +
+                'sauthc1SignedHeaders=accept;content-length;content-type;host;x-multi;x-stormpath-date, ' +
+                'sauthc1Signature=d6784a407b30503beee9ea6f901bf223d647f6c8e8287896331ccf7902eb61eb'
+    }
+
+    @Test
+    void testSignatureWithoutQueryOrBody() {
+        def request = new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/')
+
+        authenticator.authenticate(request, new Date(1349396450000L), 'n2')
+
+        assertEquals request.headers.getFirst('Authorization'),
+                'SAuthc1 sauthc1Id=MyId/20121005/n2/sauthc1_request, sauthc1SignedHeaders=host;x-stormpath-date, ' +
+                'sauthc1Signature=8a28feed25494c89f6b3acfc78306f2dd93d81c86bfd7cb73e4b71aedf6169b0'
+    }
+
+    /**
+     * The date-scoped key is reused within a day, but must be derived again when the day changes.
+     */
+    @Test
+    void testSignatureWhenDateChanges() {
+        def request = createRequest()
+        authenticator.authenticate(request, new Date(1349396450000L), NONCE)
+
+        request = createRequest()
+        authenticator.authenticate(request, new Date(1483228800000L), NONCE)
+
+        assertEquals request.headers.getFirst('Authorization'),
+                'SAuthc1 sauthc1Id=MyId/20170101/a43a9d25-ab06-421e-8605-33fd1e760825/sauthc1_request, ' +
+                'sauthc1SignedHeaders=accept;content-length;content-type;host;x-multi;x-stormpath-date, ' +
+                'sauthc1Signature=6e68e4695f7573f0ee57cf32f5714ada82af9a068a79543a4988b8615d97a9c1'
+    }
+
+    @Test
+    void testFormatTimestamp() {
+        def format = new SimpleDateFormat(SAuthc1RequestAuthenticator.TIMESTAMP_FORMAT)
+        format.timeZone = TimeZone.getTimeZone(SAuthc1RequestAuthenticator.TIME_ZONE)
+        def chars = new char[16]
+
+        [0L, 951782400000L, 951868799999L, 4102444799000L, -1L, System.currentTimeMillis()].each { millis ->
+            assertEquals SAuthc1RequestAuthenticator.formatTimestamp(millis, chars), format.format(new Date(millis))
+        }
+    }
+
+    @Test
+    void testToHex() {
+        assertEquals SAuthc1RequestAuthenticator.toHex([0, 1, 15, 16, 127, -128, -1] as byte[]), '00010f107f80ff'
+    }
+
+    @Test
+    void testAppendCanonicalEncodedUrl() {
+        ['', 'abc', 'a b*c~d', '/v1/foo bar/+', 'café', '€', '😀', 'a=b&c'].each { value ->
+            [true, false].each { path ->
+                def sb = new StringBuilder()
+                RequestUtils.appendCanonicalEncodedUrl(value, path, sb)
+                assertEquals sb.toString(), RequestUtils.encodeUrl(value, path, true)
+            }
+        }
+    }
+}
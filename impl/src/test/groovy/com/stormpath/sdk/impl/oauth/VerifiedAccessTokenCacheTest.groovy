@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.oauth
+
+import com.stormpath.sdk.impl.oauth.VerifiedAccessTokenCache.VerifiedAccessToken
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class VerifiedAccessTokenCacheTest {
+
+    private static final String APP_HREF = 'https://api.stormpath.com/v1/applications/app'
+
+    private static VerifiedAccessToken token(String jti, String rti, Date expiration, boolean remote) {
+        return new VerifiedAccessToken(APP_HREF, jti, rti, "https://api.stormpath.com/v1/accessTokens/$jti",
+                'https://api.stormpath.com/v1/accounts/1', expiration, remote)
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 3600000)
+    }
+
+    @Test
+    void testGet() {
+        def cache = new VerifiedAccessTokenCache()
+        def verified = token('jti', 'rti', inOneHour(), false)
+
+        cache.put('a.b.c', verified)
+
+        assertSame cache.get('a.b.c', APP_HREF, false), verified
+        assertNull cache.get('a.b.c', 'https://api.stormpath.com/v1/applications/other', false)
+        assertNull cache.get('x.y.z', APP_HREF, false)
+    }
+
+    @Test
+    void testLocallyVerifiedTokensAreNotReturnedForRemoteValidation() {
+        def cache = new VerifiedAccessTokenCache()
+
+        cache.put('local', token('1', null, inOneHour(), false))
+        cache.put('remote', token('2', null, inOneHour(), true))
+
+        assertNull cache.get('local', APP_HREF, true)
+        assertNotNull cache.get('remote', APP_HREF, true)
+        assertNotNull cache.get('remote', APP_HREF, false)
+    }
+
+    @Test
+    void testExpiredAndNonExpiringTokensAreNotReturned() {
+        def cache = new VerifiedAccessTokenCache()
+
+        cache.put('expired', token('1', null, new Date(System.currentTimeMillis() - 1000), false))
+        cache.put('nonExpiring', token('2', null, null, false))
+
+        assertEquals cache.size(), 0
+        assertNull cache.get('expired', APP_HREF, false)
+        assertNull cache.get('nonExpiring', APP_HREF, false)
+    }
+
+    @Test
+    void testInvalidation() {
+        def cache = new VerifiedAccessTokenCache()
+
+        cache.put('first', token('1', 'refresh1', inOneHour(), false))
+        cache.put('second', token('2', 'refresh1', inOneHour(), false))
+        cache.put('third', token('3', 'refresh2', inOneHour(), false))
+
+        cache.invalidateAccessToken('3')
+        assertNull cache.get('third', APP_HREF, false)
+        assertEquals cache.size(), 2
+
+        cache.invalidateRefreshToken('refresh1')
+        assertEquals cache.size(), 0
+    }
+
+    @Test
+    void testBounded() {
+        def cache = new VerifiedAccessTokenCache(10)
+
+        (1..20).each { cache.put("token$it", token("$it", null, inOneHour(), false)) }
+
+        assertEquals cache.size(), 10
+    }
+}
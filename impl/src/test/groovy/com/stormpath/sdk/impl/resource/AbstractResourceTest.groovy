@@ -23,6 +23,11 @@ import com.stormpath.sdk.impl.application.webconfig.DefaultWebFeatureConfig
 import com.stormpath.sdk.impl.ds.InternalDataStore
 import org.testng.annotations.Test
 
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.*
 
@@ -160,4 +165,73 @@ class AbstractResourceTest {
 
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testPropertyReadsDoNotAcquireLock() {
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        def resource = new TestResource(ds, [href: 'http://foo.com/test/123', name: 'Name', description: 'Description'])
+        resource.setDescription('New Description')
+
+        def locked = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def executor = Executors.newSingleThreadExecutor()
+        try {
+            def writer = executor.submit({
+                resource.writeLock.lock()
+                try {
+                    locked.countDown()
+                    release.await()
+                } finally {
+                    resource.writeLock.unlock()
+                }
+            } as Callable)
+            assertTrue locked.await(5, TimeUnit.SECONDS)
+
+            //the write lock is held by another thread, so none of these may block:
+            assertEquals resource.getName(), 'Name'
+            assertEquals resource.getDescription(), 'New Description'
+            assertTrue resource.hasProperty('name')
+            assertEquals resource.getPropertyNames(), ['href', 'name', 'description'] as Set
+            assertEquals resource.getUpdatedPropertyNames(), ['description'] as Set
+
+            release.countDown()
+            writer.get()
+        } finally {
+            release.countDown()
+            executor.shutdownNow()
+        }
+
+        verify ds
+    }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testPublishedPropertiesAreNotModifiedInPlace() {
+
+        def props = [href: 'http://foo.com/test/123', name: 'Name', oauth2: [enabled: false]]
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        def resource = new TestResource(ds, props)
+        def oauth2 = resource.getParentAwareObjectProperty('oauth2', DefaultOauth2Config, AbstractPropertyRetriever)
+
+        assertSame resource.getProperty('oauth2'), oauth2
+        assertFalse resource.isDirty()
+        //the map the resource was created with is replaced, not modified:
+        assertTrue props.oauth2 instanceof Map
+
+        resource.setName('New Name')
+        assertEquals resource.getName(), 'New Name'
+        assertEquals props.name, 'Name'
+
+        verify ds
+    }
+
 }
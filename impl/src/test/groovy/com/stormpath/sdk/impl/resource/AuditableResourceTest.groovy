@@ -24,6 +24,7 @@ import java.text.DateFormat
 import static org.easymock.EasyMock.createStrictMock
 import static org.easymock.EasyMock.replay
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNotSame
 
 /**
  * @since 1.0.RC4.6
@@ -48,4 +49,30 @@ class AuditableResourceTest {
         assertEquals dateFormatter.parse(properties.createdAt), resource.getCreatedAt()
         assertEquals dateFormatter.parse(properties.modifiedAt), resource.getModifiedAt()
     }
+
+    /**
+     * @since 1.6.0
+     */
+    @Test
+    void testParsedDatesAreNotShared() {
+
+        DateFormat dateFormatter = new ISO8601DateFormat();
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        def properties = ['href': 'http://test.com/values/123',
+                          'createdAt': '2015-01-02T03:04:05.678Z',
+                          'modifiedAt': '2015-01-02T03:04:05.678Z']
+
+        AuditableTestResource resource = new AuditableTestResource(ds, properties)
+
+        Date createdAt = resource.getCreatedAt()
+        Date modifiedAt = resource.getModifiedAt()
+        assertEquals modifiedAt, createdAt
+        assertNotSame modifiedAt, createdAt
+
+        createdAt.setTime(0)
+        assertEquals resource.getCreatedAt(), dateFormatter.parse(properties.createdAt)
+    }
 }
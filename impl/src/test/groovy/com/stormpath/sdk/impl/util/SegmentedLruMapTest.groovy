@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.6.0
+ */
+class SegmentedLruMapTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testUnbounded() {
+        new SegmentedLruMap(0, 0, null)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testMaxWeightWithoutWeigher() {
+        new SegmentedLruMap(0, 100, null)
+    }
+
+    @Test
+    void testPutAndGet() {
+        def map = new SegmentedLruMap<String, String>(10)
+        assertNull map.put('a', '1')
+        assertEquals map.put('a', '2'), '1'
+        assertEquals map.get('a'), '2'
+        assertEquals map.size(), 1
+        assertTrue map.containsKey('a')
+        assertTrue map.containsValue('2')
+        assertEquals map.remove('a'), '2'
+        assertTrue map.isEmpty()
+        assertEquals map.getEvictionCount(), 0
+    }
+
+    @Test
+    void testEvictsByEntryCount() {
+        def map = new SegmentedLruMap<String, Integer>(3)
+        (1..5).each { map.put("k$it" as String, it) }
+
+        assertEquals map.size(), 3
+        assertEquals map.getEvictionCount(), 2
+        assertNull map.get('k1')
+        assertNull map.get('k2')
+        assertEquals map.get('k5'), 5
+    }
+
+    @Test
+    void testFrequentlyUsedEntriesSurviveScan() {
+        def map = new SegmentedLruMap<String, Integer>(10)
+        map.put('hot', 0)
+        map.get('hot') //promoted to the protected segment
+
+        //a scan of one-time entries larger than the map itself:
+        (1..50).each { map.put("scan$it" as String, it) }
+
+        assertEquals map.size(), 10
+        assertEquals map.get('hot'), 0
+        assertEquals map.getEvictionCount(), 41
+    }
+
+    @Test
+    void testEvictsByWeight() {
+        def weigher = new SegmentedLruMap.Weigher<String>() {
+            @Override
+            long weigh(String value) {
+                return value.length()
+            }
+        }
+        def map = new SegmentedLruMap<String, String>(0, 10, weigher)
+
+        map.put('a', '1234')
+        map.put('b', '1234')
+        assertEquals map.getWeight(), 8
+        map.put('c', '1234')
+
+        assertEquals map.getWeight(), 8
+        assertEquals map.getEvictionCount(), 1
+        assertFalse map.containsKey('a')
+
+        map.put('b', '1')
+        assertEquals map.getWeight(), 5
+    }
+
+    @Test
+    void testClear() {
+        def map = new SegmentedLruMap<String, String>(10)
+        map.put('a', '1')
+        map.get('a')
+        map.put('b', '2')
+        map.clear()
+
+        assertTrue map.isEmpty()
+        assertEquals map.getWeight(), 0
+        assertTrue map.entrySet().isEmpty()
+    }
+}